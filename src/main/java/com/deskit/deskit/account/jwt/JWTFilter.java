@@ -38,9 +38,10 @@ public class JWTFilter extends OncePerRequestFilter {
             return;
         }
 
-        // 토큰 만료 여부 확인, 만료시 다음 필터로 넘기지 않음
+        // 토큰을 한 번만 파싱하고, 만료시 다음 필터로 넘기지 않음
+        JwtClaims claims;
         try {
-            jwtUtil.isExpired(accessToken);
+            claims = jwtUtil.parseClaims(accessToken);
         } catch (ExpiredJwtException e) {
 
             log.info("expired token");
@@ -51,9 +52,9 @@ public class JWTFilter extends OncePerRequestFilter {
         }
 
         // 토큰이 access인지 확인 (발급시 페이로드에 명시)
-        String category = jwtUtil.getCategory(accessToken);
+        String category = claims.category();
 
-        if (!category.equals("access")) {
+        if (!"access".equals(category)) {
 
             log.info("access token is not access");
 
@@ -63,8 +64,8 @@ public class JWTFilter extends OncePerRequestFilter {
         }
 
         //토큰에서 username과 role 획득
-        String username = jwtUtil.getUsername(accessToken);
-        String role = jwtUtil.getRole(accessToken);
+        String username = claims.username();
+        String role = claims.role();
         log.info("username {} role {}", username, role);
 
         //userDTO를 생성하여 값 set
@@ -72,9 +73,9 @@ public class JWTFilter extends OncePerRequestFilter {
                 .username(username)
                 .role(role)
                 .newUser("ROLE_GUEST".equals(role))
-                .name(jwtUtil.getName(accessToken))
-                .email(jwtUtil.getEmail(accessToken))
-                .profileUrl(jwtUtil.getProfileUrl(accessToken))
+                .name(claims.name())
+                .email(claims.email())
+                .profileUrl(claims.profileUrl())
                 .build();
 
         //UserDetails에 회원 정보 객체 담기
@@ -7,54 +7,123 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class JWTUtil {
 
     private SecretKey secretKey;
 
-    public JWTUtil(@Value("${spring.jwt.secret}")String secret) {
+    // 서명 검증이 끝난 토큰의 클레임 캐시 (키: 토큰 SHA-256, 크기/TTL 제한, LRU)
+    private final int claimsCacheMaxSize;
+    private final long claimsCacheTtlMillis;
+    private final Map<String, CachedClaims> claimsCache;
+    private final AtomicLong claimsCacheHits = new AtomicLong();
+    private final AtomicLong claimsCacheMisses = new AtomicLong();
+
+    public JWTUtil(@Value("${spring.jwt.secret}")String secret,
+                   @Value("${spring.jwt.claims-cache.max-size:10000}") int claimsCacheMaxSize,
+                   @Value("${spring.jwt.claims-cache.ttl-seconds:300}") long claimsCacheTtlSeconds) {
 
         secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), Jwts.SIG.HS256.key().build().getAlgorithm());
+        this.claimsCacheMaxSize = claimsCacheMaxSize;
+        this.claimsCacheTtlMillis = claimsCacheTtlSeconds * 1000L;
+        this.claimsCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedClaims> eldest) {
+                return size() > JWTUtil.this.claimsCacheMaxSize;
+            }
+        };
+    }
+
+    /**
+     * 토큰을 한 번만 검증/파싱해 클레임을 반환한다.
+     * 만료된 토큰은 캐시에 있더라도 다시 파싱해 ExpiredJwtException 을 그대로 던진다.
+     */
+    public JwtClaims parseClaims(String token) {
+        String cacheKey = hashToken(token);
+        long now = System.currentTimeMillis();
+        synchronized (claimsCache) {
+            CachedClaims cached = claimsCache.get(cacheKey);
+            if (cached != null && cached.expiresAt() > now) {
+                claimsCacheHits.incrementAndGet();
+                return cached.claims();
+            }
+            if (cached != null) {
+                claimsCache.remove(cacheKey);
+            }
+        }
+        claimsCacheMisses.incrementAndGet();
+
+        JwtClaims claims = JwtClaims.from(Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload());
+        long expiresAt = now + claimsCacheTtlMillis;
+        if (claims.expiration() != null) {
+            expiresAt = Math.min(expiresAt, claims.expiration().getTime());
+        }
+        if (claimsCacheMaxSize > 0 && expiresAt > now) {
+            synchronized (claimsCache) {
+                claimsCache.put(cacheKey, new CachedClaims(claims, expiresAt));
+            }
+        }
+        return claims;
     }
 
     public String getUsername(String token) {
 
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("username", String.class);
+        return parseClaims(token).username();
     }
 
     public String getRole(String token) {
 
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("role", String.class);
+        return parseClaims(token).role();
     }
 
     // Optional name claim for signup flow tokens.
     public String getName(String token) {
 
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("name", String.class);
+        return parseClaims(token).name();
     }
 
     // Optional email claim for signup flow tokens.
     public String getEmail(String token) {
 
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("email", String.class);
+        return parseClaims(token).email();
     }
 
     // Optional profile URL claim for signup flow tokens.
     public String getProfileUrl(String token) {
 
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("profileUrl", String.class);
+        return parseClaims(token).profileUrl();
     }
 
     public String getCategory(String token) {
 
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("category", String.class);
+        return parseClaims(token).category();
     }
 
     public Boolean isExpired(String token) {
 
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().getExpiration().before(new Date());
+        return parseClaims(token).isExpired();
+    }
+
+    public long getClaimsCacheHits() {
+        return claimsCacheHits.get();
+    }
+
+    public long getClaimsCacheMisses() {
+        return claimsCacheMisses.get();
+    }
+
+    public int getClaimsCacheSize() {
+        synchronized (claimsCache) {
+            return claimsCache.size();
+        }
     }
 
     public String createJwt(String category, String username, String role, Long expiredMs) {
@@ -84,4 +153,16 @@ public class JWTUtil {
                 .signWith(secretKey)
                 .compact();
     }
+
+    private String hashToken(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record CachedClaims(JwtClaims claims, long expiresAt) {
+    }
 }
@@ -0,0 +1,32 @@
+package com.deskit.deskit.account.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+// 서명 검증을 마친 토큰의 클레임 (한 번 파싱해서 필요한 값을 모두 꺼내 쓴다)
+public record JwtClaims(
+        String category,
+        String username,
+        String role,
+        String name,
+        String email,
+        String profileUrl,
+        Date expiration
+) {
+    static JwtClaims from(Claims claims) {
+        return new JwtClaims(
+                claims.get("category", String.class),
+                claims.get("username", String.class),
+                claims.get("role", String.class),
+                claims.get("name", String.class),
+                claims.get("email", String.class),
+                claims.get("profileUrl", String.class),
+                claims.getExpiration()
+        );
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
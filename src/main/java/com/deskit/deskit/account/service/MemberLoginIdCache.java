@@ -0,0 +1,80 @@
+package com.deskit.deskit.account.service;
+
+import com.deskit.deskit.account.entity.Member;
+import com.deskit.deskit.account.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * loginId -> memberId 캐시 (크기/TTL 제한, LRU).
+ * 채팅처럼 요청마다 회원 id 가 필요한 경로에서 회원 조회 쿼리를 생략하기 위해 사용한다.
+ * 회원이 아닌 loginId(판매자 등)도 짧은 TTL 로 캐시해 반복 조회를 막는다.
+ */
+@Component
+public class MemberLoginIdCache {
+
+    private static final long NOT_A_MEMBER = -1L;
+
+    private final MemberRepository memberRepository;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final Map<String, CachedMemberId> cache;
+
+    public MemberLoginIdCache(MemberRepository memberRepository,
+                              @Value("${member.login-id-cache.max-size:50000}") int maxSize,
+                              @Value("${member.login-id-cache.ttl-seconds:600}") long ttlSeconds,
+                              @Value("${member.login-id-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.memberRepository = memberRepository;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.negativeTtlMillis = negativeTtlSeconds * 1000L;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedMemberId> eldest) {
+                return size() > MemberLoginIdCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 회원이 아니면 null.
+     */
+    public Long findMemberId(String loginId) {
+        if (loginId == null || loginId.isBlank()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            CachedMemberId cached = cache.get(loginId);
+            if (cached != null && cached.expiresAt() > now) {
+                return cached.memberId() == NOT_A_MEMBER ? null : cached.memberId();
+            }
+        }
+
+        Member member = memberRepository.findByLoginId(loginId);
+        Long memberId = member != null ? member.getMemberId() : null;
+        if (maxSize > 0) {
+            long expiresAt = now + (memberId != null ? ttlMillis : negativeTtlMillis);
+            synchronized (cache) {
+                cache.put(loginId, new CachedMemberId(memberId != null ? memberId : NOT_A_MEMBER, expiresAt));
+            }
+        }
+        return memberId;
+    }
+
+    public void evict(String loginId) {
+        if (loginId == null) {
+            return;
+        }
+        synchronized (cache) {
+            cache.remove(loginId);
+        }
+    }
+
+    private record CachedMemberId(long memberId, long expiresAt) {
+    }
+}
@@ -57,6 +57,7 @@ public class SignupService {
     private static final String SESSION_PHONE_VERIFIED = "pendingPhoneVerified";
 
     private final MemberRepository memberRepository;
+    private final MemberLoginIdCache memberLoginIdCache;
     private final SellerRepository sellerRepository;
     private final CompanyRegisteredRepository companyRegisteredRepository;
     private final SellerRegisterRepository sellerRegisterRepository;
@@ -228,6 +229,7 @@ public class SignupService {
                 .build();
 
         memberRepository.save(member);
+        memberLoginIdCache.evict(member.getLoginId());
 
         clearAuthCookies(response);
         clearPhoneSession(session);
@@ -1,5 +1,6 @@
 package com.deskit.deskit.common.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -9,14 +10,19 @@ import java.util.concurrent.Executor;
 @Configuration
 @EnableAsync // 비동기 기능을 활성화 -> @Async 붙이면 됨
 public class AsyncConfig { // 비동기 쓰레드풀 설정
-    @Bean(name = "chatSaveExecutor")
-    public Executor chatSaveExecutor() {
+    // SSE 전송은 클라이언트 소켓 쓰기에서 막힐 수 있으므로, 느린 클라이언트 몇 개가 풀 전체를 잡지 않도록
+    // 동시 연결 규모에 맞게 pool-size 를 잡는다. 오래 막힌 연결은 SseService 가 끊는다.
+    @Bean(name = "sseSendExecutor")
+    public Executor sseSendExecutor(
+            @Value("${sse.send.pool-size:32}") int poolSize,
+            @Value("${sse.send.queue-capacity:100000}") int queueCapacity
+    ) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(10);      // 기본 유지 쓰레드
-        executor.setMaxPoolSize(20);      // 최대 쓰레드
-        executor.setQueueCapacity(1000);  // 대기 큐
-        executor.setThreadNamePrefix("AsyncChat-");
+        executor.setCorePoolSize(poolSize);       // SSE 전송 전용 쓰레드 (느린 클라이언트가 스케줄러를 막지 않도록 분리)
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity); // emitter 당 최대 1개의 전송 작업만 대기
+        executor.setThreadNamePrefix("SseSend-");
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,6 @@
 package com.deskit.deskit.common.config;
 
 import com.deskit.deskit.ai.config.RagVectorProperties;
-import com.deskit.deskit.livechat.service.RedisSubscriber;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -11,9 +10,6 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
-import org.springframework.data.redis.listener.ChannelTopic;
-import org.springframework.data.redis.listener.RedisMessageListenerContainer;
-import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -53,17 +49,6 @@ public class RedisConfig {
         return template;
     }
 
-    // RedisMessageListenerContainer (듣는 역할 - Subscriber)
-    // 이게 있어야 Pub/Sub 가능
-    // Redis 채널로부터 메시지가 오면, 해당 리스너(Service)에게 전달해주는 컨테이너
-    // 별도 설정이나 서비스에서 container.addMessageListener() 같은 걸로 구독 채널을 붙임
-    @Bean
-    public RedisMessageListenerContainer redisMessageListener(RedisConnectionFactory connectionFactory) {
-        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
-        container.setConnectionFactory(connectionFactory);
-        return container;
-    }
-
     @Bean(name = "chatRedisTemplate") // 채팅 전용 이름 부여
     public RedisTemplate<String, Object> chatRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
         // 객체 전송을 위한 새로운 템플릿 (채팅 기능용)
@@ -74,18 +59,15 @@ public class RedisConfig {
         template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
         return template;
     }
-    // [추가] 채팅용 Redis Pub/Sub 설정
+
+    // RedisMessageListenerContainer (듣는 역할 - Subscriber)
+    // 이게 있어야 Pub/Sub 가능
+    // Redis 채널로부터 메시지가 오면, 해당 리스너(Service)에게 전달해주는 컨테이너
+    // 별도 설정이나 서비스에서 container.addMessageListener() 같은 걸로 구독 채널을 붙임
     @Bean
-    public RedisMessageListenerContainer redisMessageListenerContainer(
-            RedisConnectionFactory connectionFactory,
-            MessageListenerAdapter listenerAdapter) {
+    public RedisMessageListenerContainer redisMessageListener(RedisConnectionFactory connectionFactory) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
-        container.addMessageListener(listenerAdapter, new ChannelTopic("chatroom"));
         return container;
     }
-    @Bean
-    public MessageListenerAdapter listenerAdapter(RedisSubscriber subscriber) {
-        return new MessageListenerAdapter(subscriber, "receiveMessage");
-    }
 }
@@ -1,6 +1,7 @@
 package com.deskit.deskit.common.config;
 
 import com.deskit.deskit.account.jwt.JWTUtil;
+import com.deskit.deskit.account.jwt.JwtClaims;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -58,13 +59,13 @@ public class WebSocketAuthHandshakeInterceptor implements HandshakeInterceptor {
         }
 
         try {
-            if (jwtUtil.isExpired(token)) return true;
+            JwtClaims claims = jwtUtil.parseClaims(token);
+            if (claims.isExpired()) return true;
 
-            String category = jwtUtil.getCategory(token);
-            if (!"access".equals(category)) return true;
+            if (!"access".equals(claims.category())) return true;
 
-            String username = jwtUtil.getUsername(token);
-            String role = jwtUtil.getRole(token);
+            String username = claims.username();
+            String role = claims.role();
 
             attributes.put("principal", new WebSocketPrincipal(username));
             attributes.put("role", role);
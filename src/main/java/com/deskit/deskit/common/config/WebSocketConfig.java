@@ -1,9 +1,11 @@
 package com.deskit.deskit.common.config;
 
 import com.deskit.deskit.account.jwt.JWTUtil;
+import com.deskit.deskit.account.jwt.JwtClaims;
 import io.jsonwebtoken.ExpiredJwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -15,6 +17,7 @@ import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -26,12 +29,44 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         this.jwtUtil = jwtUtil;
     }
 
+    @Value("${websocket.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${websocket.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${websocket.transport.send-time-limit-ms:5000}")
+    private int sendTimeLimitMillis;
+
+    @Value("${websocket.transport.send-buffer-size-limit:262144}")
+    private int sendBufferSizeLimit;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
+        // /sub/chat/{id} 의 노드 간 전달은 LiveChatRelay(Redis Pub/Sub) 가 담당하고, 브로커는 로컬 세션에만 보낸다.
         config.enableSimpleBroker("/topic", "/queue", "/sub");
         config.setApplicationDestinationPrefixes("/app", "/pub");
     }
 
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // 인기 방송 채팅 fan-out 이 기본 스레드 풀(코어 수 x2)에 몰리지 않도록 크기를 설정값으로 둔다.
+        registration.taskExecutor()
+                .corePoolSize(outboundCorePoolSize)
+                .maxPoolSize(outboundMaxPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // 느린 클라이언트는 전송 시간/버퍼 한도를 넘으면 세션을 끊어 다른 구독자 전송이 밀리지 않게 한다.
+        registration.setSendTimeLimit(sendTimeLimitMillis)
+                .setSendBufferSizeLimit(sendBufferSizeLimit);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws-public")
@@ -82,8 +117,10 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                             }
                             return message;
                         }
+                        JwtClaims claims;
                         try {
-                            if (jwtUtil.isExpired(token)) {
+                            claims = jwtUtil.parseClaims(token);
+                            if (claims.isExpired()) {
                                 log.debug("stomp.connect token expired");
                                 return message;
                             }
@@ -95,14 +132,13 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                             return message;
                         }
 
-                        String category = jwtUtil.getCategory(token);
-                        if (!"access".equals(category)) {
+                        if (!"access".equals(claims.category())) {
                             log.debug("stomp.connect token category invalid");
                             return message;
                         }
 
-                        String username = jwtUtil.getUsername(token);
-                        role = jwtUtil.getRole(token);
+                        String username = claims.username();
+                        role = claims.role();
                         if (accessor.getUser() == null) {
                             accessor.setUser(new WebSocketPrincipal(username));
                         }
@@ -1,22 +1,60 @@
 package com.deskit.deskit.home.service;
 
 import com.deskit.deskit.home.dto.HomePopularProductResponse;
+import com.deskit.deskit.home.service.PopularityRankingService.RankedScore;
 import com.deskit.deskit.product.repository.ProductRepository;
+import com.deskit.deskit.product.repository.ProductRepository.PopularProductInfoRow;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.stereotype.Service;
 
 @Service
 public class HomePopularProductService {
 
   private final ProductRepository productRepository;
+  private final PopularityRankingService popularityRankingService;
 
-  public HomePopularProductService(ProductRepository productRepository) {
+  public HomePopularProductService(ProductRepository productRepository,
+                                   PopularityRankingService popularityRankingService) {
     this.productRepository = productRepository;
+    this.popularityRankingService = popularityRankingService;
   }
 
   public List<HomePopularProductResponse> getPopularProducts(int limit) {
-    return productRepository.findPopularProducts(limit).stream()
-        .map(HomePopularProductResponse::from)
-        .toList();
+    List<RankedScore> ranked = popularityRankingService.topProducts(limit);
+    if (ranked == null) {
+      // 랭킹이 아직 만들어지지 않았거나 Redis 장애면 SQL 집계로 대체
+      return productRepository.findPopularProducts(limit).stream()
+          .map(HomePopularProductResponse::from)
+          .toList();
+    }
+    if (ranked.isEmpty()) {
+      return List.of();
+    }
+
+    Map<Long, PopularProductInfoRow> infos = new HashMap<>();
+    for (PopularProductInfoRow row : productRepository.findPopularProductInfos(
+        ranked.stream().map(RankedScore::id).toList())) {
+      infos.putIfAbsent(row.getProductId(), row);
+    }
+
+    // 랭킹 순서 유지, 재계산 전에 삭제된 상품은 제외
+    List<HomePopularProductResponse> responses = new ArrayList<>(ranked.size());
+    for (RankedScore score : ranked) {
+      PopularProductInfoRow info = infos.get(score.id());
+      if (info == null) {
+        continue;
+      }
+      responses.add(new HomePopularProductResponse(
+          info.getProductId(),
+          info.getProductName(),
+          info.getPrice(),
+          score.soldQty(),
+          info.getThumbnailUrl()
+      ));
+    }
+    return responses;
   }
 }
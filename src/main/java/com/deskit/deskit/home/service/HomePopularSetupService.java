@@ -1,22 +1,60 @@
 package com.deskit.deskit.home.service;
 
 import com.deskit.deskit.home.dto.HomePopularSetupResponse;
+import com.deskit.deskit.home.service.PopularityRankingService.RankedScore;
 import com.deskit.deskit.setup.repository.SetupRepository;
+import com.deskit.deskit.setup.repository.SetupRepository.PopularSetupInfoRow;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.stereotype.Service;
 
 @Service
 public class HomePopularSetupService {
 
   private final SetupRepository setupRepository;
+  private final PopularityRankingService popularityRankingService;
 
-  public HomePopularSetupService(SetupRepository setupRepository) {
+  public HomePopularSetupService(SetupRepository setupRepository,
+                                 PopularityRankingService popularityRankingService) {
     this.setupRepository = setupRepository;
+    this.popularityRankingService = popularityRankingService;
   }
 
   public List<HomePopularSetupResponse> getPopularSetups(int limit) {
-    return setupRepository.findPopularSetups(limit).stream()
-        .map(HomePopularSetupResponse::from)
-        .toList();
+    List<RankedScore> ranked = popularityRankingService.topSetups(limit);
+    if (ranked == null) {
+      // 랭킹이 아직 만들어지지 않았거나 Redis 장애면 SQL 집계로 대체
+      return setupRepository.findPopularSetups(limit).stream()
+          .map(HomePopularSetupResponse::from)
+          .toList();
+    }
+    if (ranked.isEmpty()) {
+      return List.of();
+    }
+
+    Map<Long, PopularSetupInfoRow> infos = new HashMap<>();
+    for (PopularSetupInfoRow row : setupRepository.findPopularSetupInfos(
+        ranked.stream().map(RankedScore::id).toList())) {
+      infos.put(row.getSetupId(), row);
+    }
+
+    // 랭킹 순서 유지, 재계산 전에 삭제된 셋업은 제외
+    List<HomePopularSetupResponse> responses = new ArrayList<>(ranked.size());
+    for (RankedScore score : ranked) {
+      PopularSetupInfoRow info = infos.get(score.id());
+      if (info == null) {
+        continue;
+      }
+      responses.add(new HomePopularSetupResponse(
+          info.getSetupId(),
+          info.getSetupName(),
+          info.getShortDesc(),
+          score.soldQty(),
+          info.getImageUrl()
+      ));
+    }
+    return responses;
   }
 }
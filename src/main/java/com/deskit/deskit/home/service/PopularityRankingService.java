@@ -0,0 +1,322 @@
+package com.deskit.deskit.home.service;
+
+import com.deskit.deskit.livehost.service.RedisService;
+import com.deskit.deskit.order.entity.Order;
+import com.deskit.deskit.order.entity.OrderItem;
+import com.deskit.deskit.order.repository.OrderItemRepository;
+import com.deskit.deskit.product.repository.ProductRepository;
+import com.deskit.deskit.product.repository.ProductRepository.DailySoldQtyRow;
+import com.deskit.deskit.setup.repository.SetupRepository;
+import com.deskit.deskit.setup.repository.SetupRepository.SetupProductRow;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 홈 인기 상품/셋업 랭킹을 Redis sorted set(점수 = 최근 window-days일 판매 수량)으로 유지
+ * - 판매 수량은 결제일별 버킷(popular:products:day:yyyyMMdd)에 쌓고, 랭킹 키는 기간 안 버킷의 ZUNIONSTORE 결과
+ * - 결제 확정/환불 커밋 이후 결제일 버킷과 랭킹 키에 함께 ZINCRBY (셋업은 구성 상품 기준)
+ * - 주기적으로 랭킹 키를 다시 합쳐 기간이 지난 버킷을 빼고, SQL 일자별 집계로 버킷을 다시 만들어 누락/중복 반영을 보정
+ * - Top-N 조회는 ZREVRANGE 한 번으로 끝나고, 표시 정보만 id IN 조회
+ * - member는 0 채움 id 문자열이라 동점이면 id 내림차순(최근 등록순)으로 정렬됨
+ */
+@Service
+public class PopularityRankingService {
+
+  private static final String PRODUCT_RANKING_KEY = "popular:products";
+  private static final String SETUP_RANKING_KEY = "popular:setups";
+  private static final String REBUILD_LOCK_KEY = "lock:popularity_rebuild";
+  // 재계산 중 표시: 있는 동안 들어온 증분은 버킷별 :delta 키에도 쌓아 교체 후 다시 더한다.
+  private static final String REBUILD_MARKER_KEY = "popular:rebuild:active";
+  private static final Duration REBUILD_TIMEOUT = Duration.ofMinutes(1);
+  private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+  private static final int REBUILD_CHUNK_SIZE = 1000;
+
+  // KEYS: 결제일 버킷, 버킷 delta, 랭킹 키, 재계산 표시 / ARGV[1]: 버킷 TTL(초), 이후 member/증가량 쌍
+  // 랭킹 키가 아직 없으면(재계산 전) 만들지 않는다. 버킷과 랭킹 키를 한 번에 올려 ZUNIONSTORE 와 섞이지 않는다.
+  private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+    "local rebuilding = redis.call('EXISTS', KEYS[4]) == 1 " +
+      "local ranked = redis.call('EXISTS', KEYS[3]) == 1 " +
+      "for i = 2, #ARGV, 2 do " +
+      "redis.call('ZINCRBY', KEYS[1], ARGV[i + 1], ARGV[i]) " +
+      "if rebuilding then redis.call('ZINCRBY', KEYS[2], ARGV[i + 1], ARGV[i]) end " +
+      "if ranked then redis.call('ZINCRBY', KEYS[3], ARGV[i + 1], ARGV[i]) end " +
+      "end " +
+      "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+      "if rebuilding then redis.call('EXPIRE', KEYS[2], ARGV[1]) end " +
+      "return 1",
+    Long.class
+  );
+
+  // KEYS: 새로 채운 임시 버킷, 버킷, 버킷 delta / ARGV[1]: 버킷 TTL(초)
+  // 임시 버킷으로 교체한 뒤 재계산 중에 들어온 증분(delta)을 다시 더해 RENAME 이 증분을 덮어쓰지 않게 한다.
+  private static final RedisScript<Long> REPLACE_BUCKET_SCRIPT = new DefaultRedisScript<>(
+    "if redis.call('EXISTS', KEYS[1]) == 1 then redis.call('RENAME', KEYS[1], KEYS[2]) " +
+      "else redis.call('DEL', KEYS[2]) end " +
+      "if redis.call('EXISTS', KEYS[3]) == 1 then " +
+      "redis.call('ZUNIONSTORE', KEYS[2], 2, KEYS[2], KEYS[3]) " +
+      "redis.call('DEL', KEYS[3]) " +
+      "end " +
+      "if redis.call('EXISTS', KEYS[2]) == 1 then redis.call('EXPIRE', KEYS[2], ARGV[1]) end " +
+      "return 1",
+    Long.class
+  );
+
+  private static final Logger log = LoggerFactory.getLogger(PopularityRankingService.class);
+
+  private final StringRedisTemplate stringRedisTemplate;
+  private final RedisService redisService;
+  private final OrderItemRepository orderItemRepository;
+  private final ProductRepository productRepository;
+  private final SetupRepository setupRepository;
+
+  @Value("${home.popularity.window-days:7}")
+  private int windowDays;
+
+  public PopularityRankingService(StringRedisTemplate stringRedisTemplate,
+                                  RedisService redisService,
+                                  OrderItemRepository orderItemRepository,
+                                  ProductRepository productRepository,
+                                  SetupRepository setupRepository) {
+    this.stringRedisTemplate = stringRedisTemplate;
+    this.redisService = redisService;
+    this.orderItemRepository = orderItemRepository;
+    this.productRepository = productRepository;
+    this.setupRepository = setupRepository;
+  }
+
+  public void recordPaid(Order order) {
+    record(order, 1);
+  }
+
+  public void recordRefunded(Order order) {
+    record(order, -1);
+  }
+
+  /**
+   * 인기 상품 상위 limit개 (랭킹이 아직 없거나 Redis 장애면 null -> 호출부에서 SQL 집계로 대체)
+   */
+  List<RankedScore> topProducts(int limit) {
+    return top(PRODUCT_RANKING_KEY, limit);
+  }
+
+  List<RankedScore> topSetups(int limit) {
+    return top(SETUP_RANKING_KEY, limit);
+  }
+
+  // 기간을 밀어 지난 버킷을 랭킹에서 뺀다. 버킷만 합치므로 노드마다 돌아도 결과가 같다.
+  @Scheduled(
+    initialDelayString = "${home.popularity.roll-initial-delay-ms:60000}",
+    fixedDelayString = "${home.popularity.roll-interval-ms:300000}"
+  )
+  public void roll() {
+    try {
+      refreshRanking(PRODUCT_RANKING_KEY);
+      refreshRanking(SETUP_RANKING_KEY);
+    } catch (Exception e) {
+      log.warn("Popularity ranking roll failed: reason={}", e.getMessage());
+    }
+  }
+
+  // 전체 재계산: 증분 반영 누락/중복(장애, 트랜잭션 경계 밖 상태 변경 등) 보정
+  @Scheduled(
+    initialDelayString = "${home.popularity.rebuild-initial-delay-ms:10000}",
+    fixedDelayString = "${home.popularity.rebuild-interval-ms:600000}"
+  )
+  public void rebuild() {
+    if (!Boolean.TRUE.equals(redisService.acquireLock(REBUILD_LOCK_KEY, REBUILD_TIMEOUT.toMillis()))) {
+      return;
+    }
+    List<LocalDate> days = windowDays(LocalDate.now());
+    try {
+      // 이전 재계산이 남긴 delta 를 지운 뒤 표시를 켜고 SQL 을 읽는다.
+      for (LocalDate day : days) {
+        stringRedisTemplate.delete(List.of(deltaKey(PRODUCT_RANKING_KEY, day), deltaKey(SETUP_RANKING_KEY, day)));
+      }
+      stringRedisTemplate.opsForValue().set(REBUILD_MARKER_KEY, "1", REBUILD_TIMEOUT);
+      LocalDate since = days.get(days.size() - 1);
+      replaceBuckets(PRODUCT_RANKING_KEY, days, productRepository.findProductDailySoldQuantities(since.atStartOfDay()));
+      replaceBuckets(SETUP_RANKING_KEY, days, setupRepository.findSetupDailySoldQuantities(since.atStartOfDay()));
+      stringRedisTemplate.delete(REBUILD_MARKER_KEY);
+      refreshRanking(PRODUCT_RANKING_KEY);
+      refreshRanking(SETUP_RANKING_KEY);
+    } catch (Exception e) {
+      log.warn("Popularity ranking rebuild failed: reason={}", e.getMessage());
+      stringRedisTemplate.delete(REBUILD_MARKER_KEY);
+    } finally {
+      redisService.releaseLock(REBUILD_LOCK_KEY);
+    }
+  }
+
+  private void record(Order order, int sign) {
+    if (order == null || order.getId() == null) {
+      return;
+    }
+    // 환불은 결제일 버킷에서 뺀다. 결제일이 기간 밖이면 랭킹에 남아 있지 않으므로 반영하지 않는다.
+    LocalDate day = order.getPaidAt() != null ? order.getPaidAt().toLocalDate() : LocalDate.now();
+    if (!windowDays(LocalDate.now()).contains(day)) {
+      return;
+    }
+    Map<Long, Long> productDeltas = new HashMap<>();
+    for (OrderItem item : orderItemRepository.findByOrder_Id(order.getId())) {
+      if (item.getDeletedAt() != null || item.getProductId() == null) {
+        continue;
+      }
+      long quantity = item.getQuantity() != null ? item.getQuantity() : 0;
+      productDeltas.merge(item.getProductId(), sign * quantity, Long::sum);
+    }
+    if (productDeltas.isEmpty()) {
+      return;
+    }
+
+    Map<Long, Long> setupDeltas = new HashMap<>();
+    for (SetupProductRow row : setupRepository.findSetupProductsByProductIds(new ArrayList<>(productDeltas.keySet()))) {
+      setupDeltas.merge(row.getSetupId(), productDeltas.getOrDefault(row.getProductId(), 0L), Long::sum);
+    }
+
+    runAfterCommit(() -> {
+      try {
+        applyDeltas(PRODUCT_RANKING_KEY, day, productDeltas);
+        applyDeltas(SETUP_RANKING_KEY, day, setupDeltas);
+      } catch (Exception e) {
+        // 누락분은 다음 rebuild에서 보정된다.
+        log.warn("Popularity ranking update failed: orderId={}, reason={}", order.getId(), e.getMessage());
+      }
+    });
+  }
+
+  private void applyDeltas(String rankingKey, LocalDate day, Map<Long, Long> deltas) {
+    if (deltas.isEmpty()) {
+      return;
+    }
+    List<String> args = new ArrayList<>(deltas.size() * 2 + 1);
+    args.add(String.valueOf(bucketTtl().toSeconds()));
+    deltas.forEach((id, delta) -> {
+      args.add(member(id));
+      args.add(String.valueOf(delta));
+    });
+    stringRedisTemplate.execute(INCREMENT_SCRIPT,
+      List.of(bucketKey(rankingKey, day), deltaKey(rankingKey, day), rankingKey, REBUILD_MARKER_KEY),
+      args.toArray());
+  }
+
+  // 기간 안 버킷을 합쳐 랭킹 키를 다시 만든다(없는 버킷은 빈 집합으로 취급).
+  private void refreshRanking(String rankingKey) {
+    List<String> bucketKeys = windowDays(LocalDate.now()).stream()
+      .map(day -> bucketKey(rankingKey, day))
+      .toList();
+    stringRedisTemplate.opsForZSet().unionAndStore(bucketKeys.get(0), bucketKeys.subList(1, bucketKeys.size()), rankingKey);
+  }
+
+  private List<RankedScore> top(String key, int limit) {
+    try {
+      if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(key))) {
+        return null;
+      }
+      Set<TypedTuple<String>> tuples = stringRedisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1);
+      if (tuples == null) {
+        return null;
+      }
+      List<RankedScore> ranked = new ArrayList<>(tuples.size());
+      for (TypedTuple<String> tuple : tuples) {
+        if (tuple.getValue() == null) {
+          continue;
+        }
+        long score = tuple.getScore() == null ? 0L : Math.max(0L, Math.round(tuple.getScore()));
+        ranked.add(new RankedScore(Long.parseLong(tuple.getValue()), score));
+      }
+      return ranked;
+    } catch (Exception e) {
+      log.warn("Popularity ranking read failed: key={}, reason={}", key, e.getMessage());
+      return null;
+    }
+  }
+
+  // 일자별로 임시 키에 채운 뒤 교체해 조회 중에 빈 버킷이 보이지 않게 한다.
+  private void replaceBuckets(String rankingKey, List<LocalDate> days, List<DailySoldQtyRow> rows) {
+    Map<String, List<DailySoldQtyRow>> rowsByDay = new HashMap<>();
+    for (DailySoldQtyRow row : rows) {
+      rowsByDay.computeIfAbsent(row.getDay(), key -> new ArrayList<>()).add(row);
+    }
+    for (LocalDate day : days) {
+      String bucketKey = bucketKey(rankingKey, day);
+      String tempKey = bucketKey + ":rebuild";
+      stringRedisTemplate.delete(tempKey);
+      Set<TypedTuple<String>> chunk = new HashSet<>();
+      for (DailySoldQtyRow row : rowsByDay.getOrDefault(day.format(DAY_FORMAT), List.of())) {
+        long soldQty = row.getSoldQty() == null ? 0L : row.getSoldQty();
+        chunk.add(new DefaultTypedTuple<>(member(row.getId()), (double) soldQty));
+        if (chunk.size() >= REBUILD_CHUNK_SIZE) {
+          stringRedisTemplate.opsForZSet().add(tempKey, chunk);
+          chunk = new HashSet<>();
+        }
+      }
+      if (!chunk.isEmpty()) {
+        stringRedisTemplate.opsForZSet().add(tempKey, chunk);
+      }
+      stringRedisTemplate.execute(REPLACE_BUCKET_SCRIPT,
+        List.of(tempKey, bucketKey, deltaKey(rankingKey, day)),
+        String.valueOf(bucketTtl().toSeconds()));
+    }
+  }
+
+  // 오늘부터 windowDays일 전까지 (최신순)
+  private List<LocalDate> windowDays(LocalDate today) {
+    List<LocalDate> days = new ArrayList<>(windowDays);
+    for (int i = 0; i < Math.max(1, windowDays); i++) {
+      days.add(today.minusDays(i));
+    }
+    return days;
+  }
+
+  // 기간이 지난 뒤에도 하루 여유를 두고 지운다.
+  private Duration bucketTtl() {
+    return Duration.ofDays(windowDays + 1L);
+  }
+
+  private String bucketKey(String rankingKey, LocalDate day) {
+    return rankingKey + ":day:" + day.format(DAY_FORMAT);
+  }
+
+  private String deltaKey(String rankingKey, LocalDate day) {
+    return bucketKey(rankingKey, day) + ":delta";
+  }
+
+  private String member(Long id) {
+    return String.format("%019d", id);
+  }
+
+  private void runAfterCommit(Runnable task) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      task.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        task.run();
+      }
+    });
+  }
+
+  record RankedScore(Long id, long soldQty) {
+  }
+}
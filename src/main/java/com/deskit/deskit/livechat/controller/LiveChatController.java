@@ -1,18 +1,23 @@
 package com.deskit.deskit.livechat.controller;
 
 import com.deskit.deskit.livechat.dto.LiveChatMessageDTO;
+import com.deskit.deskit.livechat.dto.LiveChatReplayResponse;
 import com.deskit.deskit.livechat.dto.LiveMessageType;
+import com.deskit.deskit.livechat.service.ForbiddenWordMatcher;
+import com.deskit.deskit.livechat.service.LiveChatRelay;
+import com.deskit.deskit.livechat.service.LiveChatReplayService;
 import com.deskit.deskit.livechat.service.LiveChatService;
 import com.deskit.deskit.livehost.service.BroadcastService;
-import com.deskit.deskit.account.entity.Member;
-import com.deskit.deskit.account.repository.MemberRepository;
+import com.deskit.deskit.livehost.service.ChatSlowModeService;
+import com.deskit.deskit.livehost.service.VodService;
+import com.deskit.deskit.account.service.MemberLoginIdCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -25,23 +30,39 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class LiveChatController {
 
-    private final SimpMessageSendingOperations messagingTemplate;
     private final LiveChatService chatService;
+    private final LiveChatRelay liveChatRelay;
     private final BroadcastService broadcastService;
-    private final MemberRepository memberRepository;
+    private final MemberLoginIdCache memberLoginIdCache;
+    private final ChatSlowModeService chatSlowModeService;
+    private final ForbiddenWordMatcher forbiddenWordMatcher;
+    private final LiveChatReplayService liveChatReplayService;
+    private final VodService vodService;
 
     @MessageMapping("/chat/message")
     public void handleMessage(LiveChatMessageDTO message, Principal principal, SimpMessageHeaderAccessor accessor) {
         if (message.getType() == LiveMessageType.TALK && message.getBroadcastId() != null) {
-            String loginId = message.getMemberEmail();
-            if (loginId != null && !loginId.isBlank()) {
-                Member member = memberRepository.findByLoginId(loginId);
-                if (member != null && !broadcastService.canChat(message.getBroadcastId(), member.getMemberId())) {
-                    log.debug("livechat.blocked broadcastId={} memberId={} reason=SANCTIONED",
-                            message.getBroadcastId(),
-                            member.getMemberId());
-                    return;
-                }
+            // 회원 id/제재 상태 모두 캐시에서 확인해 메시지마다 DB 를 조회하지 않는다.
+            Long memberId = memberLoginIdCache.findMemberId(message.getMemberEmail());
+            if (memberId != null && !broadcastService.canChat(message.getBroadcastId(), memberId)) {
+                log.debug("livechat.blocked broadcastId={} memberId={} reason=SANCTIONED",
+                        message.getBroadcastId(),
+                        memberId);
+                return;
+            }
+            // 이 방송의 호스트와 관리자만 슬로우 모드 대상이 아니다.
+            // 발신자 키는 클라이언트가 보낸 값이 아니라 인증 주체(없으면 STOMP 세션 id)로 잡는다.
+            String role = resolveRole(accessor);
+            boolean exempt = "ROLE_ADMIN".equals(role) || (principal != null && role != null
+                    && role.startsWith("ROLE_SELLER")
+                    && broadcastService.isChatHost(message.getBroadcastId(), principal.getName()));
+            String senderKey = principal != null ? principal.getName()
+                    : accessor != null ? accessor.getSessionId() : null;
+            if (!exempt && !chatSlowModeService.tryAcquire(message.getBroadcastId(), senderKey)) {
+                log.debug("livechat.blocked broadcastId={} sender={} reason=SLOW_MODE",
+                        message.getBroadcastId(),
+                        senderKey);
+                return;
             }
         }
         String original = message.getContent();
@@ -51,8 +72,12 @@ public class LiveChatController {
         message.setRawContent(original);
         message.setSenderRole(resolveRole(accessor));
 
-        if (message.getSentAt() == null) {
-            message.setSentAt(System.currentTimeMillis());
+        // 클라이언트가 보낸 sentAt 은 믿지 않고 서버 수신 시각으로 덮어쓴다(재생 위치, 최근 채팅 정렬 기준).
+        long receivedAt = System.currentTimeMillis();
+        message.setSentAt(receivedAt);
+        if (message.getBroadcastId() != null) {
+            // VOD 다시보기 채팅 동기화를 위해 재생 위치는 서버에서 계산한다.
+            message.setVodPlayTime(broadcastService.getVodPlayTime(message.getBroadcastId(), receivedAt));
         }
         String principalName = principal != null ? principal.getName() : "anonymous";
         log.debug("livechat.in broadcastId={} sender={} type={} sentAt={} principal={} content={}",
@@ -64,9 +89,9 @@ public class LiveChatController {
                 message.getContent());
 
         chatService.saveMessageAsync(message);
-        chatService.cacheRecentMessage(message);
+        String recentRecordId = chatService.cacheRecentMessage(message);
 
-        messagingTemplate.convertAndSend("/sub/chat/" + message.getBroadcastId(), message);
+        liveChatRelay.publish(message, recentRecordId);
     }
 
     @GetMapping("/api/livechats/{broadcastId}/recent")
@@ -80,6 +105,27 @@ public class LiveChatController {
         return result;
     }
 
+    // VOD 재생 위치 [from, to) 초 구간의 채팅. nextCursor 가 있으면 같은 구간을 이어서 조회한다.
+    // 비공개/관리자 중지 VOD 의 채팅은 VOD 재생과 같은 권한이 있어야 볼 수 있다.
+    @GetMapping("/api/livechats/{broadcastId}/replay")
+    public LiveChatReplayResponse getReplay(
+            @PathVariable Long broadcastId,
+            @RequestParam(name = "from", required = false) Integer from,
+            @RequestParam(name = "to", required = false) Integer to,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        vodService.checkChatReplayAccess(broadcastId);
+        return liveChatReplayService.replay(broadcastId, from, to, cursor, limit);
+    }
+
+    // 금칙어 테이블 변경 후 모든 노드의 매처를 다시 만든다.
+    @PostMapping("/api/admin/livechats/forbidden-words/reload")
+    public void reloadForbiddenWords() {
+        forbiddenWordMatcher.requestReload();
+        log.info("livechat.forbidden-words.reload requested");
+    }
+
     private String resolveRole(SimpMessageHeaderAccessor accessor) {
         if (accessor == null || accessor.getSessionAttributes() == null) {
             return null;
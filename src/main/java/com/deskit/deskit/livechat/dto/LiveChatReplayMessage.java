@@ -4,21 +4,16 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 
 @Getter
-@Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class LiveChatCacheEntry {
-    private Long broadcastId;
-    private String memberEmail;
+public class LiveChatReplayMessage {
+    private Long messageId;
     private LiveMessageType type;
     private String sender;
     private String content;
-    private String senderRole;
-    private String connectionId;
     private int vodPlayTime;
     private Long sentAt;
 }
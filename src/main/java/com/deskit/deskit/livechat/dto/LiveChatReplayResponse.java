@@ -0,0 +1,21 @@
+package com.deskit.deskit.livechat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveChatReplayResponse {
+    private Long broadcastId;
+    private int from;
+    private int to;
+    private List<LiveChatReplayMessage> messages;
+    // 같은 구간에 남은 메시지가 있으면 다음 요청에 넘길 커서, 없으면 null
+    private String nextCursor;
+}
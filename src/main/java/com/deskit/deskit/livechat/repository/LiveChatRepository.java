@@ -3,6 +3,9 @@ package com.deskit.deskit.livechat.repository;
 import com.deskit.deskit.livechat.dto.LiveMessageType;
 import com.deskit.deskit.livechat.entity.LiveChat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.Collection;
 import java.util.List;
 
@@ -10,4 +13,18 @@ public interface LiveChatRepository extends JpaRepository<LiveChat, Long> {
     List<LiveChat> findByBroadcastIdOrderByMessageIdAsc(Long broadcastId);
 
     long countByBroadcastIdAndMsgTypeIn(Long broadcastId, Collection<LiveMessageType> msgTypes);
+
+    // idx_live_chat_broadcast_play_time (broadcast_id, vod_play_time) 범위 조회
+    @Query("""
+            select c from LiveChat c
+            where c.broadcastId = :broadcastId
+              and c.vodPlayTime >= :fromSeconds
+              and c.vodPlayTime < :toSeconds
+              and c.msgType in :msgTypes
+            order by c.vodPlayTime asc, c.messageId asc
+            """)
+    List<LiveChat> findReplayRange(@Param("broadcastId") Long broadcastId,
+                                   @Param("fromSeconds") int fromSeconds,
+                                   @Param("toSeconds") int toSeconds,
+                                   @Param("msgTypes") Collection<LiveMessageType> msgTypes);
 }
@@ -0,0 +1,573 @@
+package com.deskit.deskit.livechat.service;
+
+import com.deskit.deskit.livechat.repository.ForbiddenWordRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 금칙어 매처 (버전 단위로 통째로 교체).
+ * - 금칙어 목록이 바뀌면 백그라운드에서 새 오토마톤을 만들고 참조만 바꾼다. 조회 중인 스레드는 이전 버전을 그대로 쓴다.
+ * - 변경 감지: refresh-interval-ms 주기로 목록을 비교하고, 관리자 요청 시 Redis Pub/Sub 으로 모든 노드가 즉시 다시 읽는다.
+ * - 정규화: 공백/구분 기호 제거, 전각 -> 반각, 소문자, 한글 음절 -> 자모 분해.
+ * - 반복: 원문에서 같은 문자가 금칙어에 적힌 횟수 이상 이어지면 일치로 본다("aasss" 는 "ass" 와 일치). 금칙어 자체는 줄이지 않으므로
+ *   "ass" 는 "as" 와, "ㅅㅅ" 은 "ㅅ" 과 일치하지 않는다.
+ * - 검사: 원문을 한 글자씩 정규화하며 바로 오토마톤에 넣으므로, 금칙어가 없는 메시지는 새 문자열을 만들지 않는다.
+ * - 일치는 원문 글자 경계에서 시작하고 끝나야 한다. 자모로 풀어 비교하므로 "하시 바랍니다" 처럼 앞 글자의 종성/다음 글자의
+ *   초성에 걸친 일치("시발")는 금칙어로 보지 않는다.
+ * - 영문/숫자로 시작(끝)하는 금칙어는 앞(뒤)에 영문/숫자가 붙어 있으면 보지 않는다("ass" 는 "class" 를 가리지 않는다).
+ */
+@Slf4j
+@Component
+public class ForbiddenWordMatcher implements MessageListener {
+
+    private static final String CHANNEL = "livechat:forbidden_words";
+    private static final String MASK = "***";
+
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+    private static final char[] JUNGSEONG = {
+            'ㅏ', 'ㅐ', 'ㅑ', 'ㅒ', 'ㅓ', 'ㅔ', 'ㅕ', 'ㅖ', 'ㅗ', 'ㅘ', 'ㅙ', 'ㅚ', 'ㅛ', 'ㅜ', 'ㅝ', 'ㅞ', 'ㅟ', 'ㅠ', 'ㅡ', 'ㅢ', 'ㅣ'
+    };
+    private static final char[] JONGSEONG = {
+            0, 'ㄱ', 'ㄲ', 'ㄳ', 'ㄴ', 'ㄵ', 'ㄶ', 'ㄷ', 'ㄹ', 'ㄺ', 'ㄻ', 'ㄼ', 'ㄽ', 'ㄾ', 'ㄿ', 'ㅀ', 'ㅁ', 'ㅂ', 'ㅄ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+    private static final String SEPARATORS = ".,-_~!@#$%^&*()+=[]{}|\\/:;'\"<>?`·ㆍ";
+
+    private final ForbiddenWordRepository forbiddenWordRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ForbiddenWordReload");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean reloadQueued = new AtomicBoolean();
+
+    private volatile MatcherVersion current = MatcherVersion.EMPTY;
+
+    public ForbiddenWordMatcher(
+            ForbiddenWordRepository forbiddenWordRepository,
+            StringRedisTemplate stringRedisTemplate,
+            @Qualifier("redisMessageListener") RedisMessageListenerContainer listenerContainer
+    ) {
+        this.forbiddenWordRepository = forbiddenWordRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloadExecutor.shutdownNow();
+    }
+
+    /**
+     * 금칙어를 "***" 로 가린 문자열. 금칙어가 없으면 원본을 그대로 반환한다.
+     */
+    public String mask(String content) {
+        if (content == null || content.isEmpty()) {
+            return content;
+        }
+        return current.automaton().mask(content);
+    }
+
+    public long getVersion() {
+        return current.version();
+    }
+
+    public int getWordCount() {
+        return current.words().size();
+    }
+
+    /**
+     * 모든 노드에 금칙어를 다시 읽도록 알린다.
+     */
+    public void requestReload() {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, "reload");
+        } catch (Exception e) {
+            log.warn("Forbidden word reload publish failed, reloading locally: reason={}", e.getMessage());
+            scheduleReload();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        scheduleReload();
+    }
+
+    @Scheduled(
+            initialDelayString = "${livechat.forbidden-words.refresh-interval-ms:60000}",
+            fixedDelayString = "${livechat.forbidden-words.refresh-interval-ms:60000}"
+    )
+    public void refresh() {
+        scheduleReload();
+    }
+
+    private void scheduleReload() {
+        // 이미 대기 중인 재로드가 있으면 합친다.
+        if (reloadQueued.compareAndSet(false, true)) {
+            reloadExecutor.execute(() -> {
+                reloadQueued.set(false);
+                reload();
+            });
+        }
+    }
+
+    private void reload() {
+        List<String> words;
+        try {
+            words = forbiddenWordRepository.findAll()
+                    .stream()
+                    .map(word -> word.getWord())
+                    .filter(word -> word != null && !word.isBlank())
+                    .map(String::trim)
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            log.warn("Forbidden word load failed, keeping version {}: reason={}", current.version(), e.getMessage());
+            return;
+        }
+        MatcherVersion previous = current;
+        if (previous.words().equals(words) && previous != MatcherVersion.EMPTY) {
+            return;
+        }
+        current = new MatcherVersion(previous.version() + 1, words, Automaton.build(words));
+        log.info("Forbidden word matcher updated: version={}, words={}", previous.version() + 1, words.size());
+    }
+
+    /**
+     * 원문 한 글자를 정규화한 문자(0~3개)를 out 에 채우고 개수를 반환한다.
+     */
+    private static int normalize(char c, char[] out) {
+        if (Character.isWhitespace(c) || Character.isSpaceChar(c) || SEPARATORS.indexOf(c) >= 0
+                || (c >= 0x200B && c <= 0x200D) || c == 0xFEFF) {
+            return 0;
+        }
+        // 전각 영숫자/기호 -> 반각
+        if (c >= 0xFF01 && c <= 0xFF5E) {
+            c = (char) (c - 0xFEE0);
+            if (SEPARATORS.indexOf(c) >= 0) {
+                return 0;
+            }
+        }
+        // 한글 음절 -> 초성/중성/(종성) 호환 자모
+        if (c >= 0xAC00 && c <= 0xD7A3) {
+            int index = c - 0xAC00;
+            out[0] = CHOSEONG[index / 588];
+            out[1] = JUNGSEONG[(index % 588) / 28];
+            char jong = JONGSEONG[index % 28];
+            if (jong == 0) {
+                return 2;
+            }
+            out[2] = jong;
+            return 3;
+        }
+        // 조합형 자모는 호환 자모로 맞춘다.
+        if (c >= 0x1100 && c <= 0x1112) {
+            out[0] = CHOSEONG[c - 0x1100];
+            return 1;
+        }
+        if (c >= 0x1161 && c <= 0x1175) {
+            out[0] = JUNGSEONG[c - 0x1161];
+            return 1;
+        }
+        if (c >= 0x11A8 && c <= 0x11C2) {
+            out[0] = JONGSEONG[c - 0x11A8 + 1];
+            return 1;
+        }
+        out[0] = Character.toLowerCase(c);
+        return 1;
+    }
+
+    /**
+     * 금칙어를 정규화하고 연속된 같은 문자를 하나로 묶는다. runs 는 묶인 문자마다 금칙어에 적힌 반복 횟수.
+     */
+    private static NormalizedWord normalizeWord(String word) {
+        StringBuilder chars = new StringBuilder(word.length() * 3);
+        int[] runs = new int[word.length() * 3];
+        char[] buffer = new char[3];
+        for (int i = 0; i < word.length(); i++) {
+            int count = normalize(word.charAt(i), buffer);
+            for (int j = 0; j < count; j++) {
+                int length = chars.length();
+                if (length > 0 && chars.charAt(length - 1) == buffer[j]) {
+                    runs[length - 1]++;
+                } else {
+                    chars.append(buffer[j]);
+                    runs[length] = 1;
+                }
+            }
+        }
+        return new NormalizedWord(chars.toString(), Arrays.copyOf(runs, chars.length()));
+    }
+
+    // 앞뒤가 붙어 있으면 다른 단어의 일부로 보는 문자 (영문/숫자)
+    private static boolean isWordChar(char c) {
+        return c < 0x80 && Character.isLetterOrDigit(c);
+    }
+
+    private record NormalizedWord(String chars, int[] runs) {
+    }
+
+    private record MatcherVersion(long version, List<String> words, Automaton automaton) {
+        private static final MatcherVersion EMPTY = new MatcherVersion(0L, List.of(), Automaton.build(List.of()));
+    }
+
+    /**
+     * 상태에서 끝나는 금칙어 하나. runs 는 묶인 문자마다 원문에 필요한 최소 반복 횟수이고 길이가 곧 정규화 문자 수다.
+     */
+    private record Pattern(int[] runs, boolean wordStart, boolean wordEnd) {
+    }
+
+    /**
+     * 정규화된 금칙어의 Aho-Corasick 오토마톤 (상태별 정렬된 전이 배열).
+     * 전이는 연속된 같은 문자를 묶은 문자열 위에서 일어나고, 같은 문자가 이어지면 상태를 그대로 두고(self-loop) 반복 횟수만 센다.
+     * 일치 후보에서 금칙어마다 필요한 반복 횟수를 원문 반복 횟수와 비교한다.
+     */
+    private static final class Automaton {
+        private final char[][] transitionChars;
+        private final int[][] transitionTargets;
+        private final int[] fail;
+        // 이 상태에서 끝나는 금칙어들(정규화 문자 수가 긴 순서), 없으면 빈 배열
+        private final Pattern[][] patterns;
+        private final int maxLength;
+
+        private Automaton(char[][] transitionChars, int[][] transitionTargets, int[] fail, Pattern[][] patterns,
+                          int maxLength) {
+            this.transitionChars = transitionChars;
+            this.transitionTargets = transitionTargets;
+            this.fail = fail;
+            this.patterns = patterns;
+            this.maxLength = maxLength;
+        }
+
+        private static Automaton build(List<String> words) {
+            List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+            List<List<Pattern>> ends = new ArrayList<>();
+            trie.add(new TreeMap<>());
+            ends.add(new ArrayList<>());
+            int maxLength = 0;
+            for (String word : words) {
+                NormalizedWord normalized = normalizeWord(word);
+                String chars = normalized.chars();
+                if (chars.isEmpty()) {
+                    continue;
+                }
+                int state = 0;
+                for (int i = 0; i < chars.length(); i++) {
+                    Integer next = trie.get(state).get(chars.charAt(i));
+                    if (next == null) {
+                        next = trie.size();
+                        trie.add(new TreeMap<>());
+                        ends.add(new ArrayList<>());
+                        trie.get(state).put(chars.charAt(i), next);
+                    }
+                    state = next;
+                }
+                ends.get(state).add(new Pattern(normalized.runs(), isWordChar(chars.charAt(0)),
+                        isWordChar(chars.charAt(chars.length() - 1))));
+                maxLength = Math.max(maxLength, chars.length());
+            }
+
+            int size = trie.size();
+            char[][] chars = new char[size][];
+            int[][] targets = new int[size][];
+            Pattern[][] patterns = new Pattern[size][];
+            for (int state = 0; state < size; state++) {
+                TreeMap<Character, Integer> edges = trie.get(state);
+                chars[state] = new char[edges.size()];
+                targets[state] = new int[edges.size()];
+                int i = 0;
+                for (var edge : edges.entrySet()) {
+                    chars[state][i] = edge.getKey();
+                    targets[state][i] = edge.getValue();
+                    i++;
+                }
+                patterns[state] = ends.get(state).toArray(new Pattern[0]);
+            }
+
+            // BFS 로 실패 링크를 만들고, 실패 링크 쪽에서 끝나는 금칙어도 함께 반영한다.
+            // 가장 긴 일치가 글자 경계에서 시작하지 않아도 더 짧은 일치는 경계에 맞을 수 있어 모두 둔다.
+            int[] fail = new int[size];
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int target : targets[0]) {
+                queue.add(target);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int i = 0; i < chars[state].length; i++) {
+                    char c = chars[state][i];
+                    int child = targets[state][i];
+                    fail[child] = step(chars, targets, fail, fail[state], c);
+                    patterns[child] = concat(patterns[child], patterns[fail[child]]);
+                    queue.add(child);
+                }
+            }
+            return new Automaton(chars, targets, fail, patterns, maxLength);
+        }
+
+        // 실패 링크 쪽 금칙어는 항상 더 짧으므로 이어 붙이면 긴 순서가 유지된다.
+        private static Pattern[] concat(Pattern[] own, Pattern[] inherited) {
+            if (inherited.length == 0) {
+                return own;
+            }
+            Pattern[] merged = Arrays.copyOf(own, own.length + inherited.length);
+            System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+            return merged;
+        }
+
+        private static int step(char[][] chars, int[][] targets, int[] fail, int state, char c) {
+            while (true) {
+                int index = Arrays.binarySearch(chars[state], c);
+                if (index >= 0) {
+                    return targets[state][index];
+                }
+                if (state == 0) {
+                    return 0;
+                }
+                state = fail[state];
+            }
+        }
+
+        private String mask(String content) {
+            if (maxLength == 0) {
+                return content;
+            }
+            char[] buffer = new char[3];
+            // 최근 정규화 문자들의 원문 위치/반복 횟수 등 (일치 시작 위치 역추적용)
+            Trace trace = null;
+            int emitted = 0;
+            char last = 0;
+            int state = 0;
+            StringBuilder result = null;
+            int cursor = 0;
+            // 직전 일치 이후 새 정규화 문자가 나오지 않았는지 (반복 문자 꼬리까지 가리기 위함)
+            boolean inMatchTail = false;
+            // 직전 정규화 문자와의 사이에 공백/구분 기호가 있었는지
+            boolean separated = true;
+            for (int i = 0; i < content.length(); i++) {
+                int count = normalize(content.charAt(i), buffer);
+                if (count == 0) {
+                    separated = true;
+                    continue;
+                }
+                if (inMatchTail && allRepeated(buffer, count, last)) {
+                    cursor = i + 1;
+                    separated = false;
+                    continue;
+                }
+                for (int j = 0; j < count; j++) {
+                    char c = buffer[j];
+                    if (c == last) {
+                        // 같은 문자가 이어지면 상태는 그대로 두고 반복 횟수만 늘린다.
+                        if (trace != null) {
+                            trace.repeat(emitted, j == 0);
+                        }
+                    } else {
+                        last = c;
+                        inMatchTail = false;
+                        if (trace != null) {
+                            trace.record(emitted, i, j == 0, c, separated);
+                        }
+                        emitted++;
+                        state = step(transitionChars, transitionTargets, fail, state, c);
+                    }
+                    separated = false;
+                    // 글자 중간(초성/중성 뒤)에서 끝나는 일치는 보지 않는다.
+                    if (patterns[state].length == 0 || j != count - 1) {
+                        continue;
+                    }
+                    if (trace == null) {
+                        // 첫 일치 후보에서만 기록을 시작하므로, 원문을 한 번 더 훑어 채운다.
+                        trace = new Trace(maxLength + 1);
+                        trace.fill(content, i, j);
+                    }
+                    int start = matchStart(trace, state, emitted, content, i, last);
+                    if (start < 0) {
+                        continue;
+                    }
+                    if (result == null) {
+                        result = new StringBuilder(content.length());
+                    }
+                    // 앞서 가린 구간과 겹치면 가린 구간만 늘린다.
+                    if (start >= cursor) {
+                        result.append(content, cursor, start).append(MASK);
+                    }
+                    cursor = i + 1;
+                    state = 0;
+                    inMatchTail = true;
+                }
+            }
+            if (result == null) {
+                return content;
+            }
+            if (cursor < content.length()) {
+                result.append(content, cursor, content.length());
+            }
+            return result.toString();
+        }
+
+        /**
+         * 현재 상태에서 끝나는 금칙어 중 조건(글자 경계 시작, 반복 횟수, 영문 단어 경계)을 만족하는 가장 긴 것의 원문 시작 위치.
+         * 없으면 -1.
+         */
+        private int matchStart(Trace trace, int state, int emitted, String content, int index, char last) {
+            for (Pattern pattern : patterns[state]) {
+                int first = emitted - pattern.runs().length;
+                if (!trace.startsAt(first) || !trace.repeatsAtLeast(first, pattern.runs())) {
+                    continue;
+                }
+                if (pattern.wordStart() && !trace.boundaryBefore(first)) {
+                    continue;
+                }
+                if (pattern.wordEnd() && !boundaryAfter(content, index, last)) {
+                    continue;
+                }
+                return trace.origin(first);
+            }
+            return -1;
+        }
+
+        // 일치 뒤(같은 문자 반복은 건너뜀)가 공백/구분 기호, 영문/숫자 외 문자, 또는 원문 끝인지
+        private static boolean boundaryAfter(String content, int index, char last) {
+            char[] buffer = new char[3];
+            for (int k = index + 1; k < content.length(); k++) {
+                int count = normalize(content.charAt(k), buffer);
+                if (count == 0) {
+                    return true;
+                }
+                if (!allRepeated(buffer, count, last)) {
+                    return !isWordChar(buffer[0]);
+                }
+            }
+            return true;
+        }
+
+        private static boolean allRepeated(char[] buffer, int count, char last) {
+            for (int j = 0; j < count; j++) {
+                if (buffer[j] != last) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 최근 size 개 정규화 문자(같은 문자 반복은 하나)의 원문 위치, 글자 시작 여부, 반복 횟수, 문자, 앞 구분 여부.
+     * size 는 가장 긴 금칙어보다 하나 커서 일치 바로 앞 문자까지 남는다.
+     */
+    private static final class Trace {
+        private final int size;
+        private final int[] origins;
+        private final boolean[] starts;
+        private final int[] runs;
+        private final char[] chars;
+        private final boolean[] separated;
+
+        private Trace(int size) {
+            this.size = size;
+            this.origins = new int[size];
+            this.starts = new boolean[size];
+            this.runs = new int[size];
+            this.chars = new char[size];
+            this.separated = new boolean[size];
+        }
+
+        private void record(int emitted, int origin, boolean start, char c, boolean separatedBefore) {
+            int slot = emitted % size;
+            origins[slot] = origin;
+            starts[slot] = start;
+            runs[slot] = 1;
+            chars[slot] = c;
+            separated[slot] = separatedBefore;
+        }
+
+        private void repeat(int emitted, boolean start) {
+            int slot = (emitted - 1) % size;
+            runs[slot]++;
+            // 글자 첫 자모가 앞 글자 끝 자모와 합쳐졌으면 그 자모가 이 글자의 시작도 된다.
+            if (start) {
+                starts[slot] = true;
+            }
+        }
+
+        private boolean startsAt(int first) {
+            return starts[first % size];
+        }
+
+        private int origin(int first) {
+            return origins[first % size];
+        }
+
+        private boolean repeatsAtLeast(int first, int[] required) {
+            for (int k = 0; k < required.length; k++) {
+                if (runs[(first + k) % size] < required[k]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean boundaryBefore(int first) {
+            return first == 0 || separated[first % size] || !isWordChar(chars[(first - 1) % size]);
+        }
+
+        /**
+         * 원문 [0, endIndex] 범위를 다시 정규화해 채운다. endIndex 글자는 endJamo 번째 정규화 문자까지만 센다.
+         * mask() 와 같은 규칙으로 센다.
+         */
+        private void fill(String content, int endIndex, int endJamo) {
+            char[] buffer = new char[3];
+            char last = 0;
+            int emitted = 0;
+            boolean separatedBefore = true;
+            for (int i = 0; i <= endIndex; i++) {
+                int count = normalize(content.charAt(i), buffer);
+                if (count == 0) {
+                    separatedBefore = true;
+                    continue;
+                }
+                int limit = i == endIndex ? Math.min(count, endJamo + 1) : count;
+                for (int j = 0; j < limit; j++) {
+                    if (buffer[j] == last) {
+                        repeat(emitted, j == 0);
+                    } else {
+                        last = buffer[j];
+                        record(emitted, i, j == 0, last, separatedBefore);
+                        emitted++;
+                    }
+                    separatedBefore = false;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.deskit.deskit.livechat.service;
+
+import com.deskit.deskit.livechat.dto.LiveChatMessageDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 방송별 채팅 프레임 병합.
+ * - 평소에는 메시지 1개 = STOMP 프레임 1개로 바로 보낸다.
+ * - 방송의 초당 메시지 수가 threshold-per-second 이상이면 window-ms 동안 모은 메시지를 JSON 배열 프레임 하나로 보낸다.
+ * - 초당 메시지 수가 threshold 의 절반 아래로 내려가면 다시 바로 보낸다.
+ */
+@Slf4j
+@Component
+public class LiveChatFrameCoalescer {
+
+    private static final String DESTINATION_PREFIX = "/sub/chat/";
+    private static final long RATE_WINDOW_MILLIS = 1000L;
+
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final Map<Long, RoomState> rooms = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "LiveChatFrameFlush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong framesSent = new AtomicLong();
+    private final AtomicLong messagesSent = new AtomicLong();
+    private final AtomicLong coalescedFrames = new AtomicLong();
+
+    @Value("${livechat.coalesce.threshold-per-second:20}")
+    private int thresholdPerSecond;
+
+    @Value("${livechat.coalesce.window-ms:200}")
+    private long windowMillis;
+
+    @Value("${livechat.coalesce.max-batch-size:100}")
+    private int maxBatchSize;
+
+    public LiveChatFrameCoalescer(SimpMessageSendingOperations messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdown();
+        rooms.keySet().forEach(this::flush);
+    }
+
+    public void deliver(LiveChatMessageDTO message) {
+        Long broadcastId = message.getBroadcastId();
+        RoomState room = rooms.computeIfAbsent(broadcastId, id -> new RoomState());
+        List<LiveChatMessageDTO> fullBatch = null;
+        boolean sendNow = false;
+        synchronized (room) {
+            room.countMessage(System.currentTimeMillis());
+            // 병합이 꺼져도 남은 메시지가 있으면 순서를 지키기 위해 뒤에 붙인다.
+            if (!room.coalescing && room.pending.isEmpty()) {
+                sendNow = true;
+            } else {
+                room.pending.add(message);
+                if (room.pending.size() >= maxBatchSize) {
+                    fullBatch = room.drain();
+                } else if (!room.flushScheduled) {
+                    room.flushScheduled = true;
+                    flushScheduler.schedule(() -> flush(broadcastId), windowMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+        if (sendNow) {
+            send(broadcastId, message);
+        } else if (fullBatch != null) {
+            sendBatch(broadcastId, fullBatch);
+        }
+    }
+
+    public long getFramesSent() {
+        return framesSent.get();
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.get();
+    }
+
+    public long getCoalescedFrames() {
+        return coalescedFrames.get();
+    }
+
+    // 한동안 메시지가 없는 방송의 상태를 정리한다.
+    @Scheduled(fixedDelay = 60000)
+    public void purgeIdle() {
+        long idleBefore = System.currentTimeMillis() - 60000L;
+        rooms.entrySet().removeIf(entry -> {
+            RoomState room = entry.getValue();
+            synchronized (room) {
+                return room.rateWindowStart < idleBefore && room.pending.isEmpty() && !room.flushScheduled;
+            }
+        });
+    }
+
+    private void flush(Long broadcastId) {
+        RoomState room = rooms.get(broadcastId);
+        if (room == null) {
+            return;
+        }
+        List<LiveChatMessageDTO> batch;
+        synchronized (room) {
+            room.flushScheduled = false;
+            batch = room.drain();
+        }
+        if (!batch.isEmpty()) {
+            sendBatch(broadcastId, batch);
+        }
+    }
+
+    private void sendBatch(Long broadcastId, List<LiveChatMessageDTO> batch) {
+        if (batch.size() == 1) {
+            send(broadcastId, batch.get(0));
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSend(DESTINATION_PREFIX + broadcastId, batch);
+            framesSent.incrementAndGet();
+            coalescedFrames.incrementAndGet();
+            messagesSent.addAndGet(batch.size());
+        } catch (Exception e) {
+            log.warn("Live chat batch delivery failed: broadcastId={}, size={}, reason={}",
+                    broadcastId, batch.size(), e.getMessage());
+        }
+    }
+
+    private void send(Long broadcastId, LiveChatMessageDTO message) {
+        try {
+            messagingTemplate.convertAndSend(DESTINATION_PREFIX + broadcastId, message);
+            framesSent.incrementAndGet();
+            messagesSent.incrementAndGet();
+        } catch (Exception e) {
+            log.warn("Live chat local delivery failed: broadcastId={}, reason={}", broadcastId, e.getMessage());
+        }
+    }
+
+    private final class RoomState {
+        private final List<LiveChatMessageDTO> pending = new ArrayList<>();
+        private long rateWindowStart;
+        private int rateCount;
+        private boolean coalescing;
+        private boolean flushScheduled;
+
+        private void countMessage(long now) {
+            if (now - rateWindowStart >= RATE_WINDOW_MILLIS) {
+                // 직전 1초가 threshold 절반 미만이면 끈다(켜고 끄는 기준을 달리해 경계에서 오가지 않게 한다).
+                if (coalescing && rateCount < thresholdPerSecond / 2) {
+                    coalescing = false;
+                    log.debug("livechat.coalesce.off rate={}", rateCount);
+                }
+                rateWindowStart = now;
+                rateCount = 0;
+            }
+            rateCount++;
+            if (!coalescing && rateCount >= thresholdPerSecond) {
+                coalescing = true;
+                log.debug("livechat.coalesce.on rate={}", rateCount);
+            }
+        }
+
+        private List<LiveChatMessageDTO> drain() {
+            if (pending.isEmpty()) {
+                return List.of();
+            }
+            List<LiveChatMessageDTO> batch = new ArrayList<>(pending);
+            pending.clear();
+            return batch;
+        }
+    }
+}
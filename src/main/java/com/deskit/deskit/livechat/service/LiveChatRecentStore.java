@@ -0,0 +1,311 @@
+package com.deskit.deskit.livechat.service;
+
+import com.deskit.deskit.livechat.dto.LiveChatMessageDTO;
+import com.deskit.deskit.livechat.dto.LiveMessageType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 방송별 최근 채팅 저장소 (고정 용량).
+ * - Redis: 방송별 Stream 에 XADD MAXLEN ~ 로 추가만 한다(별도 trim 명령 없음, 메시지당 명령 1회).
+ * - 저장 형식: 짧은 필드명의 문자열 필드만 저장하고 방송 id/타입(TALK)처럼 키로 알 수 있는 값은 뺀다.
+ * - 노드 로컬 링 버퍼가 Redis 앞단에서 입장 시 "최근 N개" 조회를 받고, local-refresh-ms 마다 Redis 에서 다시 채운다.
+ */
+@Slf4j
+@Component
+public class LiveChatRecentStore {
+
+    private static final String KEY_PREFIX = "livechat:recent:stream:";
+
+    private static final String FIELD_MEMBER = "m";
+    private static final String FIELD_SENDER = "s";
+    private static final String FIELD_CONTENT = "c";
+    private static final String FIELD_ROLE = "r";
+    private static final String FIELD_CONNECTION = "i";
+    private static final String FIELD_VOD_PLAY_TIME = "v";
+    private static final String FIELD_SENT_AT = "t";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Map<Long, RecentRing> rings = new ConcurrentHashMap<>();
+    // 스트림 키 만료 시간 갱신은 메시지마다가 아니라 ttl 의 절반 주기로만 한다.
+    private final Map<Long, Long> expireTouchedAt = new ConcurrentHashMap<>();
+    private final AtomicLong redisAppends = new AtomicLong();
+    private final AtomicLong redisReads = new AtomicLong();
+    private final AtomicLong localHits = new AtomicLong();
+
+    @Value("${livechat.recent.capacity:200}")
+    private int capacity;
+
+    @Value("${livechat.recent.local-refresh-ms:1000}")
+    private long localRefreshMillis;
+
+    @Value("${livechat.recent.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    public LiveChatRecentStore(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /**
+     * Redis 스트림에 추가하고 스트림 레코드 id 를 반환한다(실패 시 null).
+     */
+    public String append(LiveChatMessageDTO dto) {
+        Long broadcastId = dto.getBroadcastId();
+        LiveChatMessageDTO snapshot = copyOf(dto);
+        String recordId = null;
+        try {
+            recordId = xadd(broadcastId, toFields(snapshot));
+            redisAppends.incrementAndGet();
+            touchExpire(broadcastId);
+        } catch (Exception e) {
+            log.warn("Recent chat append failed: broadcastId={}, reason={}", broadcastId, e.getMessage());
+        }
+        appendLocal(broadcastId, recordId, snapshot);
+        return recordId;
+    }
+
+    /**
+     * 다른 노드에서 추가된 메시지를 이 노드의 로컬 링에만 반영한다.
+     */
+    public void appendRelayed(String recordId, LiveChatMessageDTO dto) {
+        appendLocal(dto.getBroadcastId(), recordId, copyOf(dto));
+    }
+
+    /**
+     * 오래된 순서로 최대 capacity 개.
+     */
+    public List<LiveChatMessageDTO> recent(Long broadcastId) {
+        long now = System.currentTimeMillis();
+        RecentRing ring = rings.computeIfAbsent(broadcastId, id -> new RecentRing(capacity));
+        long seqAtLoad;
+        synchronized (ring) {
+            ring.lastAccessAt = now;
+            if (ring.loadedAt > 0 && now - ring.loadedAt < localRefreshMillis) {
+                localHits.incrementAndGet();
+                return ring.snapshot();
+            }
+            seqAtLoad = ring.seq;
+        }
+
+        List<RecentEntry> loaded = readStream(broadcastId);
+        synchronized (ring) {
+            if (loaded != null) {
+                ring.reload(loaded, seqAtLoad, now);
+            }
+            return ring.snapshot();
+        }
+    }
+
+    public long getRedisAppendCount() {
+        return redisAppends.get();
+    }
+
+    public long getRedisReadCount() {
+        return redisReads.get();
+    }
+
+    public long getLocalHitCount() {
+        return localHits.get();
+    }
+
+    // 한동안 조회되지 않은 방송의 로컬 링을 정리한다.
+    @Scheduled(fixedDelay = 60000)
+    public void purgeIdle() {
+        long idleBefore = System.currentTimeMillis() - Math.max(60000L, localRefreshMillis * 10);
+        rings.entrySet().removeIf(entry -> entry.getValue().lastAccessAt < idleBefore);
+        long expireBefore = System.currentTimeMillis() - ttlSeconds * 1000L;
+        expireTouchedAt.entrySet().removeIf(entry -> entry.getValue() < expireBefore);
+    }
+
+    private void appendLocal(Long broadcastId, String recordId, LiveChatMessageDTO snapshot) {
+        // 이미 조회된 적 있는 방송만 로컬 링에 반영한다(처음 조회 때 Redis 에서 채운다).
+        RecentRing ring = rings.get(broadcastId);
+        if (ring != null) {
+            synchronized (ring) {
+                ring.add(recordId, snapshot);
+            }
+        }
+    }
+
+    private String xadd(Long broadcastId, Map<String, String> fields) {
+        XAddOptions options = XAddOptions.maxlen(capacity).approximateTrimming(true);
+        RecordId id = stringRedisTemplate.execute((RedisCallback<RecordId>) connection ->
+                ((StringRedisConnection) connection).xAdd(
+                        StreamRecords.string(fields).withStreamKey(key(broadcastId)), options));
+        return id != null ? id.getValue() : null;
+    }
+
+    private void touchExpire(Long broadcastId) {
+        long now = System.currentTimeMillis();
+        Long touchedAt = expireTouchedAt.get(broadcastId);
+        if (touchedAt != null && now - touchedAt < ttlSeconds * 500L) {
+            return;
+        }
+        expireTouchedAt.put(broadcastId, now);
+        stringRedisTemplate.expire(key(broadcastId), Duration.ofSeconds(ttlSeconds));
+    }
+
+    private List<RecentEntry> readStream(Long broadcastId) {
+        try {
+            List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                    .reverseRange(key(broadcastId), Range.unbounded(), Limit.limit().count(capacity));
+            redisReads.incrementAndGet();
+            if (records == null || records.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<RecentEntry> entries = new ArrayList<>(records.size());
+            for (int i = records.size() - 1; i >= 0; i--) {
+                MapRecord<String, Object, Object> record = records.get(i);
+                LiveChatMessageDTO dto = fromFields(broadcastId, record.getValue());
+                if (dto != null) {
+                    entries.add(new RecentEntry(record.getId().getValue(), 0L, dto));
+                }
+            }
+            return entries;
+        } catch (Exception e) {
+            // Redis 장애 시에는 로컬 링에 남은 내용으로 응답한다.
+            log.warn("Recent chat read failed: broadcastId={}, reason={}", broadcastId, e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, String> toFields(LiveChatMessageDTO dto) {
+        Map<String, String> fields = new HashMap<>();
+        putIfPresent(fields, FIELD_MEMBER, dto.getMemberEmail());
+        putIfPresent(fields, FIELD_SENDER, dto.getSender());
+        putIfPresent(fields, FIELD_CONTENT, dto.getContent());
+        putIfPresent(fields, FIELD_ROLE, dto.getSenderRole());
+        putIfPresent(fields, FIELD_CONNECTION, dto.getConnectionId());
+        if (dto.getVodPlayTime() != 0) {
+            fields.put(FIELD_VOD_PLAY_TIME, String.valueOf(dto.getVodPlayTime()));
+        }
+        fields.put(FIELD_SENT_AT, String.valueOf(dto.getSentAt()));
+        return fields;
+    }
+
+    private LiveChatMessageDTO fromFields(Long broadcastId, Map<Object, Object> fields) {
+        try {
+            Object vodPlayTime = fields.get(FIELD_VOD_PLAY_TIME);
+            return LiveChatMessageDTO.builder()
+                    .broadcastId(broadcastId)
+                    .memberEmail((String) fields.get(FIELD_MEMBER))
+                    .type(LiveMessageType.TALK)
+                    .sender((String) fields.get(FIELD_SENDER))
+                    .content((String) fields.get(FIELD_CONTENT))
+                    .senderRole((String) fields.get(FIELD_ROLE))
+                    .connectionId((String) fields.get(FIELD_CONNECTION))
+                    .vodPlayTime(vodPlayTime != null ? Integer.parseInt((String) vodPlayTime) : 0)
+                    .sentAt(Long.parseLong((String) fields.get(FIELD_SENT_AT)))
+                    .build();
+        } catch (RuntimeException e) {
+            log.debug("livechat.recent.invalid broadcastId={} fields={}", broadcastId, fields);
+            return null;
+        }
+    }
+
+    private void putIfPresent(Map<String, String> fields, String field, String value) {
+        if (value != null) {
+            fields.put(field, value);
+        }
+    }
+
+    private LiveChatMessageDTO copyOf(LiveChatMessageDTO dto) {
+        return LiveChatMessageDTO.builder()
+                .broadcastId(dto.getBroadcastId())
+                .memberEmail(dto.getMemberEmail())
+                .type(LiveMessageType.TALK)
+                .sender(dto.getSender())
+                .content(dto.getContent())
+                .senderRole(dto.getSenderRole())
+                .connectionId(dto.getConnectionId())
+                .vodPlayTime(dto.getVodPlayTime())
+                .sentAt(dto.getSentAt())
+                .build();
+    }
+
+    private String key(Long broadcastId) {
+        return KEY_PREFIX + broadcastId;
+    }
+
+    private record RecentEntry(String recordId, long seq, LiveChatMessageDTO message) {
+    }
+
+    private static final class RecentRing {
+        private final int capacity;
+        private final ArrayDeque<RecentEntry> entries;
+        private long seq;
+        private long loadedAt;
+        private volatile long lastAccessAt = System.currentTimeMillis();
+
+        private RecentRing(int capacity) {
+            this.capacity = Math.max(1, capacity);
+            this.entries = new ArrayDeque<>(this.capacity);
+        }
+
+        private void add(String recordId, LiveChatMessageDTO message) {
+            if (entries.size() >= capacity) {
+                entries.pollFirst();
+            }
+            entries.addLast(new RecentEntry(recordId, ++seq, message));
+        }
+
+        /**
+         * Redis 내용으로 교체하되, 읽는 동안 이 노드에서 추가된 메시지 중 결과에 없는 것은 뒤에 다시 붙인다.
+         */
+        private void reload(List<RecentEntry> loaded, long seqAtLoad, long now) {
+            Set<String> loadedIds = new HashSet<>();
+            loaded.forEach(entry -> loadedIds.add(entry.recordId()));
+            List<RecentEntry> appendedDuringLoad = new ArrayList<>();
+            for (RecentEntry entry : entries) {
+                if (entry.seq() > seqAtLoad && !loadedIds.contains(entry.recordId())) {
+                    appendedDuringLoad.add(entry);
+                }
+            }
+            entries.clear();
+            int skip = Math.max(0, loaded.size() + appendedDuringLoad.size() - capacity);
+            for (RecentEntry entry : loaded) {
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                entries.addLast(entry);
+            }
+            for (RecentEntry entry : appendedDuringLoad) {
+                if (entries.size() >= capacity) {
+                    entries.pollFirst();
+                }
+                entries.addLast(entry);
+            }
+            loadedAt = now;
+        }
+
+        private List<LiveChatMessageDTO> snapshot() {
+            List<LiveChatMessageDTO> messages = new ArrayList<>(entries.size());
+            entries.forEach(entry -> messages.add(entry.message()));
+            return messages;
+        }
+    }
+}
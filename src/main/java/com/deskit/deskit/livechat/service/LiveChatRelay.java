@@ -0,0 +1,179 @@
+package com.deskit.deskit.livechat.service;
+
+import com.deskit.deskit.livechat.dto.LiveChatMessageDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 라이브 채팅을 Redis Pub/Sub 으로 모든 노드의 /sub/chat/{broadcastId} 구독자에게 전달한다.
+ * - 각 노드의 실제 전송은 LiveChatFrameCoalescer 가 맡는다(메시지가 몰리면 프레임 병합).
+ * - 메시지는 방송 채널(livechat:room:{id})에 한 번만 발행하고, 발행한 노드도 같은 경로로 받아 전달한다.
+ * - 방송 채널은 해당 방송을 STOMP 로 구독 중인 세션이 있는 노드만 구독한다.
+ * - 발행에 실패하면 최소한 이 노드의 구독자에게는 바로 전달한다.
+ */
+@Slf4j
+@Component
+public class LiveChatRelay implements MessageListener {
+
+    private static final String CHANNEL_PREFIX = "livechat:room:";
+    private static final String DESTINATION_PREFIX = "/sub/chat/";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final LiveChatFrameCoalescer liveChatFrameCoalescer;
+    private final LiveChatRecentStore liveChatRecentStore;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // sessionId -> (subscriptionId -> broadcastId)
+    private final Map<String, Map<String, Long>> sessionSubscriptions = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> localSubscriberCounts = new HashMap<>();
+
+    public LiveChatRelay(
+            StringRedisTemplate stringRedisTemplate,
+            @Qualifier("redisMessageListener") RedisMessageListenerContainer listenerContainer,
+            LiveChatFrameCoalescer liveChatFrameCoalescer,
+            LiveChatRecentStore liveChatRecentStore,
+            ObjectMapper objectMapper
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.liveChatFrameCoalescer = liveChatFrameCoalescer;
+        this.liveChatRecentStore = liveChatRecentStore;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param recentRecordId 최근 채팅 저장소 레코드 id (다른 노드의 로컬 링 중복 제거용, 없으면 null)
+     */
+    public void publish(LiveChatMessageDTO message, String recentRecordId) {
+        Long broadcastId = message.getBroadcastId();
+        try {
+            String body = objectMapper.writeValueAsString(new RelayEnvelope(nodeId, recentRecordId, message));
+            stringRedisTemplate.convertAndSend(CHANNEL_PREFIX + broadcastId, body);
+        } catch (JsonProcessingException e) {
+            log.warn("Live chat relay serialization failed, delivering locally: broadcastId={}", broadcastId);
+            deliverLocally(message);
+        } catch (Exception e) {
+            log.warn("Live chat relay publish failed, delivering locally: broadcastId={}, reason={}",
+                    broadcastId, e.getMessage());
+            deliverLocally(message);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        RelayEnvelope envelope;
+        try {
+            envelope = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), RelayEnvelope.class);
+        } catch (Exception e) {
+            log.warn("Invalid live chat relay message: channel={}, reason={}",
+                    new String(message.getChannel(), StandardCharsets.UTF_8), e.getMessage());
+            return;
+        }
+        if (envelope.message() == null || envelope.message().getBroadcastId() == null) {
+            return;
+        }
+        // 발행 노드는 최근 채팅을 이미 로컬 링에 넣었으므로 다른 노드만 반영한다.
+        if (!nodeId.equals(envelope.originNodeId()) && envelope.recentRecordId() != null) {
+            liveChatRecentStore.appendRelayed(envelope.recentRecordId(), envelope.message());
+        }
+        deliverLocally(envelope.message());
+    }
+
+    @EventListener
+    public void handleSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long broadcastId = parseBroadcastId(accessor.getDestination());
+        if (broadcastId == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Long previous = sessionSubscriptions
+                .computeIfAbsent(accessor.getSessionId(), key -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), broadcastId);
+        if (previous == null) {
+            changeLocalSubscribers(broadcastId, 1);
+        } else if (!previous.equals(broadcastId)) {
+            changeLocalSubscribers(previous, -1);
+            changeLocalSubscribers(broadcastId, 1);
+        }
+    }
+
+    @EventListener
+    public void handleUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Map<String, Long> subscriptions = sessionSubscriptions.get(accessor.getSessionId());
+        Long broadcastId = subscriptions != null ? subscriptions.remove(accessor.getSubscriptionId()) : null;
+        if (broadcastId != null) {
+            changeLocalSubscribers(broadcastId, -1);
+        }
+    }
+
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        Map<String, Long> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(broadcastId -> changeLocalSubscribers(broadcastId, -1));
+        }
+    }
+
+    /**
+     * 로컬 구독자 수가 0 <-> 1 로 바뀔 때만 방송 채널을 구독/해제한다.
+     */
+    private synchronized void changeLocalSubscribers(Long broadcastId, int delta) {
+        int before = localSubscriberCounts.getOrDefault(broadcastId, 0);
+        int after = Math.max(0, before + delta);
+        ChannelTopic topic = new ChannelTopic(CHANNEL_PREFIX + broadcastId);
+        if (after == 0) {
+            localSubscriberCounts.remove(broadcastId);
+            if (before > 0) {
+                listenerContainer.removeMessageListener(this, topic);
+            }
+            return;
+        }
+        localSubscriberCounts.put(broadcastId, after);
+        if (before == 0) {
+            listenerContainer.addMessageListener(this, topic);
+        }
+    }
+
+    private void deliverLocally(LiveChatMessageDTO message) {
+        liveChatFrameCoalescer.deliver(message);
+    }
+
+    private Long parseBroadcastId(String destination) {
+        if (destination == null || !destination.startsWith(DESTINATION_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(destination.substring(DESTINATION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    record RelayEnvelope(String originNodeId, String recentRecordId, LiveChatMessageDTO message) {
+    }
+}
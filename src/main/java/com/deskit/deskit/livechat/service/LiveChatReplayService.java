@@ -0,0 +1,258 @@
+package com.deskit.deskit.livechat.service;
+
+import com.deskit.deskit.livechat.dto.LiveChatReplayMessage;
+import com.deskit.deskit.livechat.dto.LiveChatReplayResponse;
+import com.deskit.deskit.livechat.dto.LiveMessageType;
+import com.deskit.deskit.livechat.entity.LiveChat;
+import com.deskit.deskit.livechat.repository.LiveChatRepository;
+import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+import com.deskit.deskit.livehost.entity.Broadcast;
+import com.deskit.deskit.livehost.repository.BroadcastRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * VOD 재생 위치(vod_play_time) 기준 채팅 다시보기.
+ * - 채팅을 재생 시간 1분 단위 세그먼트로 나눠 조회하고, [from, to) 구간과 커서로 잘라 반환한다.
+ * - 종료된 방송의 세그먼트는 더 이상 바뀌지 않으므로 Redis 에 캐시해 탐색(seek) 시 캐시 한 번 읽기로 끝낸다.
+ * - 방송 중이거나 막 끝난 방송은 (broadcast_id, vod_play_time) 인덱스로 바로 조회한다.
+ */
+@Slf4j
+@Service
+public class LiveChatReplayService {
+
+    private static final String SEGMENT_KEY_PREFIX = "livechat:replay:";
+    private static final int SEGMENT_SECONDS = 60;
+    private static final int MAX_WINDOW_SECONDS = 600;
+    private static final int DEFAULT_LIMIT = 200;
+    private static final int MAX_LIMIT = 500;
+    // 쓰기 버퍼에 남은 메시지가 저장될 시간을 두고 세그먼트를 고정한다.
+    private static final long SEAL_DELAY_SECONDS = 60L;
+    private static final Set<LiveMessageType> REPLAY_TYPES =
+            EnumSet.of(LiveMessageType.TALK, LiveMessageType.NOTICE, LiveMessageType.PURCHASE);
+    private static final Set<BroadcastStatus> FINISHED_STATUSES =
+            EnumSet.of(BroadcastStatus.ENDED, BroadcastStatus.VOD, BroadcastStatus.STOPPED);
+    private static final TypeReference<List<LiveChatReplayMessage>> SEGMENT_TYPE = new TypeReference<>() {
+    };
+
+    private final LiveChatRepository liveChatRepository;
+    private final BroadcastRepository broadcastRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${livechat.replay.segment-ttl-days:7}")
+    private long segmentTtlDays;
+
+    public LiveChatReplayService(LiveChatRepository liveChatRepository,
+                                 BroadcastRepository broadcastRepository,
+                                 StringRedisTemplate stringRedisTemplate,
+                                 ObjectMapper objectMapper) {
+        this.liveChatRepository = liveChatRepository;
+        this.broadcastRepository = broadcastRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public LiveChatReplayResponse replay(Long broadcastId, Integer from, Integer to, String cursor, Integer limit) {
+        int fromSeconds = Math.max(0, from != null ? from : 0);
+        int toSeconds = to != null ? Math.min(to, fromSeconds + MAX_WINDOW_SECONDS) : fromSeconds + SEGMENT_SECONDS;
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.min(MAX_LIMIT, Math.max(1, limit));
+        if (broadcastId == null || toSeconds <= fromSeconds) {
+            return emptyResponse(broadcastId, fromSeconds, Math.max(fromSeconds, toSeconds));
+        }
+        Cursor after = Cursor.parse(cursor);
+
+        int firstSegment = fromSeconds / SEGMENT_SECONDS;
+        int lastSegment = (toSeconds - 1) / SEGMENT_SECONDS;
+        List<List<LiveChatReplayMessage>> segments = loadSegments(broadcastId, firstSegment, lastSegment);
+
+        List<LiveChatReplayMessage> messages = new ArrayList<>(Math.min(pageSize, 64));
+        String nextCursor = null;
+        for (List<LiveChatReplayMessage> segment : segments) {
+            for (LiveChatReplayMessage message : segment) {
+                if (message.getVodPlayTime() < fromSeconds || message.getVodPlayTime() >= toSeconds) {
+                    continue;
+                }
+                if (after != null && !after.isBefore(message)) {
+                    continue;
+                }
+                if (messages.size() == pageSize) {
+                    LiveChatReplayMessage last = messages.get(messages.size() - 1);
+                    nextCursor = last.getVodPlayTime() + "_" + last.getMessageId();
+                    break;
+                }
+                messages.add(message);
+            }
+            if (nextCursor != null) {
+                break;
+            }
+        }
+        return LiveChatReplayResponse.builder()
+                .broadcastId(broadcastId)
+                .from(fromSeconds)
+                .to(toSeconds)
+                .messages(messages)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * 세그먼트 [first, last] 를 순서대로 반환한다. 캐시(Redis multiGet) -> 없으면 DB 한 번으로 나머지 범위 조회.
+     */
+    private List<List<LiveChatReplayMessage>> loadSegments(Long broadcastId, int first, int last) {
+        int count = last - first + 1;
+        List<String> keys = new ArrayList<>(count);
+        for (int segment = first; segment <= last; segment++) {
+            keys.add(segmentKey(broadcastId, segment));
+        }
+
+        Map<Integer, List<LiveChatReplayMessage>> found = new HashMap<>();
+        try {
+            List<String> cached = stringRedisTemplate.opsForValue().multiGet(keys);
+            for (int i = 0; cached != null && i < cached.size(); i++) {
+                String value = cached.get(i);
+                if (value != null) {
+                    found.put(first + i, objectMapper.readValue(value, SEGMENT_TYPE));
+                }
+            }
+        } catch (Exception e) {
+            // Redis 장애 시에는 DB 에서 읽는다.
+            log.warn("Replay segment cache read failed: broadcastId={}, reason={}", broadcastId, e.getMessage());
+        }
+
+        if (found.size() < count) {
+            int missingFirst = first;
+            while (found.containsKey(missingFirst)) {
+                missingFirst++;
+            }
+            int missingLast = last;
+            while (found.containsKey(missingLast)) {
+                missingLast--;
+            }
+            Map<Integer, List<LiveChatReplayMessage>> loaded = loadFromDatabase(broadcastId, missingFirst, missingLast);
+            if (isSealed(broadcastId)) {
+                cacheSegments(broadcastId, loaded, found);
+            }
+            loaded.forEach(found::putIfAbsent);
+        }
+
+        List<List<LiveChatReplayMessage>> segments = new ArrayList<>(count);
+        for (int segment = first; segment <= last; segment++) {
+            segments.add(found.getOrDefault(segment, Collections.emptyList()));
+        }
+        return segments;
+    }
+
+    private Map<Integer, List<LiveChatReplayMessage>> loadFromDatabase(Long broadcastId, int first, int last) {
+        Map<Integer, List<LiveChatReplayMessage>> segments = new HashMap<>();
+        for (int segment = first; segment <= last; segment++) {
+            segments.put(segment, new ArrayList<>());
+        }
+        List<LiveChat> chats = liveChatRepository.findReplayRange(
+                broadcastId, first * SEGMENT_SECONDS, (last + 1) * SEGMENT_SECONDS, REPLAY_TYPES);
+        for (LiveChat chat : chats) {
+            segments.get(chat.getVodPlayTime() / SEGMENT_SECONDS).add(toReplayMessage(chat));
+        }
+        return segments;
+    }
+
+    private void cacheSegments(Long broadcastId,
+                               Map<Integer, List<LiveChatReplayMessage>> loaded,
+                               Map<Integer, List<LiveChatReplayMessage>> alreadyCached) {
+        Duration ttl = Duration.ofDays(segmentTtlDays);
+        try {
+            for (Map.Entry<Integer, List<LiveChatReplayMessage>> entry : loaded.entrySet()) {
+                if (alreadyCached.containsKey(entry.getKey())) {
+                    continue;
+                }
+                stringRedisTemplate.opsForValue().set(
+                        segmentKey(broadcastId, entry.getKey()),
+                        objectMapper.writeValueAsString(entry.getValue()),
+                        ttl);
+            }
+        } catch (Exception e) {
+            log.warn("Replay segment cache write failed: broadcastId={}, reason={}", broadcastId, e.getMessage());
+        }
+    }
+
+    /**
+     * 종료 후 SEAL_DELAY_SECONDS 가 지난 방송만 세그먼트를 캐시한다.
+     */
+    private boolean isSealed(Long broadcastId) {
+        Broadcast broadcast = broadcastRepository.findById(broadcastId).orElse(null);
+        if (broadcast == null || !FINISHED_STATUSES.contains(broadcast.getStatus())) {
+            return false;
+        }
+        LocalDateTime endedAt = broadcast.getEndedAt();
+        return endedAt != null && endedAt.isBefore(LocalDateTime.now().minusSeconds(SEAL_DELAY_SECONDS));
+    }
+
+    private LiveChatReplayMessage toReplayMessage(LiveChat chat) {
+        return LiveChatReplayMessage.builder()
+                .messageId(chat.getMessageId())
+                .type(chat.getMsgType())
+                .sender(chat.getSendNick())
+                .content(chat.getContent())
+                .vodPlayTime(chat.getVodPlayTime())
+                .sentAt(chat.getSendLchat() != null
+                        ? chat.getSendLchat().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                        : null)
+                .build();
+    }
+
+    private LiveChatReplayResponse emptyResponse(Long broadcastId, int from, int to) {
+        return LiveChatReplayResponse.builder()
+                .broadcastId(broadcastId)
+                .from(from)
+                .to(to)
+                .messages(Collections.emptyList())
+                .build();
+    }
+
+    private String segmentKey(Long broadcastId, int segment) {
+        return SEGMENT_KEY_PREFIX + broadcastId + ":" + segment;
+    }
+
+    /**
+     * "{vodPlayTime}_{messageId}" 형식의 커서. (재생 시간, 메시지 id) 순서로 이 뒤의 메시지부터 반환한다.
+     */
+    private record Cursor(int vodPlayTime, long messageId) {
+
+        private static Cursor parse(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            String[] parts = value.split("_");
+            if (parts.length != 2) {
+                return null;
+            }
+            try {
+                return new Cursor(Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private boolean isBefore(LiveChatReplayMessage message) {
+            if (vodPlayTime != message.getVodPlayTime()) {
+                return vodPlayTime < message.getVodPlayTime();
+            }
+            return message.getMessageId() != null && messageId < message.getMessageId();
+        }
+    }
+}
@@ -1,137 +1,47 @@
 package com.deskit.deskit.livechat.service;
 
-import com.deskit.deskit.livechat.dto.LiveChatCacheEntry;
 import com.deskit.deskit.livechat.dto.LiveChatMessageDTO;
 import com.deskit.deskit.livechat.dto.LiveMessageType;
-import com.deskit.deskit.livechat.entity.LiveChat;
-import com.deskit.deskit.livechat.repository.ForbiddenWordRepository;
-import com.deskit.deskit.livechat.repository.LiveChatRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.ahocorasick.trie.Emit;
-import org.ahocorasick.trie.Trie;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class LiveChatService {
     private static final long DEFAULT_RECENT_WINDOW_SECONDS = 60L;
-    private static final String RECENT_CHAT_KEY_PREFIX = "livechat:recent:";
 
-    private final LiveChatRepository liveChatRepository;
-    private final ForbiddenWordRepository forbiddenWordRepository;
-    private final ObjectMapper objectMapper;
-    @Qualifier("chatRedisTemplate")
-    private final RedisTemplate<String, Object> chatRedisTemplate;
-    private Trie forbiddenTrie;
-
-    @PostConstruct
-    public void init() {
-        List<String> words = forbiddenWordRepository.findAll()
-                .stream()
-                .map(word -> word.getWord())
-                .filter(word -> word != null && !word.isBlank())
-                .distinct()
-                .collect(Collectors.toList());
-        if (words.isEmpty()) {
-            this.forbiddenTrie = null;
-            return;
-        }
-        this.forbiddenTrie = Trie.builder()
-                .addKeywords(words)
-                .build();
-    }
+    private final ForbiddenWordMatcher forbiddenWordMatcher;
+    private final LiveChatWriteBuffer liveChatWriteBuffer;
+    private final LiveChatRecentStore liveChatRecentStore;
 
     public String filterContent(String content) {
-        if (content == null || forbiddenTrie == null) {
-            return content;
-        }
-        Collection<Emit> rawEmits = forbiddenTrie.parseText(content);
-        if (rawEmits == null || rawEmits.isEmpty()) {
-            return content;
-        }
-        List<Emit> emits = new ArrayList<>(rawEmits);
-        emits.sort(Comparator.comparingInt(Emit::getStart)
-                .thenComparing(Comparator.comparingInt(Emit::getEnd).reversed()));
-        StringBuilder result = new StringBuilder(content.length());
-        int cursor = 0;
-        int lastEnd = -1;
-        for (Emit emit : emits) {
-            int start = emit.getStart();
-            int end = emit.getEnd();
-            if (start <= lastEnd) {
-                continue;
-            }
-            if (start > cursor) {
-                result.append(content, cursor, start);
-            }
-            result.append("***");
-            cursor = end + 1;
-            lastEnd = end;
-        }
-        if (cursor < content.length()) {
-            result.append(content.substring(cursor));
-        }
-        return result.toString();
+        return forbiddenWordMatcher.mask(content);
     }
 
-    @Async("chatSaveExecutor")
     public void saveMessageAsync(LiveChatMessageDTO dto) {
-        String rawContent = dto.getRawContent() != null ? dto.getRawContent() : dto.getContent();
-        LiveChat entity = LiveChat.builder()
-                .broadcastId(dto.getBroadcastId())
-                .memberEmail(dto.getMemberEmail())
-                .msgType(dto.getType())
-                .content(dto.getContent())
-                .rawContent(rawContent)
-                .sendNick(dto.getSender())
-                .isWorld(dto.isWorld())
-                .vodPlayTime(dto.getVodPlayTime())
-                .build();
-
-        liveChatRepository.save(entity);
-        log.debug("livechat.db.saved broadcastId={} messageId={}",
-                dto.getBroadcastId(),
-                entity.getMessageId());
+        liveChatWriteBuffer.offer(dto);
     }
 
-    public void cacheRecentMessage(LiveChatMessageDTO dto) {
+    /**
+     * 최근 채팅 저장소에 추가하고 레코드 id 를 반환한다(TALK 가 아니거나 실패 시 null).
+     */
+    public String cacheRecentMessage(LiveChatMessageDTO dto) {
         if (dto == null || dto.getBroadcastId() == null) {
-            return;
+            return null;
         }
         if (dto.getType() != LiveMessageType.TALK) {
-            return;
+            return null;
         }
-        long now = System.currentTimeMillis();
         if (dto.getSentAt() == null) {
-            dto.setSentAt(now);
+            dto.setSentAt(System.currentTimeMillis());
         }
-        LiveChatCacheEntry entry = LiveChatCacheEntry.builder()
-                .broadcastId(dto.getBroadcastId())
-                .memberEmail(dto.getMemberEmail())
-                .type(dto.getType())
-                .sender(dto.getSender())
-                .content(dto.getContent())
-                .senderRole(dto.getSenderRole())
-                .connectionId(dto.getConnectionId())
-                .vodPlayTime(dto.getVodPlayTime())
-                .sentAt(dto.getSentAt())
-                .build();
-
-        String key = recentChatKey(dto.getBroadcastId());
-        chatRedisTemplate.opsForZSet().add(key, entry, dto.getSentAt());
-        long cutoff = now - (DEFAULT_RECENT_WINDOW_SECONDS * 1000L);
-        chatRedisTemplate.opsForZSet().removeRangeByScore(key, 0, cutoff);
+        String recordId = liveChatRecentStore.append(dto);
         log.debug("livechat.cache.saved broadcastId={} sentAt={}", dto.getBroadcastId(), dto.getSentAt());
+        return recordId;
     }
 
     public List<LiveChatMessageDTO> getRecentTalks(Long broadcastId, Long seconds) {
@@ -141,53 +51,21 @@ public class LiveChatService {
         long windowSeconds = seconds == null
                 ? DEFAULT_RECENT_WINDOW_SECONDS
                 : Math.min(DEFAULT_RECENT_WINDOW_SECONDS, Math.max(1L, seconds));
-        long now = System.currentTimeMillis();
-        long cutoff = now - (windowSeconds * 1000L);
+        long cutoff = System.currentTimeMillis() - (windowSeconds * 1000L);
 
-        String key = recentChatKey(broadcastId);
-        Set<Object> raw = chatRedisTemplate.opsForZSet().rangeByScore(key, cutoff, now);
-        if (raw == null || raw.isEmpty()) {
+        List<LiveChatMessageDTO> recent = liveChatRecentStore.recent(broadcastId);
+        if (recent.isEmpty()) {
             log.debug("livechat.cache.miss broadcastId={}", broadcastId);
             return Collections.emptyList();
         }
 
-        List<LiveChatMessageDTO> result = new ArrayList<>(raw.size());
-        for (Object item : raw) {
-            LiveChatCacheEntry entry = toCacheEntry(item);
-            if (entry == null || entry.getType() != LiveMessageType.TALK) {
-                continue;
+        List<LiveChatMessageDTO> result = new ArrayList<>(recent.size());
+        for (LiveChatMessageDTO message : recent) {
+            if (message.getSentAt() != null && message.getSentAt() >= cutoff) {
+                result.add(message);
             }
-            result.add(LiveChatMessageDTO.builder()
-                    .broadcastId(entry.getBroadcastId())
-                    .memberEmail(entry.getMemberEmail())
-                    .type(entry.getType())
-                    .sender(entry.getSender())
-                    .content(entry.getContent())
-                    .senderRole(entry.getSenderRole())
-                    .connectionId(entry.getConnectionId())
-                    .vodPlayTime(entry.getVodPlayTime())
-                    .sentAt(entry.getSentAt())
-                    .build());
         }
         log.debug("livechat.cache.hit broadcastId={} count={}", broadcastId, result.size());
         return result;
     }
-
-    private LiveChatCacheEntry toCacheEntry(Object item) {
-        if (item == null) {
-            return null;
-        }
-        if (item instanceof LiveChatCacheEntry) {
-            return (LiveChatCacheEntry) item;
-        }
-        try {
-            return objectMapper.convertValue(item, LiveChatCacheEntry.class);
-        } catch (IllegalArgumentException ex) {
-            return null;
-        }
-    }
-
-    private String recentChatKey(Long broadcastId) {
-        return RECENT_CHAT_KEY_PREFIX + broadcastId;
-    }
 }
@@ -0,0 +1,230 @@
+package com.deskit.deskit.livechat.service;
+
+import com.deskit.deskit.livechat.dto.LiveChatMessageDTO;
+import com.deskit.deskit.livechat.dto.LiveMessageType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 라이브 채팅 메시지 저장 파이프라인.
+ * - 수신 스레드는 고정 크기 버퍼에 넣기만 하고, 단일 writer 스레드가 multi-row INSERT 로 일괄 저장한다.
+ * - 배치 크기에 도달하거나 flush 간격이 지나면 저장한다.
+ * - 버퍼가 가득 차면 overflow-policy 에 따라 가장 오래된 메시지(DROP_OLDEST) 또는 새 메시지(DROP_NEWEST)를 버리고 카운트한다.
+ */
+@Slf4j
+@Component
+public class LiveChatWriteBuffer {
+
+    private static final String INSERT_PREFIX = "INSERT INTO live_chat " +
+            "(broadcast_id, member_email, msg_type, content, raw_content, send_nick, is_world, send_lchat, vod_play_time) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public enum OverflowPolicy {
+        DROP_OLDEST, DROP_NEWEST
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @Value("${livechat.persist.buffer-capacity:20000}")
+    private int bufferCapacity;
+
+    @Value("${livechat.persist.batch-size:500}")
+    private int batchSize;
+
+    @Value("${livechat.persist.flush-interval-ms:200}")
+    private long flushIntervalMillis;
+
+    @Value("${livechat.persist.overflow-policy:DROP_OLDEST}")
+    private OverflowPolicy overflowPolicy;
+
+    private BlockingQueue<PendingChat> buffer;
+    private Thread writer;
+    private volatile boolean running;
+
+    public LiveChatWriteBuffer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void start() {
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        running = true;
+        writer = new Thread(this::runWriter, "LiveChatWriter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // writer 가 끝난 뒤 남은 메시지를 마저 저장한다.
+        List<PendingChat> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    public void offer(LiveChatMessageDTO dto) {
+        if (dto == null || dto.getBroadcastId() == null || dto.getType() == null) {
+            return;
+        }
+        // 이후 브로드캐스트/캐시 단계에서 DTO 가 바뀌어도 영향이 없도록 저장 시점 값으로 고정한다.
+        PendingChat chat = PendingChat.from(dto);
+        while (!buffer.offer(chat)) {
+            if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                dropped.incrementAndGet();
+                log.debug("livechat.persist.dropped broadcastId={} policy=DROP_NEWEST", dto.getBroadcastId());
+                return;
+            }
+            if (buffer.poll() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+        enqueued.incrementAndGet();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    private void runWriter() {
+        List<PendingChat> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingChat first = buffer.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                // 배치가 찰 때까지 기다리되, 첫 메시지 이후 flush 간격을 넘기지 않는다.
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingChat next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingChat> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            insertRows(batch);
+            written.addAndGet(batch.size());
+            log.debug("livechat.db.saved count={}", batch.size());
+        } catch (Exception e) {
+            log.warn("Live chat batch insert failed, retrying per row: size={}, reason={}", batch.size(), e.getMessage());
+            // 잘못된 메시지 하나 때문에 배치 전체가 유실되지 않도록 건별로 다시 저장한다.
+            for (PendingChat chat : batch) {
+                try {
+                    insertRows(List.of(chat));
+                    written.incrementAndGet();
+                } catch (Exception rowError) {
+                    failed.incrementAndGet();
+                    log.warn("Live chat insert failed: broadcastId={}, reason={}", chat.broadcastId(), rowError.getMessage());
+                }
+            }
+        }
+    }
+
+    private void insertRows(List<PendingChat> chats) {
+        StringJoiner rows = new StringJoiner(", ");
+        List<Object> params = new ArrayList<>(chats.size() * 9);
+        for (PendingChat chat : chats) {
+            rows.add(ROW_PLACEHOLDER);
+            params.add(chat.broadcastId());
+            params.add(chat.memberEmail());
+            params.add(chat.msgType().name());
+            params.add(chat.content());
+            params.add(chat.rawContent());
+            params.add(chat.sendNick());
+            params.add(chat.isWorld());
+            params.add(Timestamp.valueOf(chat.sentAt()));
+            params.add(chat.vodPlayTime());
+        }
+        jdbcTemplate.update(INSERT_PREFIX + rows, params.toArray());
+    }
+
+    private record PendingChat(Long broadcastId, String memberEmail, LiveMessageType msgType, String content,
+                               String rawContent, String sendNick, boolean isWorld, LocalDateTime sentAt,
+                               int vodPlayTime) {
+
+        private static PendingChat from(LiveChatMessageDTO dto) {
+            String rawContent = dto.getRawContent() != null ? dto.getRawContent() : dto.getContent();
+            long sentAtMillis = dto.getSentAt() != null ? dto.getSentAt() : System.currentTimeMillis();
+            return new PendingChat(
+                    dto.getBroadcastId(),
+                    dto.getMemberEmail(),
+                    dto.getType(),
+                    dto.getContent(),
+                    rawContent,
+                    dto.getSender(),
+                    dto.isWorld(),
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(sentAtMillis), ZoneId.systemDefault()),
+                    dto.getVodPlayTime()
+            );
+        }
+    }
+}
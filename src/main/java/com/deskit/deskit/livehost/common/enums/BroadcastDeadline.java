@@ -0,0 +1,27 @@
+package com.deskit.deskit.livehost.common.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 예약 시각(scheduledAt) 기준으로 정해지는 방송 일정 이벤트.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BroadcastDeadline {
+    START_REMINDER("시작 30분 전 알림", Duration.ofMinutes(-30)),
+    READY("방송 대기 전환", Duration.ofMinutes(-3)),
+    NO_SHOW("미시작 자동 취소", Duration.ofMinutes(10)),
+    ENDING_SOON("종료 1분 전 알림", Duration.ofMinutes(29)),
+    SCHEDULED_END("예약 종료", Duration.ofMinutes(30));
+
+    private final String description;
+    private final Duration offset;
+
+    public LocalDateTime dueAt(LocalDateTime scheduledAt) {
+        return scheduledAt.plus(offset);
+    }
+}
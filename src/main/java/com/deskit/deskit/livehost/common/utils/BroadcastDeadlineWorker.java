@@ -0,0 +1,105 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import com.deskit.deskit.livehost.service.BroadcastDeadlineEvent;
+import com.deskit.deskit.livehost.service.BroadcastService;
+import com.deskit.deskit.livehost.service.RedisService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 방송 일정 지연 큐(broadcast:deadline:queue, 실행 시각 score ZSET) 워커.
+ * - 리더 노드가 poll-interval-ms 마다 만기 항목을 처리 중(broadcast:deadline:inflight)으로 옮기며 꺼내 바로 실행하고,
+ *   실행이 끝나면 ACK 로 지운다.
+ * - 조회는 Redis 만 보므로 짧은 주기로 돌려도 DB 부하가 없고, 실행 오차는 poll-interval-ms 이내다.
+ * - @Scheduled 공용 스레드에서 도는 긴 작업에 밀리지 않도록 전용 스레드를 쓴다.
+ * - 실행이 실패했거나 실행 전에 노드가 죽은 이벤트는 lease-ms 가 지나면 다시 꺼내 실행한다.
+ */
+@Slf4j
+@Component
+public class BroadcastDeadlineWorker {
+
+    private static final String JOB_NAME = "broadcast-deadline-worker";
+    private static final int BATCH_SIZE = 50;
+
+    private final RedisService redisService;
+    private final BroadcastService broadcastService;
+    private final JobLeaderElection jobLeaderElection;
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "BroadcastDeadlineWorker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong fired = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @Value("${broadcast.deadline.poll-interval-ms:250}")
+    private long pollIntervalMillis;
+
+    @Value("${broadcast.deadline.lease-ms:30000}")
+    private long leaseMillis;
+
+    public BroadcastDeadlineWorker(RedisService redisService, BroadcastService broadcastService,
+                                   JobLeaderElection jobLeaderElection) {
+        this.redisService = redisService;
+        this.broadcastService = broadcastService;
+        this.jobLeaderElection = jobLeaderElection;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker.scheduleWithFixedDelay(this::fireDue, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    public long getFired() {
+        return fired.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    private void fireDue() {
+        try {
+            if (!jobLeaderElection.isLeader(JOB_NAME)) {
+                return;
+            }
+            List<BroadcastDeadlineEvent> due;
+            do {
+                due = redisService.claimDueBroadcastDeadlines(BATCH_SIZE, leaseMillis);
+                for (BroadcastDeadlineEvent event : due) {
+                    fire(event);
+                }
+            } while (due.size() == BATCH_SIZE);
+        } catch (Exception e) {
+            log.warn("Broadcast deadline poll failed: reason={}", e.getMessage());
+        }
+    }
+
+    private void fire(BroadcastDeadlineEvent event) {
+        try {
+            broadcastService.fireDeadline(event.broadcastId(), event.deadline());
+            redisService.ackBroadcastDeadline(event);
+            fired.incrementAndGet();
+            log.debug("broadcast.deadline.fired broadcastId={} deadline={}", event.broadcastId(), event.deadline());
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.error("방송 일정 이벤트 실행 실패, {}ms 후 재시도: broadcastId={}, deadline={}, msg={}",
+                    leaseMillis, event.broadcastId(), event.deadline(), e.getMessage());
+        }
+    }
+}
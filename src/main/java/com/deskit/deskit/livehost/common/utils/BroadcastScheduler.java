@@ -19,9 +19,13 @@ public class BroadcastScheduler {
 
     private final BroadcastRepository broadcastRepository;
     private final BroadcastService broadcastService;
+    private final JobLeaderElection jobLeaderElection;
 
     @Scheduled(cron = "0 * * * * *")
     public void autoClose() {
+        if (!jobLeaderElection.isLeader("broadcast-auto-close")) {
+            return;
+        }
         LocalDateTime threshold = LocalDateTime.now().minusMinutes(30);
 
         List<Broadcast> targets = broadcastRepository.findByStatusAndStartedAtBefore(BroadcastStatus.ON_AIR, threshold);
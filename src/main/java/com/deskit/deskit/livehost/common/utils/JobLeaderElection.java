@@ -0,0 +1,127 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스케줄 작업별 리더 선출(Redis 리스).
+ * - 작업마다 scheduler:leader:{job} 키에 노드 id 를 lease-ms 동안 기록하고, 가진 노드만 작업을 실행한다.
+ * - 리스는 별도 스레드가 renew-interval-ms 마다 연장하므로 @Scheduled 스레드가 긴 작업에 묶여도 유지된다.
+ * - 리더가 죽으면 리스 만료 후 다른 노드의 다음 갱신 주기에 넘어가고, 정상 종료 시에는 바로 반납한다.
+ * - Redis 에 연결할 수 없으면 로컬 리스가 끝나는 대로 리더가 아닌 것으로 본다(중복 실행보다 건너뛰기를 택한다).
+ */
+@Slf4j
+@Component
+public class JobLeaderElection {
+
+    private static final String KEY_PREFIX = "scheduler:leader:";
+
+    // 비어 있으면 차지하고, 내가 가진 리스면 연장한다. ARGV[1]: nodeId, ARGV[2]: lease(ms)
+    private static final RedisScript<Long> ACQUIRE_OR_RENEW_SCRIPT = new DefaultRedisScript<>(
+            "local owner = redis.call('GET', KEYS[1]) " +
+                    "if owner == ARGV[1] then redis.call('PEXPIRE', KEYS[1], ARGV[2]) return 1 end " +
+                    "if owner then return 0 end " +
+                    "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+                    "return 1",
+            Long.class
+    );
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+                    "return 0",
+            Long.class
+    );
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String nodeId;
+    private final long leaseMillis;
+    // job -> 로컬 기준 리스 만료 시각(ms). 0 이면 리더가 아니다.
+    private final Map<String, Long> leases = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService renewScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "JobLeaderRenew");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public JobLeaderElection(
+            StringRedisTemplate stringRedisTemplate,
+            @Value("${scheduling.leader.node-id:}") String nodeId,
+            @Value("${scheduling.leader.lease-ms:15000}") long leaseMillis,
+            @Value("${scheduling.leader.renew-interval-ms:5000}") long renewIntervalMillis
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.leaseMillis = leaseMillis;
+        renewScheduler.scheduleWithFixedDelay(this::renewAll, renewIntervalMillis, renewIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 이 노드가 job 의 리더인지 확인한다. 처음 호출된 작업은 그때 리스를 시도하고 이후 갱신 대상에 포함된다.
+     */
+    public boolean isLeader(String job) {
+        Long expiresAt = leases.get(job);
+        if (expiresAt == null) {
+            return tryAcquire(job);
+        }
+        return expiresAt > System.currentTimeMillis();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewScheduler.shutdownNow();
+        leases.forEach((job, expiresAt) -> {
+            if (expiresAt > System.currentTimeMillis()) {
+                try {
+                    stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + job), nodeId);
+                } catch (Exception e) {
+                    log.warn("Job leader release failed: job={}, reason={}", job, e.getMessage());
+                }
+            }
+        });
+        leases.clear();
+    }
+
+    private void renewAll() {
+        leases.keySet().forEach(this::tryAcquire);
+    }
+
+    private boolean tryAcquire(String job) {
+        long startedAt = System.currentTimeMillis();
+        boolean wasLeader = leases.getOrDefault(job, 0L) > startedAt;
+        boolean leader;
+        try {
+            Long result = stringRedisTemplate.execute(ACQUIRE_OR_RENEW_SCRIPT, List.of(KEY_PREFIX + job),
+                    nodeId, String.valueOf(leaseMillis));
+            leader = result != null && result == 1L;
+        } catch (Exception e) {
+            // 기존 리스가 남아 있는 동안은 그대로 두고, 끝나면 리더가 아닌 것으로 본다.
+            log.warn("Job leader renewal failed: job={}, reason={}", job, e.getMessage());
+            leases.putIfAbsent(job, 0L);
+            return leases.get(job) > System.currentTimeMillis();
+        }
+        // 요청 시작 시각 기준으로 만료를 잡아 Redis 쪽 만료보다 늦게 끝나지 않게 한다.
+        leases.put(job, leader ? startedAt + leaseMillis : 0L);
+        if (leader != wasLeader) {
+            log.info("scheduler.leader job={} node={} leader={}", job, nodeId, leader);
+        }
+        return leader;
+    }
+}
@@ -0,0 +1,46 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 녹화 관련 재시도 큐.
+ * - fallback: 방송 종료 후 OpenVidu 녹화 상태를 확인하고, 녹화가 준비되면 vodIngest 에 넘긴다.
+ * - vodIngest: 녹화 파일을 S3 로 올리고 VOD 를 저장한다. 수 GB 업로드를 한 번에 처리하므로 리스를 길게 잡는다.
+ *   녹화 완료 웹훅은 새 요청으로 보고 dead 보관/시도 횟수를 초기화해 넣는다(fallback 의 시도 횟수와 섞이지 않는다).
+ * - startRetry: 퍼블리셔 스트림이 아직 없어(406) 녹화 시작에 실패한 방송의 녹화를 다시 시작한다.
+ * 대기 키는 기존 재시도 ZSET 키를 그대로 써서 배포 전에 쌓인 항목도 이어서 처리된다.
+ */
+@Component
+public class RecordingJobQueues {
+
+    private final RedisJobQueue fallback;
+    private final RedisJobQueue startRetry;
+    private final RedisJobQueue vodIngest;
+
+    public RecordingJobQueues(StringRedisTemplate stringRedisTemplate) {
+        this.fallback = new RedisJobQueue(stringRedisTemplate, "recording-fallback", "broadcast:recording:retry",
+                Duration.ofMinutes(15), Duration.ofSeconds(30), Duration.ofMinutes(10),
+                5, Duration.ofHours(6));
+        this.startRetry = new RedisJobQueue(stringRedisTemplate, "recording-start-retry", "broadcast:recording:start:retry",
+                Duration.ofMinutes(1), Duration.ofSeconds(5), Duration.ofMinutes(1),
+                10, Duration.ofMinutes(30));
+        this.vodIngest = new RedisJobQueue(stringRedisTemplate, "vod-ingest", "broadcast:vod:ingest",
+                Duration.ofMinutes(60), Duration.ofSeconds(30), Duration.ofMinutes(10),
+                5, Duration.ofHours(6));
+    }
+
+    public RedisJobQueue fallback() {
+        return fallback;
+    }
+
+    public RedisJobQueue startRetry() {
+        return startRetry;
+    }
+
+    public RedisJobQueue vodIngest() {
+        return vodIngest;
+    }
+}
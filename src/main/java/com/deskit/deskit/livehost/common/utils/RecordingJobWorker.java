@@ -0,0 +1,66 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import com.deskit.deskit.livehost.service.BroadcastService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 녹화 재시도 큐(RecordingJobQueues) 워커. 노드마다 큐별로 concurrency 개의 워커가 돈다.
+ * 리더 노드 하나로 모으지 않는 이유는 RedisJobQueueWorker 참고 (작업 단위 claim/리스로 중복 실행을 막는다).
+ */
+@Component
+public class RecordingJobWorker {
+
+    private final RedisJobQueueWorker fallbackWorker;
+    private final RedisJobQueueWorker startRetryWorker;
+    private final RedisJobQueueWorker vodIngestWorker;
+
+    public RecordingJobWorker(
+            RecordingJobQueues recordingJobQueues,
+            BroadcastService broadcastService,
+            @Value("${recording.jobs.concurrency:4}") int concurrency,
+            @Value("${recording.jobs.poll-interval-ms:1000}") long pollIntervalMillis
+    ) {
+        Duration pollInterval = Duration.ofMillis(pollIntervalMillis);
+        this.fallbackWorker = new RedisJobQueueWorker(recordingJobQueues.fallback(),
+                (id, attempt) -> broadcastService.runRecordingFallback(Long.parseLong(id), attempt),
+                concurrency, pollInterval);
+        this.startRetryWorker = new RedisJobQueueWorker(recordingJobQueues.startRetry(),
+                (id, attempt) -> broadcastService.retryRecordingStart(Long.parseLong(id), attempt),
+                concurrency, pollInterval);
+        this.vodIngestWorker = new RedisJobQueueWorker(recordingJobQueues.vodIngest(),
+                (id, attempt) -> broadcastService.runVodIngest(Long.parseLong(id), attempt),
+                concurrency, pollInterval);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        fallbackWorker.start();
+        startRetryWorker.start();
+        vodIngestWorker.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fallbackWorker.shutdown();
+        startRetryWorker.shutdown();
+        vodIngestWorker.shutdown();
+    }
+
+    public RedisJobQueueWorker getFallbackWorker() {
+        return fallbackWorker;
+    }
+
+    public RedisJobQueueWorker getStartRetryWorker() {
+        return startRetryWorker;
+    }
+
+    public RedisJobQueueWorker getVodIngestWorker() {
+        return vodIngestWorker;
+    }
+}
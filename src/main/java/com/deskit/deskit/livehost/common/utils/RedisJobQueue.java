@@ -0,0 +1,276 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Redis 지연 작업 큐. 작업 id 하나당 항목 하나만 존재한다(같은 id 를 다시 넣으면 실행 시각만 앞당겨진다).
+ * - {key}: 대기 ZSET(score = 실행 시각), {key}:inflight: 처리 중 ZSET(score = 리스 만료 시각),
+ *   {key}:attempts: 시도 횟수 HASH, {key}:dead: 실패 보관 ZSET(score = 이동 시각)
+ * - claim 은 만기 항목을 대기 -> 처리 중으로 옮기고 시도 횟수를 올리는 것까지 스크립트 하나로 처리해,
+ *   여러 노드가 동시에 꺼내도 한 작업은 한 곳에서만 실행된다.
+ * - 처리한 쪽이 complete/retry 하지 못하고 죽으면 리스(visibility timeout)가 끝난 뒤 reapExpired 가 대기로 되돌린다.
+ *   따라서 실행은 최소 한 번(at-least-once)이며 핸들러는 멱등이어야 한다.
+ * - 재시도 간격은 baseDelay * 2^(시도-1) (maxDelay 상한), maxAttempts 를 넘기면 dead 로 옮긴다.
+ *   dead 항목은 deadRetention 동안 같은 id 의 enqueue 를 막고 이후 정리된다.
+ */
+@Slf4j
+public class RedisJobQueue {
+
+    // KEYS: ready, inflight, attempts, dead / ARGV: id, 실행 시각, 현재 시각, dead 보관(ms), 초기화('1' 이면 dead/시도 횟수 무시)
+    // 반환: 1 추가/앞당김, 0 이미 처리 중이거나 더 이른 실행이 잡혀 있음, -1 dead 보관 중
+    private static final RedisScript<Long> ENQUEUE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('ZSCORE', KEYS[2], ARGV[1]) then return 0 end " +
+                    "local deadAt = redis.call('ZSCORE', KEYS[4], ARGV[1]) " +
+                    "if deadAt then " +
+                    "  if ARGV[5] ~= '1' and tonumber(deadAt) > tonumber(ARGV[3]) - tonumber(ARGV[4]) then return -1 end " +
+                    "  redis.call('ZREM', KEYS[4], ARGV[1]) " +
+                    "end " +
+                    "local current = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+                    "if ARGV[5] == '1' or not current then redis.call('HDEL', KEYS[3], ARGV[1]) end " +
+                    "if current and tonumber(current) <= tonumber(ARGV[2]) then return 0 end " +
+                    "redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1]) " +
+                    "return 1",
+            Long.class
+    );
+
+    // KEYS: ready, inflight, attempts / ARGV: 현재 시각, 리스 만료 시각, 최대 개수
+    // 반환: {id1, 시도1, id2, 시도2, ...}
+    private static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>(
+            "local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[3]) " +
+                    "local claimed = {} " +
+                    "for _, id in ipairs(due) do " +
+                    "  redis.call('ZREM', KEYS[1], id) " +
+                    "  redis.call('ZADD', KEYS[2], ARGV[2], id) " +
+                    "  claimed[#claimed + 1] = id " +
+                    "  claimed[#claimed + 1] = tostring(redis.call('HINCRBY', KEYS[3], id, 1)) " +
+                    "end " +
+                    "return claimed",
+            List.class
+    );
+
+    // 리스가 그대로일 때만 끝낸다(리스가 만료돼 다른 곳에서 다시 꺼낸 작업은 건드리지 않는다).
+    // KEYS: inflight, attempts / ARGV: id, 리스 만료 시각
+    private static final RedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>(
+            "local lease = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+                    "if not lease or tonumber(lease) ~= tonumber(ARGV[2]) then return 0 end " +
+                    "redis.call('ZREM', KEYS[1], ARGV[1]) " +
+                    "redis.call('HDEL', KEYS[2], ARGV[1]) " +
+                    "return 1",
+            Long.class
+    );
+
+    // KEYS: ready, inflight, attempts, dead / ARGV: id, 리스 만료 시각, 다음 실행 시각(-1 이면 dead), 현재 시각
+    // 반환: 1 재시도 예약, 2 dead 이동, 0 리스를 잃음
+    private static final RedisScript<Long> RETRY_SCRIPT = new DefaultRedisScript<>(
+            "local lease = redis.call('ZSCORE', KEYS[2], ARGV[1]) " +
+                    "if not lease or tonumber(lease) ~= tonumber(ARGV[2]) then return 0 end " +
+                    "redis.call('ZREM', KEYS[2], ARGV[1]) " +
+                    "if ARGV[3] == '-1' then " +
+                    "  redis.call('HDEL', KEYS[3], ARGV[1]) " +
+                    "  redis.call('ZADD', KEYS[4], ARGV[4], ARGV[1]) " +
+                    "  return 2 " +
+                    "end " +
+                    "redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1]) " +
+                    "return 1",
+            Long.class
+    );
+
+    // 리스가 끝난 처리 중 항목을 대기로 되돌린다(시도 횟수를 다 쓴 항목은 dead). 오래된 dead 도 같이 정리한다.
+    // KEYS: ready, inflight, attempts, dead / ARGV: 현재 시각, maxAttempts, 최대 개수, dead 정리 기준 시각
+    // 반환: {되돌린 수, dead 로 옮긴 수}
+    private static final RedisScript<List> REAP_SCRIPT = new DefaultRedisScript<>(
+            "local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, ARGV[3]) " +
+                    "local dead = 0 " +
+                    "for _, id in ipairs(expired) do " +
+                    "  redis.call('ZREM', KEYS[2], id) " +
+                    "  local attempts = tonumber(redis.call('HGET', KEYS[3], id)) or 0 " +
+                    "  if attempts >= tonumber(ARGV[2]) then " +
+                    "    redis.call('HDEL', KEYS[3], id) " +
+                    "    redis.call('ZADD', KEYS[4], ARGV[1], id) " +
+                    "    dead = dead + 1 " +
+                    "  else " +
+                    "    redis.call('ZADD', KEYS[1], ARGV[1], id) " +
+                    "  end " +
+                    "end " +
+                    "redis.call('ZREMRANGEBYSCORE', KEYS[4], '-inf', ARGV[4]) " +
+                    "return {#expired - dead, dead}",
+            List.class
+    );
+
+    // KEYS: ready, inflight, attempts
+    private static final RedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('ZREM', KEYS[1], ARGV[1]) " +
+                    "redis.call('ZREM', KEYS[2], ARGV[1]) " +
+                    "return redis.call('HDEL', KEYS[3], ARGV[1])",
+            Long.class
+    );
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String name;
+    private final String readyKey;
+    private final String inflightKey;
+    private final String attemptsKey;
+    private final String deadKey;
+    private final Duration visibilityTimeout;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final int maxAttempts;
+    private final Duration deadRetention;
+
+    public RedisJobQueue(StringRedisTemplate stringRedisTemplate, String name, String key,
+                         Duration visibilityTimeout, Duration baseDelay, Duration maxDelay,
+                         int maxAttempts, Duration deadRetention) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.name = name;
+        this.readyKey = key;
+        this.inflightKey = key + ":inflight";
+        this.attemptsKey = key + ":attempts";
+        this.deadKey = key + ":dead";
+        this.visibilityTimeout = visibilityTimeout;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.maxAttempts = maxAttempts;
+        this.deadRetention = deadRetention;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Duration getBaseDelay() {
+        return baseDelay;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * 작업을 delay 뒤에 실행되도록 넣는다. 처리 중이거나 dead 보관 중인 id 면 false.
+     */
+    public boolean enqueue(String id, Duration delay) {
+        return enqueue(id, delay, false);
+    }
+
+    /**
+     * 새 요청으로 보고 넣는다. dead 보관 중이어도 다시 넣고 시도 횟수를 0 부터 센다.
+     * 처리 중이거나 더 이른 실행이 이미 잡혀 있으면 false.
+     */
+    public boolean reset(String id, Duration delay) {
+        return enqueue(id, delay, true);
+    }
+
+    private boolean enqueue(String id, Duration delay, boolean reset) {
+        long now = System.currentTimeMillis();
+        Long result = stringRedisTemplate.execute(ENQUEUE_SCRIPT,
+                List.of(readyKey, inflightKey, attemptsKey, deadKey),
+                id, String.valueOf(now + delay.toMillis()), String.valueOf(now),
+                String.valueOf(deadRetention.toMillis()), reset ? "1" : "0");
+        return result != null && result == 1L;
+    }
+
+    public List<Job> claim(int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        long now = System.currentTimeMillis();
+        long leaseUntil = now + visibilityTimeout.toMillis();
+        List<?> claimed = stringRedisTemplate.execute(CLAIM_SCRIPT, List.of(readyKey, inflightKey, attemptsKey),
+                String.valueOf(now), String.valueOf(leaseUntil), String.valueOf(count));
+        if (claimed == null || claimed.isEmpty()) {
+            return List.of();
+        }
+        List<Job> jobs = new ArrayList<>(claimed.size() / 2);
+        for (int i = 0; i + 1 < claimed.size(); i += 2) {
+            jobs.add(new Job(claimed.get(i).toString(), Integer.parseInt(claimed.get(i + 1).toString()), leaseUntil));
+        }
+        return jobs;
+    }
+
+    /**
+     * 성공한 작업을 지운다. 리스를 이미 잃었으면 false.
+     */
+    public boolean complete(Job job) {
+        Long result = stringRedisTemplate.execute(COMPLETE_SCRIPT, List.of(inflightKey, attemptsKey),
+                job.id(), String.valueOf(job.leaseUntil()));
+        return result != null && result == 1L;
+    }
+
+    /**
+     * 실패한 작업을 백오프 뒤로 다시 넣는다. dead 로 옮겼거나 리스를 잃었으면 null, 아니면 다음 실행까지의 간격.
+     */
+    public Duration retry(Job job) {
+        long now = System.currentTimeMillis();
+        Duration delay = job.attempt() >= maxAttempts ? null : backoff(job.attempt());
+        Long result = stringRedisTemplate.execute(RETRY_SCRIPT,
+                List.of(readyKey, inflightKey, attemptsKey, deadKey),
+                job.id(), String.valueOf(job.leaseUntil()),
+                delay == null ? "-1" : String.valueOf(now + delay.toMillis()), String.valueOf(now));
+        if (result != null && result == 2L) {
+            log.warn("Job moved to dead letter: queue={}, id={}, attempts={}", name, job.id(), job.attempt());
+        }
+        return result != null && result == 1L ? delay : null;
+    }
+
+    /**
+     * 대기/처리 중 항목과 시도 횟수를 지운다. 처리 중인 쪽의 complete/retry 는 이후 아무 일도 하지 않는다.
+     */
+    public void remove(String id) {
+        stringRedisTemplate.execute(REMOVE_SCRIPT, List.of(readyKey, inflightKey, attemptsKey), id);
+    }
+
+    /**
+     * 리스가 끝난 처리 중 항목을 되돌린다. 반환: 대기로 되돌린 수 + dead 로 옮긴 수
+     */
+    public int reapExpired(int count) {
+        long now = System.currentTimeMillis();
+        List<?> result = stringRedisTemplate.execute(REAP_SCRIPT,
+                List.of(readyKey, inflightKey, attemptsKey, deadKey),
+                String.valueOf(now), String.valueOf(maxAttempts), String.valueOf(count),
+                String.valueOf(now - deadRetention.toMillis()));
+        if (result == null || result.size() < 2) {
+            return 0;
+        }
+        int requeued = Integer.parseInt(result.get(0).toString());
+        int dead = Integer.parseInt(result.get(1).toString());
+        if (requeued > 0 || dead > 0) {
+            log.warn("Expired job leases reaped: queue={}, requeued={}, dead={}", name, requeued, dead);
+        }
+        return requeued + dead;
+    }
+
+    public Set<String> getDeadLetters(int limit) {
+        Set<String> dead = stringRedisTemplate.opsForZSet().reverseRange(deadKey, 0, Math.max(0, limit - 1));
+        return dead != null ? dead : Set.of();
+    }
+
+    public long getReadyCount() {
+        Long size = stringRedisTemplate.opsForZSet().zCard(readyKey);
+        return size != null ? size : 0L;
+    }
+
+    public long getInflightCount() {
+        Long size = stringRedisTemplate.opsForZSet().zCard(inflightKey);
+        return size != null ? size : 0L;
+    }
+
+    private Duration backoff(int attempt) {
+        int shift = Math.min(Math.max(0, attempt - 1), 20);
+        Duration delay = baseDelay.multipliedBy(1L << shift);
+        return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+    }
+
+    /**
+     * claim 으로 꺼낸 작업. attempt 는 이번 실행을 포함한 시도 횟수, leaseUntil 은 리스 확인용 값이다.
+     */
+    public record Job(String id, int attempt, long leaseUntil) {
+    }
+}
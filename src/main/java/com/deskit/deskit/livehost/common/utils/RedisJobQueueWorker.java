@@ -0,0 +1,161 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RedisJobQueue 하나를 처리하는 워커 풀.
+ * - 폴링 스레드가 poll-interval 마다 리스가 끝난 항목을 되돌리고, 빈 워커 수만큼만 claim 해 풀에 넘긴다.
+ * - 핸들러가 true 를 반환하면 complete, false 를 반환하거나 예외가 나면 retry(백오프/dead) 한다.
+ * - 리더 선출 없이 모든 노드에서 돈다. 녹화 fallback/VOD 적재처럼 오래 걸리는 작업을 노드 수만큼 나눠 처리하려는 것이고,
+ *   claim 이 원자적이고 작업마다 리스가 있어 같은 작업이 두 노드에서 동시에 실행되지 않는다.
+ *   리스가 끝난 뒤 complete 하면(핸들러가 lease 보다 오래 걸림) 다른 노드가 이미 다시 꺼냈을 수 있으므로 경고를 남긴다.
+ */
+@Slf4j
+public class RedisJobQueueWorker {
+
+    private static final int REAP_BATCH_SIZE = 100;
+
+    private final RedisJobQueue queue;
+    private final JobHandler handler;
+    private final int concurrency;
+    private final long pollIntervalMillis;
+    private final Semaphore permits;
+    private final ScheduledExecutorService poller;
+    private final ExecutorService workers;
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong leaseLost = new AtomicLong();
+
+    public RedisJobQueueWorker(RedisJobQueue queue, JobHandler handler, int concurrency, Duration pollInterval) {
+        this.queue = queue;
+        this.handler = handler;
+        this.concurrency = Math.max(1, concurrency);
+        this.pollIntervalMillis = Math.max(50L, pollInterval.toMillis());
+        this.permits = new Semaphore(this.concurrency);
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "JobQueuePoll-" + queue.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "JobQueueWorker-" + queue.getName() + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        poller.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 새로 꺼내는 것을 멈추고 실행 중인 작업을 잠시 기다린다. 끝나지 않은 작업은 리스 만료 후 다른 노드가 다시 처리한다.
+     */
+    public void shutdown() {
+        poller.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getRetried() {
+        return retried.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getLeaseLost() {
+        return leaseLost.get();
+    }
+
+    public int getActive() {
+        return concurrency - permits.availablePermits();
+    }
+
+    private void poll() {
+        try {
+            queue.reapExpired(REAP_BATCH_SIZE);
+            int free = permits.availablePermits();
+            while (free > 0) {
+                List<RedisJobQueue.Job> jobs = queue.claim(free);
+                for (RedisJobQueue.Job job : jobs) {
+                    permits.acquireUninterruptibly();
+                    workers.execute(() -> run(job));
+                }
+                if (jobs.size() < free) {
+                    break;
+                }
+                free = permits.availablePermits();
+            }
+        } catch (Exception e) {
+            log.warn("Job queue poll failed: queue={}, reason={}", queue.getName(), e.getMessage());
+        }
+    }
+
+    private void run(RedisJobQueue.Job job) {
+        try {
+            boolean done;
+            try {
+                done = handler.handle(job.id(), job.attempt());
+            } catch (Exception e) {
+                log.error("Job failed: queue={}, id={}, attempt={}", queue.getName(), job.id(), job.attempt(), e);
+                failed.incrementAndGet();
+                done = false;
+            }
+            if (done) {
+                if (queue.complete(job)) {
+                    completed.incrementAndGet();
+                } else {
+                    // 리스가 끝나 다시 꺼내졌거나 이미 처리된 작업. 핸들러는 중복 실행돼도 상태를 확인하므로 기록만 남긴다.
+                    leaseLost.incrementAndGet();
+                    log.warn("Job completed after its lease expired: queue={}, id={}, attempt={}",
+                            queue.getName(), job.id(), job.attempt());
+                }
+                return;
+            }
+            Duration delay = queue.retry(job);
+            retried.incrementAndGet();
+            if (delay != null) {
+                log.info("Job retry scheduled: queue={}, id={}, attempt={}, delay={}s",
+                        queue.getName(), job.id(), job.attempt(), delay.toSeconds());
+            }
+        } catch (Exception e) {
+            // complete/retry 를 못 했으면 리스 만료 후 다시 실행된다.
+            log.warn("Job ack failed: queue={}, id={}, reason={}", queue.getName(), job.id(), e.getMessage());
+        } finally {
+            permits.release();
+        }
+    }
+
+    @FunctionalInterface
+    public interface JobHandler {
+        /**
+         * 작업을 실행한다. true 면 끝, false 면 백오프 뒤 재시도.
+         */
+        boolean handle(String id, int attempt) throws Exception;
+    }
+}
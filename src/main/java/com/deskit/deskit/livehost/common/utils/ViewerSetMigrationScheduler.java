@@ -0,0 +1,39 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import com.deskit.deskit.livehost.service.RedisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 시청자 SET -> HyperLogLog 이전을 작은 단위로 나눠 진행한다.
+ * 한 번에 SET 최대 keys-per-run 개를 SSCAN 한 페이지씩만 옮기므로 요청 경로의 Redis 명령을 오래 막지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ViewerSetMigrationScheduler {
+
+    private final RedisService redisService;
+    private final JobLeaderElection jobLeaderElection;
+
+    @Value("${viewer-count.migration.keys-per-run:20}")
+    private int keysPerRun;
+
+    @Value("${viewer-count.migration.page-size:500}")
+    private int pageSize;
+
+    @Scheduled(fixedDelayString = "${viewer-count.migration.interval-ms:1000}")
+    public void migrateViewerSets() {
+        if (!jobLeaderElection.isLeader("viewer-set-hll-migration")) {
+            return;
+        }
+        try {
+            redisService.migrateViewerSetsToHll(keysPerRun, pageSize);
+        } catch (Exception e) {
+            log.warn("Viewer set migration failed: reason={}", e.getMessage());
+        }
+    }
+}
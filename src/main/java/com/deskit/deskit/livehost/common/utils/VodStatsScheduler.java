@@ -13,9 +13,13 @@ import org.springframework.stereotype.Component;
 public class VodStatsScheduler {
     private final RedisService redisService;
     private final VodStatsService vodStatsService;
+    private final JobLeaderElection jobLeaderElection;
 
     @Scheduled(fixedDelay = 10000)
     public void flushVodStats() {
+        if (!jobLeaderElection.isLeader("vod-stats-flush")) {
+            return;
+        }
         var broadcastIds = redisService.getDirtyVodIds();
         if (broadcastIds.isEmpty()) {
             return;
@@ -140,7 +140,7 @@ public class BroadcastPublicController {
 
         if ("recordingStatusChanged".equals(payload.getEvent()) && "ready".equals(payload.getStatus())) {
             try {
-                broadcastService.processVod(payload);
+                broadcastService.enqueueVodIngest(payload);
             } catch (Exception ex) {
                 log.error("OpenVidu webhook processing failed: {}", payload, ex);
             }
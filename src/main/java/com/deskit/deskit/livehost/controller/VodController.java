@@ -1,27 +1,33 @@
 package com.deskit.deskit.livehost.controller;
 
 import com.deskit.deskit.livehost.service.VodService;
+import com.deskit.deskit.livehost.service.VodStreamingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/vods")
 @RequiredArgsConstructor
 public class VodController {
 
     private final VodService vodService;
+    private final VodStreamingService vodStreamingService;
 
     @GetMapping("/{vodId}/stream")
-    public ResponseEntity<InputStreamResource> streamVod(
+    public void streamVod(
             @PathVariable Long vodId,
-            @RequestHeader(value = "Range", required = false) String rangeHeader
-    ) {
-        return vodService.streamVod(vodId, rangeHeader);
+            @RequestHeader(value = "Range", required = false) String rangeHeader,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        vodStreamingService.stream(vodService.getStreamSource(vodId), rangeHeader, request, response);
     }
 }
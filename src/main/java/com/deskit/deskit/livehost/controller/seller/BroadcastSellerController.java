@@ -6,6 +6,7 @@ import com.deskit.deskit.livehost.common.utils.LiveAuthUtils;
 import com.deskit.deskit.livehost.dto.request.BroadcastCreateRequest;
 import com.deskit.deskit.livehost.dto.request.BroadcastSearch;
 import com.deskit.deskit.livehost.dto.request.BroadcastUpdateRequest;
+import com.deskit.deskit.livehost.dto.request.ChatSlowModeRequest;
 import com.deskit.deskit.livehost.dto.request.MediaConfigRequest;
 import com.deskit.deskit.livehost.dto.request.SanctionRequest;
 import com.deskit.deskit.livehost.dto.request.VodStatusRequest;
@@ -191,6 +192,15 @@ public class BroadcastSellerController {
         return ResponseEntity.ok(ApiResult.success(null));
     }
 
+    @PutMapping("/{broadcastId}/chat/slow-mode")
+    public ResponseEntity<ApiResult<Void>> updateChatSlowMode(
+            @PathVariable Long broadcastId,
+            @RequestBody @Valid ChatSlowModeRequest request) {
+        Seller seller = liveAuthUtils.getCurrentSeller();
+        sanctionService.updateChatSlowMode(seller.getSellerId(), broadcastId, request);
+        return ResponseEntity.ok(ApiResult.success(null));
+    }
+
     @GetMapping("/statistics")
     public ResponseEntity<ApiResult<StatisticsResponse>> getStatistics(
             @RequestParam(defaultValue = "DAILY") String period
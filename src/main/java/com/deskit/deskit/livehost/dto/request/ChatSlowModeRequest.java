@@ -0,0 +1,18 @@
+package com.deskit.deskit.livehost.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class ChatSlowModeRequest {
+
+    // 0 이면 슬로우 모드 해제
+    @NotNull(message = "채팅 간격은 필수입니다.")
+    @Min(value = 0, message = "채팅 간격은 0초 이상이어야 합니다.")
+    @Max(value = 300, message = "채팅 간격은 300초 이하이어야 합니다.")
+    private Integer intervalSeconds;
+}
@@ -34,6 +34,10 @@ public class ViewHistory {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // 퇴장 처리 여부. 같은 초에 입장/퇴장하면 updatedAt 이 createdAt 과 같아 시간만으로는 구분할 수 없다.
+    @Column(name = "exited", nullable = false)
+    private boolean exited;
+
     private ViewHistory(Broadcast broadcast, String viewerId) {
         this.broadcast = broadcast;
         this.viewerId = viewerId;
@@ -54,5 +58,6 @@ public class ViewHistory {
     // 퇴장 시 호출하여 시간 갱신
     public void recordExit() {
         this.updatedAt = LocalDateTime.now();
+        this.exited = true;
     }
 }
@@ -38,6 +38,20 @@ public interface BroadcastProductRepository extends JpaRepository<BroadcastProdu
             @Param("paidAt") LocalDateTime paidAt
     );
 
+    @Query("""
+            SELECT b.broadcastId AS broadcastId, bp.product.id AS productId, bp.bpPrice AS bpPrice
+            FROM BroadcastProduct bp
+            JOIN bp.broadcast b
+            WHERE bp.product.id IN :productIds
+              AND b.startedAt IS NOT NULL
+              AND :paidAt >= b.startedAt
+              AND (b.endedAt IS NULL OR :paidAt <= b.endedAt)
+            """)
+    List<SalesLedgerTargetRow> findSalesLedgerTargets(
+            @Param("productIds") List<Long> productIds,
+            @Param("paidAt") LocalDateTime paidAt
+    );
+
     @Query("SELECT bp FROM BroadcastProduct bp " +
             "JOIN FETCH bp.product p " +
             "WHERE bp.broadcast.broadcastId = :broadcastId " +
@@ -87,4 +101,12 @@ public interface BroadcastProductRepository extends JpaRepository<BroadcastProdu
 
         Integer getBpPrice();
     }
+
+    interface SalesLedgerTargetRow {
+        Long getBroadcastId();
+
+        Long getProductId();
+
+        Integer getBpPrice();
+    }
 }
@@ -15,6 +15,15 @@ public interface BroadcastRepository extends JpaRepository<Broadcast, Long>, Bro
 
     List<Broadcast> findByStatusAndStartedAtBefore(BroadcastStatus status, LocalDateTime threshold);
 
+    @Query("SELECT b.broadcastId FROM Broadcast b WHERE b.status IN :statuses")
+    List<Long> findIdsByStatusIn(@Param("statuses") List<BroadcastStatus> statuses);
+
+    @Query("SELECT b.seller.sellerId FROM Broadcast b WHERE b.broadcastId = :broadcastId")
+    Long findSellerIdByBroadcastId(@Param("broadcastId") Long broadcastId);
+
+    @Query("SELECT b.seller.loginId FROM Broadcast b WHERE b.broadcastId = :broadcastId")
+    String findSellerLoginIdByBroadcastId(@Param("broadcastId") Long broadcastId);
+
     @Query("""
             SELECT DISTINCT b
             FROM Broadcast b
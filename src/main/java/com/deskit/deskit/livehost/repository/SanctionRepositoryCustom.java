@@ -3,6 +3,7 @@ package com.deskit.deskit.livehost.repository;
 import com.deskit.deskit.livehost.dto.response.SanctionStatisticsResponse;
 
 import java.util.List;
+import java.util.Map;
 
 public interface SanctionRepositoryCustom {
 
@@ -16,6 +17,8 @@ public interface SanctionRepositoryCustom {
 
     SanctionTypeResult findLatestSanction(Long broadcastId, Long memberId);
 
+    Map<Long, String> findLatestSanctionStatuses(Long broadcastId);
+
     record SanctionTypeResult(Long sanctionId, String status) {
     }
 }
@@ -16,6 +16,7 @@ import java.time.Year;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -141,6 +142,19 @@ public class SanctionRepositoryImpl implements SanctionRepositoryCustom {
         );
     }
 
+    @Override
+    public Map<Long, String> findLatestSanctionStatuses(Long broadcastIdValue) {
+        // 생성 순으로 읽어 회원별 마지막 제재 상태만 남긴다.
+        Map<Long, String> statuses = new HashMap<>();
+        dsl.select(sanctionMemberId, sanctionStatus)
+                .from(sanctionTable)
+                .where(field(name("sc", "broadcast_id"), Long.class).eq(broadcastIdValue))
+                .orderBy(sanctionCreatedAt.asc(), sanctionId.asc())
+                .fetch()
+                .forEach(record -> statuses.put(record.get(sanctionMemberId), record.get(sanctionStatus)));
+        return statuses;
+    }
+
     private Field<String> getDateExpression(String periodType, Field<LocalDateTime> datePath) {
         String format = "DAILY".equalsIgnoreCase(periodType) ? "%Y-%m-%d" :
                 "MONTHLY".equalsIgnoreCase(periodType) ? "%Y-%m" : "%Y";
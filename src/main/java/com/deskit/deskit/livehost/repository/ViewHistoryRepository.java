@@ -8,28 +8,40 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
 
 public interface ViewHistoryRepository extends JpaRepository<ViewHistory, Long> {
 
-    @Query(value = "SELECT * FROM view_history v " +
-            "WHERE v.broadcast_id = :broadcastId AND v.viewer_id = :viewerId AND v.updated_at = v.created_at " +
-            "ORDER BY v.created_at DESC LIMIT 1",
-            nativeQuery = true)
-    Optional<ViewHistory> findActiveHistory(@Param("broadcastId") Long broadcastId, @Param("viewerId") String viewerId);
-
     @Query(value = "SELECT COALESCE(AVG(TIMESTAMPDIFF(SECOND, v.created_at, v.updated_at)), 0) " +
             "FROM view_history v " +
             "WHERE v.broadcast_id = :broadcastId",
             nativeQuery = true)
     Double getAverageWatchTime(@Param("broadcastId") Long broadcastId);
 
+    @Query(value = "SELECT COUNT(*) AS sessions, " +
+            "COALESCE(SUM(TIMESTAMPDIFF(SECOND, v.created_at, v.updated_at)), 0) AS seconds " +
+            "FROM view_history v " +
+            "WHERE v.broadcast_id = :broadcastId",
+            nativeQuery = true)
+    WatchTimeRow getWatchTimeTotals(@Param("broadcastId") Long broadcastId);
+
+    @Query(value = "SELECT COALESCE(SUM(TIMESTAMPDIFF(SECOND, v.created_at, :exitAt)), 0) " +
+            "FROM view_history v " +
+            "WHERE v.broadcast_id = :broadcastId AND v.exited = FALSE AND v.updated_at = v.created_at",
+            nativeQuery = true)
+    Long sumOpenWatchSeconds(@Param("broadcastId") Long broadcastId, @Param("exitAt") LocalDateTime exitAt);
+
     @Modifying
     @Query("DELETE FROM ViewHistory v WHERE v.createdAt < :cutoff")
     void deleteByCreatedAtBefore(@Param("cutoff") LocalDateTime cutoff);
 
     @Modifying
-    @Query("UPDATE ViewHistory v SET v.updatedAt = :exitAt " +
-            "WHERE v.broadcast = :broadcast AND v.updatedAt = v.createdAt")
+    @Query("UPDATE ViewHistory v SET v.updatedAt = :exitAt, v.exited = true " +
+            "WHERE v.broadcast = :broadcast AND v.exited = false AND v.updatedAt = v.createdAt")
     int closeActiveHistories(@Param("broadcast") Broadcast broadcast, @Param("exitAt") LocalDateTime exitAt);
+
+    interface WatchTimeRow {
+        Long getSessions();
+
+        Long getSeconds();
+    }
 }
@@ -19,6 +19,7 @@ public class AdminService {
     private final OpenViduService openViduService;
     private final RedisService redisService;
     private final SseService sseService;
+    private final ChatPermissionCache chatPermissionCache;
     private final SanctionService sanctionService;
     private final BroadcastService broadcastService;
 
@@ -53,6 +54,7 @@ public class AdminService {
             broadcastService.saveBroadcastResultSnapshot(broadcast);
             openViduService.closeSession(broadcastId);
             redisService.deleteBroadcastRuntimeKeys(broadcastId);
+            chatPermissionCache.evict(broadcastId);
             sseService.notifyBroadcastUpdate(broadcastId, "BROADCAST_STOPPED", reason);
         } finally {
             redisService.releaseLock(lockKey);
@@ -1,9 +1,18 @@
 package com.deskit.deskit.livehost.service;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ListPartsRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PartListing;
+import com.amazonaws.services.s3.model.PartSummary;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
 import com.deskit.deskit.livehost.common.enums.UploadType;
 import com.deskit.deskit.livehost.common.exception.BusinessException;
 import com.deskit.deskit.livehost.common.exception.ErrorCode;
@@ -16,10 +25,13 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Slf4j
@@ -116,14 +128,84 @@ public class AwsS3Service {
             amazonS3.putObject(new PutObjectRequest(bucket, pathKey, inputStream, metadata)
                     .withCannedAcl(CannedAccessControlList.PublicRead));
 
-            return endpoint != null ? endpoint + "/" + bucket + "/" + pathKey
-                    : amazonS3.getUrl(bucket, pathKey).toString();
+            return buildVodUrl(pathKey);
         } catch (Exception e) {
             log.error("S3 Stream Upload Failed: {}", e.getMessage());
             throw new RuntimeException("VOD 업로드 실패");
         }
     }
 
+    public String initiateVodUpload(String pathKey) {
+        try {
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentType("video/mp4");
+            return amazonS3.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, pathKey, metadata)
+                    .withCannedACL(CannedAccessControlList.PublicRead)).getUploadId();
+        } catch (Exception e) {
+            log.error("S3 multipart upload initiate failed: key={}, reason={}", pathKey, e.getMessage());
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
+
+    public PartETag uploadVodPart(String pathKey, String uploadId, int partNumber, byte[] data) {
+        try {
+            UploadPartRequest request = new UploadPartRequest()
+                    .withBucketName(bucket)
+                    .withKey(pathKey)
+                    .withUploadId(uploadId)
+                    .withPartNumber(partNumber)
+                    .withInputStream(new ByteArrayInputStream(data))
+                    .withPartSize(data.length);
+            return amazonS3.uploadPart(request).getPartETag();
+        } catch (Exception e) {
+            log.warn("S3 part upload failed: key={}, part={}, reason={}", pathKey, partNumber, e.getMessage());
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
+
+    /**
+     * 이미 올라간 파트 목록(파트 번호순). 업로드가 없어졌으면(완료/중단/만료) null.
+     */
+    public Map<Integer, PartETag> listVodParts(String pathKey, String uploadId) {
+        Map<Integer, PartETag> parts = new TreeMap<>();
+        try {
+            ListPartsRequest request = new ListPartsRequest(bucket, pathKey, uploadId);
+            PartListing listing;
+            do {
+                listing = amazonS3.listParts(request);
+                for (PartSummary part : listing.getParts()) {
+                    parts.put(part.getPartNumber(), new PartETag(part.getPartNumber(), part.getETag()));
+                }
+                request.setPartNumberMarker(listing.getNextPartNumberMarker());
+            } while (listing.isTruncated());
+            return parts;
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return null;
+            }
+            log.warn("S3 part listing failed: key={}, reason={}", pathKey, e.getMessage());
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
+
+    public String completeVodUpload(String pathKey, String uploadId, List<PartETag> parts) {
+        try {
+            amazonS3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, pathKey, uploadId, parts));
+            return buildVodUrl(pathKey);
+        } catch (Exception e) {
+            log.error("S3 multipart upload complete failed: key={}, reason={}", pathKey, e.getMessage());
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
+
+    public void abortVodUpload(String pathKey, String uploadId) {
+        try {
+            amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, pathKey, uploadId));
+        } catch (Exception e) {
+            log.warn("S3 multipart upload abort failed: key={}, reason={}", pathKey, e.getMessage());
+        }
+    }
+
     public long getObjectSize(String fileUrl) {
         String key = extractKeyFromUrl(fileUrl);
         if (key == null) {
@@ -170,6 +252,11 @@ public class AwsS3Service {
         }
     }
 
+    private String buildVodUrl(String pathKey) {
+        return endpoint != null ? endpoint + "/" + bucket + "/" + pathKey
+                : amazonS3.getUrl(bucket, pathKey).toString();
+    }
+
     private String extractKeyFromUrl(String fileUrl) {
         if (fileUrl == null || fileUrl.isBlank()) {
             return null;
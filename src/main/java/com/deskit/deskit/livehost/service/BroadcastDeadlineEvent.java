@@ -0,0 +1,24 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.livehost.common.enums.BroadcastDeadline;
+
+public record BroadcastDeadlineEvent(Long broadcastId, BroadcastDeadline deadline) {
+    public String toMember() {
+        return broadcastId + ":" + deadline.name();
+    }
+
+    public static BroadcastDeadlineEvent parse(String member) {
+        int separator = member != null ? member.indexOf(':') : -1;
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            return new BroadcastDeadlineEvent(
+                    Long.parseLong(member.substring(0, separator)),
+                    BroadcastDeadline.valueOf(member.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -4,12 +4,16 @@ import com.deskit.deskit.account.entity.Member;
 import com.deskit.deskit.account.entity.Seller;
 import com.deskit.deskit.account.repository.MemberRepository;
 import com.deskit.deskit.account.repository.SellerRepository;
+import com.deskit.deskit.livehost.common.enums.BroadcastDeadline;
 import com.deskit.deskit.livehost.common.enums.BroadcastProductStatus;
 import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
 import com.deskit.deskit.livehost.common.enums.SanctionType;
 import com.deskit.deskit.livehost.common.enums.VodStatus;
 import com.deskit.deskit.livehost.common.exception.BusinessException;
 import com.deskit.deskit.livehost.common.exception.ErrorCode;
+import com.deskit.deskit.livehost.common.utils.JobLeaderElection;
+import com.deskit.deskit.livehost.common.utils.RecordingJobQueues;
+import com.deskit.deskit.livehost.common.utils.RedisJobQueue;
 import com.deskit.deskit.livehost.dto.request.BroadcastCreateRequest;
 import com.deskit.deskit.livehost.dto.request.BroadcastProductRequest;
 import com.deskit.deskit.livehost.dto.request.BroadcastSearch;
@@ -35,14 +39,11 @@ import com.deskit.deskit.livehost.entity.BroadcastProduct;
 import com.deskit.deskit.livehost.entity.BroadcastResult;
 import com.deskit.deskit.livehost.entity.Qcard;
 import com.deskit.deskit.livehost.entity.Vod;
-import com.deskit.deskit.livehost.entity.ViewHistory;
 import com.deskit.deskit.livehost.repository.BroadcastProductRepository;
 import com.deskit.deskit.livehost.repository.BroadcastRepository;
 import com.deskit.deskit.livehost.repository.BroadcastRepositoryCustom;
 import com.deskit.deskit.livehost.repository.BroadcastResultRepository;
 import com.deskit.deskit.livehost.repository.SanctionRepository;
-import com.deskit.deskit.livehost.repository.SanctionRepositoryCustom;
-import com.deskit.deskit.livehost.repository.ViewHistoryRepository;
 import com.deskit.deskit.livehost.repository.VodRepository;
 import com.deskit.deskit.livechat.dto.LiveMessageType;
 import com.deskit.deskit.livechat.repository.LiveChatRepository;
@@ -53,6 +54,7 @@ import com.deskit.deskit.product.entity.ProductImage;
 import com.deskit.deskit.product.entity.ProductImage.ImageType;
 import com.deskit.deskit.product.repository.ProductImageRepository;
 import com.deskit.deskit.product.repository.ProductRepository;
+import com.deskit.deskit.product.service.ProductCardChangedEvent;
 import com.deskit.deskit.tag.entity.TagCategory;
 import com.deskit.deskit.tag.repository.TagCategoryRepository;
 import io.openvidu.java.client.OpenViduHttpException;
@@ -62,34 +64,31 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jooq.DSLContext;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.socket.messaging.SessionConnectEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
-import javax.net.ssl.HostnameVerifier;
-import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
 import java.io.InputStream;
 import java.math.BigDecimal;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.Collections;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.security.cert.X509Certificate;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Base64;
+import java.time.ZoneId;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -107,13 +106,6 @@ import static org.jooq.impl.DSL.table;
 @RequiredArgsConstructor
 public class BroadcastService {
 
-    private static final int RECORDING_RETRY_MAX_ATTEMPTS = 5;
-    private static final Duration RECORDING_RETRY_TTL = Duration.ofHours(6);
-    private static final Duration RECORDING_RETRY_BASE_DELAY = Duration.ofSeconds(30);
-    private static final int RECORDING_START_RETRY_MAX_ATTEMPTS = 10;
-    private static final Duration RECORDING_START_RETRY_TTL = Duration.ofMinutes(30);
-    private static final Duration RECORDING_START_RETRY_BASE_DELAY = Duration.ofSeconds(5);
-
     private final BroadcastRepository broadcastRepository;
     private final BroadcastProductRepository broadcastProductRepository;
     private final ProductImageRepository productImageRepository;
@@ -126,22 +118,24 @@ public class BroadcastService {
     private final TagCategoryRepository tagCategoryRepository;
     private final ProductRepository productRepository;
     private final SanctionRepository sanctionRepository;
-    private final ViewHistoryRepository viewHistoryRepository;
     private final LiveChatRepository liveChatRepository;
     private final VodStatsService vodStatsService;
 
     private final RedisService redisService;
+    private final LivePresenceBatcher livePresenceBatcher;
+    private final ViewHistoryWriteBehindService viewHistoryWriteBehindService;
     private final SseService sseService;
+    private final ChatPermissionCache chatPermissionCache;
+    private final ReactionCountPublisher reactionCountPublisher;
+    private final JobLeaderElection jobLeaderElection;
+    private final RecordingJobQueues recordingJobQueues;
     private final OpenViduService openViduService;
     private final BroadcastScheduleEmailService broadcastScheduleEmailService;
     private final AwsS3Service s3Service;
+    private final VodIngestService vodIngestService;
+    private final PlatformTransactionManager transactionManager;
     private final DSLContext dsl;
-
-    @Value("${openvidu.url}")
-    private String openViduUrl;
-
-    @Value("${openvidu.secret}")
-    private String openViduSecret;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${vod.admin-download-dir:${user.home}/deskit-admin-vod}")
     private String adminVodDownloadDir;
@@ -190,6 +184,10 @@ public class BroadcastService {
             saveBroadcastProducts(sellerId, saved, request.getProducts());
             saveQcards(saved, request.getQcards());
 
+            Long savedId = saved.getBroadcastId();
+            LocalDateTime savedScheduledAt = saved.getScheduledAt();
+            runAfterCommit(() -> scheduleDeadlines(savedId, savedScheduledAt, BroadcastStatus.RESERVED));
+
             log.info("방송 생성 완료: id={}", saved.getBroadcastId());
             return saved.getBroadcastId();
         } finally {
@@ -237,6 +235,8 @@ public class BroadcastService {
             );
             updateBroadcastProducts(sellerId, broadcast, request.getProducts());
             updateQcards(broadcast, request.getQcards());
+            LocalDateTime scheduledAt = broadcast.getScheduledAt();
+            runAfterCommit(() -> scheduleDeadlines(broadcastId, scheduledAt, BroadcastStatus.RESERVED));
         } else {
             broadcast.updateLiveBroadcastInfo(
                     category, request.getTitle(), request.getNotice(),
@@ -590,6 +590,9 @@ public class BroadcastService {
 
             validateTransition(broadcast.getStatus(), BroadcastStatus.ON_AIR);
             broadcast.startBroadcast(sessionId);
+            chatPermissionCache.evict(broadcastId);
+            redisService.storeLiveSales(broadcastId, LiveSalesSnapshot.empty(), true);
+            viewHistoryWriteBehindService.initWatchTime(broadcastId);
             applyLiveProductPrice(broadcast);
             sseService.notifyBroadcastUpdate(broadcastId, "BROADCAST_STARTED", "started");
 
@@ -626,10 +629,7 @@ public class BroadcastService {
         }
 
         String uuid = (viewerId != null) ? viewerId : UUID.randomUUID().toString();
-        redisService.enterLiveRoom(broadcastId, uuid);
-        if (broadcast.getStatus() == BroadcastStatus.ON_AIR) {
-            redisService.updatePeakViewers(broadcastId);
-        }
+        redisService.enterLiveRoom(broadcastId, uuid, broadcast.getStatus() == BroadcastStatus.ON_AIR);
         recordViewEnter(broadcast, viewerId);
 
         try {
@@ -645,12 +645,8 @@ public class BroadcastService {
         if (viewerId == null || viewerId.isBlank()) {
             return;
         }
-        if (!broadcastRepository.existsById(broadcastId)) {
-            return;
-        }
         redisService.exitLiveRoom(broadcastId, viewerId);
-        broadcastRepository.findById(broadcastId)
-                .ifPresent(broadcast -> recordViewExit(broadcast, viewerId));
+        recordViewExit(broadcastId, viewerId);
     }
 
     @Transactional
@@ -699,7 +695,7 @@ public class BroadcastService {
         } catch (OpenViduHttpException e) {
             int status = e.getStatus();
             if (status == 406) {
-                scheduleRecordingStartRetry(broadcastId, "publisher_stream_created", status);
+                enqueueRecordingStartRetry(broadcastId, "publisher_stream_created", status);
             } else if (status == 409) {
                 log.info("OpenVidu recording already started: broadcastId={}", broadcastId);
             } else {
@@ -707,7 +703,7 @@ public class BroadcastService {
                 throw new BusinessException(ErrorCode.OPENVIDU_ERROR);
             }
         } catch (OpenViduJavaClientException e) {
-            scheduleRecordingStartRetry(broadcastId, "publisher_stream_created", 0);
+            enqueueRecordingStartRetry(broadcastId, "publisher_stream_created", 0);
         } catch (Exception e) {
             throw new BusinessException(ErrorCode.OPENVIDU_ERROR);
         }
@@ -830,13 +826,10 @@ public class BroadcastService {
                 log.warn("Invalid broadcastId on connect: {}", bId);
                 return;
             }
-            redisService.enterLiveRoom(broadcastId, vId);
-            broadcastRepository.findById(broadcastId)
-                    .filter(broadcast -> broadcast.getStatus() == BroadcastStatus.ON_AIR)
-                    .ifPresent(broadcast -> {
-                        redisService.updatePeakViewers(broadcastId);
-                        recordViewEnter(broadcast, vId);
-                    });
+            Optional<Broadcast> onAirBroadcast = broadcastRepository.findById(broadcastId)
+                    .filter(broadcast -> broadcast.getStatus() == BroadcastStatus.ON_AIR);
+            livePresenceBatcher.enter(broadcastId, vId, onAirBroadcast.isPresent());
+            onAirBroadcast.ifPresent(broadcast -> recordViewEnter(broadcast, vId));
             Map<String, Object> attrs = accessor.getSessionAttributes();
             if (attrs != null) {
                 attrs.put("broadcastId", bId);
@@ -856,9 +849,8 @@ public class BroadcastService {
                 return;
             }
             String viewerId = (String) attrs.get("viewerId");
-            redisService.exitLiveRoom(broadcastId, viewerId);
-            broadcastRepository.findById(broadcastId)
-                    .ifPresent(broadcast -> recordViewExit(broadcast, viewerId));
+            livePresenceBatcher.exit(broadcastId, viewerId);
+            recordViewExit(broadcastId, viewerId);
         }
     }
 
@@ -866,23 +858,22 @@ public class BroadcastService {
         Broadcast broadcast = broadcastRepository.findById(broadcastId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.BROADCAST_NOT_FOUND));
 
+        // 토글과 카운트는 Redis 스크립트 한 번으로 처리하고, 변경된 수는 SSE 로 모아서 보낸다.
+        ReactionResult result;
+        int likeCount;
         if (broadcast.getStatus() == BroadcastStatus.VOD) {
-            boolean liked = redisService.toggleVodLike(broadcastId, memberId);
+            result = redisService.toggleVodLike(broadcastId, memberId);
             int baseLikes = broadcastResultRepository.findById(broadcastId)
                     .map(BroadcastResult::getTotalLikes)
                     .orElse(0);
-            int pendingDelta = redisService.getVodLikeDelta(broadcastId);
-            int likeCount = Math.max(0, baseLikes + pendingDelta);
-            return BroadcastLikeResponse.builder()
-                    .liked(liked)
-                    .likeCount(likeCount)
-                    .build();
+            likeCount = Math.max(0, baseLikes + result.count());
+        } else {
+            result = redisService.toggleLike(broadcastId, memberId);
+            likeCount = result.count();
         }
-
-        boolean liked = redisService.toggleLike(broadcastId, memberId);
-        int likeCount = redisService.getLikeCount(broadcastId);
+        reactionCountPublisher.likeCountChanged(broadcastId, likeCount);
         return BroadcastLikeResponse.builder()
-                .liked(liked)
+                .liked(result.active())
                 .likeCount(likeCount)
                 .build();
     }
@@ -912,39 +903,79 @@ public class BroadcastService {
                 .build();
     }
 
-    @Transactional
-    public void processVod(OpenViduRecordingWebhook payload) {
+    /**
+     * OpenVidu 웹훅은 적재 작업만 큐에 넣고 바로 응답한다. 업로드는 vodIngest 큐 워커가 처리한다.
+     * 녹화 완료 웹훅은 새 요청이므로 이전 실패(dead 보관/시도 횟수)를 지우고 처음부터 센다.
+     */
+    public void enqueueVodIngest(OpenViduRecordingWebhook payload) {
         Long broadcastId = parseBroadcastIdFromSession(payload.getSessionId());
         if (broadcastId == null) {
             log.warn("Invalid OpenVidu sessionId for VOD processing: {}", payload.getSessionId());
             return;
         }
+        vodIngestService.rememberRecordingId(broadcastId, payload.getId());
+        boolean queued = recordingJobQueues.vodIngest().reset(String.valueOf(broadcastId), Duration.ZERO);
+        log.info("VOD ingest queued: broadcastId={}, recordingId={}, reason=webhook, queued={}",
+                broadcastId, payload.getId(), queued);
+    }
+
+    /**
+     * 녹화 파일을 S3 로 옮긴 뒤 VOD/결과를 저장한다. 업로드는 트랜잭션 밖에서 하고 저장만 짧은 트랜잭션으로 묶는다.
+     * 업로드가 실패하면 false 를 반환해 큐가 다시 실행하게 하고(이미 올라간 파트는 이어서 올린다),
+     * 마지막 시도에서는 기존처럼 OpenVidu 쪽 URL 로 비공개 VOD 를 남긴다.
+     */
+    private boolean processVod(OpenViduRecordingWebhook payload, boolean lastAttempt) {
+        Long broadcastId = parseBroadcastIdFromSession(payload.getSessionId());
+        if (broadcastId == null) {
+            log.warn("Invalid OpenVidu sessionId for VOD processing: {}", payload.getSessionId());
+            return true;
+        }
 
         if (payload.getId() == null || payload.getId().isBlank()) {
             log.warn("Missing recording id for VOD processing: sessionId={}", payload.getSessionId());
-            return;
+            return true;
+        }
+        Long sellerId = broadcastRepository.findSellerIdByBroadcastId(broadcastId);
+        if (sellerId == null) {
+            log.warn("Broadcast not found for VOD processing: broadcastId={}", broadcastId);
+            return true;
+        }
+
+        String recordingId = payload.getId();
+        String s3Key = "seller_" + sellerId + "/vods/" + recordingId + ".mp4";
+        String s3Url = vodIngestService.ingest(recordingId, s3Key);
+        if (s3Url == null) {
+            if (!lastAttempt) {
+                return false;
+            }
+            vodIngestService.abandon(recordingId, s3Key);
+            log.error("VOD ingest gave up, keeping OpenVidu url: broadcastId={}, recordingId={}", broadcastId, recordingId);
+            s3Url = payload.getUrl() != null ? payload.getUrl() : "";
+        }
+
+        String vodUrl = s3Url;
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        Boolean adminCopy = template.execute(status -> saveVod(broadcastId, payload, vodUrl));
+        if (Boolean.TRUE.equals(adminCopy)) {
+            downloadVodToAdminLocal(vodUrl, broadcastId, recordingId);
         }
+        return true;
+    }
+
+    // 반환: 관리자 로컬 사본이 필요한지(송출 중지된 방송)
+    private boolean saveVod(Long broadcastId, OpenViduRecordingWebhook payload, String s3Url) {
         Broadcast broadcast = broadcastRepository.findById(broadcastId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.BROADCAST_NOT_FOUND));
 
         if (vodRepository.findByBroadcast(broadcast).isPresent()) {
             log.info("VOD already processed: broadcastId={}", broadcastId);
-            redisService.clearRecordingRetry(broadcastId);
-            return;
+            recordingJobQueues.fallback().remove(String.valueOf(broadcastId));
+            return false;
         }
 
-        String recordingId = payload.getId();
-        String s3Key = "seller_" + broadcast.getSeller().getSellerId() + "/vods/" + recordingId + ".mp4";
-        String s3Url = payload.getUrl() != null ? payload.getUrl() : "";
-
-        s3Url = uploadVodWithRetry(recordingId, s3Key, s3Url);
-
         boolean isStopped = broadcast.getStatus() == BroadcastStatus.STOPPED;
         boolean hasVodUrl = s3Url != null && !s3Url.isBlank();
         VodStatus status = (isStopped || !hasVodUrl) ? VodStatus.PRIVATE : VodStatus.PUBLIC;
-        if (isStopped && hasVodUrl) {
-            downloadVodToAdminLocal(s3Url, broadcastId, recordingId);
-        }
 
         long vodSize = payload.getSize() != null ? payload.getSize() : 0L;
         if (vodSize == 0L && s3Url != null && !s3Url.isBlank()) {
@@ -963,11 +994,12 @@ public class BroadcastService {
         vodRepository.save(vod);
 
         int uv = redisService.getTotalUniqueViewerCount(broadcastId);
-        int likes = redisService.getLikeCount(broadcastId);
-        int reports = redisService.getReportCount(broadcastId);
-        int mv = redisService.getMaxViewers(broadcastId);
-        LocalDateTime peak = redisService.getMaxViewersTime(broadcastId);
-        Double avg = viewHistoryRepository.getAverageWatchTime(broadcastId);
+        LiveStatsSnapshot stats = redisService.getLiveStats(broadcastId);
+        int likes = stats.likeCount();
+        int reports = stats.reportCount();
+        int mv = stats.maxViewers();
+        LocalDateTime peak = stats.maxViewersAt();
+        Double avg = viewHistoryWriteBehindService.getAverageWatchTime(broadcastId);
         SalesSummary salesSummary = fetchBroadcastSalesSummary(broadcast);
         int totalChats = countBroadcastChats(broadcastId);
 
@@ -1001,7 +1033,8 @@ public class BroadcastService {
 
         redisService.persistVodReactionKeys(broadcastId);
         redisService.deleteBroadcastRuntimeKeys(broadcastId);
-        redisService.clearRecordingRetry(broadcastId);
+        recordingJobQueues.fallback().remove(String.valueOf(broadcastId));
+        return isStopped && hasVodUrl;
     }
 
     private void downloadVodToAdminLocal(String vodUrl, Long broadcastId, String recordingId) {
@@ -1019,55 +1052,6 @@ public class BroadcastService {
         }
     }
 
-    private String uploadVodWithRetry(String recordingId, String s3Key, String fallbackUrl) {
-        int attempts = 0;
-        while (attempts < 3) {
-            attempts++;
-            try {
-                disableSslVerification();
-
-                String videoUrl = openViduUrl.replaceAll("/$", "") +
-                        "/openvidu/recordings/" + recordingId + "/" + recordingId + ".mp4";
-
-                URL url = new URL(videoUrl);
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
-
-                String auth = "OPENVIDUAPP:" + openViduSecret;
-                String encodedAuth = Base64.getEncoder().encodeToString(auth.getBytes());
-                conn.setRequestProperty("Authorization", "Basic " + encodedAuth);
-
-                int responseCode = conn.getResponseCode();
-                if (responseCode == HttpURLConnection.HTTP_OK) {
-                    try (InputStream inputStream = conn.getInputStream()) {
-                        long contentLength = conn.getContentLengthLong();
-                        String s3Url = s3Service.uploadVodStream(inputStream, s3Key, contentLength);
-                        log.info("VOD Upload Success: {}", s3Url);
-                        try {
-                            openViduService.deleteRecording(recordingId);
-                        } catch (OpenViduJavaClientException | OpenViduHttpException e) {
-                            log.warn("Failed to delete OpenVidu recording after upload: recordingId={}, reason={}",
-                                    recordingId, e.getMessage());
-                        }
-                        return s3Url;
-                    }
-                } else {
-                    log.error("Failed to fetch recording from OpenVidu: {}", responseCode);
-                }
-            } catch (Exception e) {
-                log.error("VOD Processing Error (attempt {}): {}", attempts, e.getMessage());
-            }
-
-            try {
-                Thread.sleep(1000L * attempts);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
-        }
-        return fallbackUrl;
-    }
-
     @Transactional(readOnly = true)
     public BroadcastStatsResponse getBroadcastStats(Long broadcastId) {
         Broadcast broadcast = broadcastRepository.findById(broadcastId)
@@ -1082,9 +1066,10 @@ public class BroadcastService {
         int reports = 0;
 
         if (shouldUseRealtimeStats(broadcast.getStatus())) {
-            views = redisService.getRealtimeViewerCount(broadcastId);
-            likes = redisService.getLikeCount(broadcastId);
-            reports = redisService.getReportCount(broadcastId);
+            LiveStatsSnapshot stats = redisService.getLiveStats(broadcastId);
+            views = stats.viewerCount();
+            likes = stats.likeCount();
+            reports = stats.reportCount();
         } else {
             BroadcastResult result = broadcastResultRepository.findById(broadcastId).orElse(null);
             if (result != null) {
@@ -1159,41 +1144,38 @@ public class BroadcastService {
 
     @Transactional(readOnly = true)
     public boolean canChat(Long broadcastId, Long memberId) {
-        Broadcast broadcast = broadcastRepository.findById(broadcastId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.BROADCAST_NOT_FOUND));
-
-        if (broadcast.getStatus() == BroadcastStatus.STOPPED) {
-            return false;
-        }
+        return chatPermissionCache.canChat(broadcastId, memberId);
+    }
 
-        if (memberId == null) {
-            return true;
-        }
+    public boolean isChatHost(Long broadcastId, String loginId) {
+        return chatPermissionCache.isHost(broadcastId, loginId);
+    }
 
-        return !isViewerSanctioned(broadcastId, memberId, SanctionType.MUTE, SanctionType.OUT);
+    public int getVodPlayTime(Long broadcastId, long atMillis) {
+        return chatPermissionCache.vodPlayTimeSeconds(broadcastId, atMillis);
     }
 
     public BroadcastReportResponse reportBroadcast(Long broadcastId, Long memberId) {
         Broadcast broadcast = broadcastRepository.findById(broadcastId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.BROADCAST_NOT_FOUND));
 
+        ReactionResult result;
+        int reportCount;
         if (broadcast.getStatus() == BroadcastStatus.VOD) {
-            boolean reported = redisService.reportVod(broadcastId, memberId);
+            result = redisService.reportVod(broadcastId, memberId);
             int baseReports = broadcastResultRepository.findById(broadcastId)
                     .map(BroadcastResult::getTotalReports)
                     .orElse(0);
-            int pendingDelta = redisService.getVodReportDelta(broadcastId);
-            int reportCount = Math.max(0, baseReports + pendingDelta);
-            return BroadcastReportResponse.builder()
-                    .reported(reported)
-                    .reportCount(reportCount)
-                    .build();
+            reportCount = Math.max(0, baseReports + result.count());
+        } else {
+            result = redisService.reportBroadcast(broadcastId, memberId);
+            reportCount = result.count();
+        }
+        if (result.active()) {
+            reactionCountPublisher.reportCountChanged(broadcastId, reportCount);
         }
-
-        boolean reported = redisService.reportBroadcast(broadcastId, memberId);
-        int reportCount = redisService.getReportCount(broadcastId);
         return BroadcastReportResponse.builder()
-                .reported(reported)
+                .reported(result.active())
                 .reportCount(reportCount)
                 .build();
     }
@@ -1501,13 +1483,15 @@ public class BroadcastService {
 
         Long broadcastId = broadcast.getBroadcastId();
         int uv = redisService.getTotalUniqueViewerCount(broadcastId);
-        int likes = redisService.getLikeCount(broadcastId);
-        int reports = redisService.getReportCount(broadcastId);
-        int mv = redisService.getMaxViewers(broadcastId);
-        LocalDateTime peak = redisService.getMaxViewersTime(broadcastId);
-        Double avg = viewHistoryRepository.getAverageWatchTime(broadcastId);
+        LiveStatsSnapshot stats = redisService.getLiveStats(broadcastId);
+        int likes = stats.likeCount();
+        int reports = stats.reportCount();
+        int mv = stats.maxViewers();
+        LocalDateTime peak = stats.maxViewersAt();
+        Double avg = viewHistoryWriteBehindService.getAverageWatchTime(broadcastId);
         int totalChats = countBroadcastChats(broadcastId);
         SalesSummary salesSummary = fetchBroadcastSalesSummary(broadcast);
+        redisService.storeLiveSales(broadcastId, toLiveSalesSnapshot(salesSummary), true);
 
         BroadcastResult result = broadcastResultRepository.findById(broadcastId).orElse(null);
         int avgWatchTime = avg != null ? avg.intValue() : 0;
@@ -1580,6 +1564,14 @@ public class BroadcastService {
         return LocalDateTime.now();
     }
 
+    private LiveSalesSnapshot toLiveSalesSnapshot(SalesSummary salesSummary) {
+        Map<Long, Integer> quantities = salesSummary.productMetrics().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().salesQuantity()));
+        Map<Long, Long> amounts = salesSummary.productMetrics().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().salesAmount().longValue()));
+        return new LiveSalesSnapshot(quantities, amounts);
+    }
+
     private record SalesSummary(BigDecimal totalSales, Map<Long, SalesMetric> productMetrics) {
     }
 
@@ -1590,52 +1582,43 @@ public class BroadcastService {
         if (broadcast == null || viewerId == null || viewerId.isBlank()) {
             return;
         }
-        if (viewHistoryRepository.findActiveHistory(broadcast.getBroadcastId(), viewerId).isEmpty()) {
-            viewHistoryRepository.save(ViewHistory.enter(broadcast, viewerId));
-        }
+        viewHistoryWriteBehindService.recordEnter(broadcast.getBroadcastId(), viewerId);
     }
 
-    private void recordViewExit(Broadcast broadcast, String viewerId) {
-        if (broadcast == null || viewerId == null || viewerId.isBlank()) {
+    private void recordViewExit(Long broadcastId, String viewerId) {
+        if (broadcastId == null || viewerId == null || viewerId.isBlank()) {
             return;
         }
-        viewHistoryRepository.findActiveHistory(broadcast.getBroadcastId(), viewerId)
-                .ifPresent(history -> {
-                    history.recordExit();
-                    viewHistoryRepository.save(history);
-                });
+        viewHistoryWriteBehindService.recordExit(broadcastId, viewerId);
     }
 
     private void closeActiveViewHistories(Broadcast broadcast) {
         if (broadcast == null) {
             return;
         }
-        viewHistoryRepository.closeActiveHistories(broadcast, LocalDateTime.now());
+        viewHistoryWriteBehindService.closeActiveHistories(broadcast);
     }
 
-    @Scheduled(fixedDelay = 60000)
-    @Transactional
-    public void syncBroadcastSchedules() {
+    /**
+     * 일정 이벤트 재조정. 이벤트는 생성/수정 시 지연 큐에 들어가 제시간에 실행되고,
+     * 여기서는 큐 유실(Redis 장애, 배포 전 예약 등)에 대비해 가까운 일정의 이벤트를 다시 넣는다.
+     * 현재 실행 시각으로 이미 실행된 이벤트는 다시 넣지 않는다(실행 기록은 재조정 범위만큼만 남긴다).
+     */
+    @Scheduled(fixedDelayString = "${broadcast.deadline.reconcile-interval-ms:300000}")
+    public void reconcileBroadcastDeadlines() {
+        if (!jobLeaderElection.isLeader("broadcast-deadline-reconcile")) {
+            return;
+        }
         LocalDateTime now = LocalDateTime.now();
-
-        List<Long> readyTargets = broadcastRepository.findBroadcastIdsForReadyTransition(now);
-        for (Long broadcastId : readyTargets) {
-            Broadcast broadcast = broadcastRepository.findById(broadcastId).orElse(null);
-            if (broadcast != null && broadcast.getStatus() == BroadcastStatus.RESERVED) {
-                validateTransition(broadcast.getStatus(), BroadcastStatus.READY);
-                broadcast.readyBroadcast();
-                sseService.notifyBroadcastUpdate(broadcastId, "BROADCAST_READY", "ready");
-            }
+        try {
+            redisService.purgeFiredBroadcastDeadlines(
+                    now.minusHours(3).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        } catch (Exception e) {
+            log.warn("Broadcast deadline fired-record purge failed: reason={}", e.getMessage());
         }
 
-        List<Long> noShowTargets = broadcastRepository.findBroadcastIdsForNoShow(now);
-        for (Long broadcastId : noShowTargets) {
-            Broadcast broadcast = broadcastRepository.findById(broadcastId).orElse(null);
-            if (broadcast != null && (broadcast.getStatus() == BroadcastStatus.RESERVED || broadcast.getStatus() == BroadcastStatus.READY)) {
-                validateTransition(broadcast.getStatus(), BroadcastStatus.CANCELED);
-                broadcast.markNoShow("broadcast start time violation");
-                sseService.notifyBroadcastUpdate(broadcastId, "BROADCAST_CANCELED", "no_show");
-            }
+        for (Long broadcastId : broadcastRepository.findBroadcastIdsForNoShow(now)) {
+            scheduleDeadline(broadcastId, BroadcastDeadline.NO_SHOW, now);
         }
 
         List<BroadcastRepositoryCustom.BroadcastScheduleInfo> schedules = broadcastRepository.findBroadcastSchedules(
@@ -1643,80 +1626,156 @@ public class BroadcastService {
                 now.plusHours(2),
                 List.of(BroadcastStatus.ON_AIR, BroadcastStatus.READY, BroadcastStatus.ENDED, BroadcastStatus.RESERVED)
         );
-
         for (BroadcastRepositoryCustom.BroadcastScheduleInfo schedule : schedules) {
-            if (schedule.scheduledAt() == null) {
-                continue;
-            }
-            if (schedule.status() == BroadcastStatus.RESERVED) {
-                LocalDateTime startNoticeAt = schedule.scheduledAt().minusMinutes(30);
-                if (!startNoticeAt.isAfter(now) && schedule.scheduledAt().isAfter(now)) {
-                    String noticeKey = redisService.getScheduleNoticeKey(schedule.broadcastId(), "start_30m");
+            scheduleDeadlines(schedule.broadcastId(), schedule.scheduledAt(), schedule.status(), true);
+        }
+    }
+
+    /**
+     * 지연 큐에서 꺼낸 일정 이벤트를 실행한다. 예약 시각이 바뀌어 아직 때가 아니면 새 시각으로 다시 넣는다.
+     */
+    @Transactional
+    public void fireDeadline(Long broadcastId, BroadcastDeadline deadline) {
+        Broadcast broadcast = broadcastRepository.findById(broadcastId).orElse(null);
+        if (broadcast == null || broadcast.getScheduledAt() == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime scheduledAt = broadcast.getScheduledAt();
+        LocalDateTime dueAt = deadline.dueAt(scheduledAt);
+        if (dueAt.isAfter(now.plusSeconds(1))) {
+            scheduleDeadline(broadcastId, deadline, dueAt);
+            return;
+        }
+
+        BroadcastStatus status = broadcast.getStatus();
+        switch (deadline) {
+            case START_REMINDER -> {
+                if (status == BroadcastStatus.RESERVED && scheduledAt.isAfter(now)) {
+                    String noticeKey = redisService.getScheduleNoticeKey(broadcastId, "start_30m");
                     if (redisService.setIfAbsent(noticeKey, "sent", java.time.Duration.ofHours(2))) {
-                        Broadcast broadcast = broadcastRepository.findById(schedule.broadcastId()).orElse(null);
-                        if (broadcast != null) {
-                            broadcastScheduleEmailService.sendStartReminder(broadcast);
-                        }
+                        broadcastScheduleEmailService.sendStartReminder(broadcast);
                     }
                 }
             }
-            LocalDateTime scheduledEnd = schedule.scheduledAt().plusMinutes(30);
-            if (!scheduledEnd.isAfter(now)) {
-                String noticeKey = redisService.getScheduleNoticeKey(schedule.broadcastId(), "ended");
-                if (redisService.setIfAbsent(noticeKey, "sent", java.time.Duration.ofHours(2))) {
-                    Broadcast broadcast = broadcastRepository.findById(schedule.broadcastId()).orElse(null);
-                    if (broadcast != null && broadcast.getStatus() == BroadcastStatus.ON_AIR) {
-                        validateTransition(broadcast.getStatus(), BroadcastStatus.ENDED);
-                        broadcast.endBroadcast();
-                        closeActiveViewHistories(broadcast);
-                        openViduService.closeSession(schedule.broadcastId());
-                        triggerRecordingFallback(schedule.broadcastId(), "scheduled_end");
-                    }
-                    if (broadcast != null && broadcast.getStatus() == BroadcastStatus.ENDED) {
-                        validateTransition(broadcast.getStatus(), BroadcastStatus.VOD);
-                        broadcast.changeStatus(BroadcastStatus.VOD);
-                        restoreOriginalProductPrice(broadcast);
-                    }
-                    if (broadcast != null) {
-                        saveBroadcastResultSnapshot(broadcast);
+            case READY -> {
+                if (status == BroadcastStatus.RESERVED && !scheduledAt.isBefore(now)) {
+                    validateTransition(status, BroadcastStatus.READY);
+                    broadcast.readyBroadcast();
+                    sseService.notifyBroadcastUpdate(broadcastId, "BROADCAST_READY", "ready");
+                }
+            }
+            case NO_SHOW -> {
+                if (status == BroadcastStatus.RESERVED || status == BroadcastStatus.READY) {
+                    validateTransition(status, BroadcastStatus.CANCELED);
+                    broadcast.markNoShow("broadcast start time violation");
+                    sseService.notifyBroadcastUpdate(broadcastId, "BROADCAST_CANCELED", "no_show");
+                }
+            }
+            case ENDING_SOON -> {
+                if (isScheduleTracked(status) && BroadcastDeadline.SCHEDULED_END.dueAt(scheduledAt).isAfter(now)) {
+                    String noticeKey = redisService.getScheduleNoticeKey(broadcastId, "ending_soon");
+                    if (redisService.setIfAbsent(noticeKey, "sent", java.time.Duration.ofHours(2))) {
+                        sseService.notifyTargetUser(broadcastId, broadcast.getSeller().getSellerId(), "BROADCAST_ENDING_SOON", "1m");
                     }
-                    sseService.notifyBroadcastUpdate(schedule.broadcastId(), "BROADCAST_SCHEDULED_END", "ended");
                 }
-                continue;
             }
-
-            LocalDateTime noticeAt = scheduledEnd.minusMinutes(1);
-            if (!noticeAt.isAfter(now)) {
-                String noticeKey = redisService.getScheduleNoticeKey(schedule.broadcastId(), "ending_soon");
-                if (redisService.setIfAbsent(noticeKey, "sent", java.time.Duration.ofHours(2))) {
-                    Broadcast broadcast = broadcastRepository.findById(schedule.broadcastId()).orElse(null);
-                    if (broadcast != null) {
-                        sseService.notifyTargetUser(schedule.broadcastId(), broadcast.getSeller().getSellerId(), "BROADCAST_ENDING_SOON", "1m");
+            case SCHEDULED_END -> {
+                if (isScheduleTracked(status)) {
+                    String noticeKey = redisService.getScheduleNoticeKey(broadcastId, "ended");
+                    if (redisService.setIfAbsent(noticeKey, "sent", java.time.Duration.ofHours(2))) {
+                        endScheduledBroadcast(broadcast);
                     }
                 }
             }
         }
     }
 
-    @Scheduled(fixedDelay = 30000)
-    @Transactional
-    public void processRecordingFallbackQueue() {
-        for (Long broadcastId : redisService.popDueRecordingRetries(20)) {
-            triggerRecordingFallback(broadcastId, "retry_queue");
+    private void endScheduledBroadcast(Broadcast broadcast) {
+        Long broadcastId = broadcast.getBroadcastId();
+        if (broadcast.getStatus() == BroadcastStatus.ON_AIR) {
+            validateTransition(broadcast.getStatus(), BroadcastStatus.ENDED);
+            broadcast.endBroadcast();
+            closeActiveViewHistories(broadcast);
+            openViduService.closeSession(broadcastId);
+            triggerRecordingFallback(broadcastId, "scheduled_end");
+        }
+        if (broadcast.getStatus() == BroadcastStatus.ENDED) {
+            validateTransition(broadcast.getStatus(), BroadcastStatus.VOD);
+            broadcast.changeStatus(BroadcastStatus.VOD);
+            restoreOriginalProductPrice(broadcast);
         }
+        saveBroadcastResultSnapshot(broadcast);
+        sseService.notifyBroadcastUpdate(broadcastId, "BROADCAST_SCHEDULED_END", "ended");
     }
 
-    @Scheduled(fixedDelay = 5000)
-    @Transactional
-    public void processRecordingStartRetryQueue() {
-        for (Long broadcastId : redisService.popDueRecordingStartRetries(20)) {
-            attemptStartRecordingRetry(broadcastId, "retry_queue");
+    private boolean isScheduleTracked(BroadcastStatus status) {
+        return status == BroadcastStatus.ON_AIR
+                || status == BroadcastStatus.READY
+                || status == BroadcastStatus.ENDED
+                || status == BroadcastStatus.RESERVED;
+    }
+
+    private void scheduleDeadlines(Long broadcastId, LocalDateTime scheduledAt, BroadcastStatus status) {
+        scheduleDeadlines(broadcastId, scheduledAt, status, false);
+    }
+
+    // 상태에서 아직 일어날 수 있는 일정 이벤트만 큐에 넣는다. skipFired 면 같은 실행 시각으로 이미 실행된 이벤트는 건너뛴다.
+    private void scheduleDeadlines(Long broadcastId, LocalDateTime scheduledAt, BroadcastStatus status, boolean skipFired) {
+        if (broadcastId == null || scheduledAt == null || status == null) {
+            return;
+        }
+        for (BroadcastDeadline deadline : BroadcastDeadline.values()) {
+            boolean applicable = switch (deadline) {
+                case START_REMINDER, READY -> status == BroadcastStatus.RESERVED;
+                case NO_SHOW -> status == BroadcastStatus.RESERVED || status == BroadcastStatus.READY;
+                case ENDING_SOON, SCHEDULED_END -> isScheduleTracked(status);
+            };
+            if (applicable) {
+                scheduleDeadline(broadcastId, deadline, deadline.dueAt(scheduledAt), skipFired);
+            }
+        }
+    }
+
+    private void scheduleDeadline(Long broadcastId, BroadcastDeadline deadline, LocalDateTime dueAt) {
+        scheduleDeadline(broadcastId, deadline, dueAt, false);
+    }
+
+    private void scheduleDeadline(Long broadcastId, BroadcastDeadline deadline, LocalDateTime dueAt, boolean skipFired) {
+        BroadcastDeadlineEvent event = new BroadcastDeadlineEvent(broadcastId, deadline);
+        long dueAtMillis = dueAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        try {
+            if (skipFired) {
+                redisService.scheduleBroadcastDeadlineUnlessFired(event, dueAtMillis);
+            } else {
+                redisService.scheduleBroadcastDeadline(event, dueAtMillis);
+            }
+        } catch (Exception e) {
+            // 재조정 스윕이 다시 넣는다.
+            log.warn("Broadcast deadline enqueue failed: broadcastId={}, deadline={}, reason={}",
+                    broadcastId, deadline, e.getMessage());
+        }
+    }
+
+    private void runAfterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
     }
 
     @Scheduled(fixedDelay = 300000)
     @Transactional
     public void recoverMissingVodOrResult() {
+        if (!jobLeaderElection.isLeader("missing-vod-result-recovery")) {
+            return;
+        }
         List<Broadcast> targets = broadcastRepository.findMissingVodOrResultByStatus(
                 List.of(BroadcastStatus.ENDED, BroadcastStatus.STOPPED)
         );
@@ -1738,112 +1797,139 @@ public class BroadcastService {
         }
     }
 
+    // 워커가 커밋 전 상태를 보지 않도록 커밋 후에 넣는다.
     private void triggerRecordingFallback(Long broadcastId, String reason) {
+        runAfterCommit(() -> {
+            boolean queued = recordingJobQueues.fallback().enqueue(String.valueOf(broadcastId), Duration.ZERO);
+            log.info("Recording fallback queued: broadcastId={}, reason={}, queued={}", broadcastId, reason, queued);
+        });
+    }
+
+    /**
+     * 녹화 fallback 큐 작업. OpenVidu 녹화가 준비됐으면 vodIngest 큐에 넘긴다.
+     * 반환: true 면 더 할 일이 없음, false 면 큐가 백오프 뒤 다시 실행한다.
+     */
+    public boolean runRecordingFallback(Long broadcastId, int attempt) {
         Broadcast broadcast = broadcastRepository.findById(broadcastId).orElse(null);
         if (broadcast == null) {
-            redisService.clearRecordingRetry(broadcastId);
-            return;
+            return true;
         }
         if (vodRepository.findByBroadcast(broadcast).isPresent()) {
-            redisService.clearRecordingRetry(broadcastId);
-            return;
+            return true;
         }
 
         String sessionId = "broadcast-" + broadcastId;
         try {
             Optional<Recording> recording = openViduService.findRecordingBySessionId(sessionId);
             if (recording.isEmpty()) {
-                scheduleRecordingRetry(broadcastId, reason, "not_found");
-                return;
+                log.info("Recording fallback pending: broadcastId={}, status=not_found, attempt={}", broadcastId, attempt);
+                return false;
             }
 
             String status = String.valueOf(recording.get().getStatus()).toLowerCase();
             if ("ready".equals(status)) {
-                OpenViduRecordingWebhook payload = new OpenViduRecordingWebhook(
-                        "recordingStatusChanged",
-                        recording.get().getId(),
-                        recording.get().getSessionId(),
-                        recording.get().getName(),
-                        recording.get().getSize(),
-                        recording.get().getDuration(),
-                        status,
-                        recording.get().getUrl()
-                );
-                processVod(payload);
-                redisService.clearRecordingRetry(broadcastId);
-                return;
+                vodIngestService.rememberRecordingId(broadcastId, recording.get().getId());
+                boolean queued = recordingJobQueues.vodIngest().enqueue(String.valueOf(broadcastId), Duration.ZERO);
+                log.info("VOD ingest queued: broadcastId={}, reason=fallback, queued={}", broadcastId, queued);
+                return true;
             }
 
             if ("failed".equals(status)) {
                 log.warn("OpenVidu recording failed: broadcastId={}, status={}", broadcastId, status);
-                redisService.clearRecordingRetry(broadcastId);
-                return;
+                return true;
             }
 
-            scheduleRecordingRetry(broadcastId, reason, status);
+            log.info("Recording fallback pending: broadcastId={}, status={}, attempt={}", broadcastId, status, attempt);
+            return false;
         } catch (OpenViduJavaClientException | OpenViduHttpException ex) {
-            log.warn("OpenVidu recording status check failed: broadcastId={}, reason={}, message={}",
-                    broadcastId, reason, ex.getMessage());
-            scheduleRecordingRetry(broadcastId, reason, "error");
-        } catch (Exception ex) {
-            log.error("Recording fallback error: broadcastId={}, reason={}", broadcastId, reason, ex);
-            scheduleRecordingRetry(broadcastId, reason, "exception");
+            log.warn("OpenVidu recording status check failed: broadcastId={}, attempt={}, message={}",
+                    broadcastId, attempt, ex.getMessage());
+            return false;
         }
     }
 
-    private void scheduleRecordingRetry(Long broadcastId, String reason, String status) {
-        int attempt = redisService.incrementRecordingRetryAttempt(broadcastId, RECORDING_RETRY_TTL);
-        if (attempt > RECORDING_RETRY_MAX_ATTEMPTS) {
-            log.warn("Recording fallback retries exceeded: broadcastId={}, reason={}, status={}", broadcastId, reason, status);
-            redisService.clearRecordingRetry(broadcastId);
-            return;
+    /**
+     * VOD 적재 큐 작업. 준비된 녹화를 S3 로 올리고 VOD 를 저장한다. 반환 의미는 runRecordingFallback 과 같다.
+     * 웹훅/fallback 이 남긴 녹화 id 를 쓰고, 없을 때만(이전 버전이 넣은 작업) 세션의 녹화를 찾는다.
+     */
+    public boolean runVodIngest(Long broadcastId, int attempt) {
+        Broadcast broadcast = broadcastRepository.findById(broadcastId).orElse(null);
+        if (broadcast == null) {
+            return true;
         }
-        Duration delay = RECORDING_RETRY_BASE_DELAY.multipliedBy(attempt);
-        redisService.scheduleRecordingRetry(broadcastId, delay);
-        log.info("Recording fallback scheduled: broadcastId={}, reason={}, status={}, attempt={}, delay={}s",
-                broadcastId, reason, status, attempt, delay.toSeconds());
+        if (vodRepository.findByBroadcast(broadcast).isPresent()) {
+            return true;
+        }
+
+        String sessionId = "broadcast-" + broadcastId;
+        String recordingId = vodIngestService.findRecordingId(broadcastId);
+        try {
+            Optional<Recording> recording = recordingId != null
+                    ? openViduService.findRecording(recordingId)
+                    : openViduService.findRecordingBySessionId(sessionId);
+            String status = recording.map(found -> String.valueOf(found.getStatus()).toLowerCase()).orElse("not_found");
+            if (!"ready".equals(status)) {
+                log.warn("VOD ingest recording not ready: broadcastId={}, status={}, attempt={}", broadcastId, status, attempt);
+                return "failed".equals(status);
+            }
+
+            OpenViduRecordingWebhook payload = new OpenViduRecordingWebhook(
+                    "recordingStatusChanged",
+                    recording.get().getId(),
+                    recording.get().getSessionId(),
+                    recording.get().getName(),
+                    recording.get().getSize(),
+                    recording.get().getDuration(),
+                    status,
+                    recording.get().getUrl()
+            );
+            boolean done = processVod(payload, attempt >= recordingJobQueues.vodIngest().getMaxAttempts());
+            if (done) {
+                vodIngestService.forgetRecordingId(broadcastId);
+            }
+            return done;
+        } catch (OpenViduJavaClientException | OpenViduHttpException ex) {
+            log.warn("OpenVidu recording lookup failed for VOD ingest: broadcastId={}, attempt={}, message={}",
+                    broadcastId, attempt, ex.getMessage());
+            return false;
+        }
+    }
+
+    private void enqueueRecordingStartRetry(Long broadcastId, String reason, int status) {
+        RedisJobQueue queue = recordingJobQueues.startRetry();
+        boolean queued = queue.enqueue(String.valueOf(broadcastId), queue.getBaseDelay());
+        log.info("Recording start retry queued: broadcastId={}, reason={}, status={}, queued={}",
+                broadcastId, reason, status, queued);
     }
 
-    private void attemptStartRecordingRetry(Long broadcastId, String reason) {
+    /**
+     * 녹화 시작 재시도 큐 작업. 반환 의미는 runRecordingFallback 과 같다.
+     */
+    @Transactional
+    public boolean retryRecordingStart(Long broadcastId, int attempt) {
         Broadcast broadcast = broadcastRepository.findById(broadcastId).orElse(null);
         if (broadcast == null || broadcast.getStatus() != BroadcastStatus.ON_AIR) {
-            redisService.clearRecordingStartRetry(broadcastId);
-            return;
+            return true;
         }
         try {
             openViduService.startRecording(broadcastId);
-            redisService.clearRecordingStartRetry(broadcastId);
-            log.info("OpenVidu recording start succeeded after retry: broadcastId={}, reason={}", broadcastId, reason);
+            log.info("OpenVidu recording start succeeded after retry: broadcastId={}, attempt={}", broadcastId, attempt);
+            return true;
         } catch (OpenViduHttpException e) {
             int status = e.getStatus();
             if (status == 406) {
-                scheduleRecordingStartRetry(broadcastId, reason, status);
-                return;
+                return false;
             }
             if (status == 409) {
-                redisService.clearRecordingStartRetry(broadcastId);
-                log.info("OpenVidu recording already started during retry: broadcastId={}, reason={}", broadcastId, reason);
-                return;
+                log.info("OpenVidu recording already started during retry: broadcastId={}, attempt={}", broadcastId, attempt);
+                return true;
             }
-            redisService.clearRecordingStartRetry(broadcastId);
-            log.error("OpenVidu recording start retry failed: broadcastId={}, reason={}, status={}",
-                    broadcastId, reason, status);
+            log.error("OpenVidu recording start retry failed: broadcastId={}, attempt={}, status={}",
+                    broadcastId, attempt, status);
+            return true;
         } catch (OpenViduJavaClientException e) {
-            scheduleRecordingStartRetry(broadcastId, reason, 0);
-        }
-    }
-
-    private void scheduleRecordingStartRetry(Long broadcastId, String reason, int status) {
-        int attempt = redisService.incrementRecordingStartRetryAttempt(broadcastId, RECORDING_START_RETRY_TTL);
-        if (attempt > RECORDING_START_RETRY_MAX_ATTEMPTS) {
-            log.warn("Recording start retries exceeded: broadcastId={}, reason={}, status={}", broadcastId, reason, status);
-            redisService.clearRecordingStartRetry(broadcastId);
-            return;
+            return false;
         }
-        Duration delay = RECORDING_START_RETRY_BASE_DELAY.multipliedBy(attempt);
-        redisService.scheduleRecordingStartRetry(broadcastId, delay);
-        log.info("Recording start retry scheduled: broadcastId={}, reason={}, status={}, attempt={}, delay={}s",
-                broadcastId, reason, status, attempt, delay.toSeconds());
     }
 
     private void saveBroadcastProducts(Long sellerId, Broadcast broadcast, List<BroadcastProductRequest> products) {
@@ -1918,6 +2004,7 @@ public class BroadcastService {
             redisService.storeOriginalPrice(broadcast.getBroadcastId(), product.getId(), product.getPrice());
             product.changePrice(bpPrice);
         }
+        publishProductCardChanged(products);
     }
 
     void restoreOriginalProductPrice(Broadcast broadcast) {
@@ -1930,6 +2017,17 @@ public class BroadcastService {
             bp.getProduct().changePrice(originalPrice);
         }
         redisService.clearOriginalPrices(broadcast.getBroadcastId());
+        publishProductCardChanged(products);
+    }
+
+    // 방송 시작/종료로 상품 가격(라이브가)이 바뀌면 커밋 이후 상품 카드 캐시를 무효화한다.
+    private void publishProductCardChanged(List<BroadcastProduct> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        eventPublisher.publishEvent(ProductCardChangedEvent.of(products.stream()
+                .map(bp -> bp.getProduct().getId())
+                .toList()));
     }
 
     private void validateTransition(BroadcastStatus from, BroadcastStatus to) {
@@ -2001,6 +2099,7 @@ public class BroadcastService {
         }
         bp.getProduct().changePrice(originalPrice);
         redisService.removeOriginalPrice(broadcast.getBroadcastId(), bp.getProduct().getId());
+        eventPublisher.publishEvent(ProductCardChangedEvent.of(bp.getProduct().getId()));
     }
 
     @Transactional
@@ -2111,21 +2210,8 @@ public class BroadcastService {
         return member.getMemberId();
     }
 
-    private boolean isViewerSanctioned(Long broadcastId, Long memberId, SanctionType... types) {
-        SanctionRepositoryCustom.SanctionTypeResult result = sanctionRepository.findLatestSanction(broadcastId, memberId);
-        if (result == null || result.status() == null) {
-            return false;
-        }
-        for (SanctionType type : types) {
-            if (type.name().equalsIgnoreCase(result.status())) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private boolean isViewerSanctioned(Long broadcastId, Long memberId) {
-        return isViewerSanctioned(broadcastId, memberId, SanctionType.OUT);
+        return chatPermissionCache.isSanctioned(broadcastId, memberId, SanctionType.OUT);
     }
 
     private BroadcastResponse createBroadcastResponse(Broadcast broadcast) {
@@ -2135,9 +2221,10 @@ public class BroadcastService {
         String vodUrl = null;
 
         if (shouldUseRealtimeStats(broadcast.getStatus())) {
-            views = redisService.getRealtimeViewerCount(broadcast.getBroadcastId());
-            likes = redisService.getLikeCount(broadcast.getBroadcastId());
-            reports = redisService.getReportCount(broadcast.getBroadcastId());
+            LiveStatsSnapshot stats = redisService.getLiveStats(broadcast.getBroadcastId());
+            views = stats.viewerCount();
+            likes = stats.likeCount();
+            reports = stats.reportCount();
         } else {
             BroadcastResult result = broadcastResultRepository.findById(broadcast.getBroadcastId()).orElse(null);
             if (result != null) {
@@ -2190,13 +2277,27 @@ public class BroadcastService {
     }
 
     private void injectLiveStats(List<BroadcastListResponse> list) {
-        list.forEach(item -> {
-            if (shouldUseRealtimeStats(item.getStatus())) {
-                item.setLiveViewerCount(redisService.getRealtimeViewerCount(item.getBroadcastId()));
-                item.setTotalLikes(redisService.getLikeCount(item.getBroadcastId()));
-                item.setReportCount(redisService.getReportCount(item.getBroadcastId()));
-            }
-        });
+        Map<Long, LiveStatsSnapshot> statsMap = fetchRealtimeStats(list);
+        list.forEach(item -> applyRealtimeStats(item, statsMap));
+    }
+
+    // 실시간 통계 대상 방송의 카운터를 파이프라인 한 번으로 읽는다.
+    private Map<Long, LiveStatsSnapshot> fetchRealtimeStats(List<BroadcastListResponse> list) {
+        List<Long> ids = list.stream()
+                .filter(item -> shouldUseRealtimeStats(item.getStatus()))
+                .map(BroadcastListResponse::getBroadcastId)
+                .toList();
+        return ids.isEmpty() ? Map.of() : redisService.getLiveStats(ids);
+    }
+
+    private void applyRealtimeStats(BroadcastListResponse item, Map<Long, LiveStatsSnapshot> statsMap) {
+        if (!shouldUseRealtimeStats(item.getStatus())) {
+            return;
+        }
+        LiveStatsSnapshot stats = statsMap.getOrDefault(item.getBroadcastId(), LiveStatsSnapshot.empty());
+        item.setLiveViewerCount(stats.viewerCount());
+        item.setTotalLikes(stats.likeCount());
+        item.setReportCount(stats.reportCount());
     }
 
     private void injectLiveDetails(List<BroadcastListResponse> list) {
@@ -2213,13 +2314,11 @@ public class BroadcastService {
         var broadcastMap = broadcastRepository.findAllById(liveIds).stream()
                 .collect(Collectors.toMap(Broadcast::getBroadcastId, java.util.function.Function.identity()));
 
+        Map<Long, LiveStatsSnapshot> statsMap = fetchRealtimeStats(list);
+
         list.forEach(item -> {
             if (isLiveGroup(item.getStatus())) {
-                if (shouldUseRealtimeStats(item.getStatus())) {
-                    item.setLiveViewerCount(redisService.getRealtimeViewerCount(item.getBroadcastId()));
-                    item.setTotalLikes(redisService.getLikeCount(item.getBroadcastId()));
-                    item.setReportCount(redisService.getReportCount(item.getBroadcastId()));
-                }
+                applyRealtimeStats(item, statsMap);
 
                 List<BroadcastProduct> products = productMap.getOrDefault(item.getBroadcastId(), List.of());
                 Broadcast broadcast = broadcastMap.get(item.getBroadcastId());
@@ -2241,8 +2340,7 @@ public class BroadcastService {
         if (broadcast == null || products == null || products.isEmpty()) {
             return Map.of();
         }
-        SalesSummary salesSummary = fetchBroadcastSalesSummary(broadcast);
-        Map<Long, SalesMetric> metrics = salesSummary.productMetrics();
+        Map<Long, Integer> soldQuantities = resolveSoldQuantities(broadcast);
         Map<Long, Integer> totalQuantities = products.stream()
                 .collect(Collectors.groupingBy(
                         bp -> bp.getProduct().getId(),
@@ -2251,33 +2349,26 @@ public class BroadcastService {
         return totalQuantities.entrySet().stream()
                 .collect(Collectors.toMap(
                         Map.Entry::getKey,
-                        entry -> Math.max(0, entry.getValue()
-                                - Optional.ofNullable(metrics.get(entry.getKey()))
-                                .map(SalesMetric::salesQuantity)
-                                .orElse(0))
+                        entry -> Math.max(0, entry.getValue() - soldQuantities.getOrDefault(entry.getKey(), 0))
                 ));
     }
 
-    private void disableSslVerification() {
-        try {
-            TrustManager[] trustAllCerts = new TrustManager[]{new X509TrustManager() {
-                public X509Certificate[] getAcceptedIssuers() {
-                    return null;
-                }
-
-                public void checkClientTrusted(X509Certificate[] certs, String authType) {
-                }
-
-                public void checkServerTrusted(X509Certificate[] certs, String authType) {
-                }
-            }};
-            SSLContext sc = SSLContext.getInstance("SSL");
-            sc.init(null, trustAllCerts, new java.security.SecureRandom());
-            HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
-            HostnameVerifier allHostsValid = (hostname, session) -> true;
-            HttpsURLConnection.setDefaultHostnameVerifier(allHostsValid);
-        } catch (Exception e) {
-            log.warn("SSL verification disable failed: {}", e.getMessage());
+    private Map<Long, Integer> resolveSoldQuantities(Broadcast broadcast) {
+        if (broadcast.getStartedAt() == null) {
+            return Map.of();
         }
+        Long broadcastId = broadcast.getBroadcastId();
+        LiveSalesSnapshot ledger = redisService.getLiveSales(broadcastId);
+        if (ledger != null) {
+            return ledger.quantities();
+        }
+        // 원장이 없을 때(배포 직후 진행 중인 방송, TTL 만료 등)만 SQL 집계로 초기화한다.
+        // 빈 원장을 먼저 만들어 두어 집계하는 동안 커밋된 결제도 원장에 더해지게 하고, 만든 쪽만 SQL 집계를 더한다.
+        boolean seeding = redisService.beginLiveSalesSeed(broadcastId);
+        LiveSalesSnapshot snapshot = toLiveSalesSnapshot(fetchBroadcastSalesSummary(broadcast));
+        if (seeding) {
+            redisService.finishLiveSalesSeed(broadcastId, snapshot);
+        }
+        return snapshot.quantities();
     }
 }
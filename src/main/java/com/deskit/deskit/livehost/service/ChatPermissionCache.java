@@ -0,0 +1,271 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+import com.deskit.deskit.livehost.common.enums.SanctionType;
+import com.deskit.deskit.livehost.common.exception.BusinessException;
+import com.deskit.deskit.livehost.common.exception.ErrorCode;
+import com.deskit.deskit.livehost.entity.Broadcast;
+import com.deskit.deskit.livehost.repository.BroadcastRepository;
+import com.deskit.deskit.livehost.repository.SanctionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 권한 확인용 방송별 상태(강제 종료 여부 + 시작 시각 + 호스트 loginId + 회원별 최신 제재) 캐시.
+ * - 방송당 한 번만 DB 에서 읽고, 이후 채팅 메시지마다의 권한 확인은 메모리에서 끝난다.
+ * - 제재 등록/강제 종료는 커밋 후 Redis Pub/Sub 으로 모든 노드의 캐시에 반영한다.
+ * - 반영 누락에 대비해 ttl-seconds 가 지나면 DB 에서 다시 읽는다. 만료 직후 동시에 들어온 요청은 한 번의 로드를 함께 기다린다.
+ */
+@Slf4j
+@Component
+public class ChatPermissionCache implements MessageListener {
+
+    private static final String CHANNEL = "livechat:permission";
+
+    private final BroadcastRepository broadcastRepository;
+    private final SanctionRepository sanctionRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final Map<Long, ChatState> states = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<ChatState>> loading = new ConcurrentHashMap<>();
+    // 로드 중에 같은 방송의 변경이 반영되면 로드 결과를 캐시에 넣지 않도록 방송별 마지막 변경 번호와 비교한다.
+    // 진행 중인 로드가 없는 방송의 번호는 필요 없으므로 purgeExpired 에서 정리한다.
+    private final AtomicLong changeSequence = new AtomicLong();
+    private final Map<Long, Long> lastChanges = new ConcurrentHashMap<>();
+
+    @Value("${livechat.permission.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    public ChatPermissionCache(
+            BroadcastRepository broadcastRepository,
+            SanctionRepository sanctionRepository,
+            StringRedisTemplate stringRedisTemplate,
+            @Qualifier("redisMessageListener") RedisMessageListenerContainer listenerContainer
+    ) {
+        this.broadcastRepository = broadcastRepository;
+        this.sanctionRepository = sanctionRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public boolean canChat(Long broadcastId, Long memberId) {
+        ChatState state = stateOf(broadcastId);
+        if (state.stopped()) {
+            return false;
+        }
+        if (memberId == null) {
+            return true;
+        }
+        return !matches(state.sanctions().get(memberId), SanctionType.MUTE, SanctionType.OUT);
+    }
+
+    public boolean isSanctioned(Long broadcastId, Long memberId, SanctionType... types) {
+        if (memberId == null) {
+            return false;
+        }
+        return matches(stateOf(broadcastId).sanctions().get(memberId), types);
+    }
+
+    /**
+     * loginId 가 이 방송을 진행하는 판매자인지.
+     */
+    public boolean isHost(Long broadcastId, String loginId) {
+        if (loginId == null) {
+            return false;
+        }
+        return loginId.equals(stateOf(broadcastId).hostLoginId());
+    }
+
+    /**
+     * 방송 시작 후 경과 시간(초). VOD 재생 위치와 맞추기 위해 채팅 저장 시 사용한다(시작 전이면 0).
+     */
+    public int vodPlayTimeSeconds(Long broadcastId, long atMillis) {
+        Long startedAtMillis = stateOf(broadcastId).startedAtMillis();
+        if (startedAtMillis == null || atMillis <= startedAtMillis) {
+            return 0;
+        }
+        return (int) ((atMillis - startedAtMillis) / 1000L);
+    }
+
+    /**
+     * 제재 등록 후 호출. 커밋 이후 모든 노드에 반영된다.
+     */
+    public void applySanction(Long broadcastId, Long memberId, SanctionType status) {
+        if (broadcastId == null || memberId == null || status == null) {
+            return;
+        }
+        runAfterCommit(() -> publish("S:" + broadcastId + ":" + memberId + ":" + status.name(),
+                () -> applySanctionLocally(broadcastId, memberId, status.name())));
+    }
+
+    /**
+     * 방송 상태 변경(시작, 강제 종료 등) 후 호출. 다음 권한 확인 때 DB 에서 다시 읽는다.
+     */
+    public void evict(Long broadcastId) {
+        if (broadcastId == null) {
+            return;
+        }
+        runAfterCommit(() -> publish("E:" + broadcastId, () -> evictLocally(broadcastId)));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split(":");
+        try {
+            if ("S".equals(parts[0]) && parts.length == 4) {
+                applySanctionLocally(Long.parseLong(parts[1]), Long.parseLong(parts[2]), parts[3]);
+            } else if ("E".equals(parts[0]) && parts.length == 2) {
+                evictLocally(Long.parseLong(parts[1]));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Invalid chat permission message: {}", body);
+        }
+    }
+
+    // 끝난 방송의 상태가 계속 남지 않도록 만료된 항목을 정리한다.
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        states.entrySet().removeIf(entry -> entry.getValue().expiresAt() <= now);
+        synchronized (states) {
+            lastChanges.keySet().removeIf(broadcastId -> !loading.containsKey(broadcastId));
+        }
+    }
+
+    private ChatState stateOf(Long broadcastId) {
+        ChatState cached = states.get(broadcastId);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached;
+        }
+        CompletableFuture<ChatState> created = new CompletableFuture<>();
+        CompletableFuture<ChatState> inFlight = loading.putIfAbsent(broadcastId, created);
+        if (inFlight == null) {
+            try {
+                created.complete(load(broadcastId));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            } finally {
+                loading.remove(broadcastId, created);
+            }
+            inFlight = created;
+        }
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // loading 에 등록한 뒤에 변경 번호를 읽어야 purgeExpired 가 이 로드에 필요한 번호를 지우지 않는다.
+    private ChatState load(Long broadcastId) {
+        long now = System.currentTimeMillis();
+        long loadSequence = changeSequence.get();
+        // 직전 로드가 방금 끝나 캐시를 채웠으면 다시 읽지 않는다.
+        ChatState cached = states.get(broadcastId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached;
+        }
+        Broadcast broadcast = broadcastRepository.findById(broadcastId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.BROADCAST_NOT_FOUND));
+        ChatState loaded = new ChatState(
+                broadcast.getStatus() == BroadcastStatus.STOPPED,
+                broadcast.getStartedAt() != null
+                        ? broadcast.getStartedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                        : null,
+                broadcastRepository.findSellerLoginIdByBroadcastId(broadcastId),
+                new ConcurrentHashMap<>(sanctionRepository.findLatestSanctionStatuses(broadcastId)),
+                now + ttlSeconds * 1000L
+        );
+        synchronized (states) {
+            if (lastChanges.getOrDefault(broadcastId, 0L) <= loadSequence) {
+                states.put(broadcastId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private void applySanctionLocally(Long broadcastId, Long memberId, String status) {
+        synchronized (states) {
+            lastChanges.put(broadcastId, changeSequence.incrementAndGet());
+            ChatState state = states.get(broadcastId);
+            if (state != null) {
+                state.sanctions().put(memberId, status);
+            }
+        }
+    }
+
+    private void evictLocally(Long broadcastId) {
+        synchronized (states) {
+            lastChanges.put(broadcastId, changeSequence.incrementAndGet());
+            states.remove(broadcastId);
+        }
+    }
+
+    private void publish(String body, Runnable applyLocally) {
+        // 자기 노드는 바로 반영하고, 다른 노드에는 Pub/Sub 으로 전달한다(자기 노드 수신은 중복 적용이라 무해).
+        applyLocally.run();
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, body);
+        } catch (Exception e) {
+            log.warn("Chat permission publish failed: body={}, reason={}", body, e.getMessage());
+        }
+    }
+
+    private boolean matches(String status, SanctionType... types) {
+        if (status == null) {
+            return false;
+        }
+        for (SanctionType type : types) {
+            if (type.name().equalsIgnoreCase(status)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void runAfterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    private record ChatState(boolean stopped, Long startedAtMillis, String hostLoginId, Map<Long, String> sanctions,
+                             long expiresAt) {
+    }
+}
@@ -0,0 +1,148 @@
+package com.deskit.deskit.livehost.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 방송별 채팅 슬로우 모드 (호스트가 켜고 끈다).
+ * - 설정(채팅 간격 초)은 Redis 에 두고, 노드 로컬에 캐시한 뒤 변경 시 Pub/Sub 으로 무효화한다.
+ * - 사용자별 토큰 버킷(용량 burst, interval 마다 1개 충전)은 채팅 세션이 붙은 노드 메모리에서 관리한다.
+ */
+@Slf4j
+@Component
+public class ChatSlowModeService implements MessageListener {
+
+    private static final String KEY_PREFIX = "livechat:slow_mode:";
+    private static final String CHANNEL = "livechat:slow_mode";
+    private static final long SETTING_CACHE_MILLIS = 5000L;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final Map<Long, CachedSetting> settings = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Value("${livechat.slow-mode.burst:1}")
+    private int burst;
+
+    @Value("${livechat.slow-mode.ttl-hours:24}")
+    private long ttlHours;
+
+    public ChatSlowModeService(
+            StringRedisTemplate stringRedisTemplate,
+            @Qualifier("redisMessageListener") RedisMessageListenerContainer listenerContainer
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public void update(Long broadcastId, int intervalSeconds) {
+        String key = KEY_PREFIX + broadcastId;
+        if (intervalSeconds <= 0) {
+            stringRedisTemplate.delete(key);
+        } else {
+            stringRedisTemplate.opsForValue().set(key, String.valueOf(intervalSeconds), Duration.ofHours(ttlHours));
+        }
+        settings.remove(broadcastId);
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, String.valueOf(broadcastId));
+        } catch (Exception e) {
+            log.warn("Slow mode publish failed: broadcastId={}, reason={}", broadcastId, e.getMessage());
+        }
+    }
+
+    public int getIntervalSeconds(Long broadcastId) {
+        long now = System.currentTimeMillis();
+        CachedSetting cached = settings.get(broadcastId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.intervalSeconds();
+        }
+        int intervalSeconds = 0;
+        try {
+            String value = stringRedisTemplate.opsForValue().get(KEY_PREFIX + broadcastId);
+            intervalSeconds = value != null ? Integer.parseInt(value) : 0;
+        } catch (Exception e) {
+            // Redis 장애 시에는 슬로우 모드를 적용하지 않는다.
+            log.warn("Slow mode read failed: broadcastId={}, reason={}", broadcastId, e.getMessage());
+        }
+        settings.put(broadcastId, new CachedSetting(intervalSeconds, now + SETTING_CACHE_MILLIS));
+        return intervalSeconds;
+    }
+
+    /**
+     * 슬로우 모드가 꺼져 있거나 토큰이 남아 있으면 true.
+     */
+    public boolean tryAcquire(Long broadcastId, String senderKey) {
+        if (broadcastId == null || senderKey == null || senderKey.isBlank()) {
+            return true;
+        }
+        int intervalSeconds = getIntervalSeconds(broadcastId);
+        if (intervalSeconds <= 0) {
+            return true;
+        }
+        TokenBucket bucket = buckets.computeIfAbsent(broadcastId + ":" + senderKey, key -> new TokenBucket(burst));
+        synchronized (bucket) {
+            return bucket.tryConsume(Math.max(1, burst), intervalSeconds * 1000L, System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            settings.remove(Long.parseLong(body));
+        } catch (NumberFormatException e) {
+            log.warn("Invalid slow mode message: {}", body);
+        }
+    }
+
+    // 가득 찬 버킷은 새로 만든 것과 같으므로 한동안 쓰이지 않은 버킷을 정리한다.
+    @Scheduled(fixedDelay = 60000)
+    public void purgeIdle() {
+        long now = System.currentTimeMillis();
+        buckets.entrySet().removeIf(entry -> now - entry.getValue().lastRefillAt > 600000L);
+        settings.entrySet().removeIf(entry -> entry.getValue().expiresAt() <= now);
+    }
+
+    private record CachedSetting(int intervalSeconds, long expiresAt) {
+    }
+
+    private static final class TokenBucket {
+        private double tokens;
+        private volatile long lastRefillAt;
+
+        private TokenBucket(int capacity) {
+            this.tokens = Math.max(1, capacity);
+            this.lastRefillAt = System.currentTimeMillis();
+        }
+
+        private boolean tryConsume(int capacity, long refillMillis, long now) {
+            tokens = Math.min(capacity, tokens + (double) (now - lastRefillAt) / refillMillis);
+            lastRefillAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
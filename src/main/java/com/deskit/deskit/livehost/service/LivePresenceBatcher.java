@@ -0,0 +1,92 @@
+package com.deskit.deskit.livehost.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * STOMP 연결/해제로 발생하는 시청자 입장·퇴장을 짧게 모아 파이프라인으로 반영한다.
+ * 방송 시작 직후처럼 입장이 몰릴 때 이벤트마다 Redis 왕복이 생기지 않도록 한다.
+ * 입장과 퇴장은 같은 큐를 거치므로 발생 순서대로 적용된다.
+ */
+@Slf4j
+@Component
+public class LivePresenceBatcher {
+
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final RedisService redisService;
+    private final Queue<LivePresenceEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "LivePresenceFlush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${live.presence.batch-window-ms:20}")
+    private long batchWindowMillis;
+
+    public LivePresenceBatcher(RedisService redisService) {
+        this.redisService = redisService;
+    }
+
+    public void enter(Long broadcastId, String viewerId, boolean trackPeak) {
+        offer(LivePresenceEvent.enter(broadcastId, viewerId, trackPeak));
+    }
+
+    public void exit(Long broadcastId, String viewerId) {
+        offer(LivePresenceEvent.exit(broadcastId, viewerId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdown();
+        flush();
+    }
+
+    private void offer(LivePresenceEvent event) {
+        if (event.broadcastId() == null || event.viewerId() == null) {
+            return;
+        }
+        queue.offer(event);
+        if (flushScheduled.compareAndSet(false, true)) {
+            flushScheduler.schedule(this::flush, batchWindowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        List<LivePresenceEvent> batch = new ArrayList<>();
+        LivePresenceEvent event;
+        while ((event = queue.poll()) != null) {
+            batch.add(event);
+            if (batch.size() >= MAX_BATCH_SIZE) {
+                apply(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        apply(batch);
+    }
+
+    private void apply(List<LivePresenceEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            redisService.applyPresenceEvents(batch);
+        } catch (Exception e) {
+            log.warn("Live presence batch failed: size={}, reason={}", batch.size(), e.getMessage());
+        }
+    }
+}
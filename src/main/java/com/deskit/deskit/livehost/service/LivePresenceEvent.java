@@ -0,0 +1,11 @@
+package com.deskit.deskit.livehost.service;
+
+public record LivePresenceEvent(Long broadcastId, String viewerId, boolean enter, boolean trackPeak) {
+    public static LivePresenceEvent enter(Long broadcastId, String viewerId, boolean trackPeak) {
+        return new LivePresenceEvent(broadcastId, viewerId, true, trackPeak);
+    }
+
+    public static LivePresenceEvent exit(Long broadcastId, String viewerId) {
+        return new LivePresenceEvent(broadcastId, viewerId, false, false);
+    }
+}
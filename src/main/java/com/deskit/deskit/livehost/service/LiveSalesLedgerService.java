@@ -0,0 +1,109 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.livehost.repository.BroadcastProductRepository;
+import com.deskit.deskit.order.entity.Order;
+import com.deskit.deskit.order.entity.OrderItem;
+import com.deskit.deskit.order.repository.OrderItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 방송별 실시간 판매 집계(수량/금액)를 Redis 카운터로 유지한다.
+ * 결제 확정/환불 트랜잭션이 커밋된 뒤에만 카운터를 증감하고,
+ * 전체 SQL 집계는 BroadcastService.saveBroadcastResultSnapshot 에서 보정용으로만 수행한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveSalesLedgerService {
+
+    private final OrderItemRepository orderItemRepository;
+    private final BroadcastProductRepository broadcastProductRepository;
+    private final RedisService redisService;
+
+    public void recordPaid(Order order) {
+        record(order, 1);
+    }
+
+    public void recordRefunded(Order order) {
+        record(order, -1);
+    }
+
+    private void record(Order order, int sign) {
+        if (order == null || order.getId() == null || order.getPaidAt() == null) {
+            return;
+        }
+        List<OrderItem> items = orderItemRepository.findByOrder_Id(order.getId()).stream()
+                .filter(item -> item.getDeletedAt() == null)
+                .toList();
+        if (items.isEmpty()) {
+            return;
+        }
+        Map<Long, List<OrderItem>> itemsByProduct = items.stream()
+                .collect(Collectors.groupingBy(OrderItem::getProductId));
+        List<BroadcastProductRepository.SalesLedgerTargetRow> targets = broadcastProductRepository
+                .findSalesLedgerTargets(List.copyOf(itemsByProduct.keySet()), order.getPaidAt());
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        // fetchBroadcastSalesSummary 와 동일하게 방송 특가가 있으면 특가로 결제된 건만 집계한다.
+        List<LedgerEntry> entries = new ArrayList<>();
+        for (BroadcastProductRepository.SalesLedgerTargetRow target : targets) {
+            Integer bpPrice = target.getBpPrice();
+            for (OrderItem item : itemsByProduct.getOrDefault(target.getProductId(), List.of())) {
+                if (bpPrice != null && !bpPrice.equals(item.getUnitPrice())) {
+                    continue;
+                }
+                int quantity = item.getQuantity() != null ? item.getQuantity() : 0;
+                int unitPrice = bpPrice != null ? bpPrice : item.getUnitPrice();
+                entries.add(new LedgerEntry(
+                        target.getBroadcastId(),
+                        item.getProductId(),
+                        sign * quantity,
+                        sign * (long) unitPrice * quantity
+                ));
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        runAfterCommit(() -> apply(entries));
+    }
+
+    private void apply(List<LedgerEntry> entries) {
+        for (LedgerEntry entry : entries) {
+            try {
+                redisService.addLiveSales(entry.broadcastId(), entry.productId(), entry.quantity(), entry.amount());
+            } catch (Exception e) {
+                // 누락분은 saveBroadcastResultSnapshot 의 재집계에서 보정된다.
+                log.warn("Live sales ledger update failed: broadcastId={}, productId={}, message={}",
+                        entry.broadcastId(), entry.productId(), e.getMessage());
+            }
+        }
+    }
+
+    private void runAfterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    private record LedgerEntry(Long broadcastId, Long productId, int quantity, long amount) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.deskit.deskit.livehost.service;
+
+import java.util.Map;
+
+public record LiveSalesSnapshot(Map<Long, Integer> quantities, Map<Long, Long> amounts) {
+    public static LiveSalesSnapshot empty() {
+        return new LiveSalesSnapshot(Map.of(), Map.of());
+    }
+}
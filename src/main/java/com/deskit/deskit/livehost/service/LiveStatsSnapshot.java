@@ -0,0 +1,10 @@
+package com.deskit.deskit.livehost.service;
+
+import java.time.LocalDateTime;
+
+public record LiveStatsSnapshot(int viewerCount, int likeCount, int reportCount, int maxViewers,
+                                LocalDateTime maxViewersAt) {
+    public static LiveStatsSnapshot empty() {
+        return new LiveStatsSnapshot(0, 0, 0, 0, null);
+    }
+}
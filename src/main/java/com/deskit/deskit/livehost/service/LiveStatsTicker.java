@@ -0,0 +1,97 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+import com.deskit.deskit.livehost.common.utils.JobLeaderElection;
+import com.deskit.deskit.livehost.repository.BroadcastRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 라이브 방송 통계(시청자/좋아요/신고 수)를 서버가 주기적으로 계산해 SSE(LIVE_STATS_UPDATED)로 보낸다.
+ * - 클러스터에서 리더 노드 하나만 계산한다. 방송 목록 조회 1회 + Redis 파이프라인 1회로 시청자 수와 무관하다.
+ * - 직전에 보낸 값에서 바뀐 항목만 보내고, full-every-ticks 주기마다 전체 값을 보내 새로 붙은 구독자도 값이 맞춰지게 한다.
+ */
+@Slf4j
+@Component
+public class LiveStatsTicker {
+
+    public static final String EVENT_NAME = "LIVE_STATS_UPDATED";
+    private static final String JOB_NAME = "live-stats-ticker";
+    private static final List<BroadcastStatus> LIVE_STATUSES =
+            List.of(BroadcastStatus.READY, BroadcastStatus.ON_AIR, BroadcastStatus.ENDED);
+
+    private final BroadcastRepository broadcastRepository;
+    private final RedisService redisService;
+    private final SseService sseService;
+    private final JobLeaderElection jobLeaderElection;
+    private final Map<Long, LiveStatsSnapshot> lastPushed = new ConcurrentHashMap<>();
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong eventsSent = new AtomicLong();
+
+    @Value("${live-stats.push.full-every-ticks:15}")
+    private long fullEveryTicks;
+
+    public LiveStatsTicker(BroadcastRepository broadcastRepository, RedisService redisService, SseService sseService,
+                           JobLeaderElection jobLeaderElection) {
+        this.broadcastRepository = broadcastRepository;
+        this.redisService = redisService;
+        this.sseService = sseService;
+        this.jobLeaderElection = jobLeaderElection;
+    }
+
+    @Scheduled(fixedDelayString = "${live-stats.push.interval-ms:2000}")
+    public void tick() {
+        if (!jobLeaderElection.isLeader(JOB_NAME)) {
+            lastPushed.clear();
+            return;
+        }
+        try {
+            List<Long> liveIds = broadcastRepository.findIdsByStatusIn(LIVE_STATUSES);
+            lastPushed.keySet().retainAll(liveIds);
+            if (liveIds.isEmpty()) {
+                return;
+            }
+            boolean full = ticks.incrementAndGet() % Math.max(1L, fullEveryTicks) == 0;
+            Map<Long, LiveStatsSnapshot> stats = redisService.getLiveStats(liveIds);
+            stats.forEach((broadcastId, current) -> push(broadcastId, current, full));
+        } catch (Exception e) {
+            log.warn("Live stats tick failed: reason={}", e.getMessage());
+        }
+    }
+
+    public long getTicks() {
+        return ticks.get();
+    }
+
+    public long getEventsSent() {
+        return eventsSent.get();
+    }
+
+    private void push(Long broadcastId, LiveStatsSnapshot current, boolean full) {
+        LiveStatsSnapshot previous = full ? null : lastPushed.get(broadcastId);
+        Map<String, Object> payload = new HashMap<>();
+        if (previous == null || previous.viewerCount() != current.viewerCount()) {
+            payload.put("viewerCount", current.viewerCount());
+        }
+        if (previous == null || previous.likeCount() != current.likeCount()) {
+            payload.put("likeCount", current.likeCount());
+        }
+        if (previous == null || previous.reportCount() != current.reportCount()) {
+            payload.put("reportCount", current.reportCount());
+        }
+        if (payload.isEmpty()) {
+            return;
+        }
+        sseService.notifyBroadcastUpdate(broadcastId, EVENT_NAME, payload);
+        lastPushed.put(broadcastId, current);
+        eventsSent.incrementAndGet();
+    }
+}
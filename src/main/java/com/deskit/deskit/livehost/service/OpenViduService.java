@@ -174,6 +174,21 @@ public class OpenViduService {
                 .findFirst();
     }
 
+    /**
+     * 녹화 id 로 조회한다. 없으면(404) 빈 값.
+     */
+    public Optional<Recording> findRecording(String recordingId)
+            throws OpenViduJavaClientException, OpenViduHttpException {
+        try {
+            return Optional.ofNullable(openVidu.getRecording(recordingId));
+        } catch (OpenViduHttpException e) {
+            if (e.getStatus() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
     public void deleteRecording(String recordingId) throws OpenViduJavaClientException, OpenViduHttpException {
         if (recordingId == null || recordingId.isBlank()) {
             return;
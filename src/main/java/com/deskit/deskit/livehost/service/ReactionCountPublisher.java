@@ -0,0 +1,131 @@
+package com.deskit.deskit.livehost.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 좋아요/신고 수 변경을 방송별로 모아 SSE(REACTION_COUNT_UPDATED)로 보낸다.
+ * - 방송당 interval-ms 에 최대 한 번만 보내고, 그 사이의 변경은 마지막 값만 남긴다.
+ * - 한동안 변경이 없던 방송의 첫 변경은 바로 보낸다.
+ */
+@Slf4j
+@Component
+public class ReactionCountPublisher {
+
+    public static final String EVENT_NAME = "REACTION_COUNT_UPDATED";
+
+    private final SseService sseService;
+    private final Map<Long, RoomState> rooms = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ReactionCountFlush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong changesReceived = new AtomicLong();
+    private final AtomicLong eventsSent = new AtomicLong();
+
+    @Value("${reaction.push.interval-ms:500}")
+    private long intervalMillis;
+
+    public ReactionCountPublisher(SseService sseService) {
+        this.sseService = sseService;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdown();
+    }
+
+    public void likeCountChanged(Long broadcastId, int likeCount) {
+        changed(broadcastId, likeCount, null);
+    }
+
+    public void reportCountChanged(Long broadcastId, int reportCount) {
+        changed(broadcastId, null, reportCount);
+    }
+
+    public long getChangesReceived() {
+        return changesReceived.get();
+    }
+
+    public long getEventsSent() {
+        return eventsSent.get();
+    }
+
+    // 한동안 변경이 없는 방송의 상태를 정리한다.
+    @Scheduled(fixedDelay = 60000)
+    public void purgeIdle() {
+        long idleBefore = System.currentTimeMillis() - 60000L;
+        rooms.entrySet().removeIf(entry -> {
+            RoomState room = entry.getValue();
+            synchronized (room) {
+                return !room.flushScheduled && room.lastSentAt < idleBefore;
+            }
+        });
+    }
+
+    private void changed(Long broadcastId, Integer likeCount, Integer reportCount) {
+        if (broadcastId == null) {
+            return;
+        }
+        changesReceived.incrementAndGet();
+        RoomState room = rooms.computeIfAbsent(broadcastId, id -> new RoomState());
+        synchronized (room) {
+            if (likeCount != null) {
+                room.likeCount = likeCount;
+            }
+            if (reportCount != null) {
+                room.reportCount = reportCount;
+            }
+            if (room.flushScheduled) {
+                return;
+            }
+            room.flushScheduled = true;
+            long delay = Math.max(0L, room.lastSentAt + intervalMillis - System.currentTimeMillis());
+            flushScheduler.schedule(() -> flush(broadcastId, room), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush(Long broadcastId, RoomState room) {
+        Map<String, Object> payload = new HashMap<>();
+        synchronized (room) {
+            room.flushScheduled = false;
+            room.lastSentAt = System.currentTimeMillis();
+            if (room.likeCount != null) {
+                payload.put("likeCount", room.likeCount);
+            }
+            if (room.reportCount != null) {
+                payload.put("reportCount", room.reportCount);
+            }
+            room.likeCount = null;
+            room.reportCount = null;
+        }
+        if (payload.isEmpty()) {
+            return;
+        }
+        try {
+            sseService.notifyBroadcastUpdate(broadcastId, EVENT_NAME, payload);
+            eventsSent.incrementAndGet();
+        } catch (Exception e) {
+            log.warn("Reaction count push failed: broadcastId={}, reason={}", broadcastId, e.getMessage());
+        }
+    }
+
+    private static final class RoomState {
+        private Integer likeCount;
+        private Integer reportCount;
+        private long lastSentAt;
+        private boolean flushScheduled;
+    }
+}
@@ -0,0 +1,7 @@
+package com.deskit.deskit.livehost.service;
+
+/**
+ * 좋아요/신고 처리 결과. active 는 처리 후 상태(신고는 이번 요청으로 접수됐는지), count 는 같은 스크립트 안에서 읽은 값이다.
+ */
+public record ReactionResult(boolean active, int count) {
+}
@@ -1,21 +1,275 @@
 package com.deskit.deskit.livehost.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class RedisService {
 
+    private static final String LIVE_SALES_READY_FIELD = "ready";
+    private static final String LIVE_SALES_QTY_PREFIX = "qty:";
+    private static final String LIVE_SALES_AMOUNT_PREFIX = "amount:";
+    private static final String LIVE_SALES_SEEDING_FIELD = "seeding";
+
+    // 집계가 초기화된(ready) 원장에만 증감을 반영한다.
+    private static final RedisScript<Long> ADD_LIVE_SALES_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], 'ready') == 0 then return 0 end " +
+                    "redis.call('HINCRBY', KEYS[1], 'qty:' .. ARGV[1], ARGV[2]) " +
+                    "redis.call('HINCRBY', KEYS[1], 'amount:' .. ARGV[1], ARGV[3]) " +
+                    "return 1",
+            Long.class
+    );
+
+    // ARGV[1]: overwrite 여부(1/0), ARGV[2]: TTL(초), ARGV[3..]: field/value 쌍
+    private static final RedisScript<Long> STORE_READY_HASH_SCRIPT = new DefaultRedisScript<>(
+            "if ARGV[1] == '0' and redis.call('HEXISTS', KEYS[1], 'ready') == 1 then return 0 end " +
+                    "redis.call('DEL', KEYS[1]) " +
+                    "for i = 3, #ARGV, 2 do redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+                    "redis.call('HSET', KEYS[1], 'ready', '1') " +
+                    "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+                    "return 1",
+            Long.class
+    );
+
+    // 원장이 없을 때만 빈 원장(ready + seeding)을 만든다. 이후 결제 증감은 바로 더해지고, 만든 쪽이 SQL 집계를 더한다.
+    // ARGV[1]: TTL(초)
+    private static final RedisScript<Long> BEGIN_LIVE_SALES_SEED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], 'ready') == 1 then return 0 end " +
+                    "redis.call('DEL', KEYS[1]) " +
+                    "redis.call('HSET', KEYS[1], 'ready', '1', 'seeding', '1') " +
+                    "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+                    "return 1",
+            Long.class
+    );
+
+    // 시드 중인 원장에 SQL 집계를 더하고 seeding 표시를 지운다. ARGV: field/증가량 쌍
+    private static final RedisScript<Long> FINISH_LIVE_SALES_SEED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], 'seeding') == 0 then return 0 end " +
+                    "for i = 1, #ARGV, 2 do redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+                    "redis.call('HDEL', KEYS[1], 'seeding') " +
+                    "return 1",
+            Long.class
+    );
+
+    // 시청 시간 집계: 초기화된(ready) 경우에만 세션 수/누적 시청 초를 더한다.
+    private static final RedisScript<Long> ADD_WATCH_TIME_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], 'ready') == 0 then return 0 end " +
+                    "redis.call('HINCRBY', KEYS[1], 'sessions', ARGV[1]) " +
+                    "redis.call('HINCRBY', KEYS[1], 'seconds', ARGV[2]) " +
+                    "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+                    "return 1",
+            Long.class
+    );
+
+    private static final Duration LIVE_PRESENCE_TTL = Duration.ofDays(1);
+    // getLiveStats 파이프라인에서 방송 하나당 읽는 값 수
+    private static final int LIVE_STATS_FIELDS = 5;
+
+    // 이전 버전은 session_counts 필드를 JDK 직렬화 문자열로, 시청자 SET 멤버를 JSON 문자열("id")로 저장했다.
+    // 입장/퇴장 시 해당 시청자의 이전 형식 값을 새 형식(원본 문자열)으로 옮긴다. KEYS: session_counts, active_uv / ARGV[1]: viewerId
+    private static final String MIGRATE_LEGACY_PRESENCE_LUA =
+            "local quoted = '\"' .. ARGV[1] .. '\"' " +
+                    "local legacyField = string.char(172, 237, 0, 5, 116, math.floor(#ARGV[1] / 256), #ARGV[1] % 256) .. ARGV[1] " +
+                    "local legacyCount = tonumber(redis.call('HGET', KEYS[1], legacyField)) " +
+                    "if legacyCount then " +
+                    "redis.call('HDEL', KEYS[1], legacyField) " +
+                    "if legacyCount > 0 then redis.call('HINCRBY', KEYS[1], ARGV[1], legacyCount) end " +
+                    "end " +
+                    "if redis.call('SREM', KEYS[2], quoted) == 1 " +
+                    "and (tonumber(redis.call('HGET', KEYS[1], ARGV[1])) or 0) > 0 then redis.call('SADD', KEYS[2], ARGV[1]) end ";
+
+    // KEYS: session_counts, active_uv, total_uv(SET 또는 HLL), max_viewers, max_viewers_time
+    // ARGV[1]: viewerId, ARGV[2]: TTL(초), ARGV[3]: 최고 동시 시청자 갱신 여부(1/0), ARGV[4]: 현재 시각, ARGV[5]: HLL 여부(1/0)
+    // max_viewers 는 이전 버전에서 JSON 문자열로 저장됐을 수 있어 따옴표를 떼고 비교한다.
+    private static final RedisScript<Long> ENTER_LIVE_ROOM_SCRIPT = new DefaultRedisScript<>(
+            MIGRATE_LEGACY_PRESENCE_LUA +
+                    "local count = redis.call('HINCRBY', KEYS[1], ARGV[1], 1) " +
+                    "if count == 1 then redis.call('SADD', KEYS[2], ARGV[1]) end " +
+                    "if ARGV[5] == '1' then redis.call('PFADD', KEYS[3], ARGV[1]) " +
+                    "elseif redis.call('SISMEMBER', KEYS[3], quoted) == 0 then redis.call('SADD', KEYS[3], ARGV[1]) end " +
+                    "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+                    "redis.call('EXPIRE', KEYS[2], ARGV[2]) " +
+                    "redis.call('EXPIRE', KEYS[3], ARGV[2]) " +
+                    "local active = redis.call('SCARD', KEYS[2]) " +
+                    "local peak = tonumber((string.gsub(redis.call('GET', KEYS[4]) or '', '\"', ''))) or 0 " +
+                    "if ARGV[3] == '1' and active > peak then " +
+                    "redis.call('SET', KEYS[4], active) " +
+                    "redis.call('SET', KEYS[5], ARGV[4]) " +
+                    "end " +
+                    "return active",
+            Long.class
+    );
+
+    // KEYS: session_counts, active_uv / ARGV[1]: viewerId
+    private static final RedisScript<Long> EXIT_LIVE_ROOM_SCRIPT = new DefaultRedisScript<>(
+            MIGRATE_LEGACY_PRESENCE_LUA +
+                    "local count = redis.call('HINCRBY', KEYS[1], ARGV[1], -1) " +
+                    "if count <= 0 then " +
+                    "redis.call('HDEL', KEYS[1], ARGV[1]) " +
+                    "redis.call('SREM', KEYS[2], ARGV[1], quoted) " +
+                    "end " +
+                    "return redis.call('SCARD', KEYS[2])",
+            Long.class
+    );
+
+    // KEYS: 시청자 SET, HLL / SET 이 아직 옮겨지는 중이면 둘 중 큰 값을 돌려준다(옮기기가 끝나면 HLL 값과 같다).
+    private static final RedisScript<Long> COUNT_VIEWER_HLL_SCRIPT = new DefaultRedisScript<>(
+            "local count = redis.call('PFCOUNT', KEYS[2]) " +
+                    "if redis.call('EXISTS', KEYS[1]) == 1 then count = math.max(count, redis.call('SCARD', KEYS[1])) end " +
+                    "return count",
+            Long.class
+    );
+
+    // KEYS: 시청자 SET, HLL / ARGV[1]: viewerId / 새 시청자로 집계되면 1 을 반환한다.
+    // 아직 옮겨지지 않은 SET 에 이미 있는 시청자는 새 시청자로 세지 않는다(기존 멤버는 JSON 문자열일 수 있다).
+    private static final RedisScript<Long> ADD_VIEWER_HLL_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 " +
+                    "or redis.call('SISMEMBER', KEYS[1], '\"' .. ARGV[1] .. '\"') == 1 then return 0 end " +
+                    "return redis.call('PFADD', KEYS[2], ARGV[1])",
+            Long.class
+    );
+
+    // 시청자 SET 을 HLL 로 옮기는 한 단계: SSCAN 한 페이지만 옮기고 커서는 KEYS[3] 에 남긴다.
+    // KEYS: 시청자 SET, HLL, 커서 키 / ARGV[1]: SSCAN COUNT / 끝까지 옮겨 SET 을 지웠으면(또는 SET 이 없으면) 1
+    // 기존 SET 멤버는 JSON 직렬화된 문자열일 수 있어 양끝 따옴표를 제거해 새 값과 같은 원소로 맞춘다.
+    private static final RedisScript<Long> FOLD_VIEWER_SET_STEP_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then redis.call('DEL', KEYS[3]) return 1 end " +
+                    "local page = redis.call('SSCAN', KEYS[1], redis.call('GET', KEYS[3]) or '0', 'COUNT', ARGV[1]) " +
+                    "local members = {} " +
+                    "for i, member in ipairs(page[2]) do members[i] = string.gsub(member, '^\"(.*)\"$', '%1') end " +
+                    "if #members > 0 then redis.call('PFADD', KEYS[2], unpack(members)) end " +
+                    "if page[1] ~= '0' then redis.call('SET', KEYS[3], page[1], 'EX', 86400) return 0 end " +
+                    "local ttl = redis.call('TTL', KEYS[1]) " +
+                    "redis.call('DEL', KEYS[1], KEYS[3]) " +
+                    "if ttl > 0 then redis.call('EXPIRE', KEYS[2], ttl) end " +
+                    "return 1",
+            Long.class
+    );
+
+    // KEYS: 방송별 시청 기록 버퍼, 대기 방송 SET / ARGV[1]: 이벤트, ARGV[2]: broadcastId
+    private static final RedisScript<Long> BUFFER_VIEW_HISTORY_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('RPUSH', KEYS[1], ARGV[1]) " +
+                    "return redis.call('SADD', KEYS[2], ARGV[2])",
+            Long.class
+    );
+
+    // KEYS 는 BUFFER_VIEW_HISTORY_SCRIPT 와 같다. ARGV[1]: 지울 개수 / 버퍼가 비었을 때만 대기 표시를 지워 새로 들어온 이벤트를 놓치지 않는다.
+    private static final RedisScript<Long> TRIM_VIEW_HISTORY_SCRIPT = new DefaultRedisScript<>(
+            "if tonumber(ARGV[1]) > 0 then redis.call('LTRIM', KEYS[1], ARGV[1], -1) end " +
+                    "if redis.call('LLEN', KEYS[1]) == 0 then redis.call('SREM', KEYS[2], ARGV[2]) end " +
+                    "return 1",
+            Long.class
+    );
+
+    // 이전 버전은 좋아요/신고 회원 SET 멤버를 JSON 문자열("id")로 저장했다. 해당 회원의 이전 형식 멤버를 원본 문자열로 옮긴 뒤
+    // 처리해 같은 회원이 두 번 세어지지 않게 한다. KEYS[1]: like_users 또는 report_users / ARGV[1]: memberId
+    private static final String MIGRATE_LEGACY_REACTION_LUA =
+            "if redis.call('SREM', KEYS[1], '\"' .. ARGV[1] .. '\"') == 1 then redis.call('SADD', KEYS[1], ARGV[1]) end ";
+
+    // 좋아요 토글: 멤버 확인과 추가/삭제, 카운트 조회를 한 번에 처리해 연속 클릭에도 상태가 어긋나지 않게 한다.
+    // KEYS: like_users, vod like_delta, vod dirty / ARGV[1]: memberId, ARGV[2]: VOD 여부(1/0), ARGV[3]: broadcastId
+    // 반환: {좋아요 상태(1/0), 라이브면 좋아요 수 / VOD 면 반영 전 like_delta}
+    private static final RedisScript<List> TOGGLE_LIKE_SCRIPT = new DefaultRedisScript<>(
+            MIGRATE_LEGACY_REACTION_LUA +
+                    "local active = 1 " +
+                    "if redis.call('SREM', KEYS[1], ARGV[1]) == 1 then active = 0 " +
+                    "else redis.call('SADD', KEYS[1], ARGV[1]) end " +
+                    "if ARGV[2] == '1' then " +
+                    "local delta = redis.call('INCRBY', KEYS[2], active == 1 and 1 or -1) " +
+                    "redis.call('SADD', KEYS[3], ARGV[3]) " +
+                    "return {active, delta} " +
+                    "end " +
+                    "return {active, redis.call('SCARD', KEYS[1])}",
+            List.class
+    );
+
+    // 신고: 회원당 한 번만 카운트를 올린다.
+    // KEYS: report_users, 라이브 reports 또는 vod report_delta, vod dirty / ARGV 는 TOGGLE_LIKE_SCRIPT 와 같다.
+    // 반환: {이번 요청으로 신고됐는지(1/0), 라이브면 신고 수 / VOD 면 반영 전 report_delta}
+    private static final RedisScript<List> REPORT_SCRIPT = new DefaultRedisScript<>(
+            MIGRATE_LEGACY_REACTION_LUA +
+                    "local added = redis.call('SADD', KEYS[1], ARGV[1]) " +
+                    "if added == 0 then return {0, tonumber(redis.call('GET', KEYS[2])) or 0} end " +
+                    "local count = redis.call('INCR', KEYS[2]) " +
+                    "if ARGV[2] == '1' then redis.call('SADD', KEYS[3], ARGV[3]) end " +
+                    "return {1, count}",
+            List.class
+    );
+
+    // 만기된 항목을 처리 중(inflight, score = 리스 만료 시각)으로 옮기며 꺼내 여러 워커가 같은 항목을 실행하지 않게 한다.
+    // 처리 후 ACK 로 지우고, 실행 전에 노드가 죽어 리스가 만료된 항목은 다시 꺼낸다.
+    // KEYS: queue, inflight / ARGV[1]: 현재 시각(ms), ARGV[2]: 최대 개수, ARGV[3]: 리스 만료 시각(ms)
+    private static final RedisScript<List> CLAIM_DUE_SCRIPT = new DefaultRedisScript<>(
+            "local due = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]) " +
+                    "local claimed = {} " +
+                    "for _, member in ipairs(due) do claimed[member] = true end " +
+                    "local remaining = tonumber(ARGV[2]) - #due " +
+                    "if remaining > 0 then " +
+                    "local fresh = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, remaining) " +
+                    "for _, member in ipairs(fresh) do " +
+                    "redis.call('ZREM', KEYS[1], member) " +
+                    "if not claimed[member] then claimed[member] = true table.insert(due, member) end " +
+                    "end " +
+                    "end " +
+                    "for _, member in ipairs(due) do redis.call('ZADD', KEYS[2], ARGV[3], member) end " +
+                    "return due",
+            List.class
+    );
+
+    // 처리 완료: inflight 에서 지우고 실행 시각을 남긴다. KEYS: inflight, fired / ARGV[1]: 멤버, ARGV[2]: 현재 시각(ms)
+    private static final RedisScript<Long> ACK_DEADLINE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1]) " +
+                    "return redis.call('ZREM', KEYS[1], ARGV[1])",
+            Long.class
+    );
+
+    // 재조정용: 같은 실행 시각(또는 그 뒤)으로 이미 실행된 항목은 다시 넣지 않는다.
+    // KEYS: queue, fired / ARGV[1]: 멤버, ARGV[2]: 실행 시각(ms)
+    private static final RedisScript<Long> SCHEDULE_UNLESS_FIRED_SCRIPT = new DefaultRedisScript<>(
+            "local fired = tonumber(redis.call('ZSCORE', KEYS[2], ARGV[1])) " +
+                    "if fired and fired >= tonumber(ARGV[2]) then return 0 end " +
+                    "redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1]) " +
+                    "return 1",
+            Long.class
+    );
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    // 누적 시청자 집계 방식: true 면 HyperLogLog(근사치), false 면 SET(정확한 값)
+    @Value("${viewer-count.live-total-uv-hll:false}")
+    private boolean liveTotalUvHll;
+
+    @Value("${viewer-count.vod-viewers-hll:false}")
+    private boolean vodViewersHll;
 
     public String getRealtimeViewKey(Long broadcastId) {
         return "broadcast:" + broadcastId + ":active_uv";
@@ -29,6 +283,10 @@ public class RedisService {
         return "broadcast:" + broadcastId + ":total_uv";
     }
 
+    public String getTotalUvHllKey(Long broadcastId) {
+        return "broadcast:" + broadcastId + ":total_uv_hll";
+    }
+
     public String getLikeUsersKey(Long broadcastId) {
         return "broadcast:" + broadcastId + ":like_users";
     }
@@ -65,6 +323,10 @@ public class RedisService {
         return "vod:" + broadcastId + ":viewers";
     }
 
+    public String getVodViewersHllKey(Long broadcastId) {
+        return "vod:" + broadcastId + ":viewers_hll";
+    }
+
     public String getVodViewDeltaKey(Long broadcastId) {
         return "vod:" + broadcastId + ":view_delta";
     }
@@ -97,96 +359,93 @@ public class RedisService {
         return "broadcast:" + broadcastId + ":original_price";
     }
 
-    public String getRecordingRetryQueueKey() {
-        return "broadcast:recording:retry";
-    }
-
-    public String getRecordingRetryAttemptKey(Long broadcastId) {
-        return "broadcast:recording:retry:" + broadcastId + ":attempts";
+    public String getLiveSalesKey(Long broadcastId) {
+        return "broadcast:" + broadcastId + ":live_sales";
     }
 
-    public String getRecordingStartRetryQueueKey() {
-        return "broadcast:recording:start:retry";
+    public String getWatchTimeKey(Long broadcastId) {
+        return "broadcast:" + broadcastId + ":watch_time";
     }
 
-    public String getRecordingStartRetryAttemptKey(Long broadcastId) {
-        return "broadcast:recording:start:retry:" + broadcastId + ":attempts";
+    public String getBroadcastDeadlineQueueKey() {
+        return "broadcast:deadline:queue";
     }
 
-    public Boolean acquireLock(String key, long timeoutMillis) {
-        return redisTemplate.opsForValue()
-                .setIfAbsent(key, "LOCKED", Duration.ofMillis(timeoutMillis));
+    public String getBroadcastDeadlineInflightKey() {
+        return "broadcast:deadline:inflight";
     }
 
-    public void releaseLock(String key) {
-        redisTemplate.delete(key);
+    public String getBroadcastDeadlineFiredKey() {
+        return "broadcast:deadline:fired";
     }
 
-    public boolean setIfAbsent(String key, String value, Duration ttl) {
-        Boolean result = redisTemplate.opsForValue().setIfAbsent(key, value, ttl);
-        return Boolean.TRUE.equals(result);
+    /**
+     * 같은 방송/이벤트는 멤버가 같으므로 다시 넣으면 실행 시각만 바뀐다.
+     */
+    public void scheduleBroadcastDeadline(BroadcastDeadlineEvent event, long dueAtMillis) {
+        stringRedisTemplate.opsForZSet().add(getBroadcastDeadlineQueueKey(), event.toMember(), dueAtMillis);
     }
 
-    public void scheduleRecordingRetry(Long broadcastId, Duration delay) {
-        long score = Instant.now().plus(delay).toEpochMilli();
-        redisTemplate.opsForZSet().add(getRecordingRetryQueueKey(), broadcastId, score);
+    /**
+     * 재조정 스윕용. 현재 실행 시각 이후에 이미 실행된 항목이면 넣지 않고 false 를 반환한다.
+     */
+    public boolean scheduleBroadcastDeadlineUnlessFired(BroadcastDeadlineEvent event, long dueAtMillis) {
+        Long added = stringRedisTemplate.execute(SCHEDULE_UNLESS_FIRED_SCRIPT,
+                List.of(getBroadcastDeadlineQueueKey(), getBroadcastDeadlineFiredKey()),
+                event.toMember(), String.valueOf(dueAtMillis));
+        return added != null && added == 1L;
     }
 
-    public void scheduleRecordingStartRetry(Long broadcastId, Duration delay) {
-        long score = Instant.now().plus(delay).toEpochMilli();
-        redisTemplate.opsForZSet().add(getRecordingStartRetryQueueKey(), broadcastId, score);
-    }
-
-    public Set<Long> popDueRecordingRetries(int count) {
-        long now = Instant.now().toEpochMilli();
-        Set<Object> due = redisTemplate.opsForZSet().rangeByScore(getRecordingRetryQueueKey(), 0, now, 0, count);
+    /**
+     * 만기 항목을 leaseMillis 동안 처리 중으로 잡아 꺼낸다. 처리 후 ackBroadcastDeadline 을 부르지 않으면 리스 만료 후 다시 꺼내진다.
+     */
+    public List<BroadcastDeadlineEvent> claimDueBroadcastDeadlines(int count, long leaseMillis) {
+        long now = System.currentTimeMillis();
+        List<?> due = stringRedisTemplate.execute(CLAIM_DUE_SCRIPT,
+                List.of(getBroadcastDeadlineQueueKey(), getBroadcastDeadlineInflightKey()),
+                String.valueOf(now), String.valueOf(count), String.valueOf(now + leaseMillis));
         if (due == null || due.isEmpty()) {
-            return Set.of();
+            return List.of();
         }
-        redisTemplate.opsForZSet().remove(getRecordingRetryQueueKey(), due.toArray());
-        return due.stream()
-                .map(value -> Long.parseLong(value.toString()))
-                .collect(Collectors.toSet());
+        List<BroadcastDeadlineEvent> events = new ArrayList<>(due.size());
+        for (Object member : due) {
+            BroadcastDeadlineEvent event = BroadcastDeadlineEvent.parse(member.toString());
+            if (event == null) {
+                log.warn("Invalid broadcast deadline entry: {}", member);
+                stringRedisTemplate.opsForZSet().remove(getBroadcastDeadlineInflightKey(), member.toString());
+                continue;
+            }
+            events.add(event);
+        }
+        return events;
     }
 
-    public Set<Long> popDueRecordingStartRetries(int count) {
-        long now = Instant.now().toEpochMilli();
-        Set<Object> due = redisTemplate.opsForZSet().rangeByScore(getRecordingStartRetryQueueKey(), 0, now, 0, count);
-        if (due == null || due.isEmpty()) {
-            return Set.of();
-        }
-        redisTemplate.opsForZSet().remove(getRecordingStartRetryQueueKey(), due.toArray());
-        return due.stream()
-                .map(value -> Long.parseLong(value.toString()))
-                .collect(Collectors.toSet());
+    public void ackBroadcastDeadline(BroadcastDeadlineEvent event) {
+        stringRedisTemplate.execute(ACK_DEADLINE_SCRIPT,
+                List.of(getBroadcastDeadlineInflightKey(), getBroadcastDeadlineFiredKey()),
+                event.toMember(), String.valueOf(System.currentTimeMillis()));
     }
 
-    public int incrementRecordingRetryAttempt(Long broadcastId, Duration ttl) {
-        String key = getRecordingRetryAttemptKey(broadcastId);
-        Long value = redisTemplate.opsForValue().increment(key);
-        if (value != null && value == 1) {
-            redisTemplate.expire(key, ttl);
-        }
-        return value != null ? value.intValue() : 0;
+    /**
+     * olderThanMillis 이전에 실행된 기록을 지운다. 재조정 범위보다 오래된 기록은 필요 없다.
+     */
+    public void purgeFiredBroadcastDeadlines(long olderThanMillis) {
+        stringRedisTemplate.opsForZSet().removeRangeByScore(getBroadcastDeadlineFiredKey(),
+                Double.NEGATIVE_INFINITY, olderThanMillis);
     }
 
-    public int incrementRecordingStartRetryAttempt(Long broadcastId, Duration ttl) {
-        String key = getRecordingStartRetryAttemptKey(broadcastId);
-        Long value = redisTemplate.opsForValue().increment(key);
-        if (value != null && value == 1) {
-            redisTemplate.expire(key, ttl);
-        }
-        return value != null ? value.intValue() : 0;
+    public Boolean acquireLock(String key, long timeoutMillis) {
+        return redisTemplate.opsForValue()
+                .setIfAbsent(key, "LOCKED", Duration.ofMillis(timeoutMillis));
     }
 
-    public void clearRecordingRetry(Long broadcastId) {
-        redisTemplate.opsForZSet().remove(getRecordingRetryQueueKey(), broadcastId);
-        redisTemplate.delete(getRecordingRetryAttemptKey(broadcastId));
+    public void releaseLock(String key) {
+        redisTemplate.delete(key);
     }
 
-    public void clearRecordingStartRetry(Long broadcastId) {
-        redisTemplate.opsForZSet().remove(getRecordingStartRetryQueueKey(), broadcastId);
-        redisTemplate.delete(getRecordingStartRetryAttemptKey(broadcastId));
+    public boolean setIfAbsent(String key, String value, Duration ttl) {
+        Boolean result = redisTemplate.opsForValue().setIfAbsent(key, value, ttl);
+        return Boolean.TRUE.equals(result);
     }
 
     public void storeOriginalPrice(Long broadcastId, Long productId, Integer price) {
@@ -214,34 +473,197 @@ public class RedisService {
         redisTemplate.delete(getOriginalPriceKey(broadcastId));
     }
 
-    public void enterLiveRoom(Long broadcastId, String uuid) {
-        String sessionKey = getSessionCountKey(broadcastId);
-        String activeKey = getRealtimeViewKey(broadcastId);
-        String totalKey = getTotalUvKey(broadcastId);
+    public void addLiveSales(Long broadcastId, Long productId, int quantity, long amount) {
+        stringRedisTemplate.execute(
+                ADD_LIVE_SALES_SCRIPT,
+                List.of(getLiveSalesKey(broadcastId)),
+                productId.toString(),
+                String.valueOf(quantity),
+                String.valueOf(amount)
+        );
+    }
 
-        Long count = redisTemplate.opsForHash().increment(sessionKey, uuid, 1);
+    public boolean storeLiveSales(Long broadcastId, LiveSalesSnapshot snapshot, boolean overwrite) {
+        List<String> args = new ArrayList<>();
+        args.add(overwrite ? "1" : "0");
+        args.add(String.valueOf(Duration.ofDays(1).toSeconds()));
+        snapshot.quantities().forEach((productId, quantity) -> {
+            args.add(LIVE_SALES_QTY_PREFIX + productId);
+            args.add(String.valueOf(quantity));
+        });
+        snapshot.amounts().forEach((productId, amount) -> {
+            args.add(LIVE_SALES_AMOUNT_PREFIX + productId);
+            args.add(String.valueOf(amount));
+        });
+        Long stored = stringRedisTemplate.execute(
+                STORE_READY_HASH_SCRIPT,
+                List.of(getLiveSalesKey(broadcastId)),
+                args.toArray()
+        );
+        return stored != null && stored == 1;
+    }
+
+    /**
+     * 원장이 없으면 빈 원장을 만들고 true. 이때부터 들어오는 결제 증감은 원장에 바로 더해지므로,
+     * 호출한 쪽은 그 뒤에 읽은 SQL 집계를 finishLiveSalesSeed 로 더한다.
+     */
+    public boolean beginLiveSalesSeed(Long broadcastId) {
+        Long created = stringRedisTemplate.execute(
+                BEGIN_LIVE_SALES_SEED_SCRIPT,
+                List.of(getLiveSalesKey(broadcastId)),
+                String.valueOf(Duration.ofDays(1).toSeconds())
+        );
+        return created != null && created == 1;
+    }
+
+    public void finishLiveSalesSeed(Long broadcastId, LiveSalesSnapshot snapshot) {
+        List<String> args = new ArrayList<>();
+        snapshot.quantities().forEach((productId, quantity) -> {
+            args.add(LIVE_SALES_QTY_PREFIX + productId);
+            args.add(String.valueOf(quantity));
+        });
+        snapshot.amounts().forEach((productId, amount) -> {
+            args.add(LIVE_SALES_AMOUNT_PREFIX + productId);
+            args.add(String.valueOf(amount));
+        });
+        stringRedisTemplate.execute(
+                FINISH_LIVE_SALES_SEED_SCRIPT,
+                List.of(getLiveSalesKey(broadcastId)),
+                args.toArray()
+        );
+    }
 
-        if (count != null && count == 1) {
-            redisTemplate.opsForSet().add(activeKey, uuid);
+    /**
+     * 원장 값. 없거나 아직 시드 중이면(SQL 집계가 더해지기 전) null.
+     */
+    public LiveSalesSnapshot getLiveSales(Long broadcastId) {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(getLiveSalesKey(broadcastId));
+        if (entries == null || !entries.containsKey(LIVE_SALES_READY_FIELD)
+                || entries.containsKey(LIVE_SALES_SEEDING_FIELD)) {
+            return null;
         }
+        Map<Long, Integer> quantities = new HashMap<>();
+        Map<Long, Long> amounts = new HashMap<>();
+        entries.forEach((field, value) -> {
+            String name = field.toString();
+            try {
+                if (name.startsWith(LIVE_SALES_QTY_PREFIX)) {
+                    quantities.put(Long.parseLong(name.substring(LIVE_SALES_QTY_PREFIX.length())),
+                            Integer.parseInt(value.toString()));
+                } else if (name.startsWith(LIVE_SALES_AMOUNT_PREFIX)) {
+                    amounts.put(Long.parseLong(name.substring(LIVE_SALES_AMOUNT_PREFIX.length())),
+                            Long.parseLong(value.toString()));
+                }
+            } catch (NumberFormatException ignored) {
+            }
+        });
+        return new LiveSalesSnapshot(quantities, amounts);
+    }
+
+    public void storeWatchTime(Long broadcastId, long sessions, long seconds) {
+        stringRedisTemplate.execute(
+                STORE_READY_HASH_SCRIPT,
+                List.of(getWatchTimeKey(broadcastId)),
+                "1", String.valueOf(Duration.ofDays(1).toSeconds()),
+                "sessions", String.valueOf(sessions),
+                "seconds", String.valueOf(seconds)
+        );
+    }
+
+    public void addWatchTime(Long broadcastId, long sessions, long seconds) {
+        stringRedisTemplate.execute(
+                ADD_WATCH_TIME_SCRIPT,
+                List.of(getWatchTimeKey(broadcastId)),
+                String.valueOf(sessions), String.valueOf(seconds), String.valueOf(Duration.ofDays(1).toSeconds())
+        );
+    }
 
-        redisTemplate.opsForSet().add(totalKey, uuid);
+    // 집계가 초기화되지 않았으면 null
+    public Double getAverageWatchTime(Long broadcastId) {
+        List<Object> values = stringRedisTemplate.opsForHash()
+                .multiGet(getWatchTimeKey(broadcastId), List.of("ready", "sessions", "seconds"));
+        if (values == null || values.get(0) == null) {
+            return null;
+        }
+        try {
+            long sessions = values.get(1) != null ? Long.parseLong(values.get(1).toString()) : 0L;
+            long seconds = values.get(2) != null ? Long.parseLong(values.get(2).toString()) : 0L;
+            return sessions > 0 ? (double) seconds / sessions : 0.0;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 
-        expireKey(sessionKey);
-        expireKey(activeKey);
-        expireKey(totalKey);
+    public void enterLiveRoom(Long broadcastId, String uuid, boolean trackPeak) {
+        stringRedisTemplate.execute(ENTER_LIVE_ROOM_SCRIPT,
+                enterLiveRoomKeys(broadcastId),
+                enterLiveRoomArgs(uuid, trackPeak).toArray());
     }
 
     public void exitLiveRoom(Long broadcastId, String uuid) {
-        String sessionKey = getSessionCountKey(broadcastId);
-        String activeKey = getRealtimeViewKey(broadcastId);
-
-        Long count = redisTemplate.opsForHash().increment(sessionKey, uuid, -1);
+        stringRedisTemplate.execute(EXIT_LIVE_ROOM_SCRIPT, exitLiveRoomKeys(broadcastId), uuid);
+    }
 
-        if (count != null && count <= 0) {
-            redisTemplate.opsForHash().delete(sessionKey, uuid);
-            redisTemplate.opsForSet().remove(activeKey, uuid);
+    /**
+     * 입장/퇴장 이벤트를 순서대로 한 번의 파이프라인으로 반영한다.
+     * 스크립트를 파이프라인 앞에서 먼저 로드하므로 Redis 재시작 후에도 NOSCRIPT 없이 동작한다.
+     */
+    public void applyPresenceEvents(List<LivePresenceEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return;
         }
+        byte[] enterScript = ENTER_LIVE_ROOM_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        byte[] exitScript = EXIT_LIVE_ROOM_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.scriptingCommands().scriptLoad(enterScript);
+            connection.scriptingCommands().scriptLoad(exitScript);
+            for (LivePresenceEvent event : events) {
+                if (event.enter()) {
+                    evalPresence(connection, ENTER_LIVE_ROOM_SCRIPT, enterLiveRoomKeys(event.broadcastId()),
+                            enterLiveRoomArgs(event.viewerId(), event.trackPeak()));
+                } else {
+                    evalPresence(connection, EXIT_LIVE_ROOM_SCRIPT, exitLiveRoomKeys(event.broadcastId()),
+                            List.of(event.viewerId()));
+                }
+            }
+            return null;
+        });
+    }
+
+    private void evalPresence(RedisConnection connection, RedisScript<Long> script, List<String> keys, List<String> args) {
+        byte[][] keysAndArgs = new byte[keys.size() + args.size()][];
+        int index = 0;
+        for (String key : keys) {
+            keysAndArgs[index++] = key.getBytes(StandardCharsets.UTF_8);
+        }
+        for (String arg : args) {
+            keysAndArgs[index++] = arg.getBytes(StandardCharsets.UTF_8);
+        }
+        connection.scriptingCommands().evalSha(script.getSha1(), ReturnType.INTEGER, keys.size(), keysAndArgs);
+    }
+
+    private List<String> enterLiveRoomKeys(Long broadcastId) {
+        return List.of(
+                getSessionCountKey(broadcastId),
+                getRealtimeViewKey(broadcastId),
+                liveTotalUvHll ? getTotalUvHllKey(broadcastId) : getTotalUvKey(broadcastId),
+                getMaxViewersKey(broadcastId),
+                getMaxViewersTimeKey(broadcastId)
+        );
+    }
+
+    private List<String> enterLiveRoomArgs(String uuid, boolean trackPeak) {
+        return List.of(
+                uuid,
+                String.valueOf(LIVE_PRESENCE_TTL.toSeconds()),
+                trackPeak ? "1" : "0",
+                LocalDateTime.now().toString(),
+                liveTotalUvHll ? "1" : "0"
+        );
+    }
+
+    private List<String> exitLiveRoomKeys(Long broadcastId) {
+        return List.of(getSessionCountKey(broadcastId), getRealtimeViewKey(broadcastId));
     }
 
     public int getRealtimeViewerCount(Long broadcastId) {
@@ -249,46 +671,175 @@ public class RedisService {
         return size != null ? size.intValue() : 0;
     }
 
+    public LiveStatsSnapshot getLiveStats(Long broadcastId) {
+        return getLiveStats(List.of(broadcastId)).getOrDefault(broadcastId, LiveStatsSnapshot.empty());
+    }
+
+    /**
+     * 여러 방송의 시청자/좋아요/신고/최고 동시 시청자 수를 파이프라인 한 번으로 읽는다.
+     * 목록 카드 수와 관계없이 Redis 왕복은 한 번이다.
+     */
+    public Map<Long, LiveStatsSnapshot> getLiveStats(Collection<Long> broadcastIds) {
+        List<Long> ids = broadcastIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Long id : ids) {
+                stringConnection.sCard(getRealtimeViewKey(id));
+                stringConnection.sCard(getLikeUsersKey(id));
+                stringConnection.get(getReportCountKey(id));
+                stringConnection.get(getMaxViewersKey(id));
+                stringConnection.get(getMaxViewersTimeKey(id));
+            }
+            return null;
+        });
+
+        Map<Long, LiveStatsSnapshot> stats = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            int offset = i * LIVE_STATS_FIELDS;
+            stats.put(ids.get(i), new LiveStatsSnapshot(
+                    parseInt(results.get(offset)),
+                    parseInt(results.get(offset + 1)),
+                    parseInt(results.get(offset + 2)),
+                    parseInt(results.get(offset + 3)),
+                    parseDateTime(results.get(offset + 4))
+            ));
+        }
+        return stats;
+    }
+
     public int getTotalUniqueViewerCount(Long broadcastId) {
+        if (liveTotalUvHll) {
+            return countViewerHll(getTotalUvKey(broadcastId), getTotalUvHllKey(broadcastId));
+        }
         Long size = redisTemplate.opsForSet().size(getTotalUvKey(broadcastId));
         return size != null ? size.intValue() : 0;
     }
 
-    public void bufferViewHistory(String type, Long broadcastId, String viewerId) {
-        String value = broadcastId + ":" + viewerId + ":" + System.currentTimeMillis();
-        redisTemplate.opsForList().rightPush(getViewHistoryBufferKey(type), value);
+    /**
+     * HLL 모드로 전환한 뒤 남아 있는 시청자 SET 을 HLL 로 조금씩 옮긴다(스케줄러가 주기적으로 호출한다).
+     * 한 번 호출에 대기 중인 SET 최대 maxKeys 개를 각각 SSCAN 한 페이지(pageSize)만큼 옮기고,
+     * 대기 목록이 비면 키 공간 SCAN 을 한 페이지 더 진행한다. 커서는 모두 Redis 에 두므로 노드가 바뀌어도 이어진다.
+     * 조회/추가 경로는 옮기는 중인 SET 도 함께 보므로 결과가 어긋나지 않는다.
+     *
+     * @return 이번 호출에서 옮기기를 마친 SET 수
+     */
+    public int migrateViewerSetsToHll(int maxKeys, int pageSize) {
+        int migrated = 0;
+        if (liveTotalUvHll) {
+            migrated += foldViewerSets("total_uv", "broadcast:*:total_uv", maxKeys, pageSize);
+        }
+        if (vodViewersHll) {
+            migrated += foldViewerSets("vod_viewers", "vod:*:viewers", maxKeys, pageSize);
+        }
+        if (migrated > 0) {
+            log.info("Viewer sets folded into HyperLogLog: count={}", migrated);
+        }
+        return migrated;
     }
 
-    public List<String> popViewHistoryBuffer(String type, int count) {
-        String key = getViewHistoryBufferKey(type);
-        List<Object> objects = redisTemplate.opsForList().range(key, 0, count - 1);
-        if (objects == null || objects.isEmpty()) {
-            return List.of();
+    private int foldViewerSets(String family, String pattern, int maxKeys, int pageSize) {
+        String pendingKey = "viewer-count:migration:" + family + ":pending";
+        Set<String> pending = stringRedisTemplate.opsForSet().distinctRandomMembers(pendingKey, maxKeys);
+        if (pending == null || pending.isEmpty()) {
+            findViewerSets("viewer-count:migration:" + family + ":scan", pendingKey, pattern, maxKeys, pageSize);
+            return 0;
         }
+        int migrated = 0;
+        for (String setKey : pending) {
+            Long done = stringRedisTemplate.execute(FOLD_VIEWER_SET_STEP_SCRIPT,
+                    List.of(setKey, setKey + "_hll", "viewer-count:migration:cursor:" + setKey),
+                    String.valueOf(pageSize));
+            if (done != null && done == 1L) {
+                stringRedisTemplate.opsForSet().remove(pendingKey, setKey);
+                migrated++;
+            }
+        }
+        return migrated;
+    }
 
-        redisTemplate.opsForList().trim(key, count, -1);
-
-        return objects.stream().map(Object::toString).collect(Collectors.toList());
+    /**
+     * 옮길 SET 키를 찾아 대기 목록에 넣는다. 스크립트 안에서 KEYS 로 넘기지 않은 키를 건드리지 않도록 SCAN/TYPE 은 클라이언트에서 한다.
+     * 옮긴 SET 은 지워지므로 매번 처음부터 훑어도 남은 키만 찾는다. 끝까지 훑어 찾은 키가 없으면 하루 동안 다시 훑지 않는다.
+     */
+    private void findViewerSets(String scanKey, String pendingKey, String pattern, int maxKeys, int pageSize) {
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(scanKey))) {
+            return;
+        }
+        List<String> found = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(pageSize).build();
+        try (Cursor<String> keys = stringRedisTemplate.scan(options)) {
+            while (keys.hasNext() && found.size() < maxKeys) {
+                String key = keys.next();
+                if (DataType.SET == stringRedisTemplate.type(key)) {
+                    found.add(key);
+                }
+            }
+        }
+        if (found.isEmpty()) {
+            stringRedisTemplate.opsForValue().set(scanKey, "done", Duration.ofDays(1));
+            return;
+        }
+        stringRedisTemplate.opsForSet().add(pendingKey, found.toArray(String[]::new));
     }
 
-    public boolean toggleLike(Long broadcastId, Long memberId) {
-        String key = getLikeUsersKey(broadcastId);
+    private int countViewerHll(String setKey, String hllKey) {
+        Long count = stringRedisTemplate.execute(COUNT_VIEWER_HLL_SCRIPT, List.of(setKey, hllKey));
+        return count != null ? count.intValue() : 0;
+    }
 
-        Boolean isMember = redisTemplate.opsForSet().isMember(key, String.valueOf(memberId));
+    // 방송별 리스트에 "action:broadcastId:viewerId:timestamp" 형태로 순서대로 쌓고, 버퍼가 있는 방송 id 를 표시한다.
+    public void bufferViewHistory(String action, Long broadcastId, String viewerId) {
+        String value = action + ":" + broadcastId + ":" + viewerId + ":" + System.currentTimeMillis();
+        stringRedisTemplate.execute(BUFFER_VIEW_HISTORY_SCRIPT,
+                List.of(getViewHistoryBufferKey(String.valueOf(broadcastId)), getViewHistoryBufferKey("pending")),
+                value, String.valueOf(broadcastId));
+    }
 
-        if (Boolean.TRUE.equals(isMember)) {
-            redisTemplate.opsForSet().remove(key, String.valueOf(memberId));
-            return false;
+    public Set<Long> getViewHistoryBufferedBroadcastIds() {
+        Set<String> members = stringRedisTemplate.opsForSet().members(getViewHistoryBufferKey("pending"));
+        if (members == null || members.isEmpty()) {
+            return Set.of();
         }
+        return members.stream()
+                .map(Long::parseLong)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 버퍼를 지우지 않고 start 번째부터 최대 count 개를 읽는다. DB 반영이 커밋된 뒤 trimViewHistoryBuffer 로 지운다.
+     */
+    public List<String> peekViewHistoryBuffer(Long broadcastId, long start, int count) {
+        List<String> events = stringRedisTemplate.opsForList()
+                .range(getViewHistoryBufferKey(String.valueOf(broadcastId)), start, start + count - 1);
+        return events != null ? events : List.of();
+    }
+
+    /**
+     * 앞에서부터 count 개를 지운다. 버퍼가 비면 대기 방송 표시도 함께 지운다.
+     */
+    public void trimViewHistoryBuffer(Long broadcastId, long count) {
+        stringRedisTemplate.execute(TRIM_VIEW_HISTORY_SCRIPT,
+                List.of(getViewHistoryBufferKey(String.valueOf(broadcastId)), getViewHistoryBufferKey("pending")),
+                String.valueOf(count), String.valueOf(broadcastId));
+    }
 
-        redisTemplate.opsForSet().add(key, String.valueOf(memberId));
-        return true;
+    public ReactionResult toggleLike(Long broadcastId, Long memberId) {
+        return executeReaction(TOGGLE_LIKE_SCRIPT, getLikeUsersKey(broadcastId),
+                getVodLikeDeltaKey(broadcastId), broadcastId, memberId, false);
     }
 
     public boolean isMemberLiked(Long broadcastId, Long memberId) {
         String key = getLikeUsersKey(broadcastId);
-        Boolean isMember = redisTemplate.opsForSet().isMember(key, String.valueOf(memberId));
-        return Boolean.TRUE.equals(isMember);
+        // 좋아요 스크립트는 원본 문자열로 저장한다. 아직 옮겨지지 않은 이전 형식(JSON 문자열) 멤버도 좋아요로 본다.
+        String member = String.valueOf(memberId);
+        return Boolean.TRUE.equals(stringRedisTemplate.opsForSet().isMember(key, member))
+                || Boolean.TRUE.equals(stringRedisTemplate.opsForSet().isMember(key, "\"" + member + "\""));
     }
 
     public int getLikeCount(Long broadcastId) {
@@ -296,18 +847,9 @@ public class RedisService {
         return size != null ? size.intValue() : 0;
     }
 
-    public boolean reportBroadcast(Long broadcastId, Long memberId) {
-        String userKey = getReportUsersKey(broadcastId);
-        String countKey = getReportCountKey(broadcastId);
-
-        Long added = redisTemplate.opsForSet().add(userKey, String.valueOf(memberId));
-
-        if (added != null && added == 1) {
-            redisTemplate.opsForValue().increment(countKey);
-            return true;
-        }
-
-        return false;
+    public ReactionResult reportBroadcast(Long broadcastId, Long memberId) {
+        return executeReaction(REPORT_SCRIPT, getReportUsersKey(broadcastId),
+                getReportCountKey(broadcastId), broadcastId, memberId, false);
     }
 
     public int getReportCount(Long broadcastId) {
@@ -318,7 +860,10 @@ public class RedisService {
         if (viewerId == null || viewerId.isBlank()) {
             return false;
         }
-        Long added = redisTemplate.opsForSet().add(getVodViewersKey(broadcastId), viewerId);
+        Long added = vodViewersHll
+                ? stringRedisTemplate.execute(ADD_VIEWER_HLL_SCRIPT,
+                List.of(getVodViewersKey(broadcastId), getVodViewersHllKey(broadcastId)), viewerId)
+                : redisTemplate.opsForSet().add(getVodViewersKey(broadcastId), viewerId);
         if (added != null && added == 1) {
             redisTemplate.opsForValue().increment(getVodViewDeltaKey(broadcastId));
             markVodDirty(broadcastId);
@@ -327,22 +872,12 @@ public class RedisService {
         return false;
     }
 
-    public boolean toggleVodLike(Long broadcastId, Long memberId) {
-        String key = getLikeUsersKey(broadcastId);
-        String memberKey = String.valueOf(memberId);
-
-        Boolean isMember = redisTemplate.opsForSet().isMember(key, memberKey);
-        if (Boolean.TRUE.equals(isMember)) {
-            redisTemplate.opsForSet().remove(key, memberKey);
-            redisTemplate.opsForValue().decrement(getVodLikeDeltaKey(broadcastId));
-            markVodDirty(broadcastId);
-            return false;
-        }
-
-        redisTemplate.opsForSet().add(key, memberKey);
-        redisTemplate.opsForValue().increment(getVodLikeDeltaKey(broadcastId));
-        markVodDirty(broadcastId);
-        return true;
+    /**
+     * count 는 아직 DB 에 반영되지 않은 like_delta 다.
+     */
+    public ReactionResult toggleVodLike(Long broadcastId, Long memberId) {
+        return executeReaction(TOGGLE_LIKE_SCRIPT, getLikeUsersKey(broadcastId),
+                getVodLikeDeltaKey(broadcastId), broadcastId, memberId, true);
     }
 
     public int getVodLikeDelta(Long broadcastId) {
@@ -353,18 +888,12 @@ public class RedisService {
         return getInt(getVodViewDeltaKey(broadcastId));
     }
 
-    public boolean reportVod(Long broadcastId, Long memberId) {
-        String userKey = getReportUsersKey(broadcastId);
-        String memberKey = String.valueOf(memberId);
-
-        Long added = redisTemplate.opsForSet().add(userKey, memberKey);
-        if (added != null && added == 1) {
-            redisTemplate.opsForValue().increment(getVodReportDeltaKey(broadcastId));
-            markVodDirty(broadcastId);
-            return true;
-        }
-
-        return false;
+    /**
+     * count 는 아직 DB 에 반영되지 않은 report_delta 다.
+     */
+    public ReactionResult reportVod(Long broadcastId, Long memberId) {
+        return executeReaction(REPORT_SCRIPT, getReportUsersKey(broadcastId),
+                getVodReportDeltaKey(broadcastId), broadcastId, memberId, true);
     }
 
     public int getVodReportDelta(Long broadcastId) {
@@ -409,12 +938,11 @@ public class RedisService {
     }
 
     public int getMaxViewers(Long broadcastId) {
-        return getInt(getMaxViewersKey(broadcastId));
+        return parseInt(stringRedisTemplate.opsForValue().get(getMaxViewersKey(broadcastId)));
     }
 
     public LocalDateTime getMaxViewersTime(Long broadcastId) {
-        Object val = redisTemplate.opsForValue().get(getMaxViewersTimeKey(broadcastId));
-        return val != null ? LocalDateTime.parse(val.toString()) : null;
+        return parseDateTime(stringRedisTemplate.opsForValue().get(getMaxViewersTimeKey(broadcastId)));
     }
 
     public void increment(String key) {
@@ -441,21 +969,27 @@ public class RedisService {
         redisTemplate.delete(getRealtimeViewKey(broadcastId));
         redisTemplate.delete(getSessionCountKey(broadcastId));
         redisTemplate.delete(getTotalUvKey(broadcastId));
+        redisTemplate.delete(getTotalUvHllKey(broadcastId));
         redisTemplate.delete(getLikeUsersKey(broadcastId));
         redisTemplate.delete(getSanctionKey(broadcastId));
         redisTemplate.delete(getReportUsersKey(broadcastId));
         redisTemplate.delete(getReportCountKey(broadcastId));
         redisTemplate.delete(getMaxViewersKey(broadcastId));
         redisTemplate.delete(getMaxViewersTimeKey(broadcastId));
+        redisTemplate.delete(getLiveSalesKey(broadcastId));
+        redisTemplate.delete(getWatchTimeKey(broadcastId));
     }
 
     public void deleteBroadcastRuntimeKeys(Long broadcastId) {
         redisTemplate.delete(getRealtimeViewKey(broadcastId));
         redisTemplate.delete(getSessionCountKey(broadcastId));
         redisTemplate.delete(getTotalUvKey(broadcastId));
+        redisTemplate.delete(getTotalUvHllKey(broadcastId));
         redisTemplate.delete(getSanctionKey(broadcastId));
         redisTemplate.delete(getMaxViewersKey(broadcastId));
         redisTemplate.delete(getMaxViewersTimeKey(broadcastId));
+        redisTemplate.delete(getLiveSalesKey(broadcastId));
+        redisTemplate.delete(getWatchTimeKey(broadcastId));
     }
 
     public void persistVodReactionKeys(Long broadcastId) {
@@ -469,26 +1003,58 @@ public class RedisService {
         redisTemplate.delete(getReportUsersKey(broadcastId));
         redisTemplate.delete(getReportCountKey(broadcastId));
         redisTemplate.delete(getVodViewersKey(broadcastId));
+        redisTemplate.delete(getVodViewersHllKey(broadcastId));
         redisTemplate.delete(getVodViewDeltaKey(broadcastId));
         redisTemplate.delete(getVodLikeDeltaKey(broadcastId));
         redisTemplate.delete(getVodReportDeltaKey(broadcastId));
         redisTemplate.opsForSet().remove(getVodStatsDirtyKey(), String.valueOf(broadcastId));
     }
 
-    private void expireKey(String key) {
-        redisTemplate.expire(key, Duration.ofDays(1));
+    private ReactionResult executeReaction(RedisScript<List> script, String usersKey, String countKey,
+                                           Long broadcastId, Long memberId, boolean vod) {
+        List<?> result = stringRedisTemplate.execute(script,
+                List.of(usersKey, countKey, getVodStatsDirtyKey()),
+                String.valueOf(memberId), vod ? "1" : "0", String.valueOf(broadcastId));
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("Reaction script returned no result: broadcastId=" + broadcastId);
+        }
+        return new ReactionResult(
+                ((Number) result.get(0)).longValue() == 1L,
+                ((Number) result.get(1)).intValue()
+        );
     }
 
-    public void updatePeakViewers(Long broadcastId) {
-        int current = getRealtimeViewerCount(broadcastId);
-        String maxKey = getMaxViewersKey(broadcastId);
+    private int parseInt(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return Integer.parseInt(unquote(value.toString()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
 
-        Integer max = getInt(maxKey);
+    private LocalDateTime parseDateTime(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(unquote(value.toString()));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
 
-        if (current > max) {
-            redisTemplate.opsForValue().set(maxKey, String.valueOf(current));
-            redisTemplate.opsForValue().set(getMaxViewersTimeKey(broadcastId), LocalDateTime.now().toString());
+    // 이전 버전이 JSON 직렬화로 저장한 값("...")도 원본 문자열로 읽는다.
+    private String unquote(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
         }
+        return value;
     }
 
     private int getInt(String key) {
@@ -6,6 +6,7 @@ import com.deskit.deskit.livehost.common.enums.ActorType;
 import com.deskit.deskit.livehost.common.enums.SanctionType;
 import com.deskit.deskit.livehost.common.exception.BusinessException;
 import com.deskit.deskit.livehost.common.exception.ErrorCode;
+import com.deskit.deskit.livehost.dto.request.ChatSlowModeRequest;
 import com.deskit.deskit.livehost.dto.request.SanctionRequest;
 import com.deskit.deskit.livehost.entity.Broadcast;
 import com.deskit.deskit.livehost.entity.Sanction;
@@ -26,6 +27,8 @@ public class SanctionService {
     private final MemberRepository memberRepository;
     private final RedisService redisService;
     private final SseService sseService;
+    private final ChatPermissionCache chatPermissionCache;
+    private final ChatSlowModeService chatSlowModeService;
     private final OpenViduService openViduService;
 
     @Transactional
@@ -53,6 +56,7 @@ public class SanctionService {
                 .build();
 
         sanctionRepository.save(sanction);
+        chatPermissionCache.applySanction(broadcastId, member.getMemberId(), request.getStatus());
 
         redisService.increment(redisService.getSanctionKey(broadcastId));
 
@@ -88,6 +92,24 @@ public class SanctionService {
         );
     }
 
+    @Transactional(readOnly = true)
+    public void updateChatSlowMode(Long sellerId, Long broadcastId, ChatSlowModeRequest request) {
+        Broadcast broadcast = broadcastRepository.findById(broadcastId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.BROADCAST_NOT_FOUND));
+
+        if (!broadcast.getSeller().getSellerId().equals(sellerId)) {
+            throw new BusinessException(ErrorCode.FORBIDDEN_ACCESS);
+        }
+
+        chatSlowModeService.update(broadcastId, request.getIntervalSeconds());
+
+        sseService.notifyBroadcastUpdate(
+                broadcastId,
+                "CHAT_SLOW_MODE_UPDATED",
+                Map.of("intervalSeconds", request.getIntervalSeconds())
+        );
+    }
+
     @Transactional
     public void sanctionUserByAdmin(Long adminId, Long broadcastId, SanctionRequest request) {
         Broadcast broadcast = broadcastRepository.findById(broadcastId)
@@ -109,6 +131,7 @@ public class SanctionService {
                 .build();
 
         sanctionRepository.save(sanction);
+        chatPermissionCache.applySanction(broadcastId, member.getMemberId(), request.getStatus());
 
         redisService.increment(redisService.getSanctionKey(broadcastId));
 
@@ -0,0 +1,29 @@
+package com.deskit.deskit.livehost.service;
+
+import java.util.UUID;
+
+/**
+ * 노드 간에 전달되는 SSE 이벤트. eventId 는 발행마다 새로 부여되며 같은 이벤트의 중복 전달을 거르는 데만 쓴다.
+ */
+public record SseEnvelope(String eventId, Scope scope, Long broadcastId, String userId, String eventName, Object data) {
+
+    public enum Scope {
+        BROADCAST, TARGET, GLOBAL
+    }
+
+    public static SseEnvelope broadcast(Long broadcastId, String eventName, Object data) {
+        return new SseEnvelope(newEventId(), Scope.BROADCAST, broadcastId, null, eventName, data);
+    }
+
+    public static SseEnvelope target(Long broadcastId, String userId, String eventName, Object data) {
+        return new SseEnvelope(newEventId(), Scope.TARGET, broadcastId, userId, eventName, data);
+    }
+
+    public static SseEnvelope global(Long broadcastId, String eventName, Object data) {
+        return new SseEnvelope(newEventId(), Scope.GLOBAL, broadcastId, null, eventName, data);
+    }
+
+    private static String newEventId() {
+        return UUID.randomUUID().toString();
+    }
+}
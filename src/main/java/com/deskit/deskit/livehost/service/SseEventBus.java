@@ -0,0 +1,222 @@
+package com.deskit.deskit.livehost.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * SSE 이벤트를 Redis Pub/Sub 으로 클러스터 전체 노드에 전달한다.
+ * - 방송별 채널(sse:broadcast:{id})은 로컬 구독자가 있는 노드만 구독한다.
+ * - 짧은 윈도우 동안 같은 채널로 발행되는 이벤트는 한 번에 묶어 발행한다. 같은 eventId 가 다시 들어온 경우만 하나로 합친다.
+ * - data 는 클래스 이름과 함께 보내 받는 노드에서도 원래 DTO 타입으로 복원한다.
+ */
+@Slf4j
+@Component
+public class SseEventBus implements MessageListener {
+
+    private static final String BROADCAST_CHANNEL_PREFIX = "sse:broadcast:";
+    private static final String GLOBAL_CHANNEL = "sse:global";
+    private static final String DATA_TYPE_PACKAGE = "com.deskit.deskit.";
+    private static final TypeReference<List<Frame>> FRAME_LIST = new TypeReference<>() {
+    };
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "SseBusFlush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, LinkedHashMap<String, PendingEvent>> pending = new LinkedHashMap<>();
+    private final Map<String, Class<?>> dataTypes = new ConcurrentHashMap<>();
+    private final Set<Long> subscribedBroadcasts = new HashSet<>();
+    private boolean flushScheduled;
+    private Consumer<SseEnvelope> deliveryHandler = envelope -> {
+    };
+
+    @Value("${sse.bus.coalesce-window-ms:50}")
+    private long coalesceWindowMillis;
+
+    public SseEventBus(
+            StringRedisTemplate stringRedisTemplate,
+            @Qualifier("redisMessageListener") RedisMessageListenerContainer listenerContainer,
+            ObjectMapper objectMapper
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(GLOBAL_CHANNEL));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdown();
+        flush();
+    }
+
+    public void registerDeliveryHandler(Consumer<SseEnvelope> handler) {
+        this.deliveryHandler = handler;
+    }
+
+    public void publish(SseEnvelope envelope) {
+        String channel = envelope.scope() == SseEnvelope.Scope.GLOBAL
+                ? GLOBAL_CHANNEL
+                : BROADCAST_CHANNEL_PREFIX + envelope.broadcastId();
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(Frame.of(envelope, objectMapper));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.warn("SSE event serialization failed, delivering locally: eventName={}", envelope.eventName());
+            deliveryHandler.accept(envelope);
+            return;
+        }
+        synchronized (this) {
+            // 같은 이벤트(eventId)가 다시 들어오면 마지막 위치로 옮긴다. 본문이 같아도 다른 이벤트는 모두 보낸다.
+            LinkedHashMap<String, PendingEvent> events = pending.computeIfAbsent(channel, key -> new LinkedHashMap<>());
+            events.remove(envelope.eventId());
+            events.put(envelope.eventId(), new PendingEvent(envelope, body));
+            if (!flushScheduled) {
+                flushScheduled = true;
+                flushScheduler.schedule(this::flush, coalesceWindowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * 로컬 구독자 유무에 맞춰 방송 채널 구독 상태를 맞춘다.
+     * 상태는 잠금 안에서 다시 읽으므로 등록/해제 호출 순서가 뒤바뀌어도 최종 상태가 맞는다.
+     */
+    public synchronized void syncBroadcastSubscription(Long broadcastId, BooleanSupplier hasLocalListeners) {
+        boolean active = hasLocalListeners.getAsBoolean();
+        ChannelTopic topic = new ChannelTopic(BROADCAST_CHANNEL_PREFIX + broadcastId);
+        if (active && subscribedBroadcasts.add(broadcastId)) {
+            listenerContainer.addMessageListener(this, topic);
+        } else if (!active && subscribedBroadcasts.remove(broadcastId)) {
+            listenerContainer.removeMessageListener(this, topic);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        List<Frame> frames;
+        try {
+            frames = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), FRAME_LIST);
+        } catch (Exception e) {
+            log.warn("Invalid SSE bus message: channel={}, reason={}",
+                    new String(message.getChannel(), StandardCharsets.UTF_8), e.getMessage());
+            return;
+        }
+        for (Frame frame : frames) {
+            try {
+                deliveryHandler.accept(frame.toEnvelope(readData(frame)));
+            } catch (Exception e) {
+                log.warn("SSE local delivery failed: eventName={}, reason={}", frame.eventName(), e.getMessage());
+            }
+        }
+    }
+
+    private Object readData(Frame frame) {
+        if (frame.data() == null || frame.data().isNull()) {
+            return null;
+        }
+        return objectMapper.convertValue(frame.data(), resolveDataType(frame.dataType()));
+    }
+
+    /**
+     * 애플리케이션 DTO 와 java.lang 타입만 클래스 이름으로 복원한다. 그 밖의 타입(Map, List 등)은 JSON 기본 타입으로 둔다.
+     */
+    private Class<?> resolveDataType(String dataType) {
+        if (dataType == null || !(dataType.startsWith(DATA_TYPE_PACKAGE) || dataType.startsWith("java.lang."))) {
+            return Object.class;
+        }
+        return dataTypes.computeIfAbsent(dataType, name -> {
+            try {
+                return Class.forName(name, false, SseEventBus.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                log.warn("Unknown SSE data type, delivering as JSON: dataType={}", name);
+                return Object.class;
+            }
+        });
+    }
+
+    private void flush() {
+        Map<String, LinkedHashMap<String, PendingEvent>> batch;
+        synchronized (this) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new LinkedHashMap<>(pending);
+            pending.clear();
+        }
+        batch.forEach((channel, events) -> {
+            List<String> bodies = new ArrayList<>(events.size());
+            events.values().forEach(event -> bodies.add(event.body()));
+            String body = "[" + String.join(",", bodies) + "]";
+            try {
+                stringRedisTemplate.convertAndSend(channel, body);
+            } catch (Exception e) {
+                // Redis 장애 시에도 최소한 이 노드의 구독자에게는 전달한다.
+                log.warn("SSE bus publish failed, delivering locally: channel={}, reason={}", channel, e.getMessage());
+                deliverLocally(events.values());
+            }
+        });
+    }
+
+    private void deliverLocally(Collection<PendingEvent> events) {
+        events.forEach(event -> deliveryHandler.accept(event.envelope()));
+    }
+
+    private record PendingEvent(SseEnvelope envelope, String body) {
+    }
+
+    /**
+     * Pub/Sub 으로 오가는 형식. data 의 원래 타입을 dataType 에 담는다.
+     */
+    record Frame(String eventId, SseEnvelope.Scope scope, Long broadcastId, String userId, String eventName,
+                         String dataType, JsonNode data) {
+
+        private static Frame of(SseEnvelope envelope, ObjectMapper objectMapper) {
+            Object data = envelope.data();
+            return new Frame(envelope.eventId(), envelope.scope(), envelope.broadcastId(), envelope.userId(),
+                    envelope.eventName(), data != null ? data.getClass().getName() : null, objectMapper.valueToTree(data));
+        }
+
+        private SseEnvelope toEnvelope(Object data) {
+            return new SseEnvelope(eventId, scope, broadcastId, userId, eventName, data);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.deskit.deskit.livehost.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -8,65 +10,56 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.io.IOException;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 @Service
 public class SseService {
 
-    private final Map<String, SseEmitter> emitters = new ConcurrentHashMap<>();
+    private static final long EMITTER_TIMEOUT_MILLIS = 10 * 60 * 1000L;
+    private static final int EMITTER_QUEUE_CAPACITY = 64;
 
-    public SseEmitter subscribe(Long broadcastId, String userId) {
-        String resolvedUserId = resolveUserId(userId);
-        String key = buildBroadcastKey(broadcastId, resolvedUserId, UUID.randomUUID().toString());
-        SseEmitter emitter = new SseEmitter(10 * 60 * 1000L);
+    // broadcastId -> userId -> emitterKey -> handle
+    private final Map<Long, Map<String, Map<String, EmitterHandle>>> broadcastGroups = new ConcurrentHashMap<>();
+    // 전체 방송 목록 구독자(ALL 그룹): userId -> emitterKey -> handle
+    private final Map<String, Map<String, EmitterHandle>> allGroup = new ConcurrentHashMap<>();
 
-        emitters.put(key, emitter);
+    private final Executor sseSendExecutor;
+    private final SseEventBus sseEventBus;
 
-        emitter.onCompletion(() -> emitters.remove(key));
-        emitter.onTimeout(() -> {
-            emitters.remove(key);
-            emitter.complete();
-        });
-        emitter.onError((e) -> {
-            emitters.remove(key);
-            emitter.completeWithError(e);
-        });
+    // 한 번의 전송이 이보다 오래 막혀 있으면 정체된 클라이언트로 보고 끊는다.
+    @Value("${sse.send.stall-timeout-ms:10000}")
+    private long stallTimeoutMillis = 10000L;
 
-        sendToClient(emitter, key, "connect", "Connected!");
+    public SseService(@Qualifier("sseSendExecutor") Executor sseSendExecutor, SseEventBus sseEventBus) {
+        this.sseSendExecutor = sseSendExecutor;
+        this.sseEventBus = sseEventBus;
+        sseEventBus.registerDeliveryHandler(this::deliver);
+    }
 
-        return emitter;
+    public SseEmitter subscribe(Long broadcastId, String userId) {
+        String resolvedUserId = resolveUserId(userId);
+        String key = buildBroadcastKey(broadcastId, resolvedUserId, UUID.randomUUID().toString());
+        return register(new EmitterHandle(key, broadcastId, resolvedUserId, new SseEmitter(EMITTER_TIMEOUT_MILLIS)));
     }
 
     public SseEmitter subscribeAll(String userId) {
         String resolvedUserId = resolveUserId(userId);
         String key = buildAllKey(resolvedUserId, UUID.randomUUID().toString());
-        SseEmitter emitter = new SseEmitter(10 * 60 * 1000L);
-        emitters.put(key, emitter);
-
-        emitter.onCompletion(() -> emitters.remove(key));
-        emitter.onTimeout(() -> {
-            emitters.remove(key);
-            emitter.complete();
-        });
-        emitter.onError((e) -> {
-            emitters.remove(key);
-            emitter.completeWithError(e);
-        });
-
-        sendToClient(emitter, key, "connect", "Connected!");
-
-        return emitter;
+        return register(new EmitterHandle(key, null, resolvedUserId, new SseEmitter(EMITTER_TIMEOUT_MILLIS)));
     }
 
     public void notifyBroadcastUpdate(Long broadcastId, String eventName, Object data) {
-        String prefix = broadcastId + ":";
-        emitters.forEach((key, emitter) -> {
-            if (key.startsWith(prefix)) {
-                sendToClient(emitter, key, eventName, data);
-            }
-        });
-        notifyGlobalUpdate(broadcastId, eventName, data);
+        sseEventBus.publish(SseEnvelope.broadcast(broadcastId, eventName, data));
+        sseEventBus.publish(SseEnvelope.global(broadcastId, eventName, Map.of(
+                "broadcastId", broadcastId,
+                "payload", data
+        )));
     }
 
     public void notifyBroadcastUpdate(Long broadcastId, String eventName) {
@@ -78,18 +71,7 @@ public class SseService {
     }
 
     public void notifyTargetUser(Long broadcastId, Long userId, String eventName, Object data) {
-        String prefix = broadcastId + ":" + userId + ":";
-        boolean delivered = false;
-        for (Map.Entry<String, SseEmitter> entry : emitters.entrySet()) {
-            String key = entry.getKey();
-            if (key.startsWith(prefix)) {
-                sendToClient(entry.getValue(), key, eventName, data);
-                delivered = true;
-            }
-        }
-        if (!delivered) {
-            log.warn("Target user not found or disconnected: keyPrefix={}", prefix);
-        }
+        sseEventBus.publish(SseEnvelope.target(broadcastId, String.valueOf(userId), eventName, data));
     }
 
     public void notifyTargetUser(Long broadcastId, String userId, String eventName, Object data) {
@@ -97,45 +79,172 @@ public class SseService {
             log.warn("Skip target notify due to empty userId: broadcastId={}, eventName={}", broadcastId, eventName);
             return;
         }
-        String resolvedUserId = resolveUserId(userId);
-        String prefix = broadcastId + ":" + resolvedUserId + ":";
-        boolean delivered = false;
-        for (Map.Entry<String, SseEmitter> entry : emitters.entrySet()) {
-            String key = entry.getKey();
-            if (key.startsWith(prefix)) {
-                sendToClient(entry.getValue(), key, eventName, data);
-                delivered = true;
+        sseEventBus.publish(SseEnvelope.target(broadcastId, resolveUserId(userId), eventName, data));
+    }
+
+    // Redis 채널로 전달된 이벤트를 이 노드의 emitter 에만 전송한다.
+    private void deliver(SseEnvelope envelope) {
+        switch (envelope.scope()) {
+            case BROADCAST -> {
+                Map<String, Map<String, EmitterHandle>> group = broadcastGroups.get(envelope.broadcastId());
+                if (group != null) {
+                    group.values().forEach(userEmitters -> userEmitters.values()
+                            .forEach(handle -> enqueue(handle, envelope.eventName(), envelope.data())));
+                }
+            }
+            case TARGET -> {
+                Map<String, Map<String, EmitterHandle>> group = broadcastGroups.get(envelope.broadcastId());
+                Map<String, EmitterHandle> userEmitters = group != null ? group.get(envelope.userId()) : null;
+                if (userEmitters == null || userEmitters.isEmpty()) {
+                    log.debug("Target user not connected on this node: keyPrefix={}",
+                            envelope.broadcastId() + ":" + envelope.userId() + ":");
+                    return;
+                }
+                userEmitters.values().forEach(handle -> enqueue(handle, envelope.eventName(), envelope.data()));
             }
+            case GLOBAL -> allGroup.values().forEach(userEmitters -> userEmitters.values()
+                    .forEach(handle -> enqueue(handle, envelope.eventName(), envelope.data())));
         }
-        if (!delivered) {
-            log.warn("Target user not found or disconnected: keyPrefix={}", prefix);
+    }
+
+    @Scheduled(fixedRate = 30000)
+    public void sendHeartbeat() {
+        broadcastGroups.values().forEach(group -> group.values().forEach(userEmitters ->
+                userEmitters.values().forEach(handle -> enqueue(handle, "PING", "ping"))));
+        allGroup.values().forEach(userEmitters ->
+                userEmitters.values().forEach(handle -> enqueue(handle, "PING", "ping")));
+    }
+
+    // 소켓 쓰기에서 막힌 전송은 전송 스레드를 계속 잡고 있으므로, 연결을 끊어 쓰기가 실패하게 하고 새 이벤트도 받지 않는다.
+    @Scheduled(fixedRate = 5000)
+    public void closeStalledEmitters() {
+        long now = System.currentTimeMillis();
+        broadcastGroups.values().forEach(group -> group.values().forEach(userEmitters ->
+                userEmitters.values().forEach(handle -> closeIfStalled(handle, now))));
+        allGroup.values().forEach(userEmitters ->
+                userEmitters.values().forEach(handle -> closeIfStalled(handle, now)));
+    }
+
+    private void closeIfStalled(EmitterHandle handle, long now) {
+        long since = handle.sendingSince;
+        if (since == 0L || now - since < stallTimeoutMillis) {
+            return;
         }
+        log.debug("SSE send stalled, closing emitter: key={}, blockedMs={}", handle.key, now - since);
+        unregister(handle);
+        handle.emitter.complete();
     }
 
-    private void notifyGlobalUpdate(Long broadcastId, String eventName, Object data) {
-        Map<String, Object> payload = Map.of(
-                "broadcastId", broadcastId,
-                "payload", data
-        );
-        emitters.forEach((key, emitter) -> {
-            if (key.startsWith("ALL:")) {
-                sendToClient(emitter, key, eventName, payload);
-            }
+    private SseEmitter register(EmitterHandle handle) {
+        addToGroup(handle);
+
+        SseEmitter emitter = handle.emitter;
+        emitter.onCompletion(() -> unregister(handle));
+        emitter.onTimeout(() -> {
+            unregister(handle);
+            emitter.complete();
+        });
+        emitter.onError((e) -> {
+            unregister(handle);
+            emitter.completeWithError(e);
+        });
+
+        enqueue(handle, "connect", "Connected!");
+        return emitter;
+    }
+
+    private void addToGroup(EmitterHandle handle) {
+        if (handle.broadcastId == null) {
+            allGroup.compute(handle.userId, (userId, userEmitters) -> {
+                Map<String, EmitterHandle> target = userEmitters != null ? userEmitters : new ConcurrentHashMap<>();
+                target.put(handle.key, handle);
+                return target;
+            });
+            return;
+        }
+        broadcastGroups.compute(handle.broadcastId, (broadcastId, group) -> {
+            Map<String, Map<String, EmitterHandle>> target = group != null ? group : new ConcurrentHashMap<>();
+            target.computeIfAbsent(handle.userId, id -> new ConcurrentHashMap<>())
+                    .put(handle.key, handle);
+            return target;
         });
+        sseEventBus.syncBroadcastSubscription(handle.broadcastId, () -> broadcastGroups.containsKey(handle.broadcastId));
     }
 
-    @Scheduled(fixedRate = 30000)
-    public void sendHeartbeat() {
-        emitters.forEach((key, emitter) -> sendToClient(emitter, key, "PING", "ping"));
+    private void unregister(EmitterHandle handle) {
+        handle.queue.clear();
+        if (handle.broadcastId == null) {
+            allGroup.computeIfPresent(handle.userId, (userId, userEmitters) -> {
+                userEmitters.remove(handle.key);
+                return userEmitters.isEmpty() ? null : userEmitters;
+            });
+            return;
+        }
+        broadcastGroups.computeIfPresent(handle.broadcastId, (broadcastId, group) -> {
+            group.computeIfPresent(handle.userId, (userId, userEmitters) -> {
+                userEmitters.remove(handle.key);
+                return userEmitters.isEmpty() ? null : userEmitters;
+            });
+            return group.isEmpty() ? null : group;
+        });
+        if (!broadcastGroups.containsKey(handle.broadcastId)) {
+            sseEventBus.syncBroadcastSubscription(handle.broadcastId, () -> broadcastGroups.containsKey(handle.broadcastId));
+        }
     }
 
-    private void sendToClient(SseEmitter emitter, String id, String name, Object data) {
+    private void enqueue(EmitterHandle handle, String name, Object data) {
+        SseEmitter.SseEventBuilder event = SseEmitter.event().id(handle.key).name(name).data(data);
+        if (!handle.queue.offer(event)) {
+            // 큐가 가득 찬 클라이언트는 정체된 것으로 보고 연결을 끊는다(EventSource 가 재연결한다).
+            log.debug("SSE send queue overflow, closing emitter: key={}", handle.key);
+            unregister(handle);
+            handle.emitter.complete();
+            return;
+        }
+        scheduleDrain(handle);
+    }
+
+    private void scheduleDrain(EmitterHandle handle) {
+        if (!handle.draining.compareAndSet(false, true)) {
+            return;
+        }
         try {
-            emitter.send(SseEmitter.event().id(id).name(name).data(data));
+            sseSendExecutor.execute(() -> drain(handle));
+        } catch (RejectedExecutionException e) {
+            // 남은 이벤트는 다음 enqueue 시점에 다시 전송을 시도한다.
+            handle.draining.set(false);
+            log.debug("SSE send rejected: key={}", handle.key);
+        }
+    }
+
+    private void drain(EmitterHandle handle) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = handle.queue.poll()) != null) {
+                if (!sendToClient(handle, event)) {
+                    return;
+                }
+            }
+        } finally {
+            handle.draining.set(false);
+        }
+        if (!handle.queue.isEmpty()) {
+            scheduleDrain(handle);
+        }
+    }
+
+    private boolean sendToClient(EmitterHandle handle, SseEmitter.SseEventBuilder event) {
+        handle.sendingSince = System.currentTimeMillis();
+        try {
+            handle.emitter.send(event);
+            return true;
         } catch (IOException | IllegalStateException e) {
-            emitters.remove(id);
-            emitter.complete();
-            log.debug("SSE connection closed: key={}, reason={}", id, e.getMessage());
+            unregister(handle);
+            handle.emitter.complete();
+            log.debug("SSE connection closed: key={}, reason={}", handle.key, e.getMessage());
+            return false;
+        } finally {
+            handle.sendingSince = 0L;
         }
     }
 
@@ -153,4 +262,22 @@ public class SseService {
     private String buildAllKey(String userId, String sessionId) {
         return "ALL:" + userId + ":" + sessionId;
     }
+
+    private static final class EmitterHandle {
+        private final String key;
+        private final Long broadcastId;
+        private final String userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(EMITTER_QUEUE_CAPACITY);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // 진행 중인 send 의 시작 시각(ms), 보내는 중이 아니면 0
+        private volatile long sendingSince;
+
+        private EmitterHandle(String key, Long broadcastId, String userId, SseEmitter emitter) {
+            this.key = key;
+            this.broadcastId = broadcastId;
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
 }
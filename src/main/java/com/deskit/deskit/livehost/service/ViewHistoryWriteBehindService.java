@@ -0,0 +1,375 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.livehost.entity.Broadcast;
+import com.deskit.deskit.livehost.repository.ViewHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+/**
+ * 시청 기록(view_history) write-behind 처리.
+ * - 입장/퇴장은 방송별 Redis 버퍼에만 적재하고, 스케줄러가 JDBC batch 로 한 번에 insert/close 한다.
+ * - 평균 시청 시간은 반영 시점마다 Redis 집계(세션 수, 누적 초)에 더해 DB 조회 없이 계산한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ViewHistoryWriteBehindService {
+
+    private static final String ENTER = "ENTER";
+    private static final String EXIT = "EXIT";
+    private static final String DRAIN_LOCK_KEY_PREFIX = "lock:view_history_drain:";
+    private static final long LOCK_TIMEOUT_MILLIS = 30000L;
+    private static final long LOCK_WAIT_MILLIS = 10000L;
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_BATCHES_PER_RUN = 20;
+    // 배치 하나의 트랜잭션 제한 시간. 락이 이만큼 남아 있을 때만 다음 배치를 시작한다.
+    private static final int BATCH_TIMEOUT_SECONDS = 10;
+
+    private final RedisService redisService;
+    private final ViewHistoryRepository viewHistoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    public void recordEnter(Long broadcastId, String viewerId) {
+        if (broadcastId == null || viewerId == null || viewerId.isBlank()) {
+            return;
+        }
+        redisService.bufferViewHistory(ENTER, broadcastId, viewerId);
+    }
+
+    public void recordExit(Long broadcastId, String viewerId) {
+        if (broadcastId == null || viewerId == null || viewerId.isBlank()) {
+            return;
+        }
+        redisService.bufferViewHistory(EXIT, broadcastId, viewerId);
+    }
+
+    public void initWatchTime(Long broadcastId) {
+        ViewHistoryRepository.WatchTimeRow totals = viewHistoryRepository.getWatchTimeTotals(broadcastId);
+        long sessions = totals != null && totals.getSessions() != null ? totals.getSessions() : 0L;
+        long seconds = totals != null && totals.getSeconds() != null ? totals.getSeconds() : 0L;
+        redisService.storeWatchTime(broadcastId, sessions, seconds);
+    }
+
+    public Double getAverageWatchTime(Long broadcastId) {
+        Double cached = redisService.getAverageWatchTime(broadcastId);
+        if (cached != null) {
+            return cached;
+        }
+        return viewHistoryRepository.getAverageWatchTime(broadcastId);
+    }
+
+    /**
+     * 방송 종료 시 이 방송의 버퍼를 현재 트랜잭션 안에서 먼저 반영한 뒤 남은 시청 기록을 일괄 종료한다.
+     * 다른 노드가 같은 방송 버퍼를 반영 중이면 끝날 때까지 기다리고, 버퍼는 커밋된 뒤에만 지운다(롤백 시 그대로 남는다).
+     */
+    public void closeActiveHistories(Broadcast broadcast) {
+        if (broadcast == null) {
+            return;
+        }
+        Long broadcastId = broadcast.getBroadcastId();
+        String lockKey = DRAIN_LOCK_KEY_PREFIX + broadcastId;
+        Map<Long, long[]> watchTimeDeltas = new HashMap<>();
+        if (awaitLock(lockKey)) {
+            long flushed = 0;
+            try {
+                List<String> events;
+                do {
+                    events = redisService.peekViewHistoryBuffer(broadcastId, flushed, BATCH_SIZE);
+                    mergeDeltas(watchTimeDeltas, apply(events));
+                    flushed += events.size();
+                } while (events.size() == BATCH_SIZE);
+            } catch (RuntimeException e) {
+                redisService.releaseLock(lockKey);
+                throw e;
+            }
+            long flushedCount = flushed;
+            afterCompletion(committed -> {
+                try {
+                    if (committed && flushedCount > 0) {
+                        redisService.trimViewHistoryBuffer(broadcastId, flushedCount);
+                    }
+                } finally {
+                    redisService.releaseLock(lockKey);
+                }
+            });
+        } else {
+            log.warn("View history buffer busy, closing without flush: broadcastId={}", broadcastId);
+        }
+
+        LocalDateTime exitAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Long openSeconds = viewHistoryRepository.sumOpenWatchSeconds(broadcastId, exitAt);
+        viewHistoryRepository.closeActiveHistories(broadcast, exitAt);
+        long seconds = openSeconds != null ? openSeconds : 0L;
+        if (seconds > 0) {
+            watchTimeDeltas.computeIfAbsent(broadcastId, id -> new long[2])[1] += seconds;
+        }
+        afterCompletion(committed -> {
+            if (committed) {
+                addWatchTime(watchTimeDeltas);
+            }
+        });
+    }
+
+    /**
+     * 버퍼가 쌓인 방송별로 반영한다. 배치마다 별도 트랜잭션으로 반영하고, 커밋된 뒤에만 버퍼에서 지운다.
+     * 실패한 배치는 버퍼에 그대로 남아 다음 주기에 다시 반영된다.
+     * 락이 만료된 뒤 다른 노드와 함께 반영하지 않도록, 락 안에서 끝낼 수 있는 배치만 시작한다.
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void drain() {
+        for (Long broadcastId : redisService.getViewHistoryBufferedBroadcastIds()) {
+            String lockKey = DRAIN_LOCK_KEY_PREFIX + broadcastId;
+            long lockExpiresAt = System.currentTimeMillis() + LOCK_TIMEOUT_MILLIS;
+            // 다른 노드가 반영 중이거나 방송 종료 처리 중이면 다음 주기에 다시 본다.
+            if (!Boolean.TRUE.equals(redisService.acquireLock(lockKey, LOCK_TIMEOUT_MILLIS))) {
+                continue;
+            }
+            try {
+                drainBroadcast(broadcastId, lockExpiresAt);
+            } catch (Exception e) {
+                log.warn("View history flush failed, keep buffered: broadcastId={}, reason={}",
+                        broadcastId, e.getMessage());
+            } finally {
+                redisService.releaseLock(lockKey);
+            }
+        }
+    }
+
+    private void drainBroadcast(Long broadcastId, long lockExpiresAt) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // 제한 시간을 넘긴 배치는 롤백되어 버퍼에 남는다.
+        transactionTemplate.setTimeout(BATCH_TIMEOUT_SECONDS);
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            if (System.currentTimeMillis() + BATCH_TIMEOUT_SECONDS * 1000L >= lockExpiresAt) {
+                return;
+            }
+            List<String> events = redisService.peekViewHistoryBuffer(broadcastId, 0, BATCH_SIZE);
+            if (!events.isEmpty()) {
+                Map<Long, long[]> watchTimeDeltas = transactionTemplate.execute(status -> apply(events));
+                redisService.trimViewHistoryBuffer(broadcastId, events.size());
+                addWatchTime(watchTimeDeltas);
+            } else {
+                redisService.trimViewHistoryBuffer(broadcastId, 0);
+            }
+            if (events.size() < BATCH_SIZE) {
+                return;
+            }
+        }
+    }
+
+    private boolean awaitLock(String lockKey) {
+        long deadline = System.currentTimeMillis() + LOCK_WAIT_MILLIS;
+        while (!Boolean.TRUE.equals(redisService.acquireLock(lockKey, LOCK_TIMEOUT_MILLIS))) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(50L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 시청 기록을 DB 에 반영하고 방송별 시청 시간 증분(세션 수, 초)을 반환한다. Redis 집계는 커밋 후 호출자가 반영한다.
+     */
+    private Map<Long, long[]> apply(List<String> rawEvents) {
+        List<ViewEvent> events = new ArrayList<>(rawEvents.size());
+        for (String raw : rawEvents) {
+            ViewEvent event = ViewEvent.parse(raw);
+            if (event == null) {
+                log.warn("Invalid view history event: {}", raw);
+                continue;
+            }
+            events.add(event);
+        }
+        if (events.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<ViewerKey, ActiveRow> openRows = findActiveRows(events);
+        Map<ViewerKey, PendingRow> pendingInserts = new LinkedHashMap<>();
+        List<PendingRow> inserts = new ArrayList<>();
+        List<Object[]> closes = new ArrayList<>();
+        Map<Long, long[]> watchTimeDeltas = new HashMap<>();
+
+        // 배치 안에서 입장/퇴장을 순서대로 재생해 최종 insert/close 대상을 만든다.
+        for (ViewEvent event : events) {
+            ViewerKey key = event.key();
+            if (ENTER.equals(event.action())) {
+                if (openRows.containsKey(key) || pendingInserts.containsKey(key)) {
+                    continue;
+                }
+                PendingRow row = new PendingRow(key, event.at());
+                pendingInserts.put(key, row);
+                inserts.add(row);
+                watchTimeDeltas.computeIfAbsent(key.broadcastId(), id -> new long[2])[0]++;
+                continue;
+            }
+            PendingRow pending = pendingInserts.remove(key);
+            if (pending != null) {
+                pending.exitAt = event.at();
+                watchTimeDeltas.get(key.broadcastId())[1] += Duration.between(pending.enterAt, event.at()).toSeconds();
+                continue;
+            }
+            ActiveRow active = openRows.remove(key);
+            if (active != null) {
+                closes.add(new Object[]{Timestamp.valueOf(event.at()), active.historyId()});
+                watchTimeDeltas.computeIfAbsent(key.broadcastId(), id -> new long[2])[1] +=
+                        Math.max(0, Duration.between(active.createdAt(), event.at()).toSeconds());
+            }
+        }
+
+        // 기존 활성 기록을 먼저 닫아야 새로 넣은 활성 기록과 섞이지 않는다.
+        if (!closes.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE view_history SET updated_at = ?, exited = TRUE WHERE history_id = ?", closes);
+        }
+        if (!inserts.isEmpty()) {
+            List<Object[]> params = new ArrayList<>(inserts.size());
+            for (PendingRow row : inserts) {
+                LocalDateTime updatedAt = row.exitAt != null ? row.exitAt : row.enterAt;
+                params.add(new Object[]{
+                        row.key.broadcastId(),
+                        row.key.viewerId(),
+                        Timestamp.valueOf(row.enterAt),
+                        Timestamp.valueOf(updatedAt),
+                        row.exitAt != null
+                });
+            }
+            // 같은 초에 입장/퇴장한 기록도 exited 로 닫힌 것을 구분한다(updated_at = created_at 만으로는 열린 기록과 같아 보인다).
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO view_history (broadcast_id, viewer_id, created_at, updated_at, exited) VALUES (?, ?, ?, ?, ?)",
+                    params
+            );
+        }
+
+        return watchTimeDeltas;
+    }
+
+    private void mergeDeltas(Map<Long, long[]> target, Map<Long, long[]> deltas) {
+        deltas.forEach((broadcastId, delta) -> {
+            long[] sum = target.computeIfAbsent(broadcastId, id -> new long[2]);
+            sum[0] += delta[0];
+            sum[1] += delta[1];
+        });
+    }
+
+    private void addWatchTime(Map<Long, long[]> watchTimeDeltas) {
+        if (watchTimeDeltas == null) {
+            return;
+        }
+        watchTimeDeltas.forEach((broadcastId, delta) -> {
+            try {
+                redisService.addWatchTime(broadcastId, delta[0], delta[1]);
+            } catch (Exception e) {
+                log.warn("Watch time aggregate update failed: broadcastId={}, reason={}", broadcastId, e.getMessage());
+            }
+        });
+    }
+
+    private Map<ViewerKey, ActiveRow> findActiveRows(List<ViewEvent> events) {
+        List<ViewerKey> keys = events.stream().map(ViewEvent::key).distinct().toList();
+        StringJoiner placeholders = new StringJoiner(", ");
+        List<Object> params = new ArrayList<>(keys.size() * 2);
+        for (ViewerKey key : keys) {
+            placeholders.add("(?, ?)");
+            params.add(key.broadcastId());
+            params.add(key.viewerId());
+        }
+        Map<ViewerKey, ActiveRow> rows = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT history_id, broadcast_id, viewer_id, created_at FROM view_history " +
+                        "WHERE exited = FALSE AND updated_at = created_at AND (broadcast_id, viewer_id) IN (" + placeholders + ") " +
+                        "ORDER BY created_at ASC",
+                rs -> {
+                    // 같은 시청자의 활성 기록이 여러 개면 가장 최근 기록을 사용한다.
+                    ViewerKey key = new ViewerKey(rs.getLong("broadcast_id"), rs.getString("viewer_id"));
+                    rows.put(key, new ActiveRow(rs.getLong("history_id"), rs.getTimestamp("created_at").toLocalDateTime()));
+                },
+                params.toArray()
+        );
+        return rows;
+    }
+
+    // 트랜잭션이 끝난 뒤 커밋 여부와 함께 실행한다. 트랜잭션 밖이면 바로 커밋된 것으로 본다.
+    private void afterCompletion(Consumer<Boolean> task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                task.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private record ViewerKey(Long broadcastId, String viewerId) {
+    }
+
+    private record ActiveRow(Long historyId, LocalDateTime createdAt) {
+    }
+
+    private record ViewEvent(String action, ViewerKey key, LocalDateTime at) {
+        // "action:broadcastId:viewerId:timestamp"
+        private static ViewEvent parse(String raw) {
+            int actionEnd = raw.indexOf(':');
+            int idEnd = actionEnd < 0 ? -1 : raw.indexOf(':', actionEnd + 1);
+            int timeStart = raw.lastIndexOf(':');
+            if (actionEnd < 0 || idEnd < 0 || timeStart <= idEnd) {
+                return null;
+            }
+            try {
+                String action = raw.substring(0, actionEnd);
+                Long broadcastId = Long.parseLong(raw.substring(actionEnd + 1, idEnd));
+                String viewerId = raw.substring(idEnd + 1, timeStart);
+                long millis = Long.parseLong(raw.substring(timeStart + 1));
+                LocalDateTime at = Instant.ofEpochMilli(millis).atZone(ZoneId.systemDefault())
+                        .toLocalDateTime().truncatedTo(ChronoUnit.SECONDS);
+                if (!ENTER.equals(action) && !EXIT.equals(action)) {
+                    return null;
+                }
+                return new ViewEvent(action, new ViewerKey(broadcastId, viewerId), at);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final class PendingRow {
+        private final ViewerKey key;
+        private final LocalDateTime enterAt;
+        private LocalDateTime exitAt;
+
+        private PendingRow(ViewerKey key, LocalDateTime enterAt) {
+            this.key = key;
+            this.enterAt = enterAt;
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.deskit.deskit.livehost.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * VOD 객체를 chunk-size-mb 단위(객체 시작 기준으로 정렬된 고정 크기)로 로컬 디스크에 캐시한다.
+ * - 전체 크기는 max-size-mb 이내로 유지하고, 넘으면 가장 오래 쓰지 않은 청크부터 지운다(LRU).
+ *   open 으로 연 청크는 지워져도 이미 연 FileChannel 로 끝까지 보낸다(디스크 공간은 채널을 닫을 때 돌아온다).
+ *   pin 으로 잡은 청크(Tomcat sendfile 로 파일명만 넘긴 청크)는 release 전까지 지우지 않으므로 그동안은 한도를 넘을 수 있다.
+ * - 같은 청크를 여러 요청이 동시에 찾으면 S3 에서는 한 번만 받고 나머지는 그 결과를 기다린다.
+ * - 객체 크기는 URL 별로 한 번 HEAD 로 확인해 기억하고, Range 요청마다 HEAD 를 보내지 않는다.
+ * - 적중/미스/삭제 횟수는 vod.cache.* 메트릭으로 내보낸다.
+ * - VOD 객체는 업로드 후 바뀌지 않으므로 청크를 무효화하지 않는다. 재시작 시 디렉터리의 청크를 다시 인덱스에 올린다.
+ */
+@Slf4j
+@Component
+public class VodChunkCache implements MeterBinder {
+
+    private static final String CHUNK_SUFFIX = ".chunk";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int OBJECT_SIZE_CAPACITY = 10000;
+
+    private final AwsS3Service s3Service;
+    private final Path cacheDir;
+    private final long chunkSize;
+    private final long maxBytes;
+    // 청크 파일명 -> 크기(byte). 접근 순서로 정렬되어 맨 앞이 가장 오래 쓰지 않은 청크다. lock 으로 보호한다.
+    private final LinkedHashMap<String, Long> chunks = new LinkedHashMap<>(256, 0.75f, true);
+    private final Object lock = new Object();
+    private long totalBytes;
+    // 청크 파일명 -> pin 수. pin 된 청크는 LRU 로 지우지 않는다. lock 으로 보호한다.
+    private final Map<String, Integer> pins = new HashMap<>();
+    private final Map<String, Long> objectSizes = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > OBJECT_SIZE_CAPACITY;
+        }
+    };
+    private final Map<String, CompletableFuture<Path>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong bytesFetched = new AtomicLong();
+    private final ScheduledExecutorService releaseScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "VodChunkRelease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public VodChunkCache(
+            AwsS3Service s3Service,
+            @Value("${vod.cache.dir:${java.io.tmpdir}/deskit-vod-cache}") String cacheDir,
+            @Value("${vod.cache.chunk-size-mb:8}") long chunkSizeMb,
+            @Value("${vod.cache.max-size-mb:10240}") long maxSizeMb
+    ) {
+        this.s3Service = s3Service;
+        this.cacheDir = Paths.get(cacheDir);
+        this.chunkSize = Math.max(1L, chunkSizeMb) * 1024 * 1024;
+        this.maxBytes = Math.max(this.chunkSize, maxSizeMb * 1024 * 1024);
+        loadExisting();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        releaseScheduler.shutdown();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("vod.cache.hits", this, VodChunkCache::getHits).register(registry);
+        FunctionCounter.builder("vod.cache.misses", this, VodChunkCache::getMisses).register(registry);
+        FunctionCounter.builder("vod.cache.evictions", this, VodChunkCache::getEvictions).register(registry);
+        FunctionCounter.builder("vod.cache.fetched", this, VodChunkCache::getBytesFetched)
+                .baseUnit("bytes").register(registry);
+        Gauge.builder("vod.cache.hit.ratio", this, VodChunkCache::getHitRate).register(registry);
+        Gauge.builder("vod.cache.size", this, VodChunkCache::getCachedBytes).baseUnit("bytes").register(registry);
+        Gauge.builder("vod.cache.pinned", this, VodChunkCache::getPinnedChunks).register(registry);
+    }
+
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * 객체 크기. S3 HEAD 로 확인한 값을 URL 별로 기억해 쓴다.
+     * knownSize(DB 의 vod_size)는 검증에만 쓰고, HEAD 와 다르면 HEAD 값을 따른다. HEAD 가 실패하면 knownSize(모르면 0).
+     */
+    public long objectSize(String url, long knownSize) {
+        synchronized (objectSizes) {
+            Long cached = objectSizes.get(url);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long size = s3Service.getObjectSize(url);
+        if (size <= 0) {
+            // 확인하지 못한 값은 기억하지 않고 다음 요청에서 다시 HEAD 한다.
+            return Math.max(0L, knownSize);
+        }
+        if (knownSize > 0 && knownSize != size) {
+            log.warn("VOD size mismatch, using S3 size: url={}, dbSize={}, s3Size={}", url, knownSize, size);
+        }
+        synchronized (objectSizes) {
+            objectSizes.put(url, size);
+        }
+        return size;
+    }
+
+    /**
+     * index 번째 청크 파일을 읽기용으로 열어 반환한다. 없으면 S3 에서 받아 캐시한다. 닫는 것은 호출한 쪽 몫이다.
+     * 파일은 인덱스 lock 안에서 열기 때문에 LRU 가 지우기 전에 열리고, 연 뒤에 지워져도 닫을 때까지 읽을 수 있다.
+     */
+    public FileChannel open(String url, long index, long objectSize) throws IOException {
+        return acquire(url, index, objectSize, (name, path) -> FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * index 번째 청크를 release 할 때까지 지우지 않도록 잡고 파일 경로를 반환한다. 없으면 S3 에서 받아 캐시한다.
+     * 파일명만 넘기는 Tomcat sendfile 용이다. 반드시 release 나 releaseAfter 를 호출해야 한다.
+     */
+    public PinnedChunk pin(String url, long index, long objectSize) throws IOException {
+        return acquire(url, index, objectSize, (name, path) -> {
+            if (!Files.isRegularFile(path)) {
+                throw new NoSuchFileException(path.toString());
+            }
+            pins.merge(name, 1, Integer::sum);
+            return new PinnedChunk(name, path);
+        });
+    }
+
+    public void release(PinnedChunk chunk) {
+        synchronized (lock) {
+            pins.computeIfPresent(chunk.name(), (name, count) -> count > 1 ? count - 1 : null);
+            // pin 때문에 미뤄 둔 삭제를 한다.
+            evictOverflow(null);
+        }
+    }
+
+    /**
+     * delayMillis 뒤에 release 한다. sendfile 은 서블릿이 돌아온 뒤 Tomcat 이 파일을 열어 보내므로,
+     * 파일이 열릴 때까지만 잡아 두면 된다(연 뒤에는 지워져도 끝까지 보낸다).
+     */
+    public void releaseAfter(PinnedChunk chunk, long delayMillis) {
+        try {
+            releaseScheduler.schedule(() -> release(chunk), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            release(chunk);
+        }
+    }
+
+    private <T> T acquire(String url, long index, long objectSize, ChunkOpener<T> opener) throws IOException {
+        String name = chunkName(url, index);
+        Path path = cacheDir.resolve(name);
+        T cached = openCached(name, path, opener);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> existing = loading.putIfAbsent(name, mine);
+        if (existing != null) {
+            await(existing);
+            T loaded = openCached(name, path, opener);
+            if (loaded == null) {
+                throw new IOException("VOD chunk evicted before read: " + name);
+            }
+            return loaded;
+        }
+        try {
+            long start = index * chunkSize;
+            long end = Math.min(objectSize, start + chunkSize) - 1;
+            fetch(url, start, end, path);
+            T opened;
+            synchronized (lock) {
+                register(name, end - start + 1);
+                opened = opener.open(name, path);
+            }
+            mine.complete(path);
+            return opened;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e instanceof IOException io ? io : new IOException(e.getMessage(), e);
+        } finally {
+            loading.remove(name, mine);
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getBytesFetched() {
+        return bytesFetched.get();
+    }
+
+    public long getCachedBytes() {
+        synchronized (lock) {
+            return totalBytes;
+        }
+    }
+
+    public int getPinnedChunks() {
+        synchronized (lock) {
+            return pins.size();
+        }
+    }
+
+    // 인덱스에 있는 청크만 연다. 파일이 밖에서 지워졌으면 인덱스에서도 뺀다.
+    private <T> T openCached(String name, Path path, ChunkOpener<T> opener) throws IOException {
+        synchronized (lock) {
+            Long cached = chunks.get(name);
+            if (cached == null) {
+                return null;
+            }
+            try {
+                return opener.open(name, path);
+            } catch (NoSuchFileException e) {
+                chunks.remove(name);
+                totalBytes -= cached;
+                return null;
+            }
+        }
+    }
+
+    private void fetch(String url, long start, long end, Path path) throws IOException {
+        Path temp = Files.createTempFile(cacheDir, "chunk-", TEMP_SUFFIX);
+        try {
+            long copied;
+            try (InputStream inputStream = s3Service.getObjectStream(url, start, end)) {
+                copied = Files.copy(inputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (copied != end - start + 1) {
+                throw new IOException("short chunk read: " + copied + "/" + (end - start + 1));
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            bytesFetched.addAndGet(copied);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void register(String name, long size) {
+        synchronized (lock) {
+            Long previous = chunks.put(name, size);
+            totalBytes += size - (previous != null ? previous : 0L);
+            evictOverflow(name);
+        }
+    }
+
+    // 한도를 넘은 만큼 오래 쓰지 않은 청크부터 지운다. keep(방금 넣은 청크)과 pin 된 청크는 건너뛴다. lock 안에서 호출한다.
+    private void evictOverflow(String keep) {
+        Iterator<Map.Entry<String, Long>> iterator = chunks.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            if (eldest.getKey().equals(keep) || pins.containsKey(eldest.getKey())) {
+                continue;
+            }
+            iterator.remove();
+            totalBytes -= eldest.getValue();
+            evictions.incrementAndGet();
+            try {
+                Files.deleteIfExists(cacheDir.resolve(eldest.getKey()));
+            } catch (IOException e) {
+                log.warn("VOD chunk delete failed: chunk={}, reason={}", eldest.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private Path await(CompletableFuture<Path> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for chunk", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void loadExisting() {
+        try {
+            Files.createDirectories(cacheDir);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(cacheDir)) {
+                files = listing.filter(Files::isRegularFile).toList();
+            }
+            files.stream()
+                    .filter(file -> file.getFileName().toString().endsWith(TEMP_SUFFIX))
+                    .forEach(file -> file.toFile().delete());
+            files.stream()
+                    .filter(file -> file.getFileName().toString().endsWith(CHUNK_SUFFIX))
+                    .sorted(Comparator.comparing(this::lastModified))
+                    .forEach(file -> register(file.getFileName().toString(), file.toFile().length()));
+            log.info("VOD chunk cache ready: dir={}, chunks={}, bytes={}", cacheDir, chunks.size(), totalBytes);
+        } catch (IOException e) {
+            log.warn("VOD chunk cache init failed: dir={}, reason={}", cacheDir, e.getMessage());
+        }
+    }
+
+    private FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0L);
+        }
+    }
+
+    // 청크 크기가 바뀌면 이름도 달라지게 해 예전 청크를 잘못 쓰지 않게 한다.
+    private String chunkName(String url, long index) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16) + "-" + chunkSize + "-" + index + CHUNK_SUFFIX;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record PinnedChunk(String name, Path path) {
+    }
+
+    // 인덱스 lock 안에서 청크를 연다(또는 pin 한다). 파일이 없으면 NoSuchFileException.
+    @FunctionalInterface
+    private interface ChunkOpener<T> {
+        T open(String name, Path path) throws IOException;
+    }
+}
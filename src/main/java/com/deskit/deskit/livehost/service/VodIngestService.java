@@ -0,0 +1,371 @@
+package com.deskit.deskit.livehost.service;
+
+import com.amazonaws.services.s3.model.PartETag;
+import io.openvidu.java.client.OpenViduHttpException;
+import io.openvidu.java.client.OpenViduJavaClientException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OpenVidu 녹화 파일을 S3 로 옮긴다.
+ * - 파일을 part-size-mb 단위로 나눠 Range 요청으로 내려받고, 파트마다 S3 멀티파트 업로드로 병렬 전송한다.
+ * - 파트 단위로 재시도하고, 업로드 id 를 Redis(vod:ingest:{recordingId})에 남겨 다음 시도에서는
+ *   S3 에 이미 올라간 파트를 건너뛰고 이어서 올린다. 마지막 시도까지 실패하면 abandon 으로 업로드를 취소한다.
+ * - 웹훅/fallback 이 알려 준 녹화 id 는 vod:ingest:recording:{broadcastId} 에 남겨 큐 작업이 같은 녹화를 올리게 한다.
+ * - 파트 전송 스레드(parallelism 개)는 모든 적재 작업이 같이 쓰므로 메모리 사용은 part-size * parallelism 이내다.
+ * - Range 를 지원하지 않거나 파트 하나보다 작은 파일은 기존처럼 한 번에 올린다.
+ */
+@Slf4j
+@Service
+public class VodIngestService {
+
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    private static final int MAX_PARTS = 10000;
+    private static final int PART_ATTEMPTS = 3;
+    private static final String STATE_KEY_PREFIX = "vod:ingest:";
+    private static final String RECORDING_KEY_PREFIX = "vod:ingest:recording:";
+    private static final Duration STATE_TTL = Duration.ofDays(1);
+
+    private final AwsS3Service s3Service;
+    private final OpenViduService openViduService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ExecutorService partExecutor;
+    private final AtomicLong bytesUploaded = new AtomicLong();
+    private final AtomicLong partsUploaded = new AtomicLong();
+    private final AtomicLong partsResumed = new AtomicLong();
+    private final AtomicLong partRetries = new AtomicLong();
+    private final SSLSocketFactory trustAllSocketFactory = createTrustAllSocketFactory();
+
+    @Value("${openvidu.url}")
+    private String openViduUrl;
+
+    @Value("${openvidu.secret}")
+    private String openViduSecret;
+
+    @Value("${vod.ingest.part-size-mb:16}")
+    private long partSizeMb;
+
+    public VodIngestService(AwsS3Service s3Service, OpenViduService openViduService,
+                            StringRedisTemplate stringRedisTemplate,
+                            @Value("${vod.ingest.parallelism:4}") int parallelism) {
+        this.s3Service = s3Service;
+        this.openViduService = openViduService;
+        this.stringRedisTemplate = stringRedisTemplate;
+        AtomicInteger sequence = new AtomicInteger();
+        this.partExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "VodIngestPart-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partExecutor.shutdownNow();
+    }
+
+    /**
+     * 녹화 파일을 s3Key 로 올리고 URL 을 반환한다. 실패하면 null(멀티파트 업로드는 남겨 두어 다음 호출이 이어서 올린다).
+     */
+    public String ingest(String recordingId, String s3Key) {
+        String sourceUrl = openViduUrl.replaceAll("/$", "") +
+                "/openvidu/recordings/" + recordingId + "/" + recordingId + ".mp4";
+        try {
+            long length = probeLength(sourceUrl);
+            long partSize = resolvePartSize(length);
+            String s3Url = length > partSize
+                    ? multipartUpload(recordingId, sourceUrl, s3Key, length, partSize)
+                    : streamUpload(sourceUrl, s3Key);
+            log.info("VOD Upload Success: {}", s3Url);
+            deleteRecording(recordingId);
+            return s3Url;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            log.error("VOD ingest failed: recordingId={}, reason={}", recordingId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 마지막 시도까지 실패한 적재를 포기한다. 이어 올리려고 남겨 둔 멀티파트 업로드를 취소해 S3 에 파트가 남지 않게 한다.
+     */
+    public void abandon(String recordingId, String s3Key) {
+        String stateKey = STATE_KEY_PREFIX + recordingId;
+        String state = stringRedisTemplate.opsForValue().get(stateKey);
+        if (state != null) {
+            String[] parts = state.split(":", 2);
+            if (parts.length == 2) {
+                s3Service.abortVodUpload(s3Key, parts[1]);
+                log.info("VOD ingest multipart upload aborted: recordingId={}, uploadId={}", recordingId, parts[1]);
+            }
+        }
+        stringRedisTemplate.delete(stateKey);
+    }
+
+    /**
+     * 큐 작업(broadcastId)이 올릴 녹화 id 를 남긴다.
+     */
+    public void rememberRecordingId(Long broadcastId, String recordingId) {
+        if (recordingId == null || recordingId.isBlank()) {
+            return;
+        }
+        stringRedisTemplate.opsForValue().set(RECORDING_KEY_PREFIX + broadcastId, recordingId, STATE_TTL);
+    }
+
+    public String findRecordingId(Long broadcastId) {
+        return stringRedisTemplate.opsForValue().get(RECORDING_KEY_PREFIX + broadcastId);
+    }
+
+    public void forgetRecordingId(Long broadcastId) {
+        stringRedisTemplate.delete(RECORDING_KEY_PREFIX + broadcastId);
+    }
+
+    public long getBytesUploaded() {
+        return bytesUploaded.get();
+    }
+
+    public long getPartsUploaded() {
+        return partsUploaded.get();
+    }
+
+    public long getPartsResumed() {
+        return partsResumed.get();
+    }
+
+    public long getPartRetries() {
+        return partRetries.get();
+    }
+
+    private String multipartUpload(String recordingId, String sourceUrl, String s3Key, long length, long partSize)
+            throws InterruptedException {
+        String stateKey = STATE_KEY_PREFIX + recordingId;
+        String uploadId = null;
+        Map<Integer, PartETag> uploaded = null;
+
+        // 저장된 업로드가 있고 파트 크기가 같으면 이어서 올린다.
+        String state = stringRedisTemplate.opsForValue().get(stateKey);
+        if (state != null) {
+            String[] parts = state.split(":", 2);
+            if (parts.length == 2 && String.valueOf(partSize).equals(parts[0])) {
+                uploaded = s3Service.listVodParts(s3Key, parts[1]);
+                if (uploaded != null) {
+                    uploadId = parts[1];
+                }
+            } else if (parts.length == 2) {
+                s3Service.abortVodUpload(s3Key, parts[1]);
+            }
+        }
+        if (uploadId == null) {
+            uploadId = s3Service.initiateVodUpload(s3Key);
+            uploaded = Map.of();
+            stringRedisTemplate.opsForValue().set(stateKey, partSize + ":" + uploadId, STATE_TTL);
+        } else if (!uploaded.isEmpty()) {
+            partsResumed.addAndGet(uploaded.size());
+            log.info("VOD ingest resumed: recordingId={}, uploadedParts={}", recordingId, uploaded.size());
+        }
+
+        int partCount = (int) ((length + partSize - 1) / partSize);
+        List<Future<PartETag>> futures = new ArrayList<>(partCount);
+        String activeUploadId = uploadId;
+        for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+            PartETag done = uploaded.get(partNumber);
+            if (done != null) {
+                futures.add(CompletableFuture.completedFuture(done));
+                continue;
+            }
+            long start = (partNumber - 1) * partSize;
+            long end = Math.min(length, start + partSize) - 1;
+            int number = partNumber;
+            futures.add(partExecutor.submit(() -> transferPart(sourceUrl, s3Key, activeUploadId, number, start, end)));
+        }
+
+        List<PartETag> etags = new ArrayList<>(partCount);
+        try {
+            for (Future<PartETag> future : futures) {
+                etags.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("part transfer failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+
+        String s3Url = s3Service.completeVodUpload(s3Key, uploadId, etags);
+        stringRedisTemplate.delete(stateKey);
+        return s3Url;
+    }
+
+    private PartETag transferPart(String sourceUrl, String s3Key, String uploadId, int partNumber, long start, long end)
+            throws Exception {
+        Exception lastError = null;
+        for (int attempt = 1; attempt <= PART_ATTEMPTS; attempt++) {
+            try {
+                byte[] data = downloadRange(sourceUrl, start, end);
+                PartETag etag = s3Service.uploadVodPart(s3Key, uploadId, partNumber, data);
+                bytesUploaded.addAndGet(data.length);
+                partsUploaded.incrementAndGet();
+                return etag;
+            } catch (Exception e) {
+                lastError = e;
+                if (attempt < PART_ATTEMPTS) {
+                    partRetries.incrementAndGet();
+                    log.warn("VOD part transfer failed (attempt {}): part={}, reason={}", attempt, partNumber, e.getMessage());
+                    Thread.sleep(500L * attempt);
+                }
+            }
+        }
+        throw lastError;
+    }
+
+    private byte[] downloadRange(String sourceUrl, long start, long end) throws IOException {
+        HttpURLConnection conn = openConnection(sourceUrl);
+        conn.setRequestProperty("Range", "bytes=" + start + "-" + end);
+        try {
+            int responseCode = conn.getResponseCode();
+            if (responseCode != HttpURLConnection.HTTP_PARTIAL) {
+                throw new IOException("unexpected range response: " + responseCode);
+            }
+            int expected = (int) (end - start + 1);
+            try (InputStream inputStream = conn.getInputStream()) {
+                byte[] data = inputStream.readNBytes(expected);
+                if (data.length != expected) {
+                    throw new IOException("short range read: " + data.length + "/" + expected);
+                }
+                return data;
+            }
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    /**
+     * 전체 크기를 확인한다. Range 를 지원하지 않거나 크기를 알 수 없으면 -1.
+     */
+    private long probeLength(String sourceUrl) throws IOException {
+        HttpURLConnection conn = openConnection(sourceUrl);
+        conn.setRequestProperty("Range", "bytes=0-0");
+        try {
+            int responseCode = conn.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_PARTIAL) {
+                // Content-Range: bytes 0-0/{total}
+                String contentRange = conn.getHeaderField("Content-Range");
+                int slash = contentRange != null ? contentRange.lastIndexOf('/') : -1;
+                if (slash >= 0 && !contentRange.endsWith("*")) {
+                    return Long.parseLong(contentRange.substring(slash + 1).trim());
+                }
+                return -1L;
+            }
+            if (responseCode == HttpURLConnection.HTTP_OK) {
+                return -1L;
+            }
+            throw new IOException("Failed to fetch recording from OpenVidu: " + responseCode);
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    private String streamUpload(String sourceUrl, String s3Key) throws IOException {
+        HttpURLConnection conn = openConnection(sourceUrl);
+        try {
+            int responseCode = conn.getResponseCode();
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Failed to fetch recording from OpenVidu: " + responseCode);
+            }
+            try (InputStream inputStream = conn.getInputStream()) {
+                long contentLength = conn.getContentLengthLong();
+                String s3Url = s3Service.uploadVodStream(inputStream, s3Key, contentLength);
+                if (contentLength > 0) {
+                    bytesUploaded.addAndGet(contentLength);
+                }
+                return s3Url;
+            }
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    // S3 파트 수 제한(10000)을 넘지 않도록 큰 파일은 파트 크기를 늘린다.
+    private long resolvePartSize(long length) {
+        long partSize = Math.max(MIN_PART_SIZE, partSizeMb * 1024 * 1024);
+        if (length > 0 && (length + partSize - 1) / partSize > MAX_PARTS) {
+            partSize = (length + MAX_PARTS - 1) / MAX_PARTS;
+        }
+        return partSize;
+    }
+
+    private HttpURLConnection openConnection(String sourceUrl) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(sourceUrl).openConnection();
+        if (conn instanceof HttpsURLConnection https) {
+            // OpenVidu 는 자체 서명 인증서를 쓰므로 이 연결에만 검증을 끈다(JVM 기본값은 건드리지 않는다).
+            https.setSSLSocketFactory(trustAllSocketFactory);
+            https.setHostnameVerifier((hostname, session) -> true);
+        }
+        conn.setRequestMethod("GET");
+        conn.setConnectTimeout(10000);
+        conn.setReadTimeout(60000);
+        String auth = "OPENVIDUAPP:" + openViduSecret;
+        conn.setRequestProperty("Authorization", "Basic " + Base64.getEncoder().encodeToString(auth.getBytes()));
+        return conn;
+    }
+
+    private void deleteRecording(String recordingId) {
+        try {
+            openViduService.deleteRecording(recordingId);
+        } catch (OpenViduJavaClientException | OpenViduHttpException e) {
+            log.warn("Failed to delete OpenVidu recording after upload: recordingId={}, reason={}",
+                    recordingId, e.getMessage());
+        }
+    }
+
+    private static SSLSocketFactory createTrustAllSocketFactory() {
+        TrustManager[] trustAllCerts = new TrustManager[]{new X509TrustManager() {
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+
+            public void checkClientTrusted(X509Certificate[] certs, String authType) {
+            }
+
+            public void checkServerTrusted(X509Certificate[] certs, String authType) {
+            }
+        }};
+        try {
+            SSLContext sc = SSLContext.getInstance("TLS");
+            sc.init(null, trustAllCerts, new java.security.SecureRandom());
+            return sc.getSocketFactory();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SSL context init failed", e);
+        }
+    }
+}
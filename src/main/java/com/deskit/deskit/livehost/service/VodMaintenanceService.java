@@ -1,6 +1,7 @@
 package com.deskit.deskit.livehost.service;
 
 import com.deskit.deskit.livehost.common.enums.VodStatus;
+import com.deskit.deskit.livehost.common.utils.JobLeaderElection;
 import com.deskit.deskit.livehost.entity.Vod;
 import com.deskit.deskit.livehost.repository.VodRepository;
 import lombok.RequiredArgsConstructor;
@@ -21,10 +22,14 @@ public class VodMaintenanceService {
     private final AwsS3Service s3Service;
     private final VodStatsService vodStatsService;
     private final RedisService redisService;
+    private final JobLeaderElection jobLeaderElection;
 
     @Scheduled(cron = "0 0 3 * * *")
     @Transactional
     public void purgeExpiredVods() {
+        if (!jobLeaderElection.isLeader("vod-expired-purge")) {
+            return;
+        }
         LocalDateTime threshold = LocalDateTime.now().minusDays(3);
         List<Vod> expired = vodRepository.findByStatusNotAndCreatedAtBefore(VodStatus.DELETED, threshold);
         if (expired.isEmpty()) {
@@ -3,16 +3,15 @@ package com.deskit.deskit.livehost.service;
 import com.deskit.deskit.account.entity.Seller;
 import com.deskit.deskit.account.oauth.CustomOAuth2User;
 import com.deskit.deskit.account.repository.SellerRepository;
+import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
 import com.deskit.deskit.livehost.common.enums.VodStatus;
 import com.deskit.deskit.livehost.common.exception.BusinessException;
 import com.deskit.deskit.livehost.common.exception.ErrorCode;
+import com.deskit.deskit.livehost.entity.Broadcast;
 import com.deskit.deskit.livehost.entity.Vod;
+import com.deskit.deskit.livehost.repository.BroadcastRepository;
 import com.deskit.deskit.livehost.repository.VodRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,27 +19,25 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.InputStream;
 import java.util.Collection;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 public class VodService {
 
-    private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=(\\d*)-(\\d*)");
-
     private final VodRepository vodRepository;
-    private final AwsS3Service s3Service;
+    private final BroadcastRepository broadcastRepository;
     private final SellerRepository sellerRepository;
 
+    /**
+     * 재생 권한을 확인하고 스트리밍할 객체(URL, 저장된 크기)를 반환한다. 바이트 전송은 VodStreamingService 가 한다.
+     */
     @Transactional(readOnly = true)
-    public ResponseEntity<InputStreamResource> streamVod(Long vodId, String rangeHeader) {
+    public VodStreamSource getStreamSource(Long vodId) {
         Vod vod = vodRepository.findById(vodId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.VOD_NOT_FOUND));
 
-        if (vod.getStatus() != VodStatus.PUBLIC && !canAccessPrivateVod(vod)) {
+        if (vod.getStatus() != VodStatus.PUBLIC && !canAccessPrivateVod(vod.getBroadcast())) {
             throw new BusinessException(ErrorCode.FORBIDDEN_ACCESS);
         }
 
@@ -48,48 +45,26 @@ public class VodService {
         if (vodUrl == null || vodUrl.isBlank()) {
             throw new BusinessException(ErrorCode.VOD_NOT_FOUND);
         }
+        return new VodStreamSource(vodUrl, vod.getVodSize() != null ? vod.getVodSize() : 0L);
+    }
 
-        long totalSize = s3Service.getObjectSize(vodUrl);
-        Long start = null;
-        Long end = null;
-        if (rangeHeader != null) {
-            Matcher matcher = RANGE_PATTERN.matcher(rangeHeader);
-            if (matcher.matches()) {
-                String startGroup = matcher.group(1);
-                String endGroup = matcher.group(2);
-                if (!startGroup.isBlank()) {
-                    start = Long.parseLong(startGroup);
-                }
-                if (!endGroup.isBlank()) {
-                    end = Long.parseLong(endGroup);
-                }
-                if (start != null && end == null) {
-                    end = totalSize > 0 ? totalSize - 1 : null;
-                }
-            }
-        }
-
-        InputStream inputStream = s3Service.getObjectStream(vodUrl, start, end);
-
-        long contentLength = totalSize;
-        if (start != null && end != null && totalSize > 0) {
-            contentLength = end - start + 1;
-        }
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.add(HttpHeaders.ACCEPT_RANGES, "bytes");
-        headers.add(HttpHeaders.CONTENT_TYPE, "video/mp4");
-        headers.add(HttpHeaders.CONTENT_LENGTH, String.valueOf(contentLength));
-
-        if (start != null && end != null && totalSize > 0) {
-            headers.add(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + totalSize);
-            return new ResponseEntity<>(new InputStreamResource(inputStream), headers, HttpStatus.PARTIAL_CONTENT);
+    /**
+     * 채팅 다시보기 권한 확인. VOD 가 공개가 아니거나 관리자가 중지한 방송이면 재생과 같이 관리자/방송 판매자만 볼 수 있다.
+     * VOD 가 아직 없는 방송(방송 중, 종료 직후)은 라이브 채팅과 같이 누구나 볼 수 있다.
+     */
+    @Transactional(readOnly = true)
+    public void checkChatReplayAccess(Long broadcastId) {
+        Broadcast broadcast = broadcastRepository.findById(broadcastId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.BROADCAST_NOT_FOUND));
+        Vod vod = vodRepository.findByBroadcast(broadcast).orElse(null);
+        boolean restricted = broadcast.getStatus() == BroadcastStatus.STOPPED
+                || (vod != null && vod.getStatus() != VodStatus.PUBLIC);
+        if (restricted && !canAccessPrivateVod(broadcast)) {
+            throw new BusinessException(ErrorCode.FORBIDDEN_ACCESS);
         }
-
-        return new ResponseEntity<>(new InputStreamResource(inputStream), headers, HttpStatus.OK);
     }
 
-    private boolean canAccessPrivateVod(Vod vod) {
+    private boolean canAccessPrivateVod(Broadcast broadcast) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             return false;
@@ -111,7 +86,7 @@ public class VodService {
             if (seller == null) {
                 return false;
             }
-            return vod.getBroadcast().getSeller().getSellerId().equals(seller.getSellerId());
+            return broadcast.getSeller().getSellerId().equals(seller.getSellerId());
         }
 
         return false;
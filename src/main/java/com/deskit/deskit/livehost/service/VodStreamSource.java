@@ -0,0 +1,7 @@
+package com.deskit.deskit.livehost.service;
+
+/**
+ * 재생할 VOD 객체. size 는 DB 에 저장된 크기(모르면 0)다.
+ */
+public record VodStreamSource(String url, long size) {
+}
@@ -0,0 +1,198 @@
+package com.deskit.deskit.livehost.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * VOD 바이트 응답. VodChunkCache 의 로컬 청크 파일에서 보낸다.
+ * - Range 요청은 시작 위치가 속한 청크 하나까지만 응답한다(플레이어는 이어지는 구간을 다시 요청한다).
+ *   커넥터가 sendfile 을 지원하면 청크 파일 구간을 Tomcat 에 넘겨 커널이 바로 보내게 한다. 청크는 Tomcat 이
+ *   파일을 열 때까지 pin 해 두어 LRU 로 지워지지 않는다. 지원하지 않으면 캐시가 열어 준 FileChannel 로 보낸다.
+ * - Range 가 없으면 청크를 차례로 이어 전체를 보낸다(응답 하나에 sendfile 은 파일 하나뿐이라 FileChannel 로 보낸다).
+ * - 크기를 알 수 없거나 청크를 받지 못하면 기존처럼 S3 스트림을 그대로 전달한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VodStreamingService {
+
+    private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=(\\d*)-(\\d*)");
+    // org.apache.catalina.Globals 의 sendfile 요청 속성
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private final VodChunkCache vodChunkCache;
+    private final AwsS3Service s3Service;
+
+    // 서블릿이 돌아온 뒤 Tomcat 이 청크 파일을 열 때까지 pin 해 두는 시간
+    @Value("${vod.cache.sendfile-pin-ms:10000}")
+    private long sendfilePinMillis;
+
+    public void stream(VodStreamSource source, String rangeHeader, HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        String url = source.url();
+        long totalSize = vodChunkCache.objectSize(url, source.size());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType("video/mp4");
+
+        if (totalSize <= 0) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            try (InputStream inputStream = s3Service.getObjectStream(url, null, null)) {
+                inputStream.transferTo(response.getOutputStream());
+            }
+            return;
+        }
+
+        Range range = parseRange(rangeHeader, totalSize);
+        if (range == Range.UNSATISFIABLE) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + totalSize);
+            return;
+        }
+
+        long chunkSize = vodChunkCache.getChunkSize();
+        if (range == null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentLengthLong(totalSize);
+            OutputStream out = response.getOutputStream();
+            for (long index = 0; index * chunkSize < totalSize; index++) {
+                long start = index * chunkSize;
+                long end = Math.min(totalSize, start + chunkSize) - 1;
+                writeRange(url, index, start, end, totalSize, out);
+            }
+            return;
+        }
+
+        long index = range.start() / chunkSize;
+        long end = Math.min(range.end(), Math.min(totalSize, (index + 1) * chunkSize) - 1);
+        long length = end - range.start() + 1;
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range.start() + "-" + end + "/" + totalSize);
+        response.setContentLengthLong(length);
+
+        long offset = range.start() - index * chunkSize;
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))
+                && sendfile(url, index, offset, length, totalSize, request)) {
+            return;
+        }
+        FileChannel chunk = openChunk(url, index, totalSize);
+        if (chunk == null) {
+            try (InputStream inputStream = s3Service.getObjectStream(url, range.start(), end)) {
+                inputStream.transferTo(response.getOutputStream());
+            }
+            return;
+        }
+        transfer(chunk, offset, length, response.getOutputStream());
+    }
+
+    // 청크 파일 구간을 Tomcat sendfile 에 맡긴다. 청크를 준비하지 못하면 false(호출한 쪽이 다른 방법으로 보낸다).
+    private boolean sendfile(String url, long index, long offset, long length, long totalSize,
+                             HttpServletRequest request) {
+        VodChunkCache.PinnedChunk chunk;
+        try {
+            chunk = vodChunkCache.pin(url, index, totalSize);
+        } catch (IOException e) {
+            log.warn("VOD chunk pin failed: url={}, chunk={}, reason={}", url, index, e.getMessage());
+            return false;
+        }
+        request.setAttribute(SENDFILE_FILENAME_ATTR, chunk.path().toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START_ATTR, offset);
+        request.setAttribute(SENDFILE_END_ATTR, offset + length);
+        vodChunkCache.releaseAfter(chunk, sendfilePinMillis);
+        return true;
+    }
+
+    private void writeRange(String url, long index, long start, long end, long totalSize, OutputStream out)
+            throws IOException {
+        FileChannel chunk = openChunk(url, index, totalSize);
+        if (chunk == null) {
+            try (InputStream inputStream = s3Service.getObjectStream(url, start, end)) {
+                inputStream.transferTo(out);
+            }
+            return;
+        }
+        transfer(chunk, 0L, end - start + 1, out);
+    }
+
+    private FileChannel openChunk(String url, long index, long totalSize) {
+        try {
+            return vodChunkCache.open(url, index, totalSize);
+        } catch (IOException e) {
+            log.warn("VOD chunk cache miss fallback: url={}, chunk={}, reason={}", url, index, e.getMessage());
+            return null;
+        }
+    }
+
+    // chunk 는 다 보내거나 실패하면 닫는다.
+    private void transfer(FileChannel chunk, long offset, long length, OutputStream out) throws IOException {
+        try (FileChannel channel = chunk) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = offset;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    throw new IOException("VOD chunk truncated at " + position);
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Range 헤더를 [start, end] 로 바꾼다. 헤더가 없거나 형식이 다르면 null(전체), 범위를 벗어나면 UNSATISFIABLE.
+     */
+    private Range parseRange(String rangeHeader, long totalSize) {
+        if (rangeHeader == null) {
+            return null;
+        }
+        Matcher matcher = RANGE_PATTERN.matcher(rangeHeader);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String startGroup = matcher.group(1);
+        String endGroup = matcher.group(2);
+        if (startGroup.isBlank() && endGroup.isBlank()) {
+            return null;
+        }
+        try {
+            if (startGroup.isBlank()) {
+                // bytes=-N: 마지막 N 바이트
+                long suffix = Long.parseLong(endGroup);
+                if (suffix <= 0) {
+                    return Range.UNSATISFIABLE;
+                }
+                return new Range(Math.max(0L, totalSize - suffix), totalSize - 1);
+            }
+            long start = Long.parseLong(startGroup);
+            long end = endGroup.isBlank() ? totalSize - 1 : Math.min(Long.parseLong(endGroup), totalSize - 1);
+            if (start >= totalSize || start > end) {
+                return Range.UNSATISFIABLE;
+            }
+            return new Range(start, end);
+        } catch (NumberFormatException e) {
+            return Range.UNSATISFIABLE;
+        }
+    }
+
+    private record Range(long start, long end) {
+        private static final Range UNSATISFIABLE = new Range(-1L, -1L);
+    }
+}
@@ -1,5 +1,6 @@
 package com.deskit.deskit.order.payment.service;
 
+import com.deskit.deskit.home.service.PopularityRankingService;
 import com.deskit.deskit.order.entity.Order;
 import com.deskit.deskit.order.enums.OrderStatus;
 import com.deskit.deskit.order.payment.dto.TossPaymentConfirmRequest;
@@ -11,6 +12,7 @@ import com.deskit.deskit.order.payment.repository.TossRefundRepository;
 import com.deskit.deskit.order.repository.OrderItemRepository;
 import com.deskit.deskit.order.repository.OrderRepository;
 import com.deskit.deskit.livehost.repository.BroadcastProductRepository;
+import com.deskit.deskit.livehost.service.LiveSalesLedgerService;
 import com.deskit.deskit.product.entity.Product;
 import com.deskit.deskit.product.repository.ProductRepository;
 import com.deskit.deskit.order.entity.OrderItem;
@@ -48,6 +50,8 @@ public class TossPaymentService {
   private final OrderItemRepository orderItemRepository;
   private final ProductRepository productRepository;
   private final BroadcastProductRepository broadcastProductRepository;
+  private final LiveSalesLedgerService liveSalesLedgerService;
+  private final PopularityRankingService popularityRankingService;
   private final ObjectMapper objectMapper;
 
   @Value("${toss.payments.secret-key}")
@@ -60,6 +64,8 @@ public class TossPaymentService {
     OrderItemRepository orderItemRepository,
     ProductRepository productRepository,
     BroadcastProductRepository broadcastProductRepository,
+    LiveSalesLedgerService liveSalesLedgerService,
+    PopularityRankingService popularityRankingService,
     ObjectMapper objectMapper
   ) {
     this.orderRepository = orderRepository;
@@ -68,6 +74,8 @@ public class TossPaymentService {
     this.orderItemRepository = orderItemRepository;
     this.productRepository = productRepository;
     this.broadcastProductRepository = broadcastProductRepository;
+    this.liveSalesLedgerService = liveSalesLedgerService;
+    this.popularityRankingService = popularityRankingService;
     this.objectMapper = objectMapper;
   }
 
@@ -227,6 +235,8 @@ public class TossPaymentService {
       return;
     }
     order.markPaid();
+    liveSalesLedgerService.recordPaid(order);
+    popularityRankingService.recordPaid(order);
   }
 
   private boolean isOrderAmountCurrent(Order order) {
@@ -2,6 +2,7 @@ package com.deskit.deskit.order.service;
 
 import com.deskit.deskit.account.repository.MemberRepository;
 import com.deskit.deskit.account.address.service.AddressService;
+import com.deskit.deskit.home.service.PopularityRankingService;
 import com.deskit.deskit.order.dto.OrderCancelRequest;
 import com.deskit.deskit.order.dto.OrderCancelResponse;
 import com.deskit.deskit.order.dto.CreateOrderItemRequest;
@@ -18,8 +19,10 @@ import com.deskit.deskit.order.repository.OrderItemRepository;
 import com.deskit.deskit.order.repository.OrderRepository;
 import com.deskit.deskit.livehost.repository.BroadcastProductRepository;
 import com.deskit.deskit.livehost.service.BroadcastService;
+import com.deskit.deskit.livehost.service.LiveSalesLedgerService;
 import com.deskit.deskit.product.entity.Product;
 import com.deskit.deskit.product.repository.ProductRepository;
+import com.deskit.deskit.product.service.ProductCardChangedEvent;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -31,6 +34,7 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -51,8 +55,11 @@ public class OrderService {
   private final MemberRepository memberRepository;
   private final TossPaymentService tossPaymentService;
   private final BroadcastService broadcastService;
+  private final LiveSalesLedgerService liveSalesLedgerService;
+  private final PopularityRankingService popularityRankingService;
   private final AddressService addressService;
   private final PlatformTransactionManager transactionManager;
+  private final ApplicationEventPublisher eventPublisher;
 
   public CreateOrderResponse createOrder(Long memberId, CreateOrderRequest request) {
     if (memberId == null) {
@@ -104,6 +111,8 @@ public class OrderService {
       broadcastService.restoreCostPriceIfSoldOut(productId);
       productsById.put(productId, product);
     }
+    // 재고/판매 상태가 바뀌었으므로 커밋 이후 상품 카드 캐시 무효화
+    eventPublisher.publishEvent(ProductCardChangedEvent.of(productIds));
 
     int totalProductAmount = 0;
     for (CreateOrderItemRequest item : items) {
@@ -248,6 +257,8 @@ public class OrderService {
         throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "toss cancel failed", ex);
       }
       order.approveRefund();
+      liveSalesLedgerService.recordRefunded(order);
+      popularityRankingService.recordRefunded(order);
       updateBroadcastSalesAfterRefund(order);
     }
 
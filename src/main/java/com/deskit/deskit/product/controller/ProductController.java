@@ -1,5 +1,6 @@
 package com.deskit.deskit.product.controller;
 
+import com.deskit.deskit.product.dto.ProductCatalogResponse;
 import com.deskit.deskit.product.dto.ProductResponse;
 import com.deskit.deskit.product.service.ProductService;
 import java.util.List;
@@ -7,11 +8,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
  * Product 조회 전용 REST API 컨트롤러
  * - /api/products: 상품 목록 조회
+ * - /api/products/catalog: 상품 카탈로그 커서 페이지 조회
  * - /api/products/{id}: 상품 단건 조회
  *
  * 주의:
@@ -39,6 +42,24 @@ public class ProductController {
     return productService.getProducts();
   }
 
+  /**
+   * 상품 카탈로그 커서 페이지 조회
+   * - cursor: 이전 응답의 next_cursor (첫 페이지는 생략)
+   * - size: 페이지 크기 (기본 20, 최대 100)
+   * - tag_id / min_price / max_price / seller_id: 선택 필터
+   */
+  @GetMapping("/catalog")
+  public ProductCatalogResponse getProductCatalog(
+          @RequestParam(value = "cursor", required = false) Long cursor,
+          @RequestParam(value = "size", required = false) Integer size,
+          @RequestParam(value = "tag_id", required = false) Long tagId,
+          @RequestParam(value = "min_price", required = false) Integer minPrice,
+          @RequestParam(value = "max_price", required = false) Integer maxPrice,
+          @RequestParam(value = "seller_id", required = false) Long sellerId
+  ) {
+    return productService.getProductCatalog(cursor, size, tagId, minPrice, maxPrice, sellerId);
+  }
+
   /**
    * 상품 단건 조회
    * - 존재하면 200 OK + ProductResponse
@@ -0,0 +1,17 @@
+package com.deskit.deskit.product.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * 상품 카탈로그 커서 페이지 응답
+ * - items: 이번 페이지 상품 목록
+ * - has_next: 다음 페이지 존재 여부 (전체 count 없이 size + 1 조회로 판단)
+ * - next_cursor: 다음 요청의 cursor로 넘길 마지막 product_id (다음 페이지가 없으면 null)
+ */
+public record ProductCatalogResponse(
+  @JsonProperty("items") List<ProductResponse> items,
+  @JsonProperty("has_next") boolean hasNext,
+  @JsonProperty("next_cursor") Long nextCursor
+) {
+}
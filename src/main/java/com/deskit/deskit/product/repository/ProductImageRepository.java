@@ -29,4 +29,6 @@ public interface ProductImageRepository extends JpaRepository<ProductImage, Long
   );
 
   List<ProductImage> findAllByProductIdAndDeletedAtIsNullOrderBySlotIndexAsc(Long productId);
+
+  List<ProductImage> findAllByProductIdInAndDeletedAtIsNullOrderByProductIdAscSlotIndexAscIdAsc(List<Long> productIds);
 }
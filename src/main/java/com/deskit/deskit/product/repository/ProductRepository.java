@@ -1,9 +1,12 @@
 package com.deskit.deskit.product.repository;
 
 import com.deskit.deskit.product.entity.Product;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -28,6 +31,41 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
   List<Product> findAllByStatusAndDeletedAtIsNullOrderByIdAsc(Product.Status status);
 
+  /**
+   * 상태별 상품 id만 조회 (상품 카드 캐시 조회용, 엔티티 로딩 없이 id 목록만)
+   */
+  @Query("select p.id from Product p where p.status = :status and p.deletedAt is null order by p.id asc")
+  List<Long> findIdsByStatus(@Param("status") Product.Status status);
+
+  /**
+   * 상품 카탈로그 키셋(커서) 페이지 조회
+   * - cursor(마지막으로 받은 product_id) 이후의 상품만 id 오름차순으로 조회 (OFFSET 없이 인덱스 범위 스캔)
+   * - 필터 파라미터가 null이면 해당 조건은 적용하지 않음
+   * - Slice 반환이라 size + 1 건만 조회해서 hasNext를 판단 (전체 count 쿼리 없음)
+   */
+  @Query("""
+      select p from Product p
+       where p.status = :status
+         and p.deletedAt is null
+         and (:cursor is null or p.id > :cursor)
+         and (:sellerId is null or p.sellerId = :sellerId)
+         and (:minPrice is null or p.price >= :minPrice)
+         and (:maxPrice is null or p.price <= :maxPrice)
+         and (:tagId is null or exists (
+               select 1 from ProductTag pt
+                where pt.product = p
+                  and pt.tag.id = :tagId
+                  and pt.deletedAt is null))
+       order by p.id asc
+      """)
+  Slice<Product> findCatalogPage(@Param("status") Product.Status status,
+                                 @Param("cursor") Long cursor,
+                                 @Param("sellerId") Long sellerId,
+                                 @Param("minPrice") Integer minPrice,
+                                 @Param("maxPrice") Integer maxPrice,
+                                 @Param("tagId") Long tagId,
+                                 Pageable pageable);
+
   List<Product> findAllBySellerIdAndStatusInAndDeletedAtIsNullOrderByIdAsc(
     Long sellerId,
     List<Product.Status> statuses
@@ -82,6 +120,44 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
       """, nativeQuery = true)
   List<PopularProductRow> findPopularProducts(@Param("limit") int limit);
 
+  // 인기 랭킹 전체 재계산용: since 이후 결제된 상품별 일자별 판매 수량 (findPopularProducts와 같은 주문 상태 기준)
+  @Query(value = """
+      SELECT
+          p.product_id AS id,
+          DATE_FORMAT(o.paid_at, '%Y%m%d') AS day,
+          SUM(oi.quantity) AS soldQty
+      FROM product p
+      JOIN order_item oi
+          ON oi.product_id = p.product_id
+          AND oi.deleted_at IS NULL
+      JOIN `order` o
+          ON o.order_id = oi.order_id
+          AND o.deleted_at IS NULL
+          AND o.status IN ('PAID', 'COMPLETED')
+          AND o.paid_at >= :since
+      WHERE p.deleted_at IS NULL
+      GROUP BY p.product_id, DATE_FORMAT(o.paid_at, '%Y%m%d')
+      """, nativeQuery = true)
+  List<DailySoldQtyRow> findProductDailySoldQuantities(@Param("since") LocalDateTime since);
+
+  // 인기 랭킹에서 뽑은 상품 id의 표시 정보 (삭제된 상품 제외)
+  @Query(value = """
+      SELECT
+          p.product_id AS productId,
+          p.product_name AS productName,
+          p.price AS price,
+          pi.product_image_url AS thumbnailUrl
+      FROM product p
+      LEFT JOIN product_image pi
+          ON pi.product_id = p.product_id
+          AND pi.image_type = 'THUMBNAIL'
+          AND pi.slot_index = 0
+          AND pi.deleted_at IS NULL
+      WHERE p.product_id IN (:productIds)
+        AND p.deleted_at IS NULL
+      """, nativeQuery = true)
+  List<PopularProductInfoRow> findPopularProductInfos(@Param("productIds") List<Long> productIds);
+
   interface PopularProductRow {
     Long getProductId();
     String getProductName();
@@ -89,4 +165,18 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     Long getSoldQty();
     String getThumbnailUrl();
   }
+
+  interface PopularProductInfoRow {
+    Long getProductId();
+    String getProductName();
+    Integer getPrice();
+    String getThumbnailUrl();
+  }
+
+  interface DailySoldQtyRow {
+    Long getId();
+    // yyyyMMdd
+    String getDay();
+    Long getSoldQty();
+  }
 }
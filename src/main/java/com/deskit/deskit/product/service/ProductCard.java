@@ -0,0 +1,81 @@
+package com.deskit.deskit.product.service;
+
+import com.deskit.deskit.product.dto.ProductImageResponse;
+import com.deskit.deskit.product.dto.ProductResponse;
+import com.deskit.deskit.product.dto.ProductResponse.ProductTags;
+import com.deskit.deskit.product.entity.Product;
+import java.util.List;
+
+/**
+ * 캐시용 상품 카드 (상품 + 썸네일/갤러리 + 태그 + 라이브가를 한 번에 조립한 결과)
+ * - Redis에 JSON으로 저장되므로 역직렬화 가능한 record로 유지
+ * - 호출 경로별 차이(라이브가 적용 여부, 갤러리 포함 여부)는 toResponse에서 처리
+ */
+record ProductCard(
+  Long productId,
+  Long sellerId,
+  String name,
+  String shortDesc,
+  String detailHtml,
+  Integer price,
+  Integer livePrice,
+  Integer costPrice,
+  Product.Status status,
+  boolean limitedSale,
+  Integer stockQty,
+  Integer safetyStock,
+  List<String> space,
+  List<String> tone,
+  List<String> situation,
+  List<String> mood,
+  List<String> tagsFlat,
+  String thumbnailUrl,
+  List<ProductImageResponse> galleryImages
+) {
+
+  static ProductCard of(Product product, ProductTags tags, List<String> tagsFlat, Integer livePrice,
+                        String thumbnailUrl, List<ProductImageResponse> galleryImages) {
+    return new ProductCard(
+      product.getId(),
+      product.getSellerId(),
+      product.getProductName(),
+      product.getShortDesc(),
+      product.getDetailHtml(),
+      product.getPrice(),
+      livePrice,
+      product.getCostPrice(),
+      product.getStatus(),
+      product.isLimitedSale(),
+      product.getStockQty(),
+      product.getSafetyStock(),
+      tags.getSpace(),
+      tags.getTone(),
+      tags.getSituation(),
+      tags.getMood(),
+      tagsFlat,
+      thumbnailUrl,
+      galleryImages
+    );
+  }
+
+  ProductResponse toResponse(boolean applyLivePrice, boolean withImages) {
+    Integer resolvedPrice = applyLivePrice && livePrice != null ? livePrice : price;
+    Product.Status resolvedStatus = limitedSale ? Product.Status.LIMITED_SALE : status;
+    return new ProductResponse(
+      productId,
+      sellerId,
+      name,
+      shortDesc,
+      detailHtml,
+      resolvedPrice,
+      costPrice,
+      resolvedStatus,
+      stockQty,
+      safetyStock,
+      new ProductTags(space, tone, situation, mood),
+      tagsFlat,
+      thumbnailUrl,
+      withImages ? galleryImages : null
+    );
+  }
+}
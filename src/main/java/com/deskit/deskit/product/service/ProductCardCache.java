@@ -0,0 +1,323 @@
+package com.deskit.deskit.product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 상품 카드 read-through 캐시 (L1: 노드 로컬 LRU, L2: Redis JSON)
+ * - 조회: L1 -> Redis multiGet -> 남은 id만 DB에서 일괄 조립
+ * - 무효화: ProductCardChangedEvent 커밋 이후 Redis 키 삭제/버전 증가 + Pub/Sub으로 모든 노드의 L1 제거
+ * - DB 로드 결과는 로드 전에 읽은 버전이 그대로일 때만 Redis 에 쓴다(다른 노드의 무효화와 경합해도 오래된 카드가 남지 않는다)
+ */
+@Component
+public class ProductCardCache implements MessageListener {
+
+  private static final String KEY_PREFIX = "product:card:";
+  private static final String VERSION_KEY_PREFIX = "product:card:version:";
+  private static final String INVALIDATE_CHANNEL = "product:card:invalidate";
+  private static final long VERSION_TTL_SECONDS = Duration.ofDays(1).toSeconds();
+
+  // KEYS: 카드, 버전 쌍의 나열 / 카드를 지우고 버전을 올려 진행 중인 로드가 오래된 카드를 쓰지 못하게 한다
+  private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>(
+    "for i = 1, #KEYS, 2 do " +
+      "redis.call('DEL', KEYS[i]) " +
+      "redis.call('INCR', KEYS[i + 1]) " +
+      "redis.call('EXPIRE', KEYS[i + 1], ARGV[1]) " +
+      "end " +
+      "return 1",
+    Long.class
+  );
+
+  // KEYS: 카드, 버전 / ARGV: 로드 전에 읽은 버전(없으면 ''), 카드 JSON, TTL(초)
+  // 로드하는 동안 무효화로 버전이 바뀌었으면 쓰지 않는다
+  private static final RedisScript<Long> WRITE_IF_VERSION_SCRIPT = new DefaultRedisScript<>(
+    "if (redis.call('GET', KEYS[2]) or '') ~= ARGV[1] then return 0 end " +
+      "redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3]) " +
+      "return 1",
+    Long.class
+  );
+
+  private static final Logger log = LoggerFactory.getLogger(ProductCardCache.class);
+
+  private final StringRedisTemplate stringRedisTemplate;
+  private final RedisMessageListenerContainer listenerContainer;
+  private final ObjectMapper objectMapper;
+
+  private final Map<Long, LocalEntry> localCache = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Long, LocalEntry> eldest) {
+      return size() > localMaxSize;
+    }
+  };
+  // 로드 중 무효화가 끼어들면 오래된 카드를 L1에 다시 넣지 않도록 세대 번호로 비교
+  private final AtomicLong invalidationGeneration = new AtomicLong();
+  private final AtomicLong localHits = new AtomicLong();
+  private final AtomicLong redisHits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  @Value("${product.card-cache.local-max-size:5000}")
+  private int localMaxSize;
+
+  @Value("${product.card-cache.local-ttl-seconds:30}")
+  private long localTtlSeconds;
+
+  @Value("${product.card-cache.redis-ttl-seconds:600}")
+  private long redisTtlSeconds;
+
+  public ProductCardCache(StringRedisTemplate stringRedisTemplate,
+                          @Qualifier("redisMessageListener") RedisMessageListenerContainer listenerContainer,
+                          ObjectMapper objectMapper) {
+    this.stringRedisTemplate = stringRedisTemplate;
+    this.listenerContainer = listenerContainer;
+    this.objectMapper = objectMapper;
+  }
+
+  @PostConstruct
+  public void init() {
+    listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATE_CHANNEL));
+  }
+
+  /**
+   * ids 순서대로 카드 조회 (없는 상품은 결과에서 빠짐)
+   * - loader는 캐시에 없는 id만 받아 productId -> 카드 맵을 반환
+   */
+  Map<Long, ProductCard> getAll(List<Long> ids, Function<List<Long>, Map<Long, ProductCard>> loader) {
+    List<Long> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+    Map<Long, ProductCard> found = new HashMap<>();
+    long generation = invalidationGeneration.get();
+    long now = System.currentTimeMillis();
+
+    List<Long> remoteIds = new ArrayList<>();
+    synchronized (localCache) {
+      for (Long id : distinctIds) {
+        LocalEntry entry = localCache.get(id);
+        if (entry != null && entry.expiresAt() > now) {
+          found.put(id, entry.card());
+        } else {
+          if (entry != null) {
+            localCache.remove(id);
+          }
+          remoteIds.add(id);
+        }
+      }
+    }
+    localHits.addAndGet(found.size());
+
+    List<Long> missingIds = remoteIds;
+    if (!remoteIds.isEmpty()) {
+      Map<Long, ProductCard> remote = readRedis(remoteIds);
+      redisHits.addAndGet(remote.size());
+      found.putAll(remote);
+      putLocal(remote, generation);
+      missingIds = remoteIds.stream()
+        .filter(id -> !remote.containsKey(id))
+        .collect(Collectors.toList());
+    }
+
+    if (!missingIds.isEmpty()) {
+      misses.addAndGet(missingIds.size());
+      // DB 조회 전에 버전을 읽어 두고, 그 사이 무효화가 있었으면 Redis 에 쓰지 않는다
+      Map<Long, String> versions = readVersions(missingIds);
+      Map<Long, ProductCard> loaded = loader.apply(missingIds);
+      found.putAll(loaded);
+      if (invalidationGeneration.get() == generation) {
+        writeRedis(loaded, versions);
+      }
+      putLocal(loaded, generation);
+    }
+
+    Map<Long, ProductCard> ordered = new LinkedHashMap<>();
+    for (Long id : distinctIds) {
+      ProductCard card = found.get(id);
+      if (card != null) {
+        ordered.put(id, card);
+      }
+    }
+    return ordered;
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onProductCardChanged(ProductCardChangedEvent event) {
+    List<Long> productIds = event.productIds();
+    if (productIds == null || productIds.isEmpty()) {
+      return;
+    }
+    evictLocal(productIds);
+    try {
+      List<String> keys = new ArrayList<>(productIds.size() * 2);
+      for (Long productId : productIds) {
+        keys.add(key(productId));
+        keys.add(versionKey(productId));
+      }
+      stringRedisTemplate.execute(INVALIDATE_SCRIPT, keys, String.valueOf(VERSION_TTL_SECONDS));
+      stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL,
+        productIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+    } catch (Exception e) {
+      log.warn("Product card invalidation failed: productIds={}, reason={}", productIds, e.getMessage());
+    }
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String body = new String(message.getBody(), StandardCharsets.UTF_8);
+    List<Long> productIds = new ArrayList<>();
+    for (String token : body.split(",")) {
+      try {
+        productIds.add(Long.parseLong(token.trim()));
+      } catch (NumberFormatException ignored) {
+      }
+    }
+    if (!productIds.isEmpty()) {
+      evictLocal(productIds);
+    }
+  }
+
+  public long getLocalHits() {
+    return localHits.get();
+  }
+
+  public long getRedisHits() {
+    return redisHits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public double getHitRate() {
+    long hits = localHits.get() + redisHits.get();
+    long total = hits + misses.get();
+    return total == 0 ? 0.0 : (double) hits / total;
+  }
+
+  public int getLocalSize() {
+    synchronized (localCache) {
+      return localCache.size();
+    }
+  }
+
+  private void evictLocal(Collection<Long> productIds) {
+    invalidationGeneration.incrementAndGet();
+    synchronized (localCache) {
+      productIds.forEach(localCache::remove);
+    }
+  }
+
+  private void putLocal(Map<Long, ProductCard> cards, long generation) {
+    if (cards.isEmpty() || localMaxSize <= 0) {
+      return;
+    }
+    long expiresAt = System.currentTimeMillis() + localTtlSeconds * 1000L;
+    synchronized (localCache) {
+      if (invalidationGeneration.get() != generation) {
+        return;
+      }
+      cards.forEach((id, card) -> localCache.put(id, new LocalEntry(card, expiresAt)));
+    }
+  }
+
+  private Map<Long, ProductCard> readRedis(List<Long> ids) {
+    Map<Long, ProductCard> cards = new HashMap<>();
+    try {
+      List<String> values = stringRedisTemplate.opsForValue()
+        .multiGet(ids.stream().map(this::key).collect(Collectors.toList()));
+      if (values == null) {
+        return cards;
+      }
+      for (int i = 0; i < ids.size() && i < values.size(); i++) {
+        String value = values.get(i);
+        if (value == null) {
+          continue;
+        }
+        try {
+          cards.put(ids.get(i), objectMapper.readValue(value, ProductCard.class));
+        } catch (JsonProcessingException e) {
+          log.warn("Invalid product card cache entry: productId={}", ids.get(i));
+        }
+      }
+    } catch (Exception e) {
+      // Redis 장애 시에는 DB 조립으로 내려간다
+      log.warn("Product card cache read failed: reason={}", e.getMessage());
+    }
+    return cards;
+  }
+
+  /**
+   * id -> 현재 버전 (버전 키가 없으면 ''). Redis 를 읽지 못하면 null 을 반환해 쓰기를 건너뛴다.
+   */
+  private Map<Long, String> readVersions(List<Long> ids) {
+    try {
+      List<String> values = stringRedisTemplate.opsForValue()
+        .multiGet(ids.stream().map(this::versionKey).collect(Collectors.toList()));
+      if (values == null) {
+        return null;
+      }
+      Map<Long, String> versions = new HashMap<>();
+      for (int i = 0; i < ids.size() && i < values.size(); i++) {
+        String value = values.get(i);
+        versions.put(ids.get(i), value != null ? value : "");
+      }
+      return versions;
+    } catch (Exception e) {
+      log.warn("Product card version read failed: reason={}", e.getMessage());
+      return null;
+    }
+  }
+
+  private void writeRedis(Map<Long, ProductCard> cards, Map<Long, String> versions) {
+    if (cards.isEmpty() || versions == null) {
+      return;
+    }
+    String ttl = String.valueOf(redisTtlSeconds);
+    try {
+      for (Map.Entry<Long, ProductCard> entry : cards.entrySet()) {
+        String version = versions.get(entry.getKey());
+        if (version == null) {
+          continue;
+        }
+        stringRedisTemplate.execute(WRITE_IF_VERSION_SCRIPT,
+          List.of(key(entry.getKey()), versionKey(entry.getKey())),
+          version, objectMapper.writeValueAsString(entry.getValue()), ttl);
+      }
+    } catch (Exception e) {
+      log.warn("Product card cache write failed: reason={}", e.getMessage());
+    }
+  }
+
+  private String key(Long productId) {
+    return KEY_PREFIX + productId;
+  }
+
+  private String versionKey(Long productId) {
+    return VERSION_KEY_PREFIX + productId;
+  }
+
+  private record LocalEntry(ProductCard card, long expiresAt) {
+  }
+}
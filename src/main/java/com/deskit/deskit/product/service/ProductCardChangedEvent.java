@@ -0,0 +1,24 @@
+package com.deskit.deskit.product.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 상품 카드(조회 응답 조립 결과)에 영향을 주는 변경 이벤트
+ * - 상품 기본정보/이미지/태그/재고/가격(라이브가 포함) 변경 시 발행
+ * - 커밋 이후 ProductCardCache가 해당 상품의 캐시를 무효화
+ */
+public record ProductCardChangedEvent(List<Long> productIds) {
+
+  public static ProductCardChangedEvent of(Long productId) {
+    return of(List.of(productId));
+  }
+
+  public static ProductCardChangedEvent of(Collection<Long> productIds) {
+    return new ProductCardChangedEvent(productIds.stream()
+      .filter(Objects::nonNull)
+      .distinct()
+      .toList());
+  }
+}
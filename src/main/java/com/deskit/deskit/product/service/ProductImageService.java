@@ -6,6 +6,7 @@ import com.deskit.deskit.product.entity.ProductImage;
 import com.deskit.deskit.product.entity.ProductImage.ImageType;
 import com.deskit.deskit.product.repository.ProductImageRepository;
 import com.deskit.deskit.product.repository.ProductRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -17,13 +18,16 @@ public class ProductImageService {
   private final ProductRepository productRepository;
   private final ProductImageRepository productImageRepository;
   private final S3Uploader s3Uploader;
+  private final ApplicationEventPublisher eventPublisher;
 
   public ProductImageService(ProductRepository productRepository,
                              ProductImageRepository productImageRepository,
-                             S3Uploader s3Uploader) {
+                             S3Uploader s3Uploader,
+                             ApplicationEventPublisher eventPublisher) {
     this.productRepository = productRepository;
     this.productImageRepository = productImageRepository;
     this.s3Uploader = s3Uploader;
+    this.eventPublisher = eventPublisher;
   }
 
   public ProductImageResponse uploadImage(Long sellerId,
@@ -71,6 +75,7 @@ public class ProductImageService {
 
     ProductImage image = ProductImage.create(productId, imageUrl, imageType, slotIndex);
     ProductImage saved = productImageRepository.save(image);
+    eventPublisher.publishEvent(ProductCardChangedEvent.of(productId));
     return ProductImageResponse.from(saved);
   }
 }
@@ -3,6 +3,7 @@ package com.deskit.deskit.product.service;
 import com.deskit.deskit.product.dto.ProductCreateRequest;
 import com.deskit.deskit.product.dto.ProductCreateResponse;
 import com.deskit.deskit.product.dto.ProductBasicUpdateRequest;
+import com.deskit.deskit.product.dto.ProductCatalogResponse;
 import com.deskit.deskit.product.dto.ProductDetailUpdateRequest;
 import com.deskit.deskit.product.dto.ProductImageResponse;
 import com.deskit.deskit.product.dto.ProductResponse;
@@ -27,6 +28,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +37,9 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -48,6 +53,8 @@ public class ProductService {
   private final BroadcastProductRepository broadcastProductRepository;
   private final OrderItemRepository orderItemRepository;
   private final AwsS3Service awsS3Service;
+  private final ProductCardCache productCardCache;
+  private final ApplicationEventPublisher eventPublisher;
 
   private static final Logger log = LoggerFactory.getLogger(ProductService.class);
 
@@ -57,37 +64,89 @@ public class ProductService {
                         ProductImageRepository productImageRepository,
                         BroadcastProductRepository broadcastProductRepository,
                         OrderItemRepository orderItemRepository,
-                        AwsS3Service awsS3Service) {
+                        AwsS3Service awsS3Service,
+                        ProductCardCache productCardCache,
+                        ApplicationEventPublisher eventPublisher) {
     this.productRepository = productRepository;
     this.productTagRepository = productTagRepository;
     this.productImageRepository = productImageRepository;
     this.broadcastProductRepository = broadcastProductRepository;
     this.orderItemRepository = orderItemRepository;
     this.awsS3Service = awsS3Service;
+    this.productCardCache = productCardCache;
+    this.eventPublisher = eventPublisher;
   }
 
-  // 상품 목록 조회: deleted_at IS NULL인 상품만 가져오고, 태그는 productIds로 한 번에 batch 조회 (N+1 방지)
+  private static final int CATALOG_DEFAULT_SIZE = 20;
+  private static final int CATALOG_MAX_SIZE = 100;
+
+  // 상품 목록 조회: ON_SALE 상품 id만 조회하고, 카드(태그/썸네일/라이브가)는 캐시에서 조립 결과를 재사용
   public List<ProductResponse> getProducts() {
-    List<Product> products =
-      productRepository.findAllByStatusAndDeletedAtIsNullOrderByIdAsc(Product.Status.ON_SALE);
-    if (products.isEmpty()) {
-      return Collections.emptyList();
+    List<Long> productIds = productRepository.findIdsByStatus(Product.Status.ON_SALE);
+    return toProductResponses(productIds);
+  }
+
+  // 상품 카탈로그 커서 페이지 조회: product_id 키셋 페이지네이션 + 태그/가격/판매자 필터
+  // - 썸네일/라이브가/태그 조합은 이번 페이지 상품에 대해서만 수행
+  public ProductCatalogResponse getProductCatalog(Long cursor, Integer size, Long tagId,
+                                                  Integer minPrice, Integer maxPrice, Long sellerId) {
+    if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "min_price must be <= max_price");
     }
+    int pageSize = size == null ? CATALOG_DEFAULT_SIZE : Math.min(Math.max(size, 1), CATALOG_MAX_SIZE);
 
-    // 조회된 상품 id 목록 뽑아서 IN 쿼리로 태그를 한 번에 가져오기
+    Slice<Product> page = productRepository.findCatalogPage(
+      Product.Status.ON_SALE, cursor, sellerId, minPrice, maxPrice, tagId, PageRequest.of(0, pageSize)
+    );
+    List<Product> products = page.getContent();
+    Long nextCursor = page.hasNext() && !products.isEmpty()
+      ? products.get(products.size() - 1).getId()
+      : null;
     List<Long> productIds = products.stream()
-            .map(Product::getId)
-            .collect(Collectors.toList());
+      .map(Product::getId)
+      .collect(Collectors.toList());
+    return new ProductCatalogResponse(toProductResponses(productIds), page.hasNext(), nextCursor);
+  }
 
-    Map<Long, String> thumbnailUrls = productImageRepository
-      .findAllByProductIdInAndImageTypeAndSlotIndexAndDeletedAtIsNullOrderByProductIdAscIdAsc(
-        productIds, ImageType.THUMBNAIL, 0
-      ).stream()
-      .collect(Collectors.toMap(
-        ProductImage::getProductId,
-        ProductImage::getProductImageUrl,
-        (left, right) -> left
-      ));
+  private List<ProductResponse> toProductResponses(List<Long> productIds) {
+    if (productIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return productCardCache.getAll(productIds, this::loadProductCards).values().stream()
+      .map(card -> card.toResponse(true, false))
+      .collect(Collectors.toList());
+  }
+
+  // 상품 단건 조회: ON_SALE && deleted_at IS NULL인 상품만 반환. 없으면 Optional.empty()
+  public Optional<ProductResponse> getProduct(Long id) {
+    if (id == null) {
+      return Optional.empty();
+    }
+    ProductCard card = productCardCache.getAll(List.of(id), this::loadProductCards).get(id);
+    if (card == null || card.status() != Product.Status.ON_SALE) {
+      return Optional.empty();
+    }
+    return Optional.of(card.toResponse(true, true));
+  }
+
+  // 캐시 미스된 상품들의 카드를 한 번에 조립 (상품/이미지/라이브가/태그 각각 IN 쿼리 1회)
+  private Map<Long, ProductCard> loadProductCards(List<Long> productIds) {
+    List<Product> products = productRepository.findAllByIdInAndDeletedAtIsNull(productIds);
+    if (products.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    Map<Long, String> thumbnailUrls = new HashMap<>();
+    Map<Long, List<ProductImageResponse>> galleryImages = new HashMap<>();
+    for (ProductImage image : productImageRepository
+      .findAllByProductIdInAndDeletedAtIsNullOrderByProductIdAscSlotIndexAscIdAsc(productIds)) {
+      if (image.getImageType() == ImageType.THUMBNAIL && Objects.equals(image.getSlotIndex(), 0)) {
+        thumbnailUrls.putIfAbsent(image.getProductId(), image.getProductImageUrl());
+      } else if (image.getImageType() == ImageType.GALLERY) {
+        galleryImages.computeIfAbsent(image.getProductId(), ignored -> new ArrayList<>())
+          .add(ProductImageResponse.from(image));
+      }
+    }
 
     Map<Long, Integer> livePrices = broadcastProductRepository.findLiveBpPrices(productIds).stream()
             .collect(Collectors.toMap(
@@ -96,58 +155,25 @@ public class ProductService {
                     (left, right) -> left
             ));
 
-    // (product_id, tagCode, tagName) 형태의 projection row들
-    List<ProductTagRow> rows = productTagRepository.findActiveTagsByProductIds(productIds);
-
-    // productId -> (tags, tagsFlat) 형태로 변환
-    Map<Long, TagsBundle> tagsByProductId = buildTagsByProductId(rows);
-
-    // 상품 엔티티 + 태그 번들 => 프론트 호환 DTO로 조립
-    return products.stream()
-            .map(product -> {
-              TagsBundle bundle = tagsByProductId.get(product.getId());
-              ProductTags tags = bundle == null ? ProductTags.empty() : bundle.getTags();
-              List<String> tagsFlat = bundle == null ? Collections.emptyList() : bundle.getTagsFlat();
-              Integer priceOverride = livePrices.get(product.getId());
-              String thumbnailUrl = thumbnailUrls.get(product.getId());
-              return ProductResponse.fromWithPriceAndThumbnail(
-                product, tags, tagsFlat, priceOverride, thumbnailUrl, null
-              );
-            })
-            .collect(Collectors.toList());
-  }
-
-  // 상품 단건 조회: deleted_at IS NULL인 상품만 반환. 없으면 Optional.empty()
-  public Optional<ProductResponse> getProduct(Long id) {
-    Optional<Product> product =
-      productRepository.findByIdAndStatusAndDeletedAtIsNull(id, Product.Status.ON_SALE);
-    if (product.isEmpty()) {
-      return Optional.empty();
+    // (product_id, tagCode, tagName) 형태의 projection row들 -> productId별 (tags, tagsFlat)
+    Map<Long, TagsBundle> tagsByProductId =
+      buildTagsByProductId(productTagRepository.findActiveTagsByProductIds(productIds));
+
+    Map<Long, ProductCard> cards = new HashMap<>();
+    for (Product product : products) {
+      TagsBundle bundle = tagsByProductId.get(product.getId());
+      ProductTags tags = bundle == null ? ProductTags.empty() : bundle.getTags();
+      List<String> tagsFlat = bundle == null ? Collections.emptyList() : bundle.getTagsFlat();
+      cards.put(product.getId(), ProductCard.of(
+        product,
+        tags,
+        tagsFlat,
+        livePrices.get(product.getId()),
+        thumbnailUrls.get(product.getId()),
+        galleryImages.getOrDefault(product.getId(), Collections.emptyList())
+      ));
     }
-
-    // 단건이지만 동일 로직 재사용: IN(List.of(id))로 tags batch 조회
-    List<ProductTagRow> rows = productTagRepository.findActiveTagsByProductIds(List.of(id));
-    Map<Long, TagsBundle> tagsByProductId = buildTagsByProductId(rows);
-
-    TagsBundle bundle = tagsByProductId.get(id);
-    ProductTags tags = bundle == null ? ProductTags.empty() : bundle.getTags();
-    List<String> tagsFlat = bundle == null ? Collections.emptyList() : bundle.getTagsFlat();
-
-    Integer priceOverride = broadcastProductRepository.findLiveBpPriceByProductId(id).stream()
-            .findFirst()
-            .orElse(null);
-    String thumbnailUrl = productImageRepository
-      .findFirstByProductIdAndImageTypeAndSlotIndexAndDeletedAtIsNullOrderByIdAsc(id, ImageType.THUMBNAIL, 0)
-      .map(ProductImage::getProductImageUrl)
-      .orElse(null);
-    List<ProductImageResponse> productImages = productImageRepository
-      .findAllByProductIdAndDeletedAtIsNullOrderBySlotIndexAsc(id).stream()
-      .filter(image -> image.getImageType() == ImageType.GALLERY)
-      .map(ProductImageResponse::from)
-      .collect(Collectors.toList());
-    return Optional.of(ProductResponse.fromWithPriceAndThumbnail(
-      product.get(), tags, tagsFlat, priceOverride, thumbnailUrl, productImages
-    ));
+    return cards;
   }
 
   public List<SellerProductListResponse> getSellerProducts(Long sellerId) {
@@ -297,6 +323,7 @@ public class ProductService {
     }
 
     Product saved = productRepository.save(product);
+    eventPublisher.publishEvent(ProductCardChangedEvent.of(productId));
     return SellerProductStatusUpdateResponse.from(saved);
   }
 
@@ -325,6 +352,7 @@ public class ProductService {
     }
 
     productRepository.save(product);
+    eventPublisher.publishEvent(ProductCardChangedEvent.of(productId));
   }
 
   public void updateProductBasicInfo(Long sellerId, Long productId, ProductBasicUpdateRequest request) {
@@ -498,6 +526,7 @@ public class ProductService {
     }
 
     productRepository.save(product);
+    eventPublisher.publishEvent(ProductCardChangedEvent.of(productId));
   }
 
   public SellerProductDetailResponse getSellerProductDetail(Long sellerId, Long productId) {
@@ -554,6 +583,7 @@ public class ProductService {
     }
 
     productRepository.save(product);
+    eventPublisher.publishEvent(ProductCardChangedEvent.of(productId));
   }
 
   public void softDeleteProduct(Long sellerId, Long productId) {
@@ -576,46 +606,20 @@ public class ProductService {
 
     product.setDeletedAt(LocalDateTime.now());
     productRepository.save(product);
+    eventPublisher.publishEvent(ProductCardChangedEvent.of(productId));
   }
 
+  // id 목록으로 상품 조회 (판매 상태 무관, 삭제 상품 제외, 라이브가 미적용). 요청한 id 순서를 유지
   public List<ProductResponse> getProductsByIds(List<Long> ids) {
     if (ids == null || ids.isEmpty()) {
       return Collections.emptyList();
     }
-
-    List<Product> products = productRepository.findAllByIdInAndDeletedAtIsNull(ids);
-    if (products.isEmpty()) {
-      return Collections.emptyList();
-    }
-
-    List<Long> productIds = products.stream()
-            .map(Product::getId)
-            .collect(Collectors.toList());
-
-    Map<Long, String> thumbnailUrls = productImageRepository
-      .findAllByProductIdInAndImageTypeAndSlotIndexAndDeletedAtIsNullOrderByProductIdAscIdAsc(
-        productIds, ImageType.THUMBNAIL, 0
-      ).stream()
-      .collect(Collectors.toMap(
-        ProductImage::getProductId,
-        ProductImage::getProductImageUrl,
-        (left, right) -> left
-      ));
-
-    List<ProductTagRow> rows = productTagRepository.findActiveTagsByProductIds(productIds);
-    Map<Long, TagsBundle> tagsByProductId = buildTagsByProductId(rows);
-
-    return products.stream()
-            .map(product -> {
-              TagsBundle bundle = tagsByProductId.get(product.getId());
-              ProductTags tags = bundle == null ? ProductTags.empty() : bundle.getTags();
-              List<String> tagsFlat = bundle == null ? Collections.emptyList() : bundle.getTagsFlat();
-              String thumbnailUrl = thumbnailUrls.get(product.getId());
-              return ProductResponse.fromWithPriceAndThumbnail(
-                product, tags, tagsFlat, null, thumbnailUrl, null
-              );
-            })
-            .collect(Collectors.toList());
+    List<Long> productIds = ids.stream()
+      .filter(Objects::nonNull)
+      .collect(Collectors.toList());
+    return productCardCache.getAll(productIds, this::loadProductCards).values().stream()
+      .map(card -> card.toResponse(false, false))
+      .collect(Collectors.toList());
   }
 
   // DB에서 가져온 tag row들을 productId별로 묶어서 tags/tagsFlat을 만든다
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,13 +23,16 @@ public class ProductTagService {
   private final ProductRepository productRepository;
   private final ProductTagRepository productTagRepository;
   private final TagRepository tagRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   public ProductTagService(ProductRepository productRepository,
                            ProductTagRepository productTagRepository,
-                           TagRepository tagRepository) {
+                           TagRepository tagRepository,
+                           ApplicationEventPublisher eventPublisher) {
     this.productRepository = productRepository;
     this.productTagRepository = productTagRepository;
     this.tagRepository = tagRepository;
+    this.eventPublisher = eventPublisher;
   }
 
   @Transactional
@@ -54,6 +58,7 @@ public class ProductTagService {
 
     if (uniqueIds.isEmpty()) {
       productTagRepository.deleteByProduct_Id(productId);
+      eventPublisher.publishEvent(ProductCardChangedEvent.of(productId));
       return;
     }
 
@@ -76,5 +81,6 @@ public class ProductTagService {
       mappings.add(productTag);
     }
     productTagRepository.saveAll(mappings);
+    eventPublisher.publishEvent(ProductCardChangedEvent.of(productId));
   }
 }
@@ -1,5 +1,6 @@
 package com.deskit.deskit.setup.controller;
 
+import com.deskit.deskit.setup.dto.SetupCatalogResponse;
 import com.deskit.deskit.setup.dto.SetupResponse;
 import com.deskit.deskit.setup.service.SetupService;
 import java.util.List;
@@ -7,11 +8,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
  * Setup(셋업) 조회 전용 REST API 컨트롤러
  * - /api/setups: 셋업 목록 조회
+ * - /api/setups/catalog: 셋업 커서 페이지 조회
  * - /api/setups/{id}: 셋업 단건 조회
  *
  * 포인트:
@@ -40,6 +43,22 @@ public class SetupController {
     return setupService.getSetups();
   }
 
+  /**
+   * 셋업 커서 페이지 조회
+   * - cursor: 이전 응답의 next_cursor (첫 페이지는 생략)
+   * - size: 페이지 크기 (기본 20, 최대 100)
+   * - tag_id / seller_id: 선택 필터
+   */
+  @GetMapping("/catalog")
+  public SetupCatalogResponse getSetupCatalog(
+          @RequestParam(value = "cursor", required = false) Long cursor,
+          @RequestParam(value = "size", required = false) Integer size,
+          @RequestParam(value = "tag_id", required = false) Long tagId,
+          @RequestParam(value = "seller_id", required = false) Long sellerId
+  ) {
+    return setupService.getSetupCatalog(cursor, size, tagId, sellerId);
+  }
+
   /**
    * 셋업 단건 조회
    * - 존재하면 200 OK + SetupResponse
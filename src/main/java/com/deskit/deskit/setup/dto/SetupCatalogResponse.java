@@ -0,0 +1,16 @@
+package com.deskit.deskit.setup.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * 셋업 목록 커서 페이지 응답
+ * - has_next: 다음 페이지 존재 여부
+ * - next_cursor: 다음 요청의 cursor로 넘길 마지막 setup_id (다음 페이지가 없으면 null)
+ */
+public record SetupCatalogResponse(
+  @JsonProperty("items") List<SetupResponse> items,
+  @JsonProperty("has_next") boolean hasNext,
+  @JsonProperty("next_cursor") Long nextCursor
+) {
+}
@@ -1,8 +1,12 @@
 package com.deskit.deskit.setup.repository;
 
+import com.deskit.deskit.product.repository.ProductRepository.DailySoldQtyRow;
 import com.deskit.deskit.setup.entity.Setup;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +17,24 @@ public interface SetupRepository extends JpaRepository<Setup, Long> {
 
   Optional<Setup> findByIdAndDeletedAtIsNull(Long id);
 
+  // 셋업 키셋(커서) 페이지 조회: cursor 이후 id 오름차순, null 필터는 무시, size + 1 조회로 hasNext 판단
+  @Query("""
+      select s from Setup s
+       where s.deletedAt is null
+         and (:cursor is null or s.id > :cursor)
+         and (:sellerId is null or s.sellerId = :sellerId)
+         and (:tagId is null or exists (
+               select 1 from SetupTag st
+                where st.setup = s
+                  and st.tag.id = :tagId
+                  and st.deletedAt is null))
+       order by s.id asc
+      """)
+  Slice<Setup> findCatalogPage(@Param("cursor") Long cursor,
+                               @Param("sellerId") Long sellerId,
+                               @Param("tagId") Long tagId,
+                               Pageable pageable);
+
   @Query(value = """
       select sp.product_id
       from setup_product sp
@@ -46,6 +68,55 @@ public interface SetupRepository extends JpaRepository<Setup, Long> {
       """, nativeQuery = true)
   List<PopularSetupRow> findPopularSetups(@Param("limit") int limit);
 
+  // 인기 랭킹 전체 재계산용: since 이후 결제된 셋업별(구성 상품 기준) 일자별 판매 수량 (findPopularSetups와 같은 주문 상태 기준)
+  @Query(value = """
+      SELECT
+          s.setup_id AS id,
+          DATE_FORMAT(o.paid_at, '%Y%m%d') AS day,
+          SUM(oi.quantity) AS soldQty
+      FROM setup s
+      JOIN setup_product sp
+          ON sp.setup_id = s.setup_id
+          AND sp.deleted_at IS NULL
+      JOIN order_item oi
+          ON oi.product_id = sp.product_id
+          AND oi.deleted_at IS NULL
+      JOIN `order` o
+          ON o.order_id = oi.order_id
+          AND o.deleted_at IS NULL
+          AND o.status IN ('PAID', 'COMPLETED')
+          AND o.paid_at >= :since
+      WHERE s.deleted_at IS NULL
+      GROUP BY s.setup_id, DATE_FORMAT(o.paid_at, '%Y%m%d')
+      """, nativeQuery = true)
+  List<DailySoldQtyRow> findSetupDailySoldQuantities(@Param("since") LocalDateTime since);
+
+  // 상품이 포함된 셋업 매핑 (인기 랭킹 증분 반영용)
+  @Query(value = """
+      SELECT
+          sp.setup_id AS setupId,
+          sp.product_id AS productId
+      FROM setup_product sp
+      JOIN setup s
+          ON s.setup_id = sp.setup_id
+          AND s.deleted_at IS NULL
+      WHERE sp.product_id IN (:productIds)
+        AND sp.deleted_at IS NULL
+      """, nativeQuery = true)
+  List<SetupProductRow> findSetupProductsByProductIds(@Param("productIds") List<Long> productIds);
+
+  @Query(value = """
+      SELECT
+          s.setup_id AS setupId,
+          s.setup_name AS setupName,
+          s.short_desc AS shortDesc,
+          s.setup_image_url AS imageUrl
+      FROM setup s
+      WHERE s.setup_id IN (:setupIds)
+        AND s.deleted_at IS NULL
+      """, nativeQuery = true)
+  List<PopularSetupInfoRow> findPopularSetupInfos(@Param("setupIds") List<Long> setupIds);
+
   interface PopularSetupRow {
     Long getSetupId();
     String getSetupName();
@@ -53,4 +124,16 @@ public interface SetupRepository extends JpaRepository<Setup, Long> {
     String getImageUrl();
     Long getSoldQty();
   }
+
+  interface PopularSetupInfoRow {
+    Long getSetupId();
+    String getSetupName();
+    String getShortDesc();
+    String getImageUrl();
+  }
+
+  interface SetupProductRow {
+    Long getSetupId();
+    Long getProductId();
+  }
 }
@@ -1,6 +1,7 @@
 package com.deskit.deskit.setup.service;
 
 import com.deskit.deskit.livehost.service.AwsS3Service;
+import com.deskit.deskit.setup.dto.SetupCatalogResponse;
 import com.deskit.deskit.setup.dto.SetupResponse;
 import com.deskit.deskit.setup.dto.SetupResponse.SetupTags;
 import com.deskit.deskit.setup.entity.Setup;
@@ -16,6 +17,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 @Service // Setup 관련 조회/조합 로직을 담당하는 스프링 서비스 빈
@@ -25,6 +28,9 @@ public class SetupService {
   private final SetupTagRepository setupTagRepository; // Setup-Tag 매핑 조회용 JPA Repository
   private final AwsS3Service awsS3Service;
 
+  private static final int CATALOG_DEFAULT_SIZE = 20;
+  private static final int CATALOG_MAX_SIZE = 100;
+
   // 생성자 주입: final 필드 + 테스트 용이
   public SetupService(SetupRepository setupRepository,
                       SetupTagRepository setupTagRepository,
@@ -40,6 +46,22 @@ public class SetupService {
   // - 프론트가 원하는 tags(카테고리별) + tagsFlat(합친 리스트)로 조립
   public List<SetupResponse> getSetups() {
     List<Setup> setups = setupRepository.findAllByDeletedAtIsNullOrderByIdAsc();
+    return toSetupResponses(setups);
+  }
+
+  // 셋업 커서 페이지 조회: setup_id 키셋 페이지네이션 + 태그/판매자 필터
+  // - 태그 조합은 이번 페이지 셋업에 대해서만 수행
+  public SetupCatalogResponse getSetupCatalog(Long cursor, Integer size, Long tagId, Long sellerId) {
+    int pageSize = size == null ? CATALOG_DEFAULT_SIZE : Math.min(Math.max(size, 1), CATALOG_MAX_SIZE);
+    Slice<Setup> page = setupRepository.findCatalogPage(cursor, sellerId, tagId, PageRequest.of(0, pageSize));
+    List<Setup> setups = page.getContent();
+    Long nextCursor = page.hasNext() && !setups.isEmpty()
+            ? setups.get(setups.size() - 1).getId()
+            : null;
+    return new SetupCatalogResponse(toSetupResponses(setups), page.hasNext(), nextCursor);
+  }
+
+  private List<SetupResponse> toSetupResponses(List<Setup> setups) {
     if (setups.isEmpty()) {
       return Collections.emptyList();
     }
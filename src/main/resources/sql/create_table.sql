@@ -432,6 +432,7 @@ CREATE TABLE view_history
     viewer_id    VARCHAR(100)    NOT NULL, -- 로그인/비로그인 포함한 Viewer 식별자(현 구조 유지)
     created_at   DATETIME        NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at   DATETIME        NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    exited       BOOLEAN         NOT NULL DEFAULT FALSE COMMENT '퇴장 처리 여부',
     PRIMARY KEY (history_id),
     KEY idx_vh_broadcast (broadcast_id),
     KEY idx_vh_viewer (viewer_id)
@@ -470,6 +471,7 @@ CREATE TABLE live_chat
     vod_play_time INT                                              NOT NULL DEFAULT 0 COMMENT '방송 시작 후 경과 시간(초)',
     PRIMARY KEY (message_id),
     KEY idx_live_chat_broadcast_time (broadcast_id, send_lchat),
+    KEY idx_live_chat_broadcast_play_time (broadcast_id, vod_play_time),
     KEY idx_live_chat_member_email (member_email)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4 COMMENT ='라이브 채팅';
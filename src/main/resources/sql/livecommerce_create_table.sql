@@ -426,6 +426,7 @@ CREATE TABLE view_history
     viewer_id    VARCHAR(100)    NOT NULL,
     created_at   DATETIME        NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at   DATETIME        NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    exited       BOOLEAN         NOT NULL DEFAULT FALSE COMMENT '퇴장 처리 여부',
     PRIMARY KEY (history_id)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4 COMMENT ='시청 기록';
@@ -459,7 +460,8 @@ CREATE TABLE live_chat
     is_world      BOOLEAN                                          NOT NULL DEFAULT FALSE,
     send_lchat    DATETIME                                         NOT NULL DEFAULT CURRENT_TIMESTAMP,
     vod_play_time INT                                              NOT NULL DEFAULT 0 COMMENT '방송 시작 후 경과 시간(초)',
-    PRIMARY KEY (message_id)
+    PRIMARY KEY (message_id),
+    KEY idx_live_chat_broadcast_play_time (broadcast_id, vod_play_time)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4 COMMENT ='라이브 채팅';
 
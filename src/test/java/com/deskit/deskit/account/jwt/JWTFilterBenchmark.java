@@ -0,0 +1,94 @@
+package com.deskit.deskit.account.jwt;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증 요청 하나를 JWTFilter 로 처리하는 비용.
+ * - filter(cacheSize=0): 요청마다 토큰을 한 번 파싱/검증한다.
+ * - filter(cacheSize=10000): 같은 토큰의 두 번째 요청부터 검증 캐시를 쓴다.
+ * - legacySevenParses: 변경 전 필터처럼 클레임 하나마다 파서를 새로 만들어 서명을 검증한다(7회).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JWTFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private JWTFilter filter;
+    private SecretKey secretKey;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // 필터의 요청별 INFO 로그가 측정값을 덮지 않게 한다.
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        JWTUtil jwtUtil = new JWTUtil(SECRET, cacheSize, 300);
+        filter = new JWTFilter(jwtUtil);
+        secretKey = new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8),
+                Jwts.SIG.HS256.key().build().getAlgorithm());
+        token = jwtUtil.createSignupJwt("kakao 1234", "ROLE_MEMBER", "홍길동", "user@deskit.com",
+                "https://cdn.deskit.com/profile/1234.png", TimeUnit.HOURS.toMillis(1));
+    }
+
+    @Benchmark
+    public int filter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public void legacySevenParses(Blackhole blackhole) {
+        blackhole.consume(parse().getExpiration().before(new Date()));
+        blackhole.consume(parse().get("category", String.class));
+        blackhole.consume(parse().get("username", String.class));
+        blackhole.consume(parse().get("role", String.class));
+        blackhole.consume(parse().get("name", String.class));
+        blackhole.consume(parse().get("email", String.class));
+        blackhole.consume(parse().get("profileUrl", String.class));
+    }
+
+    private Claims parse() {
+        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+    }
+}
@@ -0,0 +1,152 @@
+package com.deskit.deskit.livechat.service;
+
+import com.deskit.deskit.livechat.entity.ForbiddenWord;
+import com.deskit.deskit.livechat.repository.ForbiddenWordRepository;
+import org.ahocorasick.trie.Emit;
+import org.ahocorasick.trie.Trie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅 메시지 한 건의 금칙어 검사 비용.
+ * - matcher: ForbiddenWordMatcher.mask (정규화 + 글자 경계 확인)
+ * - legacyTrie: 변경 전 LiveChatService.filterContent (원문 그대로 ahocorasick Trie)
+ * 메시지 64개를 돌려 쓰고, hitRatio 비율의 메시지에만 금칙어가 들어 있다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ForbiddenWordMatcherBenchmark {
+
+    private static final int MESSAGE_COUNT = 64;
+    private static final String[] TEMPLATES = {
+            "오늘 소개하신 키보드 배송은 언제 시작되나요?",
+            "색상 추가 입고 예정 있나요 ㅎㅎ",
+            "결제 완료했습니다 확인 부탁드립니다",
+            "주문하시 바랍니다 라고 하셨는데 링크가 안 열려요",
+            "ㅋㅋㅋㅋ 대박 가격 실화냐",
+            "모니터암 VESA 100 호환되나요?"
+    };
+
+    @Param({"100", "1000"})
+    public int wordCount;
+
+    @Param({"0.1"})
+    public double hitRatio;
+
+    private ForbiddenWordMatcher matcher;
+    private Trie legacyTrie;
+    private String[] messages;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(16);
+        List<String> words = words(random);
+
+        ForbiddenWordRepository repository = mock(ForbiddenWordRepository.class);
+        when(repository.findAll()).thenReturn(words.stream().map(this::forbiddenWord).toList());
+        matcher = new ForbiddenWordMatcher(repository, mock(StringRedisTemplate.class),
+                mock(RedisMessageListenerContainer.class));
+        matcher.init();
+        legacyTrie = Trie.builder().addKeywords(words).build();
+
+        messages = new String[MESSAGE_COUNT];
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            String message = TEMPLATES[i % TEMPLATES.length];
+            if (random.nextDouble() < hitRatio) {
+                message = message + " " + words.get(random.nextInt(words.size()));
+            }
+            messages[i] = message;
+        }
+    }
+
+    @Benchmark
+    public String matcher() {
+        return matcher.mask(nextMessage());
+    }
+
+    @Benchmark
+    public String legacyTrie() {
+        String content = nextMessage();
+        Collection<Emit> rawEmits = legacyTrie.parseText(content);
+        if (rawEmits == null || rawEmits.isEmpty()) {
+            return content;
+        }
+        List<Emit> emits = new ArrayList<>(rawEmits);
+        emits.sort(Comparator.comparingInt(Emit::getStart)
+                .thenComparing(Comparator.comparingInt(Emit::getEnd).reversed()));
+        StringBuilder result = new StringBuilder(content.length());
+        int cursor = 0;
+        int lastEnd = -1;
+        for (Emit emit : emits) {
+            if (emit.getStart() <= lastEnd) {
+                continue;
+            }
+            if (emit.getStart() > cursor) {
+                result.append(content, cursor, emit.getStart());
+            }
+            result.append("***");
+            cursor = emit.getEnd() + 1;
+            lastEnd = emit.getEnd();
+        }
+        if (cursor < content.length()) {
+            result.append(content.substring(cursor));
+        }
+        return result.toString();
+    }
+
+    private String nextMessage() {
+        cursor = (cursor + 1) % MESSAGE_COUNT;
+        return messages[cursor];
+    }
+
+    /**
+     * 실제 금칙어 몇 개 + 임의 한글 2~3음절 단어.
+     */
+    private List<String> words(Random random) {
+        Set<String> words = new LinkedHashSet<>(List.of("시발", "씨발", "병신", "ㅅㅂ", "ㅂㅅ", "개새끼", "fuck"));
+        while (words.size() < wordCount) {
+            int length = 2 + random.nextInt(2);
+            StringBuilder word = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                word.append((char) (0xAC00 + random.nextInt(11172)));
+            }
+            words.add(word.toString());
+        }
+        return new ArrayList<>(words);
+    }
+
+    private ForbiddenWord forbiddenWord(String word) {
+        ForbiddenWord forbiddenWord = new ForbiddenWord();
+        ReflectionTestUtils.setField(forbiddenWord, "word", word);
+        return forbiddenWord;
+    }
+}
@@ -0,0 +1,99 @@
+package com.deskit.deskit.livechat.service;
+
+import com.deskit.deskit.livechat.entity.ForbiddenWord;
+import com.deskit.deskit.livechat.repository.ForbiddenWordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ForbiddenWordMatcherTest {
+
+    @Test
+    void masksForbiddenWordAcrossSpacingAndSeparators() {
+        ForbiddenWordMatcher matcher = matcher("시발");
+
+        assertThat(matcher.mask("아 시발 진짜")).isEqualTo("아 *** 진짜");
+        assertThat(matcher.mask("아 시 발 진짜")).isEqualTo("아 *** 진짜");
+        assertThat(matcher.mask("아 시.발 진짜")).isEqualTo("아 *** 진짜");
+    }
+
+    @Test
+    void masksRepeatedTailAndFullWidthLatin() {
+        ForbiddenWordMatcher matcher = matcher("시발", "fuck");
+
+        assertThat(matcher.mask("시발ㄹㄹ 뭐야")).isEqualTo("*** 뭐야");
+        assertThat(matcher.mask("ＦＵＣＫ off")).isEqualTo("*** off");
+    }
+
+    @Test
+    void doesNotMatchAcrossSyllableBoundaries() {
+        ForbiddenWordMatcher matcher = matcher("시발", "바보", "ㅅㅂ");
+
+        // "하시 바" + "랍" 의 초성 ㄹ 까지가 자모로는 "시발" 이지만 글자 중간에서 끝난다.
+        assertThat(matcher.mask("확인 후 주문하시 바랍니다")).isEqualTo("확인 후 주문하시 바랍니다");
+        assertThat(matcher.mask("오늘 방송도 시청하시바랍니다")).isEqualTo("오늘 방송도 시청하시바랍니다");
+        // "바봉" 의 ㅂㅗ 까지가 "바보" 지만 종성 ㅇ 이 남는다.
+        assertThat(matcher.mask("바봉 스튜디오 신상")).isEqualTo("바봉 스튜디오 신상");
+        // "갓" 의 종성 ㅅ 에서 시작하는 일치는 보지 않는다.
+        assertThat(matcher.mask("갓ㅂ랜드 굿즈")).isEqualTo("갓ㅂ랜드 굿즈");
+        assertThat(matcher.mask("ㅅㅂ 진짜")).isEqualTo("*** 진짜");
+    }
+
+    @Test
+    void shorterWordStillMatchesWhenLongerOneStartsMidSyllable() {
+        ForbiddenWordMatcher matcher = matcher("ㅏ보", "보");
+
+        assertThat(matcher.mask("너 바보")).isEqualTo("너 바***");
+    }
+
+    @Test
+    void repeatedLettersOfWordAreNotCollapsed() {
+        ForbiddenWordMatcher matcher = matcher("ass", "ㅅㅅ");
+
+        assertThat(matcher.mask("was")).isEqualTo("was");
+        assertThat(matcher.mask("class")).isEqualTo("class");
+        assertThat(matcher.mask("it has to be")).isEqualTo("it has to be");
+        assertThat(matcher.mask("ㅅ 진짜")).isEqualTo("ㅅ 진짜");
+    }
+
+    @Test
+    void repeatedLettersInMessageStillMatch() {
+        ForbiddenWordMatcher matcher = matcher("ass", "ㅅㅅ");
+
+        assertThat(matcher.mask("kick ass")).isEqualTo("kick ***");
+        assertThat(matcher.mask("kick aasss!")).isEqualTo("kick ***!");
+        assertThat(matcher.mask("kick a.s.s now")).isEqualTo("kick *** now");
+        assertThat(matcher.mask("ㅅㅅㅅ 진짜")).isEqualTo("*** 진짜");
+    }
+
+    @Test
+    void returnsSameInstanceWhenNothingMatches() {
+        ForbiddenWordMatcher matcher = matcher("시발");
+        String content = "배송은 언제 시작되나요?";
+
+        assertThat(matcher.mask(content)).isSameAs(content);
+    }
+
+    private ForbiddenWordMatcher matcher(String... words) {
+        ForbiddenWordRepository repository = mock(ForbiddenWordRepository.class);
+        when(repository.findAll()).thenReturn(Arrays.stream(words).map(this::forbiddenWord).toList());
+        ForbiddenWordMatcher matcher = new ForbiddenWordMatcher(repository, mock(StringRedisTemplate.class),
+                mock(RedisMessageListenerContainer.class));
+        matcher.init();
+        assertThat(matcher.getWordCount()).isEqualTo(words.length);
+        return matcher;
+    }
+
+    private ForbiddenWord forbiddenWord(String word) {
+        ForbiddenWord forbiddenWord = new ForbiddenWord();
+        ReflectionTestUtils.setField(forbiddenWord, "word", word);
+        return forbiddenWord;
+    }
+}
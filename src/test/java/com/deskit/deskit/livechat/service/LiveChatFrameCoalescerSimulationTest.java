@@ -0,0 +1,158 @@
+package com.deskit.deskit.livechat.service;
+
+import com.deskit.deskit.livechat.dto.LiveChatMessageDTO;
+import com.deskit.deskit.livechat.dto.LiveMessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 채팅이 몰리는 방송 하나를 흉내 내어 프레임 병합 전후를 비교한다.
+ * - frames: 구독자 한 명이 받는 STOMP 프레임 수
+ * - bytes: 구독자 전체로 나가는 STOMP MESSAGE 프레임 바이트(헤더 + JSON 본문)
+ * - p99: 메시지가 coalescer 에 들어온 뒤 전송되기까지의 지연
+ */
+class LiveChatFrameCoalescerSimulationTest {
+
+    private static final int SUBSCRIBERS = 1000;
+    private static final int THRESHOLD_PER_SECOND = 20;
+    private static final long WINDOW_MILLIS = 200L;
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StompEncoder stompEncoder = new StompEncoder();
+
+    @Test
+    void busyRoomSendsFewerFramesWithBoundedDelay() throws Exception {
+        Result direct = simulate(Integer.MAX_VALUE, 200, 2000L);
+        Result coalesced = simulate(THRESHOLD_PER_SECOND, 200, 2000L);
+        print("200 msg/s, coalescing off", direct);
+        print("200 msg/s, coalescing on ", coalesced);
+
+        assertThat(direct.frames()).isEqualTo(direct.messages());
+        assertThat(coalesced.delivered()).containsExactlyElementsOf(coalesced.sent());
+        assertThat(coalesced.frames()).isLessThan(coalesced.messages() / 4);
+        assertThat(coalesced.subscriberBytes()).isLessThan(direct.subscriberBytes());
+        assertThat(coalesced.p99Millis()).isLessThanOrEqualTo(WINDOW_MILLIS + 100L);
+    }
+
+    @Test
+    void quietRoomIsNotCoalesced() throws Exception {
+        Result result = simulate(THRESHOLD_PER_SECOND, 5, 1000L);
+        print("5 msg/s, coalescing on   ", result);
+
+        assertThat(result.frames()).isEqualTo(result.messages());
+        assertThat(result.p99Millis()).isLessThan(WINDOW_MILLIS);
+    }
+
+    private Result simulate(int thresholdPerSecond, int messagesPerSecond, long durationMillis) throws Exception {
+        SimpMessageSendingOperations messaging = mock(SimpMessageSendingOperations.class);
+        List<Frame> frames = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            frames.add(new Frame(System.nanoTime(), invocation.getArgument(1)));
+            return null;
+        }).when(messaging).convertAndSend(anyString(), any(Object.class));
+
+        LiveChatFrameCoalescer coalescer = new LiveChatFrameCoalescer(messaging);
+        ReflectionTestUtils.setField(coalescer, "thresholdPerSecond", thresholdPerSecond);
+        ReflectionTestUtils.setField(coalescer, "windowMillis", WINDOW_MILLIS);
+        ReflectionTestUtils.setField(coalescer, "maxBatchSize", MAX_BATCH_SIZE);
+
+        Map<String, Long> enqueuedAt = new ConcurrentHashMap<>();
+        List<String> sent = new ArrayList<>();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / messagesPerSecond;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        long next = start;
+        int sequence = 0;
+        while (next < end) {
+            LockSupport.parkNanos(next - System.nanoTime());
+            String content = "msg-" + sequence++;
+            enqueuedAt.put(content, System.nanoTime());
+            sent.add(content);
+            coalescer.deliver(message(content));
+            next += intervalNanos;
+        }
+        // 마지막 창이 비워질 때까지 기다린다.
+        Thread.sleep(WINDOW_MILLIS * 3);
+        coalescer.shutdown();
+
+        List<String> delivered = new ArrayList<>();
+        List<Long> delays = new ArrayList<>();
+        long frameBytes = 0L;
+        for (Frame frame : frames) {
+            frameBytes += encodedSize(frame.payload());
+            for (LiveChatMessageDTO message : messagesOf(frame.payload())) {
+                delivered.add(message.getContent());
+                delays.add(frame.sentAtNanos() - enqueuedAt.get(message.getContent()));
+            }
+        }
+        Collections.sort(delays);
+        long p99Nanos = delays.isEmpty() ? 0L : delays.get((int) Math.ceil(delays.size() * 0.99) - 1);
+        return new Result(sent.size(), frames.size(), frameBytes * SUBSCRIBERS,
+                TimeUnit.NANOSECONDS.toMillis(p99Nanos), sent, delivered);
+    }
+
+    /**
+     * 구독자에게 실제로 나가는 MESSAGE 프레임 크기.
+     */
+    private int encodedSize(Object payload) throws Exception {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setNativeHeader("destination", "/sub/chat/1");
+        accessor.setNativeHeader("content-type", "application/json");
+        accessor.setNativeHeader("subscription", "sub-0");
+        accessor.setNativeHeader("message-id", "k2f1x9qa-12345");
+        return stompEncoder.encode(accessor.getMessageHeaders(), objectMapper.writeValueAsBytes(payload)).length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<LiveChatMessageDTO> messagesOf(Object payload) {
+        if (payload instanceof List<?> batch) {
+            return (List<LiveChatMessageDTO>) batch;
+        }
+        return List.of((LiveChatMessageDTO) payload);
+    }
+
+    private LiveChatMessageDTO message(String content) {
+        return LiveChatMessageDTO.builder()
+                .broadcastId(1L)
+                .memberEmail("viewer@deskit.com")
+                .type(LiveMessageType.TALK)
+                .sender("시청자")
+                .content(content)
+                .senderRole("ROLE_MEMBER")
+                .sentAt(System.currentTimeMillis())
+                .build();
+    }
+
+    private void print(String label, Result result) {
+        System.out.printf("%s: messages=%d, frames/subscriber=%d, bytes(%d subscribers)=%d, p99=%dms%n",
+                label, result.messages(), result.frames(), SUBSCRIBERS, result.subscriberBytes(), result.p99Millis());
+    }
+
+    private record Frame(long sentAtNanos, Object payload) {
+    }
+
+    private record Result(int messages, int frames, long subscriberBytes, long p99Millis,
+                          List<String> sent, List<String> delivered) {
+    }
+}
@@ -0,0 +1,183 @@
+package com.deskit.deskit.livechat.service;
+
+import com.deskit.deskit.livechat.dto.LiveChatMessageDTO;
+import com.deskit.deskit.livechat.dto.LiveMessageType;
+import com.deskit.deskit.support.LocalRedis;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 최근 채팅 저장 비용을 변경 전(ZSET)과 변경 후(Stream)로 비교한다(로컬 Redis 필요).
+ * - 메시지당 Redis 명령 수: INFO commandstats 의 호출 수 차이
+ * - 메시지당 전송 바이트: INFO stats 의 total_net_input_bytes 차이
+ * - 보관 메시지당 메모리: MEMORY USAGE / 보관 개수
+ */
+class LiveChatRecentStoreRedisCostTest {
+
+    private static final int MESSAGES = 2000;
+    private static final int CAPACITY = 200;
+    private static final String LEGACY_KEY_PREFIX = "livechat:recent:";
+    private static final String STREAM_KEY_PREFIX = "livechat:recent:stream:";
+    private static final long LEGACY_WINDOW_MILLIS = 60_000L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate template;
+    private LiveChatRecentStore store;
+    private long broadcastId;
+
+    @BeforeEach
+    void setUp() {
+        LocalRedis.assumeAvailable();
+        connectionFactory = LocalRedis.connectionFactory();
+        template = LocalRedis.template(connectionFactory);
+        store = new LiveChatRecentStore(template);
+        ReflectionTestUtils.setField(store, "capacity", CAPACITY);
+        ReflectionTestUtils.setField(store, "localRefreshMillis", 1000L);
+        ReflectionTestUtils.setField(store, "ttlSeconds", 86400L);
+        broadcastId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (template != null) {
+            template.delete(LEGACY_KEY_PREFIX + broadcastId);
+            template.delete(STREAM_KEY_PREFIX + broadcastId);
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void streamStoreUsesOneCommandAndFewerBytesPerMessage() throws Exception {
+        String legacyKey = LEGACY_KEY_PREFIX + broadcastId;
+        Cost legacy = measure(() -> {
+            for (int i = 0; i < MESSAGES; i++) {
+                legacyCache(legacyKey, message(i));
+            }
+        }, "zadd", "zremrangebyscore", "expire");
+        long legacyMemory = memoryUsage(legacyKey);
+        Long legacyRetained = template.opsForZSet().zCard(legacyKey);
+
+        String streamKey = STREAM_KEY_PREFIX + broadcastId;
+        Cost stream = measure(() -> {
+            for (int i = 0; i < MESSAGES; i++) {
+                store.append(message(i));
+            }
+        }, "xadd", "expire");
+        long streamMemory = memoryUsage(streamKey);
+        Long streamRetained = template.opsForStream().size(streamKey);
+
+        System.out.printf("legacy zset: commands/msg=%.2f, inputBytes/msg=%.1f, memory/retained=%.1f (retained=%d)%n",
+                legacy.commandsPerMessage(), legacy.inputBytesPerMessage(),
+                (double) legacyMemory / legacyRetained, legacyRetained);
+        System.out.printf("stream     : commands/msg=%.2f, inputBytes/msg=%.1f, memory/retained=%.1f (retained=%d)%n",
+                stream.commandsPerMessage(), stream.inputBytesPerMessage(),
+                (double) streamMemory / streamRetained, streamRetained);
+
+        assertThat(legacy.commandsPerMessage()).isEqualTo(2.0);
+        assertThat(stream.commandsPerMessage()).isLessThan(1.01);
+        assertThat(stream.inputBytesPerMessage()).isLessThan(legacy.inputBytesPerMessage());
+        assertThat((double) streamMemory / streamRetained).isLessThan((double) legacyMemory / legacyRetained);
+        // MAXLEN ~ 는 매크로 노드 단위로 잘라내므로 capacity 보다 조금 더 남을 수 있다.
+        assertThat(streamRetained).isGreaterThanOrEqualTo(CAPACITY).isLessThan(MESSAGES);
+    }
+
+    /**
+     * 변경 전 LiveChatService.cacheRecentMessage: GenericJackson2Json 값으로 ZADD 후 ZREMRANGEBYSCORE.
+     */
+    private void legacyCache(String key, LiveChatMessageDTO dto) throws Exception {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("@class", "com.deskit.deskit.livechat.dto.LiveChatCacheEntry");
+        entry.put("broadcastId", dto.getBroadcastId());
+        entry.put("memberEmail", dto.getMemberEmail());
+        entry.put("type", dto.getType().name());
+        entry.put("sender", dto.getSender());
+        entry.put("content", dto.getContent());
+        entry.put("senderRole", dto.getSenderRole());
+        entry.put("connectionId", dto.getConnectionId());
+        entry.put("vodPlayTime", dto.getVodPlayTime());
+        entry.put("sentAt", dto.getSentAt());
+        template.opsForZSet().add(key, objectMapper.writeValueAsString(entry), dto.getSentAt());
+        template.opsForZSet().removeRangeByScore(key, 0, System.currentTimeMillis() - LEGACY_WINDOW_MILLIS);
+    }
+
+    private LiveChatMessageDTO message(int index) {
+        return LiveChatMessageDTO.builder()
+                .broadcastId(broadcastId)
+                .memberEmail("viewer" + index + "@deskit.com")
+                .type(LiveMessageType.TALK)
+                .sender("시청자" + index)
+                .content("오늘 소개하신 키보드 배송은 언제 시작되나요? " + index)
+                .senderRole("ROLE_MEMBER")
+                .connectionId(UUID.randomUUID().toString())
+                .vodPlayTime(0)
+                .sentAt(System.currentTimeMillis())
+                .build();
+    }
+
+    private Cost measure(ThrowingRunnable work, String... commands) throws Exception {
+        long callsBefore = commandCalls(commands);
+        long bytesBefore = netInputBytes();
+        work.run();
+        long bytesAfter = netInputBytes();
+        long callsAfter = commandCalls(commands);
+        return new Cost((double) (callsAfter - callsBefore) / MESSAGES,
+                (double) (bytesAfter - bytesBefore) / MESSAGES);
+    }
+
+    private long commandCalls(String... commands) {
+        Properties stats = template.execute((RedisCallback<Properties>) connection ->
+                connection.serverCommands().info("commandstats"));
+        long calls = 0L;
+        for (String command : commands) {
+            String value = stats != null ? stats.getProperty("cmdstat_" + command) : null;
+            if (value == null) {
+                continue;
+            }
+            for (String part : value.split(",")) {
+                if (part.startsWith("calls=")) {
+                    calls += Long.parseLong(part.substring("calls=".length()));
+                }
+            }
+        }
+        return calls;
+    }
+
+    private long netInputBytes() {
+        Properties stats = template.execute((RedisCallback<Properties>) connection ->
+                connection.serverCommands().info("stats"));
+        return Long.parseLong(stats.getProperty("total_net_input_bytes").trim());
+    }
+
+    private long memoryUsage(String key) {
+        Object reply = template.execute((RedisCallback<Object>) connection -> connection.execute("MEMORY",
+                "USAGE".getBytes(StandardCharsets.UTF_8), key.getBytes(StandardCharsets.UTF_8),
+                "SAMPLES".getBytes(StandardCharsets.UTF_8), "0".getBytes(StandardCharsets.UTF_8)));
+        return reply instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private record Cost(double commandsPerMessage, double inputBytesPerMessage) {
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,194 @@
+package com.deskit.deskit.livechat.service;
+
+import com.deskit.deskit.livechat.dto.LiveChatMessageDTO;
+import com.deskit.deskit.livechat.dto.LiveMessageType;
+import com.deskit.deskit.support.LocalRedis;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 같은 로컬 Redis 에 붙은 노드 두 개로 LiveChatRelay 의 노드 간 채팅 전달을 확인한다.
+ */
+class LiveChatRelayMultiNodeTest {
+
+    private static final long TIMEOUT_MILLIS = 5000L;
+    private static final String CHANNEL_PREFIX = "livechat:room:";
+    private static final String DESTINATION_PREFIX = "/sub/chat/";
+
+    private Node nodeA;
+    private Node nodeB;
+    private long broadcastId;
+
+    @BeforeEach
+    void setUp() {
+        LocalRedis.assumeAvailable();
+        nodeA = new Node();
+        nodeB = new Node();
+        broadcastId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (nodeA != null) {
+            nodeA.template.delete("livechat:recent:stream:" + broadcastId);
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void messagePublishedOnOneNodeReachesSubscribersOnTheOther() {
+        nodeB.subscribe("session-b", "sub-0", broadcastId);
+        LocalRedis.awaitSubscribers(nodeA.template, CHANNEL_PREFIX + broadcastId, 1);
+
+        LiveChatMessageDTO message = talk("안녕하세요");
+        nodeA.relay.publish(message, null);
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(nodeB.messaging, timeout(TIMEOUT_MILLIS)).convertAndSend(eq(DESTINATION_PREFIX + broadcastId),
+                payload.capture());
+        assertThat(payload.getValue()).isInstanceOfSatisfying(LiveChatMessageDTO.class, delivered -> {
+            assertThat(delivered.getContent()).isEqualTo("안녕하세요");
+            assertThat(delivered.getSentAt()).isEqualTo(message.getSentAt());
+        });
+        // A 에는 구독자가 없으므로 채널을 구독하지 않고 아무것도 보내지 않는다.
+        verify(nodeA.messaging, after(300).never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void publishingNodeWithLocalSubscribersReceivesItsOwnMessageOnce() {
+        nodeA.subscribe("session-a", "sub-0", broadcastId);
+        nodeB.subscribe("session-b", "sub-0", broadcastId);
+        LocalRedis.awaitSubscribers(nodeA.template, CHANNEL_PREFIX + broadcastId, 2);
+
+        nodeA.relay.publish(talk("한 번만"), null);
+
+        verify(nodeA.messaging, timeout(TIMEOUT_MILLIS).times(1))
+                .convertAndSend(eq(DESTINATION_PREFIX + broadcastId), any(Object.class));
+        verify(nodeB.messaging, timeout(TIMEOUT_MILLIS).times(1))
+                .convertAndSend(eq(DESTINATION_PREFIX + broadcastId), any(Object.class));
+        verify(nodeA.messaging, after(300).times(1))
+                .convertAndSend(eq(DESTINATION_PREFIX + broadcastId), any(Object.class));
+    }
+
+    @Test
+    void relayedMessageIsAddedToOtherNodesRecentRing() {
+        nodeB.subscribe("session-b", "sub-0", broadcastId);
+        LocalRedis.awaitSubscribers(nodeA.template, CHANNEL_PREFIX + broadcastId, 1);
+        // B 의 로컬 링을 먼저 채워 둔다(refresh 주기 안에서는 Redis 를 다시 읽지 않는다).
+        assertThat(nodeB.recentStore.recent(broadcastId)).isEmpty();
+
+        LiveChatMessageDTO message = talk("최근 채팅");
+        String recordId = nodeA.recentStore.append(message);
+        nodeA.relay.publish(message, recordId);
+
+        verify(nodeB.messaging, timeout(TIMEOUT_MILLIS)).convertAndSend(eq(DESTINATION_PREFIX + broadcastId),
+                any(Object.class));
+        assertThat(nodeB.recentStore.recent(broadcastId))
+                .extracting(LiveChatMessageDTO::getContent)
+                .containsExactly("최근 채팅");
+        assertThat(nodeB.recentStore.getRedisReadCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void nodeUnsubscribesFromChannelAfterLastSessionDisconnects() {
+        String channel = CHANNEL_PREFIX + broadcastId;
+        nodeB.subscribe("session-b", "sub-0", broadcastId);
+        LocalRedis.awaitSubscribers(nodeA.template, channel, 1);
+
+        nodeB.disconnect("session-b");
+        LocalRedis.await(() -> LocalRedis.subscriberCount(nodeA.template, channel) == 0,
+                Duration.ofMillis(TIMEOUT_MILLIS), "unsubscribe of " + channel);
+
+        nodeA.relay.publish(talk("아무도 없음"), null);
+        verify(nodeB.messaging, after(300).never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    private LiveChatMessageDTO talk(String content) {
+        return LiveChatMessageDTO.builder()
+                .broadcastId(broadcastId)
+                .memberEmail("viewer@deskit.com")
+                .type(LiveMessageType.TALK)
+                .sender("시청자")
+                .content(content)
+                .senderRole("ROLE_MEMBER")
+                .sentAt(System.currentTimeMillis())
+                .build();
+    }
+
+    private static final class Node implements AutoCloseable {
+
+        private final LettuceConnectionFactory connectionFactory = LocalRedis.connectionFactory();
+        private final StringRedisTemplate template = LocalRedis.template(connectionFactory);
+        private final RedisMessageListenerContainer container = LocalRedis.listenerContainer(connectionFactory);
+        private final SimpMessageSendingOperations messaging = mock(SimpMessageSendingOperations.class);
+        private final LiveChatFrameCoalescer coalescer = new LiveChatFrameCoalescer(messaging);
+        private final LiveChatRecentStore recentStore = new LiveChatRecentStore(template);
+        private final LiveChatRelay relay;
+
+        private Node() {
+            // 테스트 메시지 수로는 병합이 켜지지 않게 한다.
+            ReflectionTestUtils.setField(coalescer, "thresholdPerSecond", 1000);
+            ReflectionTestUtils.setField(coalescer, "windowMillis", 200L);
+            ReflectionTestUtils.setField(coalescer, "maxBatchSize", 100);
+            ReflectionTestUtils.setField(recentStore, "capacity", 200);
+            ReflectionTestUtils.setField(recentStore, "localRefreshMillis", 60000L);
+            ReflectionTestUtils.setField(recentStore, "ttlSeconds", 60L);
+            relay = new LiveChatRelay(template, container, coalescer, recentStore, new ObjectMapper());
+        }
+
+        private void subscribe(String sessionId, String subscriptionId, long broadcastId) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+            accessor.setSessionId(sessionId);
+            accessor.setSubscriptionId(subscriptionId);
+            accessor.setDestination(DESTINATION_PREFIX + broadcastId);
+            relay.handleSubscribe(new SessionSubscribeEvent(this, message(accessor)));
+        }
+
+        private void disconnect(String sessionId) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+            accessor.setSessionId(sessionId);
+            relay.handleDisconnect(new SessionDisconnectEvent(this, message(accessor), sessionId, CloseStatus.NORMAL));
+        }
+
+        private Message<byte[]> message(StompHeaderAccessor accessor) {
+            return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        }
+
+        @Override
+        public void close() throws Exception {
+            coalescer.shutdown();
+            container.destroy();
+            connectionFactory.destroy();
+        }
+    }
+}
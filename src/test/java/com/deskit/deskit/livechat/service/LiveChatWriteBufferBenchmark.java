@@ -0,0 +1,158 @@
+package com.deskit.deskit.livechat.service;
+
+import com.deskit.deskit.livechat.dto.LiveChatMessageDTO;
+import com.deskit.deskit.livechat.dto.LiveMessageType;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * H2(MySQL 모드, 메모리) 에 채팅을 계속 저장할 때 초당 저장되는 메시지 수. 단위는 저장 완료된 메시지 1건.
+ * 매 호출마다 채팅 1000건을 한꺼번에 넣고 모두 저장될(또는 버려질) 때까지 기다린다.
+ * - perMessageInsert: 변경 전처럼 chatSaveExecutor(core 10, max 20, queue 1000)에 메시지마다 단건 INSERT 를 맡긴다.
+ *   큐가 넘쳐 거절된 메시지는 저장되지 않으며 종료 시 거절 수를 출력한다.
+ * - writeBuffer: LiveChatWriteBuffer 의 단일 writer 가 multi-row INSERT 로 저장한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LiveChatWriteBufferBenchmark {
+
+    private static final int BURST_SIZE = 1000;
+    private static final long BROADCAST_ID = 1L;
+    private static final String SINGLE_INSERT = "INSERT INTO live_chat " +
+            "(broadcast_id, member_email, msg_type, content, raw_content, send_nick, is_world, send_lchat, vod_play_time) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final AtomicLong rejected = new AtomicLong();
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ThreadPoolTaskExecutor chatSaveExecutor;
+    private LiveChatWriteBuffer writeBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:livechat_bench;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(20);
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE live_chat (" +
+                "message_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "broadcast_id BIGINT NOT NULL, " +
+                "member_email VARCHAR(255) NOT NULL, " +
+                "msg_type VARCHAR(20) NOT NULL, " +
+                "content VARCHAR(500) NOT NULL, " +
+                "raw_content VARCHAR(500) NOT NULL, " +
+                "send_nick VARCHAR(50) NOT NULL, " +
+                "is_world BOOLEAN NOT NULL DEFAULT FALSE, " +
+                "send_lchat DATETIME NOT NULL, " +
+                "vod_play_time INT NOT NULL DEFAULT 0)");
+        jdbcTemplate.execute("CREATE INDEX idx_live_chat_broadcast_time ON live_chat (broadcast_id, send_lchat)");
+
+        chatSaveExecutor = new ThreadPoolTaskExecutor();
+        chatSaveExecutor.setCorePoolSize(10);
+        chatSaveExecutor.setMaxPoolSize(20);
+        chatSaveExecutor.setQueueCapacity(1000);
+        chatSaveExecutor.setThreadNamePrefix("AsyncChat-");
+        chatSaveExecutor.initialize();
+
+        writeBuffer = new LiveChatWriteBuffer(jdbcTemplate);
+        ReflectionTestUtils.setField(writeBuffer, "bufferCapacity", 20000);
+        ReflectionTestUtils.setField(writeBuffer, "batchSize", 500);
+        ReflectionTestUtils.setField(writeBuffer, "flushIntervalMillis", 200L);
+        ReflectionTestUtils.setField(writeBuffer, "overflowPolicy", LiveChatWriteBuffer.OverflowPolicy.DROP_OLDEST);
+        writeBuffer.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearTable() {
+        jdbcTemplate.execute("TRUNCATE TABLE live_chat");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nperMessageInsert rejected=%d, writeBuffer written=%d dropped=%d failed=%d%n",
+                rejected.get(), writeBuffer.getWrittenCount(), writeBuffer.getDroppedCount(), writeBuffer.getFailedCount());
+        writeBuffer.shutdown();
+        chatSaveExecutor.shutdown();
+        dataSource.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST_SIZE)
+    public void perMessageInsert() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(BURST_SIZE);
+        for (int i = 0; i < BURST_SIZE; i++) {
+            LiveChatMessageDTO message = message(i);
+            try {
+                chatSaveExecutor.execute(() -> {
+                    try {
+                        jdbcTemplate.update(SINGLE_INSERT,
+                                message.getBroadcastId(), message.getMemberEmail(), message.getType().name(),
+                                message.getContent(), message.getContent(), message.getSender(), message.isWorld(),
+                                new Timestamp(message.getSentAt()), message.getVodPlayTime());
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                rejected.incrementAndGet();
+                done.countDown();
+            }
+        }
+        done.await();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST_SIZE)
+    public void writeBuffer() {
+        long target = writeBuffer.getWrittenCount() + writeBuffer.getFailedCount() + BURST_SIZE;
+        long droppedBefore = writeBuffer.getDroppedCount();
+        for (int i = 0; i < BURST_SIZE; i++) {
+            writeBuffer.offer(message(i));
+        }
+        // 버려진 메시지는 기다리지 않는다.
+        while (writeBuffer.getWrittenCount() + writeBuffer.getFailedCount()
+                < target - (writeBuffer.getDroppedCount() - droppedBefore)) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+    }
+
+    private LiveChatMessageDTO message(int sequence) {
+        return LiveChatMessageDTO.builder()
+                .broadcastId(BROADCAST_ID)
+                .memberEmail("viewer" + (sequence % 500) + "@example.com")
+                .type(LiveMessageType.TALK)
+                .sender("viewer" + (sequence % 500))
+                .content("chat message " + sequence)
+                .sentAt(System.currentTimeMillis())
+                .build();
+    }
+}
@@ -0,0 +1,198 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import com.deskit.deskit.livehost.common.enums.BroadcastDeadline;
+import com.deskit.deskit.livehost.service.BroadcastDeadlineEvent;
+import com.deskit.deskit.livehost.service.BroadcastService;
+import com.deskit.deskit.livehost.service.RedisService;
+import com.deskit.deskit.support.LocalRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 지연 큐(broadcast:deadline:queue)에 넣은 일정 이벤트가 제시간에 한 번만 실행되는지 로컬 Redis 로 확인한다.
+ */
+class BroadcastDeadlineWorkerTest {
+
+    private static final long POLL_INTERVAL_MILLIS = 250L;
+    // 스레드 스케줄링/Redis 왕복 여유
+    private static final long SLACK_MILLIS = 150L;
+    private static final long LEASE_MILLIS = 1000L;
+
+    private final List<BroadcastDeadlineWorker> workers = new ArrayList<>();
+    private final List<Long> broadcastIds = new ArrayList<>();
+    // broadcastId:deadline -> 실행 시각(ms) 목록
+    private final Map<String, List<Long>> firedAt = new ConcurrentHashMap<>();
+    // 남은 실패 횟수 (0 이하면 성공)
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate template;
+    private RedisService redisService;
+
+    @BeforeEach
+    void setUp() {
+        LocalRedis.assumeAvailable();
+        connectionFactory = LocalRedis.connectionFactory();
+        template = LocalRedis.template(connectionFactory);
+        redisService = new RedisService(LocalRedis.jsonTemplate(connectionFactory), template);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.forEach(BroadcastDeadlineWorker::shutdown);
+        if (template != null) {
+            for (Long broadcastId : broadcastIds) {
+                for (BroadcastDeadline deadline : BroadcastDeadline.values()) {
+                    String member = new BroadcastDeadlineEvent(broadcastId, deadline).toMember();
+                    template.opsForZSet().remove(redisService.getBroadcastDeadlineQueueKey(), member);
+                    template.opsForZSet().remove(redisService.getBroadcastDeadlineInflightKey(), member);
+                    template.opsForZSet().remove(redisService.getBroadcastDeadlineFiredKey(), member);
+                }
+            }
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void firesEachDeadlineWithinOnePollIntervalOfItsDueTime() {
+        startWorker();
+        long now = System.currentTimeMillis();
+        Map<String, Long> dueAt = new ConcurrentHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            BroadcastDeadlineEvent event = new BroadcastDeadlineEvent(newBroadcastId(), BroadcastDeadline.READY);
+            long due = now + 500L + i * 137L;
+            dueAt.put(event.toMember(), due);
+            redisService.scheduleBroadcastDeadline(event, due);
+        }
+
+        LocalRedis.await(() -> firedAt.keySet().containsAll(dueAt.keySet()), Duration.ofSeconds(10),
+                "all deadlines to fire");
+
+        long maxLateness = 0L;
+        for (Map.Entry<String, Long> entry : dueAt.entrySet()) {
+            List<Long> fired = firedAt.get(entry.getKey());
+            assertThat(fired).hasSize(1);
+            long lateness = fired.get(0) - entry.getValue();
+            assertThat(lateness).as("fired before due: %s", entry.getKey()).isGreaterThanOrEqualTo(0L);
+            maxLateness = Math.max(maxLateness, lateness);
+        }
+        System.out.printf("deadline firing: max lateness=%dms (poll interval %dms)%n", maxLateness, POLL_INTERVAL_MILLIS);
+        assertThat(maxLateness).isLessThanOrEqualTo(POLL_INTERVAL_MILLIS + SLACK_MILLIS);
+    }
+
+    @Test
+    void rescheduledDeadlineFiresOnlyAtItsNewTime() throws InterruptedException {
+        startWorker();
+        BroadcastDeadlineEvent event = new BroadcastDeadlineEvent(newBroadcastId(), BroadcastDeadline.SCHEDULED_END);
+        long now = System.currentTimeMillis();
+        redisService.scheduleBroadcastDeadline(event, now + 300L);
+        // 예약 시각 변경: 같은 멤버를 다시 넣으면 시각만 옮겨진다.
+        long movedTo = now + 1500L;
+        redisService.scheduleBroadcastDeadline(event, movedTo);
+
+        LocalRedis.await(() -> firedAt.containsKey(event.toMember()), Duration.ofSeconds(5), "moved deadline");
+        Thread.sleep(POLL_INTERVAL_MILLIS * 2);
+
+        List<Long> fired = firedAt.get(event.toMember());
+        assertThat(fired).hasSize(1);
+        assertThat(fired.get(0)).isBetween(movedTo, movedTo + POLL_INTERVAL_MILLIS + SLACK_MILLIS);
+    }
+
+    @Test
+    void dueEntryIsFiredOnceEvenIfTwoWorkersPollTogether() throws InterruptedException {
+        // 리더 리스가 넘어가는 순간처럼 두 노드가 동시에 리더라고 믿어도 꺼내기가 원자적이라 한 번만 실행된다.
+        startWorker();
+        startWorker();
+        long now = System.currentTimeMillis();
+        List<String> members = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            BroadcastDeadlineEvent event = new BroadcastDeadlineEvent(newBroadcastId(), BroadcastDeadline.NO_SHOW);
+            members.add(event.toMember());
+            redisService.scheduleBroadcastDeadline(event, now + 300L);
+        }
+
+        LocalRedis.await(() -> firedAt.keySet().containsAll(members), Duration.ofSeconds(10), "all deadlines to fire");
+        Thread.sleep(POLL_INTERVAL_MILLIS * 2);
+
+        assertThat(members).allSatisfy(member -> assertThat(firedAt.get(member)).hasSize(1));
+    }
+
+    @Test
+    void failedDeadlineIsRetriedAfterLeaseExpires() {
+        failuresLeft.set(1);
+        startWorker();
+        BroadcastDeadlineEvent event = new BroadcastDeadlineEvent(newBroadcastId(), BroadcastDeadline.READY);
+        long due = System.currentTimeMillis() + 200L;
+        redisService.scheduleBroadcastDeadline(event, due);
+
+        LocalRedis.await(() -> firedAt.containsKey(event.toMember()), Duration.ofSeconds(5), "retried deadline");
+
+        // 첫 실행이 실패해도 리스가 끝나면 재조정 주기를 기다리지 않고 다시 실행된다.
+        assertThat(firedAt.get(event.toMember()).get(0))
+                .isBetween(due + LEASE_MILLIS, due + LEASE_MILLIS + POLL_INTERVAL_MILLIS * 2 + SLACK_MILLIS);
+        assertThat(template.opsForZSet().score(redisService.getBroadcastDeadlineInflightKey(), event.toMember())).isNull();
+    }
+
+    @Test
+    void reconcileDoesNotRequeueFiredDeadline() {
+        startWorker();
+        BroadcastDeadlineEvent event = new BroadcastDeadlineEvent(newBroadcastId(), BroadcastDeadline.SCHEDULED_END);
+        long due = System.currentTimeMillis() + 200L;
+        redisService.scheduleBroadcastDeadline(event, due);
+        LocalRedis.await(() -> firedAt.containsKey(event.toMember()), Duration.ofSeconds(5), "deadline");
+
+        assertThat(redisService.scheduleBroadcastDeadlineUnlessFired(event, due)).isFalse();
+        // 예약 시각이 뒤로 바뀐 이벤트는 다시 넣는다.
+        assertThat(redisService.scheduleBroadcastDeadlineUnlessFired(event, due + 60_000L)).isTrue();
+    }
+
+    private void startWorker() {
+        BroadcastService broadcastService = mock(BroadcastService.class);
+        doAnswer(invocation -> {
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("simulated failure");
+            }
+            Long broadcastId = invocation.getArgument(0);
+            BroadcastDeadline deadline = invocation.getArgument(1);
+            firedAt.computeIfAbsent(new BroadcastDeadlineEvent(broadcastId, deadline).toMember(),
+                    key -> new CopyOnWriteArrayList<>()).add(System.currentTimeMillis());
+            return null;
+        }).when(broadcastService).fireDeadline(anyLong(), any(BroadcastDeadline.class));
+        JobLeaderElection jobLeaderElection = mock(JobLeaderElection.class);
+        when(jobLeaderElection.isLeader(anyString())).thenReturn(true);
+
+        BroadcastDeadlineWorker worker = new BroadcastDeadlineWorker(redisService, broadcastService, jobLeaderElection);
+        ReflectionTestUtils.setField(worker, "pollIntervalMillis", POLL_INTERVAL_MILLIS);
+        ReflectionTestUtils.setField(worker, "leaseMillis", LEASE_MILLIS);
+        worker.start();
+        workers.add(worker);
+    }
+
+    private long newBroadcastId() {
+        long broadcastId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+        broadcastIds.add(broadcastId);
+        return broadcastId;
+    }
+}
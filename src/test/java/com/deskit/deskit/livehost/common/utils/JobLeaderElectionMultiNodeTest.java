@@ -0,0 +1,186 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import com.deskit.deskit.support.LocalRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 로컬 Redis 에 붙은 노드 두 개로 작업별 리더 선출을 확인한다.
+ */
+class JobLeaderElectionMultiNodeTest {
+
+    private static final long LEASE_MILLIS = 1000L;
+    private static final long RENEW_INTERVAL_MILLIS = 100L;
+
+    private Node nodeA;
+    private Node nodeB;
+    private String job;
+
+    @BeforeEach
+    void setUp() {
+        LocalRedis.assumeAvailable();
+        nodeA = new Node("node-a");
+        nodeB = new Node("node-b");
+        job = "test-job-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.template.delete("scheduler:leader:" + job);
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void onlyOneNodeBecomesLeaderUnderConcurrentFirstCalls() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> onA = new ArrayList<>();
+        List<Future<Boolean>> onB = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            onA.add(executor.submit(() -> {
+                start.await();
+                return nodeA.election.isLeader(job);
+            }));
+            onB.add(executor.submit(() -> {
+                start.await();
+                return nodeB.election.isLeader(job);
+            }));
+        }
+        start.countDown();
+        boolean aLeads = anyTrue(onA);
+        boolean bLeads = anyTrue(onB);
+        executor.shutdown();
+
+        assertThat(aLeads ^ bLeads).as("exactly one leader").isTrue();
+        assertThat(nodeA.election.isLeader(job)).isEqualTo(aLeads);
+        assertThat(nodeB.election.isLeader(job)).isEqualTo(bLeads);
+    }
+
+    @Test
+    void eachScheduledRunExecutesOnExactlyOneNode() throws Exception {
+        int runs = 50;
+        Map<Integer, Set<String>> executedBy = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<?> a = executor.submit(() -> runScheduled(nodeA, runs, executedBy));
+        Future<?> b = executor.submit(() -> runScheduled(nodeB, runs, executedBy));
+        a.get(30, TimeUnit.SECONDS);
+        b.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(executedBy).hasSize(runs);
+        assertThat(executedBy.values()).allSatisfy(nodes -> assertThat(nodes).hasSize(1));
+        assertThat(executedBy.values().stream().flatMap(Set::stream).distinct()).hasSize(1);
+    }
+
+    @Test
+    void leadershipMovesAfterGracefulShutdown() {
+        Node leader = firstLeader();
+        Node follower = leader == nodeA ? nodeB : nodeA;
+        assertThat(follower.election.isLeader(job)).isFalse();
+
+        leader.election.shutdown();
+
+        // 반납된 리스는 팔로워의 다음 갱신 주기에 넘어간다.
+        LocalRedis.await(() -> follower.election.isLeader(job), Duration.ofMillis(RENEW_INTERVAL_MILLIS * 10),
+                "follower to take over");
+        assertThat(leader.election.isLeader(job)).isFalse();
+    }
+
+    @Test
+    void leadersNeverOverlapWhenLeaderLosesRedis() throws InterruptedException {
+        Node leader = firstLeader();
+        Node follower = leader == nodeA ? nodeB : nodeA;
+        assertThat(follower.election.isLeader(job)).isFalse();
+
+        // 리더 노드가 Redis 에 닿지 못하면 리스를 갱신하지 못하고 로컬 만료 시각에 스스로 내려온다.
+        leader.connectionFactory.destroy();
+
+        long deadline = System.currentTimeMillis() + LEASE_MILLIS * 3;
+        boolean followerTookOver = false;
+        while (System.currentTimeMillis() < deadline) {
+            // 팔로워를 먼저 본다. 팔로워가 리더라면 그 시점에 이전 리더의 리스는 이미 끝나 있어야 한다.
+            boolean followerNow = follower.election.isLeader(job);
+            boolean leaderStill = leader.election.isLeader(job);
+            assertThat(leaderStill && followerNow).as("both nodes leading at once").isFalse();
+            followerTookOver |= followerNow;
+            Thread.sleep(10L);
+        }
+        assertThat(followerTookOver).isTrue();
+        assertThat(leader.election.isLeader(job)).isFalse();
+    }
+
+    private void runScheduled(Node node, int runs, Map<Integer, Set<String>> executedBy) {
+        // 두 노드의 @Scheduled 가 같은 주기로 돈다고 보고, 실행 회차마다 리더인 노드만 실행한다.
+        long start = System.currentTimeMillis();
+        for (int run = 0; run < runs; run++) {
+            long at = start + run * 20L;
+            long sleep = at - System.currentTimeMillis();
+            if (sleep > 0) {
+                try {
+                    Thread.sleep(sleep);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            if (node.election.isLeader(job)) {
+                executedBy.computeIfAbsent(run, key -> ConcurrentHashMap.newKeySet()).add(node.election.getNodeId());
+            }
+        }
+    }
+
+    private Node firstLeader() {
+        if (nodeA.election.isLeader(job)) {
+            return nodeA;
+        }
+        assertThat(nodeB.election.isLeader(job)).isTrue();
+        return nodeB;
+    }
+
+    private boolean anyTrue(List<Future<Boolean>> results) throws Exception {
+        boolean any = false;
+        for (Future<Boolean> result : results) {
+            any |= result.get(5, TimeUnit.SECONDS);
+        }
+        return any;
+    }
+
+    private static final class Node {
+
+        private final LettuceConnectionFactory connectionFactory = LocalRedis.connectionFactory();
+        private final StringRedisTemplate template = LocalRedis.template(connectionFactory);
+        private final JobLeaderElection election;
+
+        private Node(String nodeId) {
+            election = new JobLeaderElection(template, nodeId, LEASE_MILLIS, RENEW_INTERVAL_MILLIS);
+        }
+
+        private void close() {
+            election.shutdown();
+            connectionFactory.destroy();
+        }
+    }
+}
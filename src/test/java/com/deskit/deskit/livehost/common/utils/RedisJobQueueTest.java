@@ -0,0 +1,233 @@
+package com.deskit.deskit.livehost.common.utils;
+
+import com.deskit.deskit.support.LocalRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 Redis 로 RedisJobQueue 의 at-least-once 동작(원자적 claim, 리스 만료 후 재전달, dead letter)을 확인한다.
+ */
+class RedisJobQueueTest {
+
+    private static final long TIMEOUT_MILLIS = 15000L;
+
+    private final List<RedisJobQueueWorker> workers = new ArrayList<>();
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate template;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        LocalRedis.assumeAvailable();
+        connectionFactory = LocalRedis.connectionFactory();
+        template = LocalRedis.template(connectionFactory);
+        key = "test:jobqueue:" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.forEach(RedisJobQueueWorker::shutdown);
+        if (template != null) {
+            template.delete(List.of(key, key + ":inflight", key + ":attempts", key + ":dead"));
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void concurrentConsumersClaimEachJobExactlyOnce() throws Exception {
+        RedisJobQueue queue = queue(Duration.ofMinutes(1), 5);
+        int jobs = 500;
+        for (int i = 0; i < jobs; i++) {
+            assertThat(queue.enqueue("job-" + i, Duration.ZERO)).isTrue();
+        }
+
+        // 노드 여러 개가 같은 큐를 동시에 꺼내는 상황
+        Map<String, Integer> claimedTimes = new ConcurrentHashMap<>();
+        ExecutorService consumers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < 8; c++) {
+            futures.add(consumers.submit(() -> {
+                start.await();
+                List<RedisJobQueue.Job> claimed;
+                do {
+                    claimed = queue.claim(7);
+                    for (RedisJobQueue.Job job : claimed) {
+                        assertThat(job.attempt()).isEqualTo(1);
+                        claimedTimes.merge(job.id(), 1, Integer::sum);
+                    }
+                } while (!claimed.isEmpty());
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        consumers.shutdown();
+
+        assertThat(claimedTimes).hasSize(jobs);
+        assertThat(claimedTimes.values()).allMatch(times -> times == 1);
+        assertThat(queue.getReadyCount()).isZero();
+        assertThat(queue.getInflightCount()).isEqualTo(jobs);
+    }
+
+    @Test
+    void expiredLeaseIsRedeliveredAndStaleAckIsIgnored() throws InterruptedException {
+        RedisJobQueue queue = queue(Duration.ofMillis(200), 5);
+        queue.enqueue("job-1", Duration.ZERO);
+
+        RedisJobQueue.Job first = queue.claim(1).get(0);
+        // 처리하던 노드가 응답하지 않으면 리스가 끝나기 전에는 다시 꺼낼 수 없다.
+        assertThat(queue.reapExpired(10)).isZero();
+        assertThat(queue.claim(1)).isEmpty();
+
+        Thread.sleep(300L);
+        assertThat(queue.reapExpired(10)).isEqualTo(1);
+        RedisJobQueue.Job second = queue.claim(1).get(0);
+        assertThat(second.id()).isEqualTo("job-1");
+        assertThat(second.attempt()).isEqualTo(2);
+
+        // 뒤늦게 돌아온 이전 처리자의 complete/retry 는 새 리스를 건드리지 않는다.
+        assertThat(queue.complete(first)).isFalse();
+        assertThat(queue.retry(first)).isNull();
+        assertThat(queue.getInflightCount()).isEqualTo(1L);
+
+        assertThat(queue.complete(second)).isTrue();
+        assertThat(queue.getInflightCount()).isZero();
+        assertThat(queue.getReadyCount()).isZero();
+    }
+
+    @Test
+    void jobIsDeadLetteredAfterMaxAttemptsAndBlocksReenqueue() {
+        RedisJobQueue queue = queue(Duration.ofMinutes(1), 3);
+        AtomicInteger calls = new AtomicInteger();
+        startWorker(queue, (id, attempt) -> {
+            calls.incrementAndGet();
+            return false;
+        });
+        queue.enqueue("job-1", Duration.ZERO);
+
+        LocalRedis.await(() -> queue.getDeadLetters(10).contains("job-1"), Duration.ofMillis(TIMEOUT_MILLIS),
+                "job-1 to be dead-lettered");
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(queue.getReadyCount()).isZero();
+        assertThat(queue.getInflightCount()).isZero();
+        // dead 보관 중에는 같은 id 를 다시 넣지 않는다.
+        assertThat(queue.enqueue("job-1", Duration.ZERO)).isFalse();
+    }
+
+    @Test
+    void resetRequeuesDeadJobWithFreshAttempts() throws InterruptedException {
+        RedisJobQueue queue = queue(Duration.ofMinutes(1), 2);
+        queue.enqueue("job-1", Duration.ZERO);
+        queue.retry(queue.claim(1).get(0));
+        // 앞선 실패로 시도 횟수가 남아 있어도 reset 은 처음부터 센다.
+        assertThat(queue.reset("job-1", Duration.ZERO)).isTrue();
+        RedisJobQueue.Job job = queue.claim(1).get(0);
+        assertThat(job.attempt()).isEqualTo(1);
+        assertThat(queue.retry(job)).isNotNull();
+        Thread.sleep(100L);
+        RedisJobQueue.Job last = queue.claim(1).get(0);
+        assertThat(last.attempt()).isEqualTo(2);
+        assertThat(queue.retry(last)).isNull();
+        assertThat(queue.getDeadLetters(10)).containsExactly("job-1");
+        assertThat(queue.enqueue("job-1", Duration.ZERO)).isFalse();
+
+        assertThat(queue.reset("job-1", Duration.ZERO)).isTrue();
+        assertThat(queue.getDeadLetters(10)).isEmpty();
+        assertThat(queue.claim(1)).extracting(RedisJobQueue.Job::attempt).containsExactly(1);
+
+        // 처리 중인 작업은 reset 해도 다시 넣지 않는다.
+        assertThat(queue.reset("job-1", Duration.ZERO)).isFalse();
+        assertThat(queue.getReadyCount()).isZero();
+    }
+
+    @Test
+    void expiredLeaseOnLastAttemptIsDeadLettered() throws InterruptedException {
+        RedisJobQueue queue = queue(Duration.ofMillis(100), 1);
+        queue.enqueue("job-1", Duration.ZERO);
+        assertThat(queue.claim(1)).hasSize(1);
+
+        Thread.sleep(200L);
+        assertThat(queue.reapExpired(10)).isEqualTo(1);
+        assertThat(queue.getDeadLetters(10)).containsExactly("job-1");
+        assertThat(queue.claim(1)).isEmpty();
+    }
+
+    @Test
+    void workersOnTwoNodesRunEveryJobAtLeastOnceDespiteCrashedConsumer() {
+        RedisJobQueue queue = queue(Duration.ofMillis(500), 5);
+        int jobs = 100;
+        for (int i = 0; i < jobs; i++) {
+            queue.enqueue(String.valueOf(i), Duration.ZERO);
+        }
+        // 꺼낸 뒤 complete/retry 없이 죽은 노드
+        Set<String> crashed = new HashSet<>();
+        queue.claim(10).forEach(job -> crashed.add(job.id()));
+        assertThat(crashed).hasSize(10);
+
+        // 일부 작업은 첫 시도에 실패해 백오프 뒤 재시도된다.
+        Map<String, List<Integer>> attempts = new ConcurrentHashMap<>();
+        RedisJobQueueWorker.JobHandler handler = (id, attempt) -> {
+            attempts.computeIfAbsent(id, k -> new CopyOnWriteArrayList<>()).add(attempt);
+            return attempt > 1 || Integer.parseInt(id) % 7 != 0;
+        };
+        RedisJobQueueWorker nodeA = startWorker(queue, handler);
+        RedisJobQueueWorker nodeB = startWorker(queue, handler);
+
+        LocalRedis.await(() -> nodeA.getCompleted() + nodeB.getCompleted() == jobs, Duration.ofMillis(TIMEOUT_MILLIS),
+                "all jobs to complete");
+
+        assertThat(attempts).hasSize(jobs);
+        for (int i = 0; i < jobs; i++) {
+            String id = String.valueOf(i);
+            if (crashed.contains(id)) {
+                // 죽은 노드가 가져간 시도가 1회로 세어져 재전달은 2번째 시도다.
+                assertThat(attempts.get(id)).as("job %s", id).containsExactly(2);
+            } else if (i % 7 == 0) {
+                assertThat(attempts.get(id)).as("job %s", id).containsExactly(1, 2);
+            } else {
+                assertThat(attempts.get(id)).as("job %s", id).containsExactly(1);
+            }
+        }
+        assertThat(queue.getReadyCount()).isZero();
+        assertThat(queue.getInflightCount()).isZero();
+        assertThat(queue.getDeadLetters(10)).isEmpty();
+    }
+
+    private RedisJobQueue queue(Duration visibilityTimeout, int maxAttempts) {
+        return new RedisJobQueue(template, "test", key, visibilityTimeout, Duration.ofMillis(50),
+                Duration.ofMillis(200), maxAttempts, Duration.ofMinutes(1));
+    }
+
+    private RedisJobQueueWorker startWorker(RedisJobQueue queue, RedisJobQueueWorker.JobHandler handler) {
+        RedisJobQueueWorker worker = new RedisJobQueueWorker(queue, handler, 4, Duration.ofMillis(50));
+        worker.start();
+        workers.add(worker);
+        return worker;
+    }
+}
@@ -0,0 +1,120 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.livehost.common.enums.BroadcastStatus;
+import com.deskit.deskit.livehost.common.enums.SanctionType;
+import com.deskit.deskit.livehost.entity.Broadcast;
+import com.deskit.deskit.livehost.repository.BroadcastRepository;
+import com.deskit.deskit.livehost.repository.SanctionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅이 몰릴 때 ChatPermissionCache 가 방송 상태를 한 번만 읽는지 확인한다. DB 조회는 50ms 지연이 있는 mock 이다.
+ */
+class ChatPermissionCacheLoadTest {
+
+    private static final long BROADCAST_ID = 1L;
+    private static final long OTHER_BROADCAST_ID = 2L;
+    private static final long DB_LATENCY_MILLIS = 50L;
+
+    private BroadcastRepository broadcastRepository;
+    private SanctionRepository sanctionRepository;
+    private ChatPermissionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        broadcastRepository = mock(BroadcastRepository.class);
+        sanctionRepository = mock(SanctionRepository.class);
+        Broadcast broadcast = mock(Broadcast.class);
+        when(broadcast.getStatus()).thenReturn(BroadcastStatus.ON_AIR);
+        when(broadcast.getStartedAt()).thenReturn(LocalDateTime.now().minusMinutes(10));
+        when(broadcastRepository.findById(anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(DB_LATENCY_MILLIS);
+            return Optional.of(broadcast);
+        });
+        when(broadcastRepository.findSellerLoginIdByBroadcastId(anyLong())).thenReturn("seller");
+        when(sanctionRepository.findLatestSanctionStatuses(anyLong())).thenReturn(Map.of());
+
+        cache = new ChatPermissionCache(broadcastRepository, sanctionRepository, mock(StringRedisTemplate.class),
+                mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+    }
+
+    @Test
+    void concurrentMessagesOnColdEntryShareOneLoad() throws Exception {
+        int senders = 200;
+        ExecutorService chatThreads = Executors.newFixedThreadPool(senders);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < senders; i++) {
+            long memberId = i;
+            results.add(chatThreads.submit(() -> {
+                start.await();
+                return cache.canChat(BROADCAST_ID, memberId);
+            }));
+        }
+        start.countDown();
+        for (Future<Boolean> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isTrue();
+        }
+        chatThreads.shutdown();
+
+        verify(broadcastRepository, times(1)).findById(BROADCAST_ID);
+        verify(sanctionRepository, times(1)).findLatestSanctionStatuses(BROADCAST_ID);
+    }
+
+    @Test
+    void sanctionOnOtherBroadcastDoesNotDiscardLoad() throws Exception {
+        Thread loader = new Thread(() -> cache.canChat(BROADCAST_ID, 10L));
+        loader.start();
+        Thread.sleep(DB_LATENCY_MILLIS / 2);
+        // 다른 방송의 제재는 로드 중인 방송의 캐시 반영을 막지 않는다.
+        cache.onMessage(message("S:" + OTHER_BROADCAST_ID + ":10:MUTE"), null);
+        loader.join();
+
+        cache.canChat(BROADCAST_ID, 10L);
+        verify(broadcastRepository, times(1)).findById(BROADCAST_ID);
+    }
+
+    @Test
+    void sanctionDuringLoadOfSameBroadcastIsNotLost() throws Exception {
+        Thread loader = new Thread(() -> cache.canChat(BROADCAST_ID, 10L));
+        loader.start();
+        Thread.sleep(DB_LATENCY_MILLIS / 2);
+        cache.onMessage(message("S:" + BROADCAST_ID + ":10:MUTE"), null);
+        loader.join();
+
+        // 제재 전에 읽은 결과는 캐시에 넣지 않으므로 다시 읽는다.
+        when(sanctionRepository.findLatestSanctionStatuses(BROADCAST_ID)).thenReturn(Map.of(10L, SanctionType.MUTE.name()));
+        assertThat(cache.canChat(BROADCAST_ID, 10L)).isFalse();
+        verify(broadcastRepository, times(2)).findById(BROADCAST_ID);
+    }
+
+    private static Message message(String body) {
+        return new DefaultMessage("livechat:permission".getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
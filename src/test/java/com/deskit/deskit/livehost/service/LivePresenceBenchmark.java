@@ -0,0 +1,113 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.support.LocalRedis;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 라이브 입장 처리량(로컬 Redis 필요). 단위는 입장 1건.
+ * - legacyJoin: 변경 전 enterLiveRoom + updatePeakViewers (HINCRBY, SADD x2, EXPIRE x3, SCARD, GET, SET x2)
+ * - scriptJoin: 입장 스크립트 1회
+ * - pipelinedJoinBurst: LivePresenceBatcher 처럼 입장 100건을 파이프라인 한 번으로 보낸다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LivePresenceBenchmark {
+
+    private static final long BROADCAST_ID = 9_000_000_004L;
+    private static final int BURST_SIZE = 100;
+
+    private final AtomicLong viewerSequence = new AtomicLong();
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private RedisService redisService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connectionFactory = LocalRedis.connectionFactory();
+        redisTemplate = LocalRedis.jsonTemplate(connectionFactory);
+        StringRedisTemplate stringRedisTemplate = LocalRedis.template(connectionFactory);
+        redisService = new RedisService(redisTemplate, stringRedisTemplate);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearKeys() {
+        redisService.deleteBroadcastRuntimeKeys(BROADCAST_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public void legacyJoin() {
+        String viewerId = nextViewerId();
+        String sessionKey = redisService.getSessionCountKey(BROADCAST_ID);
+        String activeKey = redisService.getRealtimeViewKey(BROADCAST_ID);
+        String totalKey = redisService.getTotalUvKey(BROADCAST_ID);
+
+        Long count = redisTemplate.opsForHash().increment(sessionKey, viewerId, 1);
+        if (count != null && count == 1) {
+            redisTemplate.opsForSet().add(activeKey, viewerId);
+        }
+        redisTemplate.opsForSet().add(totalKey, viewerId);
+        redisTemplate.expire(sessionKey, Duration.ofDays(1));
+        redisTemplate.expire(activeKey, Duration.ofDays(1));
+        redisTemplate.expire(totalKey, Duration.ofDays(1));
+
+        Long current = redisTemplate.opsForSet().size(activeKey);
+        Object max = redisTemplate.opsForValue().get(redisService.getMaxViewersKey(BROADCAST_ID));
+        if (current != null && current > (max != null ? Integer.parseInt(max.toString()) : 0)) {
+            redisTemplate.opsForValue().set(redisService.getMaxViewersKey(BROADCAST_ID), String.valueOf(current));
+            redisTemplate.opsForValue().set(redisService.getMaxViewersTimeKey(BROADCAST_ID),
+                    LocalDateTime.now().toString());
+        }
+    }
+
+    @Benchmark
+    public void scriptJoin() {
+        redisService.enterLiveRoom(BROADCAST_ID, nextViewerId(), true);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST_SIZE)
+    public void pipelinedJoinBurst() {
+        List<LivePresenceEvent> events = new ArrayList<>(BURST_SIZE);
+        for (int i = 0; i < BURST_SIZE; i++) {
+            events.add(LivePresenceEvent.enter(BROADCAST_ID, nextViewerId(), true));
+        }
+        redisService.applyPresenceEvents(events);
+    }
+
+    private String nextViewerId() {
+        return "viewer-" + viewerSequence.incrementAndGet();
+    }
+}
@@ -0,0 +1,93 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.support.LocalRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이전 버전이 JSON/JDK 직렬화로 남긴 시청자 키를 새 입장/퇴장 스크립트가 이어받는지 로컬 Redis 로 확인한다.
+ */
+class LivePresenceLegacyMigrationTest {
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate template;
+    private RedisTemplate<String, Object> jsonTemplate;
+    private RedisService redisService;
+    private long broadcastId;
+
+    @BeforeEach
+    void setUp() {
+        LocalRedis.assumeAvailable();
+        connectionFactory = LocalRedis.connectionFactory();
+        template = LocalRedis.template(connectionFactory);
+        jsonTemplate = LocalRedis.jsonTemplate(connectionFactory);
+        redisService = new RedisService(jsonTemplate, template);
+        broadcastId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (template != null) {
+            template.delete(List.of(
+                    redisService.getSessionCountKey(broadcastId),
+                    redisService.getRealtimeViewKey(broadcastId),
+                    redisService.getTotalUvKey(broadcastId),
+                    redisService.getMaxViewersKey(broadcastId),
+                    redisService.getMaxViewersTimeKey(broadcastId)
+            ));
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void legacySessionOfSameViewerIsContinued() {
+        String viewer = "viewer-1";
+        // 이전 버전: 세션 필드는 JDK 직렬화, SET 멤버는 JSON 문자열
+        byte[] legacyField = new JdkSerializationRedisSerializer().serialize(viewer);
+        template.execute((RedisCallback<Object>) connection -> connection.hashCommands().hIncrBy(
+                redisService.getSessionCountKey(broadcastId).getBytes(StandardCharsets.UTF_8), legacyField, 1L));
+        jsonTemplate.opsForSet().add(redisService.getRealtimeViewKey(broadcastId), viewer);
+        jsonTemplate.opsForSet().add(redisService.getTotalUvKey(broadcastId), viewer);
+
+        // 두 번째 탭으로 입장 후 첫 탭을 닫아도 시청 중이다.
+        redisService.enterLiveRoom(broadcastId, viewer, false);
+        assertThat(redisService.getRealtimeViewerCount(broadcastId)).isEqualTo(1);
+        assertThat(redisService.getTotalUniqueViewerCount(broadcastId)).isEqualTo(1);
+        redisService.exitLiveRoom(broadcastId, viewer);
+        assertThat(redisService.getRealtimeViewerCount(broadcastId)).isEqualTo(1);
+
+        redisService.exitLiveRoom(broadcastId, viewer);
+        assertThat(redisService.getRealtimeViewerCount(broadcastId)).isZero();
+        assertThat(template.opsForHash().size(redisService.getSessionCountKey(broadcastId))).isZero();
+    }
+
+    @Test
+    void legacyPeakIsKeptAndReadable() {
+        LocalDateTime peakTime = LocalDateTime.of(2026, 1, 1, 20, 0);
+        jsonTemplate.opsForValue().set(redisService.getMaxViewersKey(broadcastId), "5");
+        jsonTemplate.opsForValue().set(redisService.getMaxViewersTimeKey(broadcastId), peakTime.toString());
+
+        assertThat(redisService.getMaxViewers(broadcastId)).isEqualTo(5);
+        assertThat(redisService.getMaxViewersTime(broadcastId)).isEqualTo(peakTime);
+
+        // 동시 시청자가 이전 최고치보다 적으면 최고치를 덮어쓰지 않는다.
+        redisService.enterLiveRoom(broadcastId, "viewer-1", true);
+        assertThat(redisService.getMaxViewers(broadcastId)).isEqualTo(5);
+        assertThat(redisService.getMaxViewersTime(broadcastId)).isEqualTo(peakTime);
+    }
+}
@@ -0,0 +1,74 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.support.LocalRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이전 버전이 JSON 문자열로 남긴 좋아요/신고 회원을 새 스크립트가 같은 회원으로 보는지 로컬 Redis 로 확인한다.
+ */
+class LiveReactionLegacyMigrationTest {
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate template;
+    private RedisTemplate<String, Object> jsonTemplate;
+    private RedisService redisService;
+    private long broadcastId;
+
+    @BeforeEach
+    void setUp() {
+        LocalRedis.assumeAvailable();
+        connectionFactory = LocalRedis.connectionFactory();
+        template = LocalRedis.template(connectionFactory);
+        jsonTemplate = LocalRedis.jsonTemplate(connectionFactory);
+        redisService = new RedisService(jsonTemplate, template);
+        broadcastId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (template != null) {
+            template.delete(List.of(
+                    redisService.getLikeUsersKey(broadcastId),
+                    redisService.getReportUsersKey(broadcastId),
+                    redisService.getReportCountKey(broadcastId)
+            ));
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void likeIsReadAndToggledForNewAndLegacyMembers() {
+        assertThat(redisService.toggleLike(broadcastId, 1L).active()).isTrue();
+        assertThat(redisService.isMemberLiked(broadcastId, 1L)).isTrue();
+
+        jsonTemplate.opsForSet().add(redisService.getLikeUsersKey(broadcastId), "2");
+        assertThat(redisService.isMemberLiked(broadcastId, 2L)).isTrue();
+
+        // 이전 형식으로 좋아요한 회원이 다시 누르면 취소된다.
+        ReactionResult result = redisService.toggleLike(broadcastId, 2L);
+        assertThat(result.active()).isFalse();
+        assertThat(result.count()).isEqualTo(1);
+        assertThat(redisService.isMemberLiked(broadcastId, 2L)).isFalse();
+    }
+
+    @Test
+    void legacyReporterIsNotCountedTwice() {
+        jsonTemplate.opsForSet().add(redisService.getReportUsersKey(broadcastId), "3");
+        template.opsForValue().set(redisService.getReportCountKey(broadcastId), "1");
+
+        assertThat(redisService.reportBroadcast(broadcastId, 3L).active()).isFalse();
+        assertThat(redisService.getReportCount(broadcastId)).isEqualTo(1);
+    }
+}
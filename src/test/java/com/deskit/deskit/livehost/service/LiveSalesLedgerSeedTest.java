@@ -0,0 +1,72 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.support.LocalRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 원장을 SQL 집계로 초기화하는 동안 커밋된 결제가 빠지지 않는지 로컬 Redis 로 확인한다.
+ */
+class LiveSalesLedgerSeedTest {
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate template;
+    private RedisService redisService;
+    private long broadcastId;
+
+    @BeforeEach
+    void setUp() {
+        LocalRedis.assumeAvailable();
+        connectionFactory = LocalRedis.connectionFactory();
+        template = LocalRedis.template(connectionFactory);
+        redisService = new RedisService(LocalRedis.jsonTemplate(connectionFactory), template);
+        broadcastId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (template != null) {
+            template.delete(redisService.getLiveSalesKey(broadcastId));
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void paymentCommittedWhileSeedingIsKept() {
+        assertThat(redisService.beginLiveSalesSeed(broadcastId)).isTrue();
+        // 다른 노드는 시드 중인 원장을 쓰지 않고, 다시 시드하지도 않는다.
+        assertThat(redisService.getLiveSales(broadcastId)).isNull();
+        assertThat(redisService.beginLiveSalesSeed(broadcastId)).isFalse();
+
+        // SQL 집계를 읽은 뒤 커밋된 결제
+        redisService.addLiveSales(broadcastId, 10L, 2, 20_000L);
+        redisService.finishLiveSalesSeed(broadcastId,
+                new LiveSalesSnapshot(Map.of(10L, 5, 11L, 1), Map.of(10L, 50_000L, 11L, 7_000L)));
+
+        LiveSalesSnapshot ledger = redisService.getLiveSales(broadcastId);
+        assertThat(ledger).isNotNull();
+        assertThat(ledger.quantities()).containsExactlyInAnyOrderEntriesOf(Map.of(10L, 7, 11L, 1));
+        assertThat(ledger.amounts()).containsExactlyInAnyOrderEntriesOf(Map.of(10L, 70_000L, 11L, 7_000L));
+    }
+
+    @Test
+    void seedIsSkippedWhenLedgerAlreadyExists() {
+        redisService.storeLiveSales(broadcastId, LiveSalesSnapshot.empty(), true);
+        redisService.addLiveSales(broadcastId, 10L, 1, 10_000L);
+
+        assertThat(redisService.beginLiveSalesSeed(broadcastId)).isFalse();
+        redisService.finishLiveSalesSeed(broadcastId, new LiveSalesSnapshot(Map.of(10L, 5), Map.of(10L, 50_000L)));
+
+        assertThat(redisService.getLiveSales(broadcastId).quantities()).containsExactly(Map.entry(10L, 1));
+    }
+}
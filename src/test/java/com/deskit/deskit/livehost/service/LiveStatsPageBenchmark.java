@@ -0,0 +1,95 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.support.LocalRedis;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 방송 목록 한 페이지의 실시간 통계 조회 지연(로컬 Redis 필요). 단위는 페이지 1회.
+ * - perCard: 변경 전처럼 카드마다 시청자/좋아요/신고 수를 따로 읽는다(카드당 왕복 3회).
+ * - pipelined: getLiveStats(ids) 파이프라인 한 번.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LiveStatsPageBenchmark {
+
+    private static final long FIRST_BROADCAST_ID = 9_000_019_000L;
+    private static final int VIEWERS_PER_CARD = 50;
+
+    @Param({"20", "100", "500"})
+    public int cards;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate stringRedisTemplate;
+    private RedisService redisService;
+    private List<Long> broadcastIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connectionFactory = LocalRedis.connectionFactory();
+        stringRedisTemplate = LocalRedis.template(connectionFactory);
+        redisService = new RedisService(LocalRedis.jsonTemplate(connectionFactory), stringRedisTemplate);
+
+        broadcastIds = new ArrayList<>(cards);
+        for (int i = 0; i < cards; i++) {
+            long id = FIRST_BROADCAST_ID + i;
+            broadcastIds.add(id);
+            String[] viewers = new String[VIEWERS_PER_CARD];
+            for (int v = 0; v < VIEWERS_PER_CARD; v++) {
+                viewers[v] = "viewer-" + v;
+            }
+            stringRedisTemplate.opsForSet().add(redisService.getRealtimeViewKey(id), viewers);
+            stringRedisTemplate.opsForSet().add(redisService.getLikeUsersKey(id), "1", "2", "3");
+            stringRedisTemplate.opsForValue().set(redisService.getReportCountKey(id), "1");
+            stringRedisTemplate.opsForValue().set(redisService.getMaxViewersKey(id), String.valueOf(VIEWERS_PER_CARD));
+            stringRedisTemplate.opsForValue().set(redisService.getMaxViewersTimeKey(id), LocalDateTime.now().toString());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (Long id : broadcastIds) {
+            redisService.deleteBroadcastRuntimeKeys(id);
+            stringRedisTemplate.delete(List.of(redisService.getLikeUsersKey(id), redisService.getReportCountKey(id)));
+        }
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public void perCard(Blackhole blackhole) {
+        for (Long id : broadcastIds) {
+            blackhole.consume(redisService.getRealtimeViewerCount(id));
+            blackhole.consume(redisService.getLikeCount(id));
+            blackhole.consume(redisService.getReportCount(id));
+        }
+    }
+
+    @Benchmark
+    public Map<Long, LiveStatsSnapshot> pipelined() {
+        return redisService.getLiveStats(broadcastIds);
+    }
+}
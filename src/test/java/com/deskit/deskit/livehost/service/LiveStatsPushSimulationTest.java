@@ -0,0 +1,143 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.livehost.common.utils.JobLeaderElection;
+import com.deskit.deskit.livehost.repository.BroadcastRepository;
+import com.deskit.deskit.support.LocalRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 시청자 10,000명이 보는 방송 하나의 통계 갱신 비용을 폴링과 푸시로 비교한다(로컬 Redis 필요).
+ * 시간을 압축해 시뮬레이션 구간(SIMULATED_SECONDS) 동안 일어날 호출을 모두 실행하고,
+ * Redis 가 처리한 명령 수(total_commands_processed)를 시뮬레이션 시간으로 나눠 초당 명령 수로 본다.
+ * - polling: 시청자마다 poll-interval 마다 /stats 1회 (변경 전: 방송 조회 1회 + 시청자/좋아요/신고 수 읽기 3회)
+ * - push: LiveStatsTicker 가 push-interval 마다 한 번 (리더 확인 + 방송 목록 조회 1회 + 파이프라인 1회)
+ */
+class LiveStatsPushSimulationTest {
+
+    private static final int VIEWERS = 10_000;
+    private static final int SIMULATED_SECONDS = 10;
+    private static final int POLL_INTERVAL_SECONDS = 5;
+    private static final int PUSH_INTERVAL_SECONDS = 2;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate template;
+    private RedisService redisService;
+    private long broadcastId;
+
+    @BeforeEach
+    void setUp() {
+        LocalRedis.assumeAvailable();
+        connectionFactory = LocalRedis.connectionFactory();
+        template = LocalRedis.template(connectionFactory);
+        redisService = new RedisService(LocalRedis.jsonTemplate(connectionFactory), template);
+        broadcastId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+        String[] viewers = new String[VIEWERS];
+        for (int i = 0; i < VIEWERS; i++) {
+            viewers[i] = "viewer-" + i;
+        }
+        template.opsForSet().add(redisService.getRealtimeViewKey(broadcastId), viewers);
+        template.opsForSet().add(redisService.getLikeUsersKey(broadcastId), "1", "2", "3");
+        template.opsForValue().set(redisService.getReportCountKey(broadcastId), "1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (template != null) {
+            redisService.deleteBroadcastRuntimeKeys(broadcastId);
+            template.delete(List.of(redisService.getLikeUsersKey(broadcastId),
+                    redisService.getReportCountKey(broadcastId), "scheduler:leader:live-stats-ticker"));
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void pushCostDoesNotGrowWithAudience() throws Exception {
+        // 폴링: 시청자 수 x (시뮬레이션 시간 / 폴링 주기) 번의 /stats 요청
+        int polls = VIEWERS * (SIMULATED_SECONDS / POLL_INTERVAL_SECONDS);
+        AtomicLong pollDbLookups = new AtomicLong();
+        long pollCommands = commandsDuring(() -> {
+            ExecutorService clients = Executors.newFixedThreadPool(16);
+            for (int i = 0; i < polls; i++) {
+                clients.execute(() -> {
+                    pollDbLookups.incrementAndGet();
+                    redisService.getRealtimeViewerCount(broadcastId);
+                    redisService.getLikeCount(broadcastId);
+                    redisService.getReportCount(broadcastId);
+                });
+            }
+            clients.shutdown();
+            assertThat(clients.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        });
+
+        // 푸시: 리더 노드의 LiveStatsTicker 가 push 주기마다 한 번. 틱 사이에 시청자가 한 명씩 들어온다.
+        BroadcastRepository broadcastRepository = mock(BroadcastRepository.class);
+        when(broadcastRepository.findIdsByStatusIn(any())).thenReturn(List.of(broadcastId));
+        SseService sseService = mock(SseService.class);
+        JobLeaderElection election = new JobLeaderElection(template, "simulation-node", 15000L, 5000L);
+        LiveStatsTicker ticker = new LiveStatsTicker(broadcastRepository, redisService, sseService, election);
+        ReflectionTestUtils.setField(ticker, "fullEveryTicks", 15L);
+        int ticks = SIMULATED_SECONDS / PUSH_INTERVAL_SECONDS;
+        long pushCommands = commandsDuring(() -> {
+            for (int i = 0; i < ticks; i++) {
+                ticker.tick();
+                template.opsForSet().add(redisService.getRealtimeViewKey(broadcastId), "late-viewer-" + i);
+            }
+        }) - ticks; // 틱 사이에 넣은 SADD 는 뺀다
+        election.shutdown();
+
+        System.out.printf("polling: %d requests, redis %.1f cmd/s, db %.1f lookups/s%n",
+                polls, (double) pollCommands / SIMULATED_SECONDS, (double) pollDbLookups.get() / SIMULATED_SECONDS);
+        System.out.printf("push   : %d ticks, redis %.1f cmd/s, db %.1f lookups/s, %d SSE events%n",
+                ticks, (double) pushCommands / SIMULATED_SECONDS, (double) ticks / SIMULATED_SECONDS,
+                ticker.getEventsSent());
+
+        assertThat(pollCommands).isGreaterThanOrEqualTo(3L * polls);
+        // 틱마다 파이프라인 5개 명령 + 리더 확인
+        assertThat(pushCommands).isLessThanOrEqualTo(ticks * 6L + 2L);
+        assertThat(ticker.getEventsSent()).isEqualTo(ticks);
+        verify(sseService, atLeastOnce()).notifyBroadcastUpdate(eq(broadcastId), anyString(), any());
+    }
+
+    private long commandsDuring(ThrowingRunnable work) throws Exception {
+        long before = commandsProcessed();
+        work.run();
+        // 앞의 INFO 호출 1회는 after 에 포함되므로 뺀다.
+        return commandsProcessed() - before - 1;
+    }
+
+    private long commandsProcessed() {
+        Properties stats = template.execute((RedisCallback<Properties>) connection ->
+                connection.serverCommands().info("stats"));
+        return Long.parseLong(stats.getProperty("total_commands_processed").trim());
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,43 @@
+package com.deskit.deskit.livehost.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 서블릿 응답 없이 SseEmitter 를 "연결된" 상태로 만든다.
+ * 핸들러가 없으면 SseEmitter 는 보낸 이벤트를 내부 목록에 계속 쌓으므로, 전송 횟수만 세는 핸들러를 붙인다.
+ */
+final class SseEmitterTestSupport {
+
+    private static final String HANDLER_TYPE =
+            "org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter$Handler";
+
+    private SseEmitterTestSupport() {
+    }
+
+    static void attachCountingHandler(SseEmitter emitter, AtomicLong sends) {
+        try {
+            Class<?> handlerType = Class.forName(HANDLER_TYPE);
+            Object handler = Proxy.newProxyInstance(handlerType.getClassLoader(), new Class<?>[]{handlerType},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "send" -> {
+                            sends.incrementAndGet();
+                            yield null;
+                        }
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> "CountingSseHandler";
+                        default -> null;
+                    });
+            Method initialize = ResponseBodyEmitter.class.getDeclaredMethod("initialize", handlerType);
+            initialize.setAccessible(true);
+            initialize.invoke(emitter, handler);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("SseEmitter handler attach failed", e);
+        }
+    }
+}
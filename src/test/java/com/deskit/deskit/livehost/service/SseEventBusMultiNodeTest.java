@@ -0,0 +1,167 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.support.LocalRedis;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 로컬 Redis 에 붙은 노드 두 개로 SseEventBus 의 클러스터 전달을 확인한다.
+ */
+class SseEventBusMultiNodeTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final long COALESCE_WINDOW_MILLIS = 50L;
+
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() {
+        LocalRedis.assumeAvailable();
+        nodeA = new Node();
+        nodeB = new Node();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void broadcastEventReachesOnlyNodesWithLocalListeners() throws InterruptedException {
+        long broadcastId = randomBroadcastId();
+        nodeB.bus.syncBroadcastSubscription(broadcastId, () -> true);
+        LocalRedis.awaitSubscribers(nodeA.template, "sse:broadcast:" + broadcastId, 1);
+
+        SseEnvelope started = SseEnvelope.broadcast(broadcastId, "BROADCAST_STARTED", "start");
+        nodeA.bus.publish(started);
+
+        LocalRedis.await(() -> nodeB.received.size() == 1, TIMEOUT, "event on node B");
+        assertThat(nodeB.received).containsExactly(started);
+        Thread.sleep(COALESCE_WINDOW_MILLIS * 4);
+        assertThat(nodeA.received).isEmpty();
+    }
+
+    @Test
+    void globalEventReachesEveryNode() {
+        LocalRedis.awaitSubscribers(nodeA.template, "sse:global", 2);
+
+        nodeB.bus.publish(SseEnvelope.global(1L, "BROADCAST_UPDATED", "info_changed"));
+
+        LocalRedis.await(() -> nodeA.received.size() == 1 && nodeB.received.size() == 1, TIMEOUT,
+                "global event on both nodes");
+        assertThat(nodeA.received).containsExactlyElementsOf(nodeB.received);
+    }
+
+    @Test
+    void republishedEventInsideWindowIsCoalescedKeepingLastPosition() throws InterruptedException {
+        long broadcastId = randomBroadcastId();
+        nodeB.bus.syncBroadcastSubscription(broadcastId, () -> true);
+        LocalRedis.awaitSubscribers(nodeA.template, "sse:broadcast:" + broadcastId, 1);
+
+        SseEnvelope soldOut = SseEnvelope.broadcast(broadcastId, "PRODUCT_SOLD_OUT", "soldout");
+        SseEnvelope updated = SseEnvelope.broadcast(broadcastId, "BROADCAST_UPDATED", "info_changed");
+        nodeA.bus.publish(soldOut);
+        nodeA.bus.publish(soldOut);
+        nodeA.bus.publish(updated);
+        nodeA.bus.publish(soldOut);
+
+        LocalRedis.await(() -> nodeB.received.size() >= 2, TIMEOUT, "coalesced events on node B");
+        Thread.sleep(COALESCE_WINDOW_MILLIS * 4);
+        assertThat(nodeB.received).containsExactly(updated, soldOut);
+    }
+
+    @Test
+    void distinctEventsWithSameBodyAreAllDelivered() throws InterruptedException {
+        long broadcastId = randomBroadcastId();
+        nodeB.bus.syncBroadcastSubscription(broadcastId, () -> true);
+        LocalRedis.awaitSubscribers(nodeA.template, "sse:broadcast:" + broadcastId, 1);
+
+        // 같은 상품이 연달아 두 번 품절/재입고되는 경우처럼 본문이 같아도 서로 다른 알림이다.
+        SseEnvelope first = SseEnvelope.broadcast(broadcastId, "PRODUCT_SOLD_OUT", "soldout");
+        SseEnvelope second = SseEnvelope.broadcast(broadcastId, "PRODUCT_SOLD_OUT", "soldout");
+        nodeA.bus.publish(first);
+        nodeA.bus.publish(second);
+
+        LocalRedis.await(() -> nodeB.received.size() >= 2, TIMEOUT, "both events on node B");
+        Thread.sleep(COALESCE_WINDOW_MILLIS * 4);
+        assertThat(nodeB.received).containsExactly(first, second);
+    }
+
+    @Test
+    void payloadKeepsItsTypeAcrossNodes() {
+        long broadcastId = randomBroadcastId();
+        nodeB.bus.syncBroadcastSubscription(broadcastId, () -> true);
+        LocalRedis.awaitSubscribers(nodeA.template, "sse:broadcast:" + broadcastId, 1);
+
+        SseEnvelope stock = SseEnvelope.broadcast(broadcastId, "PRODUCT_STOCK", new StockPayload(10L, 3));
+        nodeA.bus.publish(stock);
+
+        LocalRedis.await(() -> nodeB.received.size() == 1, TIMEOUT, "typed event on node B");
+        assertThat(nodeB.received.get(0).data()).isInstanceOf(StockPayload.class).isEqualTo(new StockPayload(10L, 3));
+        assertThat(nodeB.received).containsExactly(stock);
+    }
+
+    @Test
+    void nodeStopsReceivingAfterLastLocalListenerLeaves() throws InterruptedException {
+        long broadcastId = randomBroadcastId();
+        String channel = "sse:broadcast:" + broadcastId;
+        nodeB.bus.syncBroadcastSubscription(broadcastId, () -> true);
+        LocalRedis.awaitSubscribers(nodeA.template, channel, 1);
+
+        nodeB.bus.syncBroadcastSubscription(broadcastId, () -> false);
+        LocalRedis.await(() -> LocalRedis.subscriberCount(nodeA.template, channel) == 0, TIMEOUT,
+                "unsubscribe of " + channel);
+
+        nodeA.bus.publish(SseEnvelope.broadcast(broadcastId, "BROADCAST_ENDED", "end"));
+        Thread.sleep(COALESCE_WINDOW_MILLIS * 4);
+        assertThat(nodeB.received).isEmpty();
+    }
+
+    private long randomBroadcastId() {
+        return ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+    }
+
+    record StockPayload(Long productId, int stock) {
+    }
+
+    private static final class Node implements AutoCloseable {
+
+        private final LettuceConnectionFactory connectionFactory = LocalRedis.connectionFactory();
+        private final StringRedisTemplate template = LocalRedis.template(connectionFactory);
+        private final RedisMessageListenerContainer container = LocalRedis.listenerContainer(connectionFactory);
+        private final SseEventBus bus = new SseEventBus(template, container, new ObjectMapper());
+        private final List<SseEnvelope> received = new CopyOnWriteArrayList<>();
+
+        private Node() {
+            ReflectionTestUtils.setField(bus, "coalesceWindowMillis", COALESCE_WINDOW_MILLIS);
+            bus.registerDeliveryHandler(received::add);
+            bus.init();
+        }
+
+        @Override
+        public void close() throws Exception {
+            bus.shutdown();
+            container.destroy();
+            connectionFactory.destroy();
+        }
+    }
+}
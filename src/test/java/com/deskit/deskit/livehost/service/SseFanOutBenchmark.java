@@ -0,0 +1,94 @@
+package com.deskit.deskit.livehost.service;
+
+import com.deskit.deskit.common.config.AsyncConfig;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * SseService 로컬 팬아웃 지연 시간.
+ * - roomFanOut: 한 방송(connections 명)에 이벤트 1건을 보내고 모든 emitter 전송이 끝날 때까지의 시간.
+ * - targetUser: 같은 노드에 connections 명이 붙어 있을 때 한 사용자에게 보내는 시간(인덱스 조회라 연결 수와 무관해야 한다).
+ * 전송은 운영과 같은 sseSendExecutor(기본 32 스레드)에서 이뤄지고, Redis 버스는 목으로 바꿔 노드 내부 비용만 잰다.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SseFanOutBenchmark {
+
+    private static final long ROOM_ID = 1L;
+    private static final long OTHER_ROOM_ID = 2L;
+
+    @Param({"1000", "10000", "50000"})
+    public int connections;
+
+    private final AtomicLong sends = new AtomicLong();
+    private ThreadPoolTaskExecutor executor;
+    private Consumer<SseEnvelope> delivery;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        executor = (ThreadPoolTaskExecutor) new AsyncConfig().sseSendExecutor(32, 100000);
+        SseEventBus eventBus = Mockito.mock(SseEventBus.class);
+        SseService sseService = new SseService(executor, eventBus);
+        ArgumentCaptor<Consumer<SseEnvelope>> handler = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(eventBus).registerDeliveryHandler(handler.capture());
+        delivery = handler.getValue();
+
+        for (int i = 0; i < connections; i++) {
+            SseEmitterTestSupport.attachCountingHandler(sseService.subscribe(ROOM_ID, "user-" + i), sends);
+        }
+        // 다른 방송 시청자 1명: targetUser 의 대상
+        SseEmitterTestSupport.attachCountingHandler(sseService.subscribe(OTHER_ROOM_ID, "target"), sends);
+        // 연결 직후 보내는 connect 이벤트가 모두 나갈 때까지 기다린다.
+        awaitSends(connections + 1L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public long roomFanOut() {
+        long target = sends.get() + connections;
+        delivery.accept(SseEnvelope.broadcast(ROOM_ID, "PRODUCT_SOLD_OUT", "soldout"));
+        awaitSends(target);
+        return target;
+    }
+
+    @Benchmark
+    public long targetUser() {
+        long target = sends.get() + 1;
+        delivery.accept(SseEnvelope.target(OTHER_ROOM_ID, "target", "SANCTION", "warning"));
+        awaitSends(target);
+        return target;
+    }
+
+    private void awaitSends(long target) {
+        while (sends.get() < target) {
+            Thread.onSpinWait();
+        }
+    }
+}
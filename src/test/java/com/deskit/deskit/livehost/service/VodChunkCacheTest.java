@@ -0,0 +1,142 @@
+package com.deskit.deskit.livehost.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VodChunkCacheTest {
+
+    private static final long MB = 1024 * 1024;
+    private static final String URL = "https://storage.example.com/bucket/seller_1/vods/rec-1.mp4";
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    void chunkBeingSentSurvivesEviction() throws IOException {
+        VodObjectStub s3 = new VodObjectStub(3 * MB, 0L);
+        // 청크 하나만 들어가는 캐시
+        VodChunkCache cache = new VodChunkCache(s3, cacheDir.toString(), 1, 1);
+
+        try (FileChannel sending = cache.open(URL, 0, 3 * MB)) {
+            cache.open(URL, 1, 3 * MB).close();
+            assertThat(cache.getEvictions()).isEqualTo(1L);
+            assertThat(cache.getCachedBytes()).isEqualTo(MB);
+
+            // 지워진 뒤에도 열어 둔 채널로 청크 전체를 읽을 수 있다.
+            assertContent(sending, 0L, MB);
+        }
+    }
+
+    @Test
+    void pinnedChunkIsKeptUntilReleased() throws IOException {
+        VodObjectStub s3 = new VodObjectStub(3 * MB, 0L);
+        VodChunkCache cache = new VodChunkCache(s3, cacheDir.toString(), 1, 1);
+
+        VodChunkCache.PinnedChunk sending = cache.pin(URL, 0, 3 * MB);
+        cache.open(URL, 1, 3 * MB).close();
+        // sendfile 로 넘긴 청크는 파일명으로 다시 열리므로 한도를 넘어도 지우지 않는다.
+        assertThat(cache.getEvictions()).isZero();
+        assertThat(Files.exists(sending.path())).isTrue();
+        assertThat(cache.getCachedBytes()).isEqualTo(2 * MB);
+
+        cache.release(sending);
+        assertThat(cache.getEvictions()).isEqualTo(1L);
+        assertThat(Files.exists(sending.path())).isFalse();
+        assertThat(cache.getCachedBytes()).isEqualTo(MB);
+        assertThat(cache.getPinnedChunks()).isZero();
+    }
+
+    @Test
+    void objectSizeFollowsS3WhenDatabaseSizeDiffers() {
+        VodObjectStub s3 = new VodObjectStub(3 * MB, 0L);
+        VodChunkCache cache = new VodChunkCache(s3, cacheDir.toString(), 1, 10);
+
+        assertThat(cache.objectSize(URL, 5 * MB)).isEqualTo(3 * MB);
+        assertThat(cache.objectSize(URL, 5 * MB)).isEqualTo(3 * MB);
+    }
+
+    @Test
+    void warmChunkIsServedWithoutFetching() throws IOException {
+        VodObjectStub s3 = new VodObjectStub(3 * MB, 0L);
+        VodChunkCache cache = new VodChunkCache(s3, cacheDir.toString(), 1, 10);
+
+        cache.open(URL, 2, 3 * MB).close();
+        try (FileChannel channel = cache.open(URL, 2, 3 * MB)) {
+            assertContent(channel, 2 * MB, MB);
+        }
+
+        assertThat(s3.getRangeRequests()).isEqualTo(1L);
+        assertThat(cache.getMisses()).isEqualTo(1L);
+        assertThat(cache.getHits()).isEqualTo(1L);
+    }
+
+    @Test
+    void concurrentMissesForSameChunkShareOneFetch() throws Exception {
+        VodObjectStub s3 = new VodObjectStub(3 * MB, 200L);
+        VodChunkCache cache = new VodChunkCache(s3, cacheDir.toString(), 1, 10);
+
+        ExecutorService viewers = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            futures.add(viewers.submit(() -> {
+                start.await();
+                try (FileChannel channel = cache.open(URL, 1, 3 * MB)) {
+                    assertContent(channel, MB, MB);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        viewers.shutdown();
+
+        assertThat(s3.getRangeRequests()).isEqualTo(1L);
+        assertThat(cache.getBytesFetched()).isEqualTo(MB);
+    }
+
+    @Test
+    void restartReindexesExistingChunks() throws IOException {
+        VodObjectStub s3 = new VodObjectStub(3 * MB, 0L);
+        new VodChunkCache(s3, cacheDir.toString(), 1, 10).open(URL, 0, 3 * MB).close();
+
+        VodChunkCache restarted = new VodChunkCache(s3, cacheDir.toString(), 1, 10);
+        assertThat(restarted.getCachedBytes()).isEqualTo(MB);
+        restarted.open(URL, 0, 3 * MB).close();
+        assertThat(restarted.getHits()).isEqualTo(1L);
+        assertThat(s3.getRangeRequests()).isEqualTo(1L);
+    }
+
+    private static void assertContent(FileChannel channel, long objectOffset, long length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        long position = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            assertThat(read).isPositive();
+            position += read;
+        }
+        buffer.flip();
+        for (long i = 0; i < length; i++) {
+            if (buffer.get() != VodObjectStub.byteAt(objectOffset + i)) {
+                throw new AssertionError("content mismatch at " + (objectOffset + i));
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.deskit.deskit.livehost.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 녹화 파일 하나(recordingSizeMb)를 OpenVidu 에서 S3 로 옮기는 시간.
+ * OpenVidu 는 Range 를 지원하는 로컬 HTTP 서버이고, S3 는 연결당 업로드 속도를 제한하는 스텁(VodUploadStub)이다.
+ * - singleStream: 변경 전처럼 GET 응답을 그대로 PUT 스트림 하나로 올린다(파트 크기를 파일보다 크게 잡아 같은 경로를 탄다).
+ * - multipart: 16MB 파트를 Range 로 받아 멀티파트 업로드로 parallelism(4) 개씩 병렬 전송한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VodIngestBenchmark {
+
+    private static final String RECORDING_ID = "broadcast-1";
+    private static final String S3_KEY = "seller_1/vods/broadcast-1.mp4";
+    private static final int PARALLELISM = 4;
+
+    @Param({"64"})
+    public int recordingSizeMb;
+
+    @Param({"40"})
+    public long streamMbPerSecond;
+
+    @Param({"30"})
+    public long requestMillis;
+
+    private byte[] recording;
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private VodUploadStub singleStreamS3;
+    private VodUploadStub multipartS3;
+    private VodIngestService singleStreamIngest;
+    private VodIngestService multipartIngest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        recording = new byte[recordingSizeMb * 1024 * 1024];
+        for (int i = 0; i < recording.length; i++) {
+            recording[i] = (byte) (i * 31 + 7);
+        }
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/openvidu/recordings/", this::serveRecording);
+        serverExecutor = Executors.newFixedThreadPool(PARALLELISM * 2);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        singleStreamS3 = new VodUploadStub(requestMillis, streamMbPerSecond);
+        multipartS3 = new VodUploadStub(requestMillis, streamMbPerSecond);
+        singleStreamIngest = ingestService(singleStreamS3, 1024);
+        multipartIngest = ingestService(multipartS3, 16);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nsingleStream: s3 requests=%d, bytes=%d / multipart: s3 requests=%d, bytes=%d, part retries=%d%n",
+                singleStreamS3.getRequests(), singleStreamS3.getBytesReceived(),
+                multipartS3.getRequests(), multipartS3.getBytesReceived(), multipartIngest.getPartRetries());
+        singleStreamIngest.shutdown();
+        multipartIngest.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public String singleStream() {
+        return ingest(singleStreamIngest);
+    }
+
+    @Benchmark
+    public String multipart() {
+        return ingest(multipartIngest);
+    }
+
+    private String ingest(VodIngestService service) {
+        String url = service.ingest(RECORDING_ID, S3_KEY);
+        if (url == null) {
+            throw new IllegalStateException("ingest failed");
+        }
+        return url;
+    }
+
+    @SuppressWarnings("unchecked")
+    private VodIngestService ingestService(VodUploadStub s3, long partSizeMb) {
+        // 업로드 상태는 매번 새로 시작한다(이어 올리기 없음).
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
+        VodIngestService service = new VodIngestService(s3, mock(OpenViduService.class), redisTemplate, PARALLELISM);
+        ReflectionTestUtils.setField(service, "openViduUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(service, "openViduSecret", "secret");
+        ReflectionTestUtils.setField(service, "partSizeMb", partSizeMb);
+        return service;
+    }
+
+    private void serveRecording(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getResponseHeaders().set("Content-Type", "video/mp4");
+            exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            int start = 0;
+            int end = recording.length - 1;
+            int status = 200;
+            if (range != null && range.startsWith("bytes=")) {
+                String[] bounds = range.substring("bytes=".length()).split("-", 2);
+                start = Integer.parseInt(bounds[0]);
+                if (bounds.length == 2 && !bounds[1].isEmpty()) {
+                    end = Math.min(end, Integer.parseInt(bounds[1]));
+                }
+                status = 206;
+                exchange.getResponseHeaders().set("Content-Range",
+                        "bytes " + start + "-" + end + "/" + recording.length);
+            }
+            int length = end - start + 1;
+            exchange.sendResponseHeaders(status, length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(recording, start, length);
+            }
+        }
+    }
+}
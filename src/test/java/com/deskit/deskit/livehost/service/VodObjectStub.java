@@ -0,0 +1,66 @@
+package com.deskit.deskit.livehost.service;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * VOD 캐시 테스트/벤치마크용 S3. 객체 하나를 흉내 내며 position 위치의 바이트는 byteAt(position) 이다.
+ * Range 요청마다 firstByteMillis 만큼 기다려 오브젝트 스토리지의 첫 바이트 지연을 흉내 낸다.
+ */
+class VodObjectStub extends AwsS3Service {
+
+    private final long objectSize;
+    private final long firstByteMillis;
+    private final AtomicLong rangeRequests = new AtomicLong();
+
+    VodObjectStub(long objectSize, long firstByteMillis) {
+        super(null);
+        this.objectSize = objectSize;
+        this.firstByteMillis = firstByteMillis;
+    }
+
+    static byte byteAt(long position) {
+        return (byte) (position * 31 + 7);
+    }
+
+    long getRangeRequests() {
+        return rangeRequests.get();
+    }
+
+    @Override
+    public long getObjectSize(String fileUrl) {
+        return objectSize;
+    }
+
+    @Override
+    public InputStream getObjectStream(String fileUrl, Long start, Long end) {
+        rangeRequests.incrementAndGet();
+        if (firstByteMillis > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(firstByteMillis));
+        }
+        long from = start != null ? start : 0L;
+        long to = end != null ? Math.min(end, objectSize - 1) : objectSize - 1;
+        return new InputStream() {
+            private long position = from;
+
+            @Override
+            public int read() {
+                return position > to ? -1 : byteAt(position++) & 0xff;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                if (position > to) {
+                    return -1;
+                }
+                int count = (int) Math.min(length, to - position + 1);
+                for (int i = 0; i < count; i++) {
+                    buffer[offset + i] = byteAt(position++);
+                }
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,129 @@
+package com.deskit.deskit.livehost.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 시청자 16명이 동시에 VOD 임의 위치로 이동(seek)할 때 첫 응답 구간(256KB)을 받기까지의 지연.
+ * S3 는 Range 요청마다 firstByteMillis 만큼 늦게 응답하는 스텁이다.
+ * - direct: 변경 전처럼 요청마다 S3 Range 스트림을 그대로 전달한다.
+ * - coldSeek: 처음 보는 VOD 라 청크를 S3 에서 받아 디스크에 쓴 뒤 보낸다(캐시 미스 비용).
+ * - warmSeek: 모든 청크가 이미 디스크에 있는 VOD.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class VodSeekBenchmark {
+
+    private static final long MB = 1024 * 1024;
+    private static final long VOD_SIZE = 64 * MB;
+    private static final int RESPONSE_BYTES = 256 * 1024;
+    private static final String WARM_URL = "https://storage.example.com/bucket/seller_1/vods/warm.mp4";
+
+    @Param({"1", "8"})
+    public long chunkSizeMb;
+
+    @Param({"20"})
+    public long firstByteMillis;
+
+    private final AtomicLong coldSequence = new AtomicLong();
+    private Path cacheDir;
+    private VodObjectStub s3;
+    private VodChunkCache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        cacheDir = Files.createTempDirectory("vod-seek-bench");
+        s3 = new VodObjectStub(VOD_SIZE, firstByteMillis);
+        // 콜드 시크가 쌓여도 디스크 사용이 제한되도록 캐시를 작게 잡는다(웜 VOD 는 자주 쓰여 남는다).
+        cache = new VodChunkCache(s3, cacheDir.toString(), chunkSizeMb, 256);
+        for (long index = 0; index * cache.getChunkSize() < VOD_SIZE; index++) {
+            cache.open(WARM_URL, index, VOD_SIZE).close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%nchunk=%dMB: hitRate=%.2f, evictions=%d, s3 range requests=%d%n",
+                chunkSizeMb, cache.getHitRate(), cache.getEvictions(), s3.getRangeRequests());
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int direct(Viewer viewer) throws IOException {
+        long start = viewer.seekPosition();
+        try (InputStream inputStream = s3.getObjectStream(WARM_URL, start, start + RESPONSE_BYTES - 1)) {
+            return inputStream.readNBytes(viewer.buffer.array(), 0, RESPONSE_BYTES);
+        }
+    }
+
+    @Benchmark
+    public int coldSeek(Viewer viewer) throws IOException {
+        String url = "https://storage.example.com/bucket/seller_1/vods/cold-" + coldSequence.incrementAndGet() + ".mp4";
+        return read(url, viewer);
+    }
+
+    @Benchmark
+    public int warmSeek(Viewer viewer) throws IOException {
+        return read(WARM_URL, viewer);
+    }
+
+    private int read(String url, Viewer viewer) throws IOException {
+        long position = viewer.seekPosition();
+        long index = position / cache.getChunkSize();
+        long offset = position - index * cache.getChunkSize();
+        ByteBuffer buffer = viewer.buffer;
+        buffer.clear();
+        try (FileChannel channel = cache.open(url, index, VOD_SIZE)) {
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, offset + buffer.position());
+                if (read <= 0) {
+                    break;
+                }
+            }
+        }
+        return buffer.position();
+    }
+
+    @State(Scope.Thread)
+    public static class Viewer {
+
+        private final ByteBuffer buffer = ByteBuffer.allocate(RESPONSE_BYTES);
+
+        // 응답 구간이 청크 끝을 넘지 않도록 MB 경계 안쪽으로 잡는다.
+        private long seekPosition() {
+            long mb = ThreadLocalRandom.current().nextLong(VOD_SIZE / MB);
+            return mb * MB + ThreadLocalRandom.current().nextLong(MB - RESPONSE_BYTES);
+        }
+    }
+}
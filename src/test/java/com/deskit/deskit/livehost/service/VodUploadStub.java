@@ -0,0 +1,113 @@
+package com.deskit.deskit.livehost.service;
+
+import com.amazonaws.services.s3.model.PartETag;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * VOD 적재 벤치마크용 S3. 받은 바이트는 버리고, 요청마다 requestMillis 를 기다린 뒤
+ * 연결 하나의 업로드 속도가 streamMbPerSecond 를 넘지 않도록 읽는 속도를 늦춘다.
+ */
+class VodUploadStub extends AwsS3Service {
+
+    private static final int READ_BUFFER = 64 * 1024;
+
+    private final long requestMillis;
+    private final long bytesPerSecond;
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong aborted = new AtomicLong();
+
+    VodUploadStub(long requestMillis, long streamMbPerSecond) {
+        super(null);
+        this.requestMillis = requestMillis;
+        this.bytesPerSecond = streamMbPerSecond * 1024 * 1024;
+    }
+
+    long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    long getRequests() {
+        return requests.get();
+    }
+
+    long getAborted() {
+        return aborted.get();
+    }
+
+    @Override
+    public String uploadVodStream(InputStream inputStream, String pathKey, long contentLength) {
+        long started = beginRequest();
+        byte[] buffer = new byte[READ_BUFFER];
+        long received = 0L;
+        try {
+            int read;
+            while ((read = inputStream.read(buffer)) > 0) {
+                received += read;
+                throttle(started, received);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        bytesReceived.addAndGet(received);
+        return "https://storage.example.com/bucket/" + pathKey;
+    }
+
+    @Override
+    public String initiateVodUpload(String pathKey) {
+        beginRequest();
+        return UUID.randomUUID().toString();
+    }
+
+    @Override
+    public PartETag uploadVodPart(String pathKey, String uploadId, int partNumber, byte[] data) {
+        long started = beginRequest();
+        throttle(started, data.length);
+        bytesReceived.addAndGet(data.length);
+        return new PartETag(partNumber, uploadId + "-" + partNumber);
+    }
+
+    @Override
+    public Map<Integer, PartETag> listVodParts(String pathKey, String uploadId) {
+        beginRequest();
+        return null;
+    }
+
+    @Override
+    public String completeVodUpload(String pathKey, String uploadId, List<PartETag> parts) {
+        beginRequest();
+        return "https://storage.example.com/bucket/" + pathKey;
+    }
+
+    @Override
+    public void abortVodUpload(String pathKey, String uploadId) {
+        beginRequest();
+        aborted.incrementAndGet();
+    }
+
+    private long beginRequest() {
+        requests.incrementAndGet();
+        if (requestMillis > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(requestMillis));
+        }
+        return System.nanoTime();
+    }
+
+    // received 바이트를 받는 데 걸려야 할 시간이 지날 때까지 기다린다.
+    private void throttle(long startedNanos, long received) {
+        long dueNanos = startedNanos + received * 1_000_000_000L / bytesPerSecond;
+        long waitNanos = dueNanos - System.nanoTime();
+        if (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+        }
+    }
+}
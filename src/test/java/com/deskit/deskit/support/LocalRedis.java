@@ -0,0 +1,117 @@
+package com.deskit.deskit.support;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Redis 가 필요한 테스트용 로컬 Redis 연결.
+ * 기본은 localhost:6379 이고 -Dtest.redis.host / -Dtest.redis.port 로 바꿀 수 있다.
+ * Redis 가 떠 있지 않으면 테스트를 실패 대신 건너뛴다.
+ */
+public final class LocalRedis {
+
+    public static final String HOST = System.getProperty("test.redis.host", "localhost");
+    public static final int PORT = Integer.getInteger("test.redis.port", 6379);
+
+    private LocalRedis() {
+    }
+
+    public static void assumeAvailable() {
+        assumeTrue(isAvailable(), "local Redis is not running on " + HOST + ":" + PORT);
+    }
+
+    public static boolean isAvailable() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(HOST, PORT), 500);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 노드 하나에 해당하는 독립 커넥션 팩토리. 테스트가 끝나면 destroy() 해야 한다.
+     */
+    public static LettuceConnectionFactory connectionFactory() {
+        assumeAvailable();
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(HOST, PORT));
+        factory.afterPropertiesSet();
+        factory.start();
+        return factory;
+    }
+
+    public static StringRedisTemplate template(LettuceConnectionFactory factory) {
+        StringRedisTemplate template = new StringRedisTemplate(factory);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * RedisService 가 쓰는 RedisTemplate&lt;String, Object&gt; 와 같은 직렬화(키 문자열, 값 JSON).
+     */
+    public static RedisTemplate<String, Object> jsonTemplate(LettuceConnectionFactory factory) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(factory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    public static RedisMessageListenerContainer listenerContainer(LettuceConnectionFactory factory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.afterPropertiesSet();
+        container.start();
+        return container;
+    }
+
+    /**
+     * 채널 구독자 수가 count 이상이 될 때까지 기다린다(리스너 컨테이너의 구독은 비동기로 붙는다).
+     */
+    public static void awaitSubscribers(StringRedisTemplate template, String channel, long count) {
+        await(() -> subscriberCount(template, channel) >= count, Duration.ofSeconds(5),
+                "subscribers on " + channel);
+    }
+
+    public static long subscriberCount(StringRedisTemplate template, String channel) {
+        Object reply = template.execute((RedisCallback<Object>) connection -> connection.execute(
+                "PUBSUB", "NUMSUB".getBytes(StandardCharsets.UTF_8), channel.getBytes(StandardCharsets.UTF_8)));
+        if (reply instanceof List<?> values && values.size() >= 2 && values.get(1) instanceof Number number) {
+            return number.longValue();
+        }
+        return 0L;
+    }
+
+    public static void await(BooleanSupplier condition, Duration timeout, String description) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("timed out waiting for " + description);
+            }
+            try {
+                Thread.sleep(10L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted while waiting for " + description);
+            }
+        }
+    }
+}